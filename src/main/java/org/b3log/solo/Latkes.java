@@ -30,7 +30,7 @@ import javax.servlet.ServletContext;
 
 import org.apache.commons.io.FileUtils;
 import org.b3log.solo.frame.cron.CronService;
-import org.b3log.solo.frame.thread.local.LocalThreadService;
+import org.b3log.solo.frame.thread.ThreadServiceFactory;
 import org.b3log.solo.util.PropsUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.b3log.solo.util.freemarker.Templates;
@@ -42,7 +42,7 @@ import org.springframework.web.context.ContextLoader;
  * Latke framework configuration utility facade.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 2.6.8.13, Sep 18, 2016
+ * @version 2.6.8.14, Oct 17, 2026
  * @see #initRuntimeEnv()
  * @see #shutdown()
  * @see #getServePath()
@@ -719,7 +719,7 @@ public final class Latkes {
 			}
 
 			CronService.shutdown();
-			LocalThreadService.EXECUTOR_SERVICE.shutdown();
+			ThreadServiceFactory.getThreadService().shutdown();
 		} catch (final Exception e) {
 			logger.error("Shutdowns Latke failed", e);
 		}
@@ -748,8 +748,7 @@ public final class Latkes {
 	public static void setTimeZone(final String timeZoneId) {
 		final TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
 
-		Templates.MAIN_CFG.setTimeZone(timeZone);
-		Templates.MOBILE_CFG.setTimeZone(timeZone);
+		Templates.setTimeZone(timeZone);
 	}
 
 	/**
@@ -761,9 +760,7 @@ public final class Latkes {
 	public static void loadSkin(final String skinDirName) {
 		logger.debug("Loading skin [dirName=" + skinDirName + ']');
 
-		final ServletContext servletContext = ContextLoader.getCurrentWebApplicationContext().getServletContext();
-
-		Templates.MAIN_CFG.setServletContextForTemplateLoading(servletContext, "skins/" + skinDirName);
+		Templates.warm(skinDirName);
 
 		Latkes.setTimeZone("Asia/Shanghai");
 
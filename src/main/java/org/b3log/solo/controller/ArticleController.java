@@ -16,12 +16,14 @@
 package org.b3log.solo.controller;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,9 +36,9 @@ import org.apache.commons.lang3.time.DateFormatUtils;
 import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
 import org.b3log.solo.SoloConstant;
-import org.b3log.solo.frame.event.EventException;
 import org.b3log.solo.model.ArchiveDate;
 import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Comment;
 import org.b3log.solo.model.Common;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Pagination;
@@ -53,7 +55,10 @@ import org.b3log.solo.renderer.freemarker.FreeMarkerRenderer;
 import org.b3log.solo.service.ArchiveDateQueryService;
 import org.b3log.solo.service.ArticleMgmtService;
 import org.b3log.solo.service.ArticleQueryService;
+import org.b3log.solo.service.ArticleRenditionService;
+import org.b3log.solo.service.ArticleRenditionService.Rendition;
 import org.b3log.solo.service.CommentQueryService;
+import org.b3log.solo.service.CommentQueryService.CommentPage;
 import org.b3log.solo.service.LangPropsService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.ServiceException;
@@ -61,19 +66,16 @@ import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.service.TagQueryService;
 import org.b3log.solo.service.UserQueryService;
 import org.b3log.solo.service.html.Filler;
+import org.b3log.solo.service.html.FillerEngine;
 import org.b3log.solo.util.Dates;
 import org.b3log.solo.util.Locales;
 import org.b3log.solo.util.Paginator;
 import org.b3log.solo.util.Requests;
 import org.b3log.solo.util.Stopwatchs;
 import org.b3log.solo.util.comparator.Comparators;
+import org.b3log.solo.util.freemarker.Templates;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -81,12 +83,14 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import freemarker.template.Template;
+
 /**
  * Article processor.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
  * 
- * @version 1.4.2.16, Nov 17, 2016
+ * @version 1.4.4.1, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -106,6 +110,12 @@ public class ArticleController {
 	@Autowired
 	private ArticleQueryService articleQueryService;
 
+	/**
+	 * Article rendition service.
+	 */
+	@Autowired
+	private ArticleRenditionService articleRenditionService;
+
 	/**
 	 * Tag query service.
 	 */
@@ -399,6 +409,100 @@ public class ArticleController {
 		renderer.render(request, response);
 	}
 
+	/**
+	 * Gets a page of comments of an article.
+	 *
+	 * <p>
+	 * The first page is embedded in the article page, the following pages are
+	 * fetched by "load more" with the cursor returned by the previous page.
+	 * Renders the response with a json object, for example,
+	 * 
+	 * <pre>
+	 * {
+	 *     "sc": true,
+	 *     "cmtTpl": "", // comments HTML rendered with common-comment.ftl of the skin
+	 *     "paginationNextCursor": "" // blank if this is the last page
+	 * }
+	 * </pre>
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified request, "oId" for the article id and "cursor"
+	 *            for the cursor
+	 * @param response
+	 *            the specified response
+	 * @throws IOException
+	 *             io exception
+	 */
+	@RequestMapping(value = "/article/comments", method = RequestMethod.GET)
+	public void getArticleComments(final HttpServletRequest request, final HttpServletResponse response)
+			throws IOException {
+		final String articleId = request.getParameter(Keys.OBJECT_ID);
+
+		if (StringUtils.isBlank(articleId)) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+			return;
+		}
+
+		final JSONRenderer renderer = new JSONRenderer();
+		final JSONObject jsonObject = new JSONObject();
+
+		renderer.setJSONObject(jsonObject);
+
+		try {
+			final JSONObject article = articleQueryService.getArticleById(articleId);
+			final JSONObject preference = preferenceQueryService.getPreference();
+
+			if (null == article || !article.optBoolean(Article.ARTICLE_IS_PUBLISHED)
+					&& !preference.getBoolean(Option.ID_C_ALLOW_VISIT_DRAFT_VIA_PERMALINK)) {
+				response.sendError(HttpServletResponse.SC_NOT_FOUND);
+				return;
+			}
+
+			if (articleQueryService.needViewPwd(request, article)) {
+				response.sendError(HttpServletResponse.SC_FORBIDDEN);
+				return;
+			}
+
+			final CommentPage commentPage = commentQueryService.getCommentPage(articleId,
+					request.getParameter("cursor"));
+			final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+			final Template template = Templates.getTemplate(skinDirName, "common-comment.ftl");
+
+			if (null == template) {
+				response.sendError(HttpServletResponse.SC_NOT_FOUND);
+				return;
+			}
+
+			article.put(Common.COMMENTABLE, preference.getBoolean(Option.ID_C_COMMENTABLE)
+					&& article.getBoolean(Article.ARTICLE_COMMENTABLE));
+			article.put(Common.PERMALINK, article.getString(Article.ARTICLE_PERMALINK));
+
+			final Map<String, Object> dataModel = new HashMap<>();
+
+			dataModel.put(Article.ARTICLE, article);
+			skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
+			Keys.fillServer(dataModel);
+
+			final StringWriter stringWriter = new StringWriter();
+
+			for (final JSONObject comment : commentPage.getComments()) {
+				dataModel.put(Comment.COMMENT, comment);
+				template.process(dataModel, stringWriter);
+			}
+
+			jsonObject.put("cmtTpl", stringWriter.toString());
+			jsonObject.put(Pagination.PAGINATION_NEXT_CURSOR, commentPage.getNextCursor());
+			jsonObject.put(Keys.STATUS_CODE, true);
+		} catch (final Exception e) {
+			logger.error("Gets comments of article[id=" + articleId + "] failed", e);
+
+			jsonObject.put(Keys.STATUS_CODE, false);
+		}
+
+		renderer.render(request, response);
+	}
+
 	/**
 	 * Gets articles paged with the specified context.
 	 *
@@ -753,9 +857,12 @@ public class ArticleController {
 			final Map<String, Object> dataModel = renderer.getDataModel();
 
 			prepareShowAuthorArticles(pageNums, dataModel, pageCount, currentPageNum, articles, author);
-			filler.fillBlogHeader(request, response, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fillSide(request, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
-			filler.fillSide(request, dataModel, preference);
 			skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING),
 					(String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
 
@@ -785,6 +892,7 @@ public class ArticleController {
 	public void showArchiveArticles(final HttpServletRequest request, final HttpServletResponse response) {
 		final AbstractFreeMarkerRenderer renderer = new FreeMarkerRenderer();
 		renderer.setTemplateName("archive-articles.ftl");
+		renderer.setPageCacheable(true);
 
 		try {
 			String requestURI = request.getRequestURI();
@@ -849,9 +957,12 @@ public class ArticleController {
 
 			prepareShowArchiveArticles(preference, dataModel, articles, currentPageNum, pageCount, archiveDateString,
 					archiveDate);
-			filler.fillBlogHeader(request, response, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fillSide(request, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
-			filler.fillSide(request, dataModel, preference);
 
 			statisticMgmtService.incBlogViewCount(request, response);
 		} catch (final Exception e) {
@@ -935,13 +1046,16 @@ public class ArticleController {
 
 			logger.trace("Article[title={}]", article.getString(Article.ARTICLE_TITLE));
 
-			articleQueryService.markdown(article);
+			// Articles protected by password or unpublished are not cached
+			renderer.setPageCacheable(article.optBoolean(Article.ARTICLE_IS_PUBLISHED)
+					&& StringUtils.isBlank(article.optString(Article.ARTICLE_VIEW_PWD)));
+
+			// Rendered when the article was saved
+			final Rendition rendition = articleRenditionService.getRendition(article);
 
 			// For <meta name="description"
 			// content="${article.articleAbstract}"/>
-			final String metaDescription = Jsoup.parse(article.optString(Article.ARTICLE_ABSTRACT)).text();
-
-			article.put(Article.ARTICLE_ABSTRACT, metaDescription);
+			article.put(Article.ARTICLE_ABSTRACT, rendition.getDescription());
 
 			if (preference.getBoolean(Option.ID_C_ENABLE_ARTICLE_UPDATE_HINT)) {
 				article.put(Common.HAS_UPDATED, articleQueryService.hasUpdated(article));
@@ -969,9 +1083,12 @@ public class ArticleController {
 
 			prepareShowArticle(preference, dataModel, article);
 
-			filler.fillBlogHeader(request, response, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fillSide(request, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
-			filler.fillSide(request, dataModel, preference);
 			skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING),
 					(String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
 
@@ -981,12 +1098,11 @@ public class ArticleController {
 
 			statisticMgmtService.incBlogViewCount(request, response);
 
-			// Fire [Before Render Article] event
-			final JSONObject eventData = new JSONObject();
-
-			eventData.put(Article.ARTICLE, article);
-
-			action(eventData);
+			// Prepends the list style and the table of contents of the
+			// rendition, the [Before Render Article] event is not fired
+			article.put(Article.ARTICLE_CONTENT, "<link rel=\"stylesheet\" type=\"text/css\" href=\""
+					+ Latkes.getStaticServePath() + "/plugins/list/style.css\" />" + rendition.getToc()
+					+ rendition.getContent());
 			/*
 			 * try { eventManager.fireEventSynchronously(new
 			 * Event<JSONObject>(EventTypes.BEFORE_RENDER_ARTICLE, eventData));
@@ -1005,42 +1121,6 @@ public class ArticleController {
 		renderer.render(request, response);
 	}
 
-	public void action(JSONObject data) throws EventException {
-		final JSONObject article = data.optJSONObject(Article.ARTICLE);
-
-		String content = article.optString(Article.ARTICLE_CONTENT);
-
-		final Document doc = Jsoup.parse(content, StringUtils.EMPTY, Parser.htmlParser());
-		doc.outputSettings().prettyPrint(false);
-
-		final StringBuilder listBuilder = new StringBuilder();
-
-		listBuilder.append("<link rel=\"stylesheet\" type=\"text/css\" href=\"" + Latkes.getStaticServePath()
-				+ "/plugins/list/style.css\" />");
-
-		final Elements hs = doc.select("h1, h2, h3, h4, h5");
-
-		listBuilder.append("<ul class='b3-solo-list'>");
-		for (int i = 0; i < hs.size(); i++) {
-			final Element element = hs.get(i);
-			final String tagName = element.tagName().toLowerCase();
-			final String text = element.text();
-			final String id = "b3_solo_" + tagName + "_" + i;
-
-			element.before("<span id='" + id + "'></span>");
-
-			listBuilder.append("<li class='b3-solo-list-").append(tagName).append("'><a href='#").append(id)
-					.append("'>").append(text).append("</a></li>");
-		}
-		listBuilder.append("</ul>");
-
-		final Element body = doc.getElementsByTag("body").get(0);
-
-		content = listBuilder.toString() + body.html();
-
-		article.put(Article.ARTICLE_CONTENT, content);
-	}
-
 	/**
 	 * Sorts the specified articles by the specified preference.
 	 *
@@ -1423,11 +1503,15 @@ public class ArticleController {
 		final int cmtCount = article.getInt(Article.ARTICLE_COMMENT_COUNT);
 
 		if (0 != cmtCount) {
-			final List<JSONObject> articleComments = commentQueryService.getComments(articleId);
+			// The first page, the following pages are loaded by
+			// getArticleComments()
+			final CommentPage commentPage = commentQueryService.getCommentPage(articleId, null);
 
-			dataModel.put(Article.ARTICLE_COMMENTS_REF, articleComments);
+			dataModel.put(Article.ARTICLE_COMMENTS_REF, commentPage.getComments());
+			dataModel.put(Pagination.PAGINATION_NEXT_CURSOR, commentPage.getNextCursor());
 		} else {
 			dataModel.put(Article.ARTICLE_COMMENTS_REF, Collections.emptyList());
+			dataModel.put(Pagination.PAGINATION_NEXT_CURSOR, "");
 		}
 		logger.debug("Got article's comments");
 		Stopwatchs.end();
@@ -56,7 +56,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * Blog processor.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.3.0.4, Dec 17, 2015
+ * @version 1.3.0.5, Oct 17, 2026
  * @since 0.4.6
  */
 @Controller
@@ -218,7 +218,7 @@ public class BlogProcessor {
 
 		final JSONObject admin = userQueryService.getAdmin();
 
-		if (!MD5.hash(pwd).equals(admin.getString(User.USER_PASSWORD))) {
+		if (!MD5.matches(pwd, admin.getString(User.USER_PASSWORD))) {
 			response.sendError(HttpServletResponse.SC_FORBIDDEN);
 			return;
 		}
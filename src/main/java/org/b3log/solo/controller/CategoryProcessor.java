@@ -18,6 +18,7 @@ package org.b3log.solo.controller;
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,7 @@ import org.b3log.solo.service.ServiceException;
 import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.service.UserQueryService;
 import org.b3log.solo.service.html.Filler;
+import org.b3log.solo.service.html.FillerEngine;
 import org.b3log.solo.util.Requests;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONException;
@@ -56,7 +58,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * Category processor.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.2, Apr 10, 2017
+ * @version 1.0.1.0, Oct 17, 2026
  * @since 2.0.0
  */
 @Controller
@@ -157,6 +159,7 @@ public class CategoryProcessor {
 			throws IOException {
 		final AbstractFreeMarkerRenderer renderer = new FreeMarkerRenderer();
 		renderer.setTemplateName("category-articles.ftl");
+		renderer.setPageCacheable(true);
 		final Map<String, Object> dataModel = renderer.getDataModel();
 
 		try {
@@ -217,8 +220,11 @@ public class CategoryProcessor {
 			fillPagination(dataModel, pageCount, currentPageNum, articles, pageNums);
 			dataModel.put(Common.PATH, "/category/" + URLEncoder.encode(categoryURI, "UTF-8"));
 
-			filler.fillSide(request, dataModel, preference);
-			filler.fillBlogHeader(request, response, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillSide(request, dataModel, preference, fillers);
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
 
 			statisticMgmtService.incBlogViewCount(request, response);
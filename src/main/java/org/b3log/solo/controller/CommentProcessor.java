@@ -57,7 +57,7 @@ import freemarker.template.Template;
  *
  * @author <a href="http://cxy7.com">XyCai</a>
  * @author ArmstrongCN
- * @version 1.3.2.13, Feb 18, 2017
+ * @version 1.3.2.14, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -185,7 +185,7 @@ public class CommentProcessor {
 			// https://github.com/b3log/solo/issues/12246
 			try {
 				final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
-				final Template template = Templates.MAIN_CFG.getTemplate("common-comment.ftl");
+				final Template template = Templates.getTemplate(skinDirName, "common-comment.ftl");
 				final JSONObject preference = preferenceQueryService.getPreference();
 				skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
 				Keys.fillServer(dataModel);
@@ -292,7 +292,7 @@ public class CommentProcessor {
 			// https://github.com/b3log/solo/issues/12246
 			try {
 				final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
-				final Template template = Templates.MAIN_CFG.getTemplate("common-comment.ftl");
+				final Template template = Templates.getTemplate(skinDirName, "common-comment.ftl");
 				final JSONObject preference = preferenceQueryService.getPreference();
 				skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
 				Keys.fillServer(dataModel);
@@ -18,12 +18,17 @@ package org.b3log.solo.controller;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
 import org.b3log.solo.SoloConstant;
@@ -37,6 +42,8 @@ import org.b3log.solo.dao.repository.FilterOperator;
 import org.b3log.solo.dao.repository.PropertyFilter;
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.SortDirection;
+import org.b3log.solo.frame.cache.FeedCaches;
+import org.b3log.solo.frame.cache.FeedCaches.CachedFeed;
 import org.b3log.solo.model.Article;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Tag;
@@ -46,13 +53,10 @@ import org.b3log.solo.model.feed.atom.Entry;
 import org.b3log.solo.model.feed.atom.Feed;
 import org.b3log.solo.model.feed.rss.Channel;
 import org.b3log.solo.model.feed.rss.Item;
-import org.b3log.solo.renderer.AtomRenderer;
-import org.b3log.solo.renderer.RssRenderer;
 import org.b3log.solo.service.ArticleQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
-import org.b3log.solo.service.UserQueryService;
+import org.b3log.solo.service.ServiceException;
 import org.b3log.solo.util.Locales;
-import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -65,9 +69,15 @@ import org.springframework.web.bind.annotation.RequestMethod;
 /**
  * Feed (Atom/RSS) processor.
  *
+ * <p>
+ * Feeds are serialized once and served from {@link FeedCaches} until an
+ * article, user or preference write clears it, conditional and HEAD requests
+ * are answered from the cache as well.
+ * </p>
+ *
  * @author <a href="http://cxy7.com">XyCai</a>
  * @author <a href="https://github.com/feroozkhanchintu">feroozkhanchintu</a>
- * @version 1.1.0.6, Sep 28, 2016
+ * @version 1.2.0.1, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -78,6 +88,16 @@ public class FeedProcessor {
 	 */
 	private static Logger logger = LoggerFactory.getLogger(FeedProcessor.class);
 
+	/**
+	 * Atom content type.
+	 */
+	private static final String ATOM_CONTENT_TYPE = "application/atom+xml";
+
+	/**
+	 * RSS content type.
+	 */
+	private static final String RSS_CONTENT_TYPE = "application/rss+xml";
+
 	/**
 	 * Article query service.
 	 */
@@ -96,12 +116,6 @@ public class FeedProcessor {
 	@Autowired
 	private PreferenceQueryService preferenceQueryService;
 
-	/**
-	 * User query service.
-	 */
-	@Autowired
-	private UserQueryService userQueryService;
-
 	/**
 	 * Tag repository.
 	 */
@@ -117,475 +131,477 @@ public class FeedProcessor {
 	/**
 	 * Blog articles Atom output.
 	 *
-	 * @param context
-	 *            the specified context
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws IOException
+	 *             io exception
 	 */
 	@RequestMapping(value = { "/blog-articles-feed.do" }, method = { RequestMethod.GET, RequestMethod.HEAD })
-	public void blogArticlesAtom(final HttpServletRequest request, final HttpServletResponse response) {
-		final AtomRenderer renderer = new AtomRenderer();
-		final Feed feed = new Feed();
-
-		try {
-			final JSONObject preference = preferenceQueryService.getPreference();
-
-			final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-			final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
-			final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
-
-			feed.setTitle(StringEscapeUtils.escapeXml(blogTitle));
-			feed.setSubtitle(StringEscapeUtils.escapeXml(blogSubtitle));
-			feed.setUpdated(new Date());
-			feed.setAuthor(StringEscapeUtils.escapeXml(blogTitle));
-			feed.setLink(Latkes.getServePath() + "/blog-articles-feed.do");
-			feed.setId(Latkes.getServePath() + "/");
-
-			final List<Filter> filters = new ArrayList<>();
-
-			filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
-			filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
-			final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt)
-					.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters))
-					.addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING).setPageCount(1);
-
-			final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-			String authorName = "";
-
-			final JSONObject articleResult = articleDao.get(query);
-			final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
-
-			if (!hasMultipleUsers && 0 != articles.length()) {
-				authorName = articleQueryService.getAuthor(articles.getJSONObject(0)).getString(User.USER_NAME);
-			}
+	public void blogArticlesAtom(final HttpServletRequest request, final HttpServletResponse response)
+			throws IOException {
+		final String key = "atom";
+		CachedFeed feed = FeedCaches.get(key);
 
-			final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+		if (null == feed) {
+			final long generation = FeedCaches.getGeneration();
 
-			for (int i = 0; i < articles.length(); i++) {
-				Entry entry = getEntry(hasMultipleUsers, authorName, articles, isFullContent, i);
-				feed.addEntry(entry);
-			}
+			try {
+				final JSONObject preference = preferenceQueryService.getPreference();
+				final List<JSONObject> articles = getBlogArticles(preference.getInt(Option.ID_C_FEED_OUTPUT_CNT));
 
-			renderer.setContent(feed.toString());
-		} catch (final Exception e) {
-			logger.error("Get blog article feed error", e);
+				feed = toAtom(preference, articles, preference.getString(Option.ID_C_BLOG_SUBTITLE),
+						"/blog-articles-feed.do");
+			} catch (final Exception e) {
+				logger.error("Get blog article feed error", e);
 
-			try {
 				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-			} catch (final IOException ex) {
-				throw new RuntimeException(ex);
+				return;
 			}
-		}
-		renderer.render(request, response);
-	}
 
-	private Entry getEntry(final boolean hasMultipleUsers, String authorName, final JSONArray articles,
-			final boolean isFullContent, int i) throws org.json.JSONException, org.b3log.solo.service.ServiceException {
-		final JSONObject article = articles.getJSONObject(i);
-		final Entry ret = new Entry();
-		final String title = StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_TITLE));
-		ret.setTitle(title);
-		final String summary = isFullContent ? StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_CONTENT))
-				: StringEscapeUtils.escapeXml(article.optString(Article.ARTICLE_ABSTRACT));
-		ret.setSummary(summary);
-		final Date updated = (Date) article.get(Article.ARTICLE_UPDATE_DATE);
-		ret.setUpdated(updated);
-		final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
-		ret.setLink(link);
-		ret.setId(link);
-		if (hasMultipleUsers) {
-			authorName = StringEscapeUtils.escapeXml(articleQueryService.getAuthor(article).getString(User.USER_NAME));
-		}
-		ret.setAuthor(authorName);
-		final String tagsString = article.getString(Article.ARTICLE_TAGS_REF);
-		final String[] tagStrings = tagsString.split(",");
-		for (final String tagString : tagStrings) {
-			final Category catetory = new Category();
-			ret.addCatetory(catetory);
-			final String tag = tagString;
-			catetory.setTerm(tag);
+			FeedCaches.put(key, feed, generation);
 		}
 
-		return ret;
+		FeedCaches.write(feed, request, response);
 	}
 
 	/**
 	 * Tag articles Atom output.
 	 *
-	 * @param context
-	 *            the specified context
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
 	 * @throws IOException
 	 *             io exception
 	 */
 	@RequestMapping(value = { "/tag-articles-feed.do" }, method = { RequestMethod.GET, RequestMethod.HEAD })
 	public void tagArticlesAtom(final HttpServletRequest request, final HttpServletResponse response)
 			throws IOException {
-		final AtomRenderer renderer = new AtomRenderer();
-		final String queryString = request.getQueryString();
+		final String tagId = getTagId(request);
 
-		if (StringUtils.isBlank(queryString)) {
+		if (null == tagId) {
 			response.sendError(HttpServletResponse.SC_BAD_REQUEST);
 			return;
 		}
 
-		final String oIdMap = queryString.split("&")[0];
-		final String tagId = oIdMap.split("=")[1];
-
-		final Feed feed = new Feed();
-
-		try {
-			final JSONObject tag = tagDao.get(tagId);
-
-			if (null == tag) {
-				response.sendError(HttpServletResponse.SC_NOT_FOUND);
-				return;
-			}
-
-			final String tagTitle = tag.getString(Tag.TAG_TITLE);
-
-			final JSONObject preference = preferenceQueryService.getPreference();
-
-			if (null == preference) {
-				response.sendError(HttpServletResponse.SC_NOT_FOUND);
-				return;
-			}
-
-			final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-			final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tagTitle;
-			final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
+		final String key = "atom-" + tagId;
+		CachedFeed feed = FeedCaches.get(key);
 
-			feed.setTitle(StringEscapeUtils.escapeXml(blogTitle));
-			feed.setSubtitle(StringEscapeUtils.escapeXml(blogSubtitle));
-			feed.setUpdated(new Date());
-			feed.setAuthor(StringEscapeUtils.escapeXml(blogTitle));
-			feed.setLink(Latkes.getServePath() + "/tag-articles-feed.do");
-			feed.setId(Latkes.getServePath() + "/");
+		if (null == feed) {
+			final long generation = FeedCaches.getGeneration();
 
-			final JSONObject tagArticleResult = tagArticleDao.getByTagId(tagId, 1, outputCnt);
-			final JSONArray tagArticleRelations = tagArticleResult.getJSONArray(Keys.RESULTS);
-
-			if (0 == tagArticleRelations.length()) {
-				response.sendError(HttpServletResponse.SC_NOT_FOUND);
-				return;
-			}
+			try {
+				final JSONObject tag = tagDao.get(tagId);
 
-			final List<JSONObject> articles = new ArrayList<>();
-
-			for (int i = 0; i < tagArticleRelations.length(); i++) {
-				final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(i);
-				final String articleId = tagArticleRelation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
-				final JSONObject article = articleDao.get(articleId);
-
-				if (article.getBoolean(Article.ARTICLE_IS_PUBLISHED) // Skips
-																		// the
-																		// unpublished
-																		// article
-						&& StringUtils.isBlank(article.optString(Article.ARTICLE_VIEW_PWD))) { // Skips
-																								// article
-																								// with
-																								// password
-					articles.add(article);
+				if (null == tag) {
+					response.sendError(HttpServletResponse.SC_NOT_FOUND);
+					return;
 				}
-			}
 
-			final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-			String authorName = "";
+				final JSONObject preference = preferenceQueryService.getPreference();
+				final List<JSONObject> articles = getTagArticles(tagId,
+						preference.getInt(Option.ID_C_FEED_OUTPUT_CNT));
 
-			if (!hasMultipleUsers && !articles.isEmpty()) {
-				authorName = articleQueryService.getAuthor(articles.get(0)).getString(User.USER_NAME);
-			}
-
-			final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
-
-			for (int i = 0; i < articles.size(); i++) {
-				Entry entry = getEntryForArticle(articles, hasMultipleUsers, authorName, isFullContent, i);
-				feed.addEntry(entry);
-			}
+				if (null == articles) {
+					response.sendError(HttpServletResponse.SC_NOT_FOUND);
+					return;
+				}
 
-			renderer.setContent(feed.toString());
-		} catch (final Exception e) {
-			logger.error("Get tag article feed error", e);
+				feed = toAtom(preference, articles,
+						preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tag.getString(Tag.TAG_TITLE),
+						"/tag-articles-feed.do");
+			} catch (final Exception e) {
+				logger.error("Get tag article feed error", e);
 
-			try {
 				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-			} catch (final IOException ex) {
-				throw new RuntimeException(ex);
+				return;
 			}
-		}
-		renderer.render(request, response);
-	}
 
-	private Entry getEntryForArticle(final List<JSONObject> articles, final boolean hasMultipleUsers, String authorName,
-			final boolean isFullContent, int i) throws org.json.JSONException, org.b3log.solo.service.ServiceException {
-		final JSONObject article = articles.get(i);
-		final Entry ret = new Entry();
-		final String title = StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_TITLE));
-		ret.setTitle(title);
-		final String summary = isFullContent ? StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_CONTENT))
-				: StringEscapeUtils.escapeXml(article.optString(Article.ARTICLE_ABSTRACT));
-		ret.setSummary(summary);
-		final Date updated = (Date) article.get(Article.ARTICLE_UPDATE_DATE);
-		ret.setUpdated(updated);
-		final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
-		ret.setLink(link);
-		ret.setId(link);
-		if (hasMultipleUsers) {
-			authorName = StringEscapeUtils.escapeXml(articleQueryService.getAuthor(article).getString(User.USER_NAME));
-		}
-		ret.setAuthor(authorName);
-		final String tagsString = article.getString(Article.ARTICLE_TAGS_REF);
-		final String[] tagStrings = tagsString.split(",");
-		for (final String tagString : tagStrings) {
-			final Category catetory = new Category();
-			ret.addCatetory(catetory);
-			catetory.setTerm(tagString);
+			FeedCaches.put(key, feed, generation);
 		}
 
-		return ret;
+		FeedCaches.write(feed, request, response);
 	}
 
 	/**
 	 * Blog articles RSS output.
 	 *
-	 * @param context
-	 *            the specified context
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws IOException
+	 *             io exception
 	 */
 	@RequestMapping(value = { "/blog-articles-rss.do" }, method = { RequestMethod.GET, RequestMethod.HEAD })
-	public void blogArticlesRSS(final HttpServletRequest request, final HttpServletResponse response) {
-		final RssRenderer renderer = new RssRenderer();
-		final Channel channel = new Channel();
+	public void blogArticlesRSS(final HttpServletRequest request, final HttpServletResponse response)
+			throws IOException {
+		final String key = "rss";
+		CachedFeed feed = FeedCaches.get(key);
 
-		try {
-			final JSONObject preference = preferenceQueryService.getPreference();
+		if (null == feed) {
+			final long generation = FeedCaches.getGeneration();
 
-			if (null == preference) {
-				response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			try {
+				final JSONObject preference = preferenceQueryService.getPreference();
+				final List<JSONObject> articles = getBlogArticles(preference.getInt(Option.ID_C_FEED_OUTPUT_CNT));
+
+				feed = toRSS(preference, articles, preference.getString(Option.ID_C_BLOG_SUBTITLE),
+						"/blog-articles-rss.do");
+			} catch (final Exception e) {
+				logger.error("Get blog article rss error", e);
+
+				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
 				return;
 			}
 
-			final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-			final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
-			final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
+			FeedCaches.put(key, feed, generation);
+		}
 
-			channel.setTitle(StringEscapeUtils.escapeXml(blogTitle));
-			channel.setLastBuildDate(new Date());
-			channel.setLink(Latkes.getServePath());
-			channel.setAtomLink(Latkes.getServePath() + "/blog-articles-rss.do");
-			channel.setGenerator("Solo, ver " + SoloConstant.VERSION);
-			final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
-			final String country = Locales.getCountry(localeString).toLowerCase();
-			final String language = Locales.getLanguage(localeString).toLowerCase();
+		FeedCaches.write(feed, request, response);
+	}
 
-			channel.setLanguage(language + '-' + country);
-			channel.setDescription(blogSubtitle);
+	/**
+	 * Tag articles RSS output.
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws IOException
+	 *             io exception
+	 */
+	@RequestMapping(value = { "/tag-articles-rss.do" }, method = { RequestMethod.GET, RequestMethod.HEAD })
+	public void tagArticlesRSS(final HttpServletRequest request, final HttpServletResponse response)
+			throws IOException {
+		final String tagId = getTagId(request);
 
-			final List<Filter> filters = new ArrayList<>();
+		if (null == tagId) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+			return;
+		}
 
-			filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
-			filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
-			final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt)
-					.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters))
-					.addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING).setPageCount(1);
+		final String key = "rss-" + tagId;
+		CachedFeed feed = FeedCaches.get(key);
 
-			final JSONObject articleResult = articleDao.get(query);
-			final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
+		if (null == feed) {
+			final long generation = FeedCaches.getGeneration();
 
-			final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-			String authorName = "";
+			try {
+				final JSONObject tag = tagDao.get(tagId);
 
-			if (!hasMultipleUsers && 0 != articles.length()) {
-				authorName = articleQueryService.getAuthor(articles.getJSONObject(0)).getString(User.USER_NAME);
-			}
+				if (null == tag) {
+					response.sendError(HttpServletResponse.SC_NOT_FOUND);
+					return;
+				}
 
-			final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+				final JSONObject preference = preferenceQueryService.getPreference();
+				final List<JSONObject> articles = getTagArticles(tagId,
+						preference.getInt(Option.ID_C_FEED_OUTPUT_CNT));
 
-			for (int i = 0; i < articles.length(); i++) {
-				Item item = getItem(articles, hasMultipleUsers, authorName, isFullContent, i);
-				channel.addItem(item);
-			}
+				if (null == articles) {
+					response.sendError(HttpServletResponse.SC_NOT_FOUND);
+					return;
+				}
 
-			renderer.setContent(channel.toString());
-		} catch (final Exception e) {
-			logger.error("Get blog article rss error", e);
+				feed = toRSS(preference, articles,
+						preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tag.getString(Tag.TAG_TITLE),
+						"/tag-articles-rss.do");
+			} catch (final Exception e) {
+				logger.error("Get tag article rss error", e);
 
-			try {
 				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-			} catch (final IOException ex) {
-				throw new RuntimeException(ex);
+				return;
 			}
-		}
-		renderer.render(request, response);
-	}
 
-	private Item getItem(final JSONArray articles, final boolean hasMultipleUsers, String authorName,
-			final boolean isFullContent, int i) throws org.json.JSONException, org.b3log.solo.service.ServiceException {
-		final JSONObject article = articles.getJSONObject(i);
-		final Item ret = new Item();
-		final String title = StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_TITLE));
-		ret.setTitle(title);
-		final String description = isFullContent
-				? StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_CONTENT))
-				: StringEscapeUtils.escapeXml(article.optString(Article.ARTICLE_ABSTRACT));
-		ret.setDescription(description);
-		final Date pubDate = (Date) article.get(Article.ARTICLE_UPDATE_DATE);
-		ret.setPubDate(pubDate);
-		final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
-		ret.setLink(link);
-		ret.setGUID(link);
-		final String authorEmail = article.getString(Article.ARTICLE_AUTHOR_EMAIL);
-		if (hasMultipleUsers) {
-			authorName = StringEscapeUtils.escapeXml(articleQueryService.getAuthor(article).getString(User.USER_NAME));
-		}
-		ret.setAuthor(authorEmail + "(" + authorName + ")");
-		final String tagsString = article.getString(Article.ARTICLE_TAGS_REF);
-		final String[] tagStrings = tagsString.split(",");
-		for (final String tagString : tagStrings) {
-			final org.b3log.solo.model.feed.rss.Category catetory = new org.b3log.solo.model.feed.rss.Category();
-			ret.addCatetory(catetory);
-			final String tag = tagString;
-			catetory.setTerm(tag);
+			FeedCaches.put(key, feed, generation);
 		}
 
-		return ret;
+		FeedCaches.write(feed, request, response);
 	}
 
 	/**
-	 * Tag articles RSS output.
+	 * Gets the tag id from the query string of the specified request, the
+	 * value of the first parameter is the tag id, for example
+	 * "oId=1450152120000".
 	 *
-	 * @param context
-	 *            the specified context
-	 * @throws IOException
-	 *             io exception
+	 * @param request
+	 *            the specified request
+	 * @return tag id, returns {@code null} if not found
 	 */
-	@RequestMapping(value = { "/tag-articles-rss.do" }, method = { RequestMethod.GET, RequestMethod.HEAD })
-	public void tagArticlesRSS(final HttpServletRequest request, final HttpServletResponse response)
-			throws IOException {
-		final RssRenderer renderer = new RssRenderer();
+	private static String getTagId(final HttpServletRequest request) {
 		final String queryString = request.getQueryString();
 
 		if (StringUtils.isBlank(queryString)) {
-			response.sendError(HttpServletResponse.SC_BAD_REQUEST);
-			return;
+			return null;
 		}
 
-		final String oIdMap = queryString.split("&")[0];
-		final String tagId = oIdMap.split("=")[1];
+		final String tagId = StringUtils.substringAfter(queryString.split("&")[0], "=");
 
-		final Channel channel = new Channel();
+		return StringUtils.isBlank(tagId) ? null : tagId;
+	}
 
-		try {
-			final JSONObject tag = tagDao.get(tagId);
+	/**
+	 * Gets the latest published articles without password.
+	 *
+	 * @param outputCnt
+	 *            the specified count
+	 * @return articles, sorted by update date descending
+	 * @throws Exception
+	 *             exception
+	 */
+	private List<JSONObject> getBlogArticles(final int outputCnt) throws Exception {
+		final List<Filter> filters = new ArrayList<>();
 
-			if (null == tag) {
-				response.sendError(HttpServletResponse.SC_NOT_FOUND);
-				return;
-			}
+		filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
+		filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
+		final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt)
+				.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters))
+				.addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING).setPageCount(1);
 
-			final String tagTitle = tag.getString(Tag.TAG_TITLE);
+		final JSONArray array = articleDao.get(query).getJSONArray(Keys.RESULTS);
+		final List<JSONObject> ret = new ArrayList<>(array.length());
 
-			final JSONObject preference = preferenceQueryService.getPreference();
+		for (int i = 0; i < array.length(); i++) {
+			ret.add(array.getJSONObject(i));
+		}
 
-			if (null == preference) {
-				response.sendError(HttpServletResponse.SC_NOT_FOUND);
-				return;
-			}
+		return ret;
+	}
 
-			final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-			final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tagTitle;
-			final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
+	/**
+	 * Gets the latest published articles without password of the specified
+	 * tag, loads the articles in one batch.
+	 *
+	 * @param tagId
+	 *            the specified tag id
+	 * @param outputCnt
+	 *            the specified count
+	 * @return articles, returns {@code null} if the tag has no article
+	 * @throws Exception
+	 *             exception
+	 */
+	private List<JSONObject> getTagArticles(final String tagId, final int outputCnt) throws Exception {
+		final JSONArray tagArticleRelations = tagArticleDao.getByTagId(tagId, 1, outputCnt)
+				.getJSONArray(Keys.RESULTS);
 
-			channel.setTitle(StringEscapeUtils.escapeXml(blogTitle));
-			channel.setLastBuildDate(new Date());
-			channel.setLink(Latkes.getServePath());
-			channel.setAtomLink(Latkes.getServePath() + "/tag-articles-rss.do");
-			channel.setGenerator("Solo, ver " + SoloConstant.VERSION);
-			final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
-			final String country = Locales.getCountry(localeString).toLowerCase();
-			final String language = Locales.getLanguage(localeString).toLowerCase();
+		if (0 == tagArticleRelations.length()) {
+			return null;
+		}
 
-			channel.setLanguage(language + '-' + country);
-			channel.setDescription(blogSubtitle);
+		final Set<String> articleIds = new LinkedHashSet<>();
 
-			final JSONObject tagArticleResult = tagArticleDao.getByTagId(tagId, 1, outputCnt);
-			final JSONArray tagArticleRelations = tagArticleResult.getJSONArray(Keys.RESULTS);
+		for (int i = 0; i < tagArticleRelations.length(); i++) {
+			articleIds.add(tagArticleRelations.getJSONObject(i).getString(Article.ARTICLE + "_" + Keys.OBJECT_ID));
+		}
 
-			if (0 == tagArticleRelations.length()) {
-				response.sendError(HttpServletResponse.SC_NOT_FOUND);
-				return;
-			}
+		final List<JSONObject> ret = new ArrayList<>(articleIds.size());
 
-			final List<JSONObject> articles = new ArrayList<>();
-
-			for (int i = 0; i < tagArticleRelations.length(); i++) {
-				final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(i);
-				final String articleId = tagArticleRelation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
-				final JSONObject article = articleDao.get(articleId);
-
-				if (article.getBoolean(Article.ARTICLE_IS_PUBLISHED) // Skips
-																		// the
-																		// unpublished
-																		// article
-						&& StringUtils.isBlank(article.optString(Article.ARTICLE_VIEW_PWD))) { // Skips
-																								// article
-																								// with
-																								// password
-					articles.add(article);
-				}
+		for (final JSONObject article : articleDao.get(articleIds).values()) {
+			// Skips the unpublished article and article with password
+			if (article.getBoolean(Article.ARTICLE_IS_PUBLISHED)
+					&& StringUtils.isBlank(article.optString(Article.ARTICLE_VIEW_PWD))) {
+				ret.add(article);
 			}
+		}
 
-			final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-			String authorName = "";
+		return ret;
+	}
 
-			if (!hasMultipleUsers && !articles.isEmpty()) {
-				authorName = articleQueryService.getAuthor(articles.get(0)).getString(User.USER_NAME);
+	/**
+	 * Serializes the specified articles to an Atom feed.
+	 *
+	 * @param preference
+	 *            the specified preference
+	 * @param articles
+	 *            the specified articles
+	 * @param subtitle
+	 *            the specified subtitle
+	 * @param uri
+	 *            the specified feed URI, for example "/blog-articles-feed.do"
+	 * @return cached feed
+	 * @throws Exception
+	 *             exception
+	 */
+	private CachedFeed toAtom(final JSONObject preference, final List<JSONObject> articles, final String subtitle,
+			final String uri) throws Exception {
+		final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
+		final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+		final Date updated = getLastModified(articles);
+		final Map<String, String> authorNames = new HashMap<>();
+		final Feed feed = new Feed();
+
+		feed.setTitle(StringEscapeUtils.escapeXml(blogTitle));
+		feed.setSubtitle(StringEscapeUtils.escapeXml(subtitle));
+		feed.setUpdated(updated);
+		feed.setAuthor(StringEscapeUtils.escapeXml(blogTitle));
+		feed.setLink(Latkes.getServePath() + uri);
+		feed.setId(Latkes.getServePath() + "/");
+
+		for (final JSONObject article : articles) {
+			final Entry entry = new Entry();
+			final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
+
+			entry.setTitle(StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_TITLE)));
+			entry.setSummary(getDescription(article, isFullContent));
+			entry.setUpdated((Date) article.get(Article.ARTICLE_UPDATE_DATE));
+			entry.setLink(link);
+			entry.setId(link);
+			entry.setAuthor(getAuthorName(article, authorNames));
+
+			for (final String tagTitle : article.getString(Article.ARTICLE_TAGS_REF).split(",")) {
+				final Category catetory = new Category();
+
+				catetory.setTerm(tagTitle);
+				entry.addCatetory(catetory);
 			}
 
-			final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+			feed.addEntry(entry);
+		}
 
-			for (int i = 0; i < articles.size(); i++) {
-				Item item = getItemForArticles(articles, hasMultipleUsers, authorName, isFullContent, i);
-				channel.addItem(item);
-			}
+		return new CachedFeed(feed.toString(), ATOM_CONTENT_TYPE, getLastModified(updated));
+	}
 
-			renderer.setContent(channel.toString());
-		} catch (final Exception e) {
-			logger.error("Get tag article rss error", e);
+	/**
+	 * Serializes the specified articles to a RSS channel.
+	 *
+	 * @param preference
+	 *            the specified preference
+	 * @param articles
+	 *            the specified articles
+	 * @param description
+	 *            the specified channel description
+	 * @param uri
+	 *            the specified feed URI, for example "/blog-articles-rss.do"
+	 * @return cached feed
+	 * @throws Exception
+	 *             exception
+	 */
+	private CachedFeed toRSS(final JSONObject preference, final List<JSONObject> articles, final String description,
+			final String uri) throws Exception {
+		final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+		final Date lastBuildDate = getLastModified(articles);
+		final Map<String, String> authorNames = new HashMap<>();
+		final Channel channel = new Channel();
 
-			try {
-				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-			} catch (final IOException ex) {
-				throw new RuntimeException(ex);
+		channel.setTitle(StringEscapeUtils.escapeXml(preference.getString(Option.ID_C_BLOG_TITLE)));
+		channel.setLastBuildDate(lastBuildDate);
+		channel.setLink(Latkes.getServePath());
+		channel.setAtomLink(Latkes.getServePath() + uri);
+		channel.setGenerator("Solo, ver " + SoloConstant.VERSION);
+		final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
+		final String country = Locales.getCountry(localeString).toLowerCase();
+		final String language = Locales.getLanguage(localeString).toLowerCase();
+
+		channel.setLanguage(language + '-' + country);
+		channel.setDescription(description);
+
+		for (final JSONObject article : articles) {
+			final Item item = new Item();
+			final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
+
+			item.setTitle(StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_TITLE)));
+			item.setDescription(getDescription(article, isFullContent));
+			item.setPubDate((Date) article.get(Article.ARTICLE_UPDATE_DATE));
+			item.setLink(link);
+			item.setGUID(link);
+			item.setAuthor(article.getString(Article.ARTICLE_AUTHOR_EMAIL) + "("
+					+ getAuthorName(article, authorNames) + ")");
+
+			for (final String tagTitle : article.getString(Article.ARTICLE_TAGS_REF).split(",")) {
+				final org.b3log.solo.model.feed.rss.Category catetory = new org.b3log.solo.model.feed.rss.Category();
+
+				catetory.setTerm(tagTitle);
+				item.addCatetory(catetory);
 			}
+
+			channel.addItem(item);
 		}
-		renderer.render(request, response);
+
+		return new CachedFeed(channel.toString(), RSS_CONTENT_TYPE, getLastModified(lastBuildDate));
 	}
 
-	private Item getItemForArticles(final List<JSONObject> articles, final boolean hasMultipleUsers, String authorName,
-			final boolean isFullContent, int i) throws org.json.JSONException, org.b3log.solo.service.ServiceException {
-		final JSONObject article = articles.get(i);
-		final Item ret = new Item();
-		final String title = StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_TITLE));
-		ret.setTitle(title);
-		final String description = isFullContent
-				? StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_CONTENT))
+	/**
+	 * Gets the escaped description (full content or abstract) of the specified
+	 * article.
+	 *
+	 * @param article
+	 *            the specified article
+	 * @param isFullContent
+	 *            whether outputs full content
+	 * @return description
+	 */
+	private static String getDescription(final JSONObject article, final boolean isFullContent) {
+		return isFullContent ? StringEscapeUtils.escapeXml(article.getString(Article.ARTICLE_CONTENT))
 				: StringEscapeUtils.escapeXml(article.optString(Article.ARTICLE_ABSTRACT));
-		ret.setDescription(description);
-		final Date pubDate = (Date) article.get(Article.ARTICLE_UPDATE_DATE);
-		ret.setPubDate(pubDate);
-		final String link = Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK);
-		ret.setLink(link);
-		ret.setGUID(link);
-		final String authorEmail = article.getString(Article.ARTICLE_AUTHOR_EMAIL);
-		if (hasMultipleUsers) {
-			authorName = StringEscapeUtils.escapeXml(articleQueryService.getAuthor(article).getString(User.USER_NAME));
-		}
-		ret.setAuthor(authorEmail + "(" + authorName + ")");
-		final String tagsString = article.getString(Article.ARTICLE_TAGS_REF);
-		final String[] tagStrings = tagsString.split(",");
-		for (final String tagString : tagStrings) {
-			final org.b3log.solo.model.feed.rss.Category catetory = new org.b3log.solo.model.feed.rss.Category();
-			ret.addCatetory(catetory);
-			catetory.setTerm(tagString);
+	}
+
+	/**
+	 * Gets the escaped author name of the specified article, each author is
+	 * loaded only once per feed.
+	 *
+	 * @param article
+	 *            the specified article
+	 * @param authorNames
+	 *            author names loaded, &lt;authorEmail, authorName&gt;
+	 * @return author name
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	private String getAuthorName(final JSONObject article, final Map<String, String> authorNames)
+			throws ServiceException {
+		final String authorEmail = article.optString(Article.ARTICLE_AUTHOR_EMAIL);
+		String ret = authorNames.get(authorEmail);
+
+		if (null == ret) {
+			ret = StringEscapeUtils.escapeXml(articleQueryService.getAuthor(article).getString(User.USER_NAME));
+			authorNames.put(authorEmail, ret);
 		}
 
 		return ret;
 	}
+
+	/**
+	 * Gets the Last-Modified time of a feed dated the specified date.
+	 *
+	 * <p>
+	 * Feeds are also changed by writes not updating any article listed (for
+	 * example, removes articles, updates the blog title or an author name),
+	 * all of them clear the feed cache, so the start time of the current feed
+	 * cache generation is taken if it is later than the feed date.
+	 * </p>
+	 *
+	 * @param feedDate
+	 *            the specified feed date
+	 * @return Last-Modified time in milliseconds
+	 * @see FeedCaches#getGenerationTime()
+	 */
+	private static long getLastModified(final Date feedDate) {
+		return Math.max(feedDate.getTime(), FeedCaches.getGenerationTime());
+	}
+
+	/**
+	 * Gets the last modified date of the specified articles, it is the date of
+	 * the feed as well, then the same articles always serialize to the same
+	 * feed.
+	 *
+	 * @param articles
+	 *            the specified articles
+	 * @return the latest update date of the articles, returns now if no article
+	 */
+	private static Date getLastModified(final List<JSONObject> articles) {
+		Date ret = null;
+
+		for (final JSONObject article : articles) {
+			final Date updated = (Date) article.get(Article.ARTICLE_UPDATE_DATE);
+
+			if (null == ret || updated.after(ret)) {
+				ret = updated;
+			}
+		}
+
+		return null == ret ? new Date() : ret;
+	}
 }
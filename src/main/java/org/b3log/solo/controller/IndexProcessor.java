@@ -18,19 +18,19 @@ package org.b3log.solo.controller;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.StringUtils;
 import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.model.Common;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Pagination;
-import org.b3log.solo.model.Skin;
 import org.b3log.solo.module.util.Skins;
 import org.b3log.solo.renderer.ConsoleRenderer;
 import org.b3log.solo.renderer.freemarker.AbstractFreeMarkerRenderer;
@@ -40,9 +40,9 @@ import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.ServiceException;
 import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.service.html.Filler;
+import org.b3log.solo.service.html.FillerEngine;
 import org.b3log.solo.util.Locales;
 import org.b3log.solo.util.Requests;
-import org.b3log.solo.util.freemarker.Templates;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,7 +59,7 @@ import freemarker.template.Template;
  *
  * @author <a href="http://cxy7.com">XyCai</a>
  * @author <a href="mailto:385321165@qq.com">DASHU</a>
- * @version 1.2.2.6, Dec 27, 2015
+ * @version 1.2.3.1, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -113,6 +113,7 @@ public class IndexProcessor {
 	public void showIndex(final HttpServletRequest request, final HttpServletResponse response) {
 		final AbstractFreeMarkerRenderer renderer = new FreeMarkerRenderer();
 		renderer.setTemplateName("index.ftl");
+		renderer.setPageCacheable(true);
 		final Map<String, Object> dataModel = renderer.getDataModel();
 		final String requestURI = request.getRequestURI();
 
@@ -129,8 +130,6 @@ public class IndexProcessor {
 			} else {
 				specifiedSkin = preference.optString(Option.ID_C_SKIN_DIR_NAME);
 			}
-			Templates.MAIN_CFG.setServletContextForTemplateLoading(request.getServletContext(),
-					"/skins/" + specifiedSkin);
 			request.setAttribute(Keys.TEMAPLTE_DIR_NAME, specifiedSkin);
 
 			skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING),
@@ -138,8 +137,11 @@ public class IndexProcessor {
 
 			filler.fillIndexArticles(request, dataModel, currentPageNum, preference);
 
-			filler.fillSide(request, dataModel, preference);
-			filler.fillBlogHeader(request, response, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillSide(request, dataModel, preference, fillers);
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
 
 			dataModel.put(Pagination.PAGINATION_CURRENT_PAGE_NUM, currentPageNum);
@@ -155,9 +157,7 @@ public class IndexProcessor {
 			statisticMgmtService.incBlogViewCount(request, response);
 
 			// https://github.com/b3log/solo/issues/12060
-			final Cookie cookie = new Cookie(Skin.SKIN, specifiedSkin);
-			cookie.setPath("/");
-			response.addCookie(cookie);
+			PageCaches.setSkinCookie(request, response, specifiedSkin);
 			renderer.render(request, response);
 		} catch (final ServiceException e) {
 			logger.error(e.getMessage(), e);
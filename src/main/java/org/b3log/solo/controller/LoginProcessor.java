@@ -70,7 +70,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * @author <a href="http://cxy7.com">XyCai</a>
  * 
  * @author <a href="mailto:dongxu.wang@acm.org">Dongxu Wang</a>
- * @version 1.1.1.7, Nov 20, 2015
+ * @version 1.1.1.9, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -212,7 +212,8 @@ public class LoginProcessor {
 				return;
 			}
 
-			if (MD5.hash(userPwd).equals(user.getString(User.USER_PASSWORD))) {
+			if (MD5.matches(userPwd, user.getString(User.USER_PASSWORD))) {
+				userMgmtService.rehashPassword(user, userPwd);
 				Sessions.login(request, response, user);
 
 				logger.info("Logged in[email={}]", userEmail);
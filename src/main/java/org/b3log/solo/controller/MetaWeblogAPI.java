@@ -15,7 +15,6 @@
  */
 package org.b3log.solo.controller;
 
-import java.text.ParseException;
 import java.util.Date;
 import java.util.List;
 
@@ -26,7 +25,6 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
-import org.apache.commons.lang3.time.DateUtils;
 import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
 import org.b3log.solo.model.Article;
@@ -34,6 +32,7 @@ import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Tag;
 import org.b3log.solo.model.User;
 import org.b3log.solo.renderer.TextXMLRenderer;
+import org.b3log.solo.service.ArticleImportService;
 import org.b3log.solo.service.ArticleMgmtService;
 import org.b3log.solo.service.ArticleQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
@@ -45,7 +44,6 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.XML;
-import org.jsoup.Jsoup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -71,7 +69,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * </p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.12, Nov 20, 2015
+ * @version 1.0.1.0, Oct 17, 2026
  * @since 0.4.0
  */
 @Controller
@@ -106,6 +104,12 @@ public class MetaWeblogAPI {
 	@Autowired
 	private ArticleMgmtService articleMgmtService;
 
+	/**
+	 * Article import service.
+	 */
+	@Autowired
+	private ArticleImportService articleImportService;
+
 	/**
 	 * User query service.
 	 */
@@ -177,21 +181,6 @@ public class MetaWeblogAPI {
 	 */
 	private static final int INDEX_NUM_OF_POSTS = 3;
 
-	/**
-	 * Argument "post" index.
-	 */
-	private static final int INDEX_POST = 3;
-
-	/**
-	 * Argument "publish" index.
-	 */
-	private static final int INDEX_PUBLISH = 4;
-
-	/**
-	 * Article abstract length.
-	 */
-	private static final int ARTICLE_ABSTRACT_LENGTH = 500;
-
 	/**
 	 * MetaWeblog requests processing.
 	 *
@@ -232,7 +221,7 @@ public class MetaWeblogAPI {
 
 			final String userPwd = params.getJSONObject(INDEX_USER_PWD).getJSONObject("value").getString("string");
 
-			if (!user.getString(User.USER_PASSWORD).equals(MD5.hash(userPwd))) {
+			if (!MD5.matches(userPwd, user.getString(User.USER_PASSWORD))) {
 				throw new Exception("Wrong password");
 			}
 
@@ -245,7 +234,7 @@ public class MetaWeblogAPI {
 
 				responseContent = getRecentPosts(numOfPosts);
 			} else if (METHOD_NEW_POST.equals(methodName)) {
-				final JSONObject article = parsetPost(methodCall);
+				final JSONObject article = articleImportService.parseMetaWeblogPost(methodCall);
 
 				article.put(Article.ARTICLE_AUTHOR_EMAIL, userEmail);
 				addArticle(article);
@@ -261,7 +250,7 @@ public class MetaWeblogAPI {
 
 				responseContent = getPost(postId);
 			} else if (METHOD_EDIT_POST.equals(methodName)) {
-				final JSONObject article = parsetPost(methodCall);
+				final JSONObject article = articleImportService.parseMetaWeblogPost(methodCall);
 				final String postId = params.getJSONObject(INDEX_POST_ID).getJSONObject("value").getString("string");
 
 				article.put(Keys.OBJECT_ID, postId);
@@ -353,96 +342,6 @@ public class MetaWeblogAPI {
 		}
 	}
 
-	/**
-	 * Parses the specified method call for an article.
-	 *
-	 * @param methodCall
-	 *            the specified method call
-	 * @return article
-	 * @throws Exception
-	 *             exception
-	 */
-	private JSONObject parsetPost(final JSONObject methodCall) throws Exception {
-		final JSONObject ret = new JSONObject();
-
-		final JSONArray params = methodCall.getJSONObject("params").getJSONArray("param");
-		final JSONObject post = params.getJSONObject(INDEX_POST).getJSONObject("value").getJSONObject("struct");
-		final JSONArray members = post.getJSONArray("member");
-
-		for (int i = 0; i < members.length(); i++) {
-			final JSONObject member = members.getJSONObject(i);
-			final String name = member.getString("name");
-
-			if ("dateCreated".equals(name)) {
-				final String dateString = member.getJSONObject("value").getString("dateTime.iso8601");
-				Date date;
-
-				try {
-					date = (Date) DateFormatUtils.ISO_DATETIME_FORMAT.parseObject(dateString);
-				} catch (final ParseException e) {
-					logger.warn("Parses article create date failed with ISO8601, retry to parse with "
-							+ "pattern[yyyy-MM-dd'T'HH:mm:ss, yyyyMMdd'T'HH:mm:ss'Z']");
-					date = DateUtils.parseDate(dateString,
-							new String[] { "yyyyMMdd'T'HH:mm:ss", "yyyyMMdd'T'HH:mm:ss'Z'" });
-				}
-				ret.put(Article.ARTICLE_CREATE_DATE, date);
-			} else if ("title".equals(name)) {
-				ret.put(Article.ARTICLE_TITLE, member.getJSONObject("value").getString("string"));
-			} else if ("description".equals(name)) {
-				final String content = member.getJSONObject("value").getString("string");
-
-				ret.put(Article.ARTICLE_CONTENT, content);
-
-				final String plainTextContent = Jsoup.parse(content).text();
-
-				if (plainTextContent.length() > ARTICLE_ABSTRACT_LENGTH) {
-					ret.put(Article.ARTICLE_ABSTRACT, plainTextContent.substring(0, ARTICLE_ABSTRACT_LENGTH));
-				} else {
-					ret.put(Article.ARTICLE_ABSTRACT, plainTextContent);
-				}
-			} else if ("categories".equals(name)) {
-				final StringBuilder tagBuilder = new StringBuilder();
-
-				final JSONObject data = member.getJSONObject("value").getJSONObject("array").getJSONObject("data");
-
-				if (0 == data.length()) {
-					throw new Exception("At least one Tag");
-				}
-
-				final Object value = data.get("value");
-
-				if (value instanceof JSONArray) {
-					final JSONArray tags = (JSONArray) value;
-
-					for (int j = 0; j < tags.length(); j++) {
-						final String tagTitle = tags.getJSONObject(j).getString("string");
-
-						tagBuilder.append(tagTitle);
-
-						if (j < tags.length() - 1) {
-							tagBuilder.append(",");
-						}
-					}
-				} else {
-					final JSONObject tag = (JSONObject) value;
-
-					tagBuilder.append(tag.getString("string"));
-				}
-
-				ret.put(Article.ARTICLE_TAGS_REF, tagBuilder.toString());
-			}
-		}
-
-		final boolean publish = 1 == params.getJSONObject(INDEX_PUBLISH).getJSONObject("value").getInt("boolean");
-
-		ret.put(Article.ARTICLE_IS_PUBLISHED, publish);
-
-		ret.put(Article.ARTICLE_COMMENTABLE, true);
-		ret.put(Article.ARTICLE_VIEW_PWD, "");
-
-		return ret;
-	}
-
 	/**
 	 * Processes {@value #METHOD_GET_RECENT_POSTS}.
 	 *
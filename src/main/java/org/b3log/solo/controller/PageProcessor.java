@@ -16,6 +16,7 @@
 package org.b3log.solo.controller;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +36,7 @@ import org.b3log.solo.service.CommentQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.service.html.Filler;
+import org.b3log.solo.service.html.FillerEngine;
 import org.b3log.solo.util.Stopwatchs;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -48,7 +50,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * Page processor.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.0.6, Nov 8, 2016
+ * @version 1.1.1.0, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -95,6 +97,7 @@ public class PageProcessor {
 	public void showPage(final HttpServletRequest request, final HttpServletResponse response) {
 		final AbstractFreeMarkerRenderer renderer = new FreeMarkerRenderer();
 		renderer.setTemplateName("page.ftl");
+		renderer.setPageCacheable(true);
 		final Map<String, Object> dataModel = renderer.getDataModel();
 
 		try {
@@ -138,8 +141,11 @@ public class PageProcessor {
 				Stopwatchs.end();
 			}
 
-			filler.fillSide(request, dataModel, preference);
-			filler.fillBlogHeader(request, response, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillSide(request, dataModel, preference, fillers);
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
 
 			statisticMgmtService.incBlogViewCount(request, response);
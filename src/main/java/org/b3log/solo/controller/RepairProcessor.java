@@ -16,7 +16,6 @@
 package org.b3log.solo.controller;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
@@ -25,21 +24,19 @@ import javax.servlet.http.HttpServletResponse;
 import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
 import org.b3log.solo.dao.ArticleDao;
-import org.b3log.solo.dao.TagArticleDao;
-import org.b3log.solo.dao.TagDao;
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.Repositories;
 import org.b3log.solo.model.Article;
 import org.b3log.solo.model.MailMessage;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Statistic;
-import org.b3log.solo.model.Tag;
 import org.b3log.solo.renderer.TextHTMLRenderer;
 import org.b3log.solo.service.MailService;
 import org.b3log.solo.service.PreferenceMgmtService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.service.StatisticQueryService;
+import org.b3log.solo.service.TagMgmtService;
 import org.b3log.solo.util.CollectionUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -58,7 +55,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * </p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.0.11, Nov 20, 2015
+ * @version 1.2.1.0, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -94,16 +91,10 @@ public class RepairProcessor {
 	private MailService mailService;
 
 	/**
-	 * Tag repository.
+	 * Tag management service.
 	 */
 	@Autowired
-	private TagDao tagDao;
-
-	/**
-	 * Tag-Article repository.
-	 */
-	@Autowired
-	private TagArticleDao tagArticleDao;
+	private TagMgmtService tagMgmtService;
 
 	/**
 	 * Article repository.
@@ -273,40 +264,9 @@ public class RepairProcessor {
 	public void repairTagArticleCounter(final HttpServletRequest request, final HttpServletResponse response) {
 		final TextHTMLRenderer renderer = new TextHTMLRenderer();
 		try {
-			final JSONObject result = tagDao.get(new Query());
-			final JSONArray tagArray = result.getJSONArray(Keys.RESULTS);
-			final List<JSONObject> tags = CollectionUtils.jsonArrayToList(tagArray);
-
-			for (final JSONObject tag : tags) {
-				final String tagId = tag.getString(Keys.OBJECT_ID);
-				final JSONObject tagArticleResult = tagArticleDao.getByTagId(tagId, 1, Integer.MAX_VALUE);
-				final JSONArray tagArticles = tagArticleResult.getJSONArray(Keys.RESULTS);
-				final int tagRefCnt = tagArticles.length();
-				int publishedTagRefCnt = 0;
-
-				for (int i = 0; i < tagRefCnt; i++) {
-					final JSONObject tagArticle = tagArticles.getJSONObject(i);
-					final String articleId = tagArticle.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
-					final JSONObject article = articleDao.get(articleId);
-
-					if (null == article) {
-						tagArticleDao.remove(tagArticle.optString(Keys.OBJECT_ID));
-						continue;
-					}
+			final int repaired = tagMgmtService.repairTagRefCounts();
 
-					if (article.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
-						publishedTagRefCnt++;
-					}
-				}
-
-				tag.put(Tag.TAG_REFERENCE_COUNT, tagRefCnt);
-				tag.put(Tag.TAG_PUBLISHED_REFERENCE_COUNT, publishedTagRefCnt);
-
-				tagDao.update(tagId, tag);
-
-				logger.info("Repaired tag[title={}, refCnt={}, publishedTagRefCnt={}]", tag.getString(Tag.TAG_TITLE),
-						tagRefCnt, publishedTagRefCnt);
-			}
+			logger.info("Repaired [{}] tags", repaired);
 
 			renderer.setContent("Repair sucessfully!");
 		} catch (final Exception e) {
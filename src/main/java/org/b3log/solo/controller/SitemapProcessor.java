@@ -16,36 +16,18 @@
 package org.b3log.solo.controller;
 
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.util.Date;
+import java.io.OutputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.apache.commons.lang3.time.DateFormatUtils;
-import org.b3log.solo.Keys;
-import org.b3log.solo.Latkes;
-import org.b3log.solo.dao.ArchiveDateDao;
-import org.b3log.solo.dao.ArticleDao;
-import org.b3log.solo.dao.PageDao;
-import org.b3log.solo.dao.TagDao;
-import org.b3log.solo.dao.repository.FilterOperator;
-import org.b3log.solo.dao.repository.PropertyFilter;
-import org.b3log.solo.dao.repository.Query;
-import org.b3log.solo.dao.repository.SortDirection;
-import org.b3log.solo.model.ArchiveDate;
-import org.b3log.solo.model.Article;
-import org.b3log.solo.model.Page;
-import org.b3log.solo.model.Tag;
-import org.b3log.solo.model.sitemap.Sitemap;
-import org.b3log.solo.model.sitemap.URL;
-import org.b3log.solo.renderer.TextXMLRenderer;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.b3log.solo.service.ServiceException;
+import org.b3log.solo.service.SitemapService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
@@ -53,8 +35,9 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * Site map (sitemap) processor.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.6, May 17, 2013
+ * @version 1.1.0.0, Oct 17, 2026
  * @since 0.3.1
+ * @see SitemapService
  */
 @Controller
 public class SitemapProcessor {
@@ -65,182 +48,82 @@ public class SitemapProcessor {
 	private static Logger logger = LoggerFactory.getLogger(SitemapProcessor.class);
 
 	/**
-	 * Article repository.
+	 * Sitemap service.
 	 */
 	@Autowired
-	private ArticleDao articleDao;
+	private SitemapService sitemapService;
 
 	/**
-	 * Page repository.
-	 */
-	@Autowired
-	private PageDao pageDao;
-
-	/**
-	 * Tag repository.
-	 */
-	@Autowired
-	private TagDao tagDao;
-
-	/**
-	 * Archive date repository.
-	 */
-	@Autowired
-	private ArchiveDateDao archiveDateDao;
-
-	/**
-	 * Returns the sitemap.
-	 * 
-	 * @param context
-	 *            the specified context
+	 * Returns the sitemap, or the sitemap index if the sitemap is sharded.
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws IOException
+	 *             io exception
 	 */
 	@RequestMapping(value = "/sitemap.xml", method = RequestMethod.GET)
-	public void sitemap(final HttpServletRequest request, final HttpServletResponse response) {
-		final TextXMLRenderer renderer = new TextXMLRenderer();
-		final Sitemap sitemap = new Sitemap();
-
+	public void sitemap(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
 		try {
-			addArticles(sitemap);
-			addNavigations(sitemap);
-			addTags(sitemap);
-			addArchives(sitemap);
-
-			logger.info("Generating sitemap....");
-			final String content = sitemap.toString();
-
-			logger.info("Generated sitemap");
-			renderer.setContent(content);
-		} catch (final Exception e) {
-			logger.error("Get blog article feed error", e);
-
-			try {
-				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-			} catch (final IOException ex) {
-				throw new RuntimeException(ex);
-			}
-		}
-		renderer.render(request, response);
-	}
-
-	/**
-	 * Adds articles into the specified sitemap.
-	 * 
-	 * @param sitemap
-	 *            the specified sitemap
-	 * @throws Exception
-	 *             exception
-	 */
-	private void addArticles(final Sitemap sitemap) throws Exception {
-		// XXX: query all articles?
-		final Query query = new Query().setCurrentPageNum(1)
-				.setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true))
-				.addSort(Article.ARTICLE_CREATE_DATE, SortDirection.DESCENDING);
-
-		// XXX: maybe out of memory
-		final JSONObject articleResult = articleDao.get(query);
+			write(sitemapService.getSitemap(), response);
+		} catch (final ServiceException e) {
+			logger.error("Get sitemap error", e);
 
-		final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
-
-		for (int i = 0; i < articles.length(); i++) {
-			final JSONObject article = articles.getJSONObject(i);
-			final String permalink = article.getString(Article.ARTICLE_PERMALINK);
-
-			final URL url = new URL();
-
-			url.setLoc(Latkes.getServePath() + permalink);
-
-			final Date updateDate = (Date) article.get(Article.ARTICLE_UPDATE_DATE);
-			final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate);
-
-			url.setLastMod(lastMod);
-
-			sitemap.addURL(url);
-		}
-	}
-
-	/**
-	 * Adds navigations into the specified sitemap.
-	 * 
-	 * @param sitemap
-	 *            the specified sitemap
-	 * @throws Exception
-	 *             exception
-	 */
-	private void addNavigations(final Sitemap sitemap) throws Exception {
-		final JSONObject result = pageDao.get(new Query());
-		final JSONArray pages = result.getJSONArray(Keys.RESULTS);
-
-		for (int i = 0; i < pages.length(); i++) {
-			final JSONObject page = pages.getJSONObject(i);
-			final String permalink = page.getString(Page.PAGE_PERMALINK);
-
-			final URL url = new URL();
-
-			// The navigation maybe a page or a link
-			// Just filters for user mistakes tolerance
-			if (!permalink.contains("://")) {
-				url.setLoc(Latkes.getServePath() + permalink);
-			} else {
-				url.setLoc(permalink);
-			}
-
-			sitemap.addURL(url);
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
 		}
 	}
 
 	/**
-	 * Adds tags (tag-articles) and tags wall (/tags.html) into the specified
-	 * sitemap.
-	 * 
-	 * @param sitemap
-	 *            the specified sitemap
-	 * @throws Exception
-	 *             exception
+	 * Returns a shard of the sitemap.
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @param num
+	 *            the specified shard number, starts from 1
+	 * @throws IOException
+	 *             io exception
 	 */
-	private void addTags(final Sitemap sitemap) throws Exception {
-		final JSONObject result = tagDao.get(new Query());
-		final JSONArray tags = result.getJSONArray(Keys.RESULTS);
+	@RequestMapping(value = "/sitemap-{num}.xml", method = RequestMethod.GET)
+	public void shard(final HttpServletRequest request, final HttpServletResponse response,
+			@PathVariable("num") final int num) throws IOException {
+		try {
+			final byte[] shard = sitemapService.getShard(num);
 
-		for (int i = 0; i < tags.length(); i++) {
-			final JSONObject tag = tags.getJSONObject(i);
-			final String link = URLEncoder.encode(tag.getString(Tag.TAG_TITLE), "UTF-8");
+			if (null == shard) {
+				response.sendError(HttpServletResponse.SC_NOT_FOUND);
 
-			final URL url = new URL();
+				return;
+			}
 
-			url.setLoc(Latkes.getServePath() + "/tags/" + link);
+			write(shard, response);
+		} catch (final ServiceException e) {
+			logger.error("Get sitemap shard [" + num + "] error", e);
 
-			sitemap.addURL(url);
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
 		}
-
-		// Tags wall
-		final URL url = new URL();
-
-		url.setLoc(Latkes.getServePath() + "/tags.html");
-		sitemap.addURL(url);
 	}
 
 	/**
-	 * Adds archives (archive-articles) into the specified sitemap.
-	 * 
-	 * @param sitemap
-	 *            the specified sitemap
-	 * @throws Exception
-	 *             exception
+	 * Writes the specified XML to the specified response.
+	 *
+	 * @param xml
+	 *            the specified UTF-8 XML
+	 * @param response
+	 *            the specified response
+	 * @throws IOException
+	 *             io exception
 	 */
-	private void addArchives(final Sitemap sitemap) throws Exception {
-		final JSONObject result = archiveDateDao.get(new Query());
-		final JSONArray archiveDates = result.getJSONArray(Keys.RESULTS);
-
-		for (int i = 0; i < archiveDates.length(); i++) {
-			final JSONObject archiveDate = archiveDates.getJSONObject(i);
-			final long time = archiveDate.getLong(ArchiveDate.ARCHIVE_TIME);
-			final String dateString = DateFormatUtils.format(time, "yyyy/MM");
+	private static void write(final byte[] xml, final HttpServletResponse response) throws IOException {
+		response.setContentType("text/xml");
+		response.setCharacterEncoding("UTF-8");
+		response.setContentLength(xml.length);
 
-			final URL url = new URL();
+		final OutputStream outputStream = response.getOutputStream();
 
-			url.setLoc(Latkes.getServePath() + "/archives/" + dateString);
-
-			sitemap.addURL(url);
-		}
+		outputStream.write(xml);
+		outputStream.flush();
 	}
 }
@@ -18,10 +18,19 @@ package org.b3log.solo.controller;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.b3log.solo.Keys;
+import org.b3log.solo.frame.thread.ThreadService;
+import org.b3log.solo.frame.thread.ThreadServiceFactory;
+import org.b3log.solo.frame.trace.RequestTraces;
 import org.b3log.solo.renderer.DoNothingRenderer;
+import org.b3log.solo.renderer.JSONRenderer;
+import org.b3log.solo.service.MailService;
 import org.b3log.solo.service.StatisticMgmtService;
+import org.b3log.solo.service.UserQueryService;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -39,7 +48,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * <p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.2.0, Oct 12, 2013
+ * @version 1.3.0.0, Oct 17, 2026
  * @since 0.4.0
  */
 @Controller
@@ -50,6 +59,18 @@ public class StatProcessor {
 	 */
 	private static Logger logger = LoggerFactory.getLogger(StatProcessor.class);
 
+	/**
+	 * User query service.
+	 */
+	@Autowired
+	private UserQueryService userQueryService;
+
+	/**
+	 * Mail service.
+	 */
+	@Autowired
+	private MailService mailService;
+
 	/**
 	 * Online visitor count refresher.
 	 * 
@@ -61,4 +82,133 @@ public class StatProcessor {
 		StatisticMgmtService.removeExpiredOnlineVisitor();
 		new DoNothingRenderer().render(request, response);
 	}
+
+	/**
+	 * Gets the latency histograms of routes.
+	 *
+	 * <p>
+	 * Renders the response with a json object, for example,
+	 *
+	 * <pre>
+	 * {
+	 *     "sc": true,
+	 *     "traces": {
+	 *         "GET /articles/{articleId}": {
+	 *             "count": 120, "avg": 35, "dbAvg": 12, "max": 640,
+	 *             "p50": 25, "p95": 250, "p99": 1000,
+	 *             "buckets": [{"le": 5, "count": 3}, ....]
+	 *         }, ....
+	 *     }
+	 * }
+	 * </pre>
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws Exception
+	 *             exception
+	 */
+	@RequestMapping(value = "/console/stat/traces", method = RequestMethod.GET)
+	public void getTraces(final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+		if (!userQueryService.isAdminLoggedIn(request)) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+
+		final JSONRenderer renderer = new JSONRenderer();
+		final JSONObject jsonObject = new JSONObject();
+
+		renderer.setJSONObject(jsonObject);
+		jsonObject.put(Keys.STATUS_CODE, true);
+		jsonObject.put("traces", RequestTraces.getHistograms());
+		renderer.render(request, response);
+	}
+
+	/**
+	 * Gets the statistics of the thread pools.
+	 *
+	 * <p>
+	 * Renders the response with a json object, for example,
+	 *
+	 * <pre>
+	 * {
+	 *     "sc": true,
+	 *     "threads": {
+	 *         "io": {
+	 *             "poolSize": 16, "active": 2, "queued": 0, "queueCapacity": 256, "largest": 16,
+	 *             "submitted": 120, "completed": 115, "failed": 2, "rejected": 0, "callerRuns": 0, "timedOut": 3,
+	 *             "waitAvg": 1, "runAvg": 320, "runMax": 30000
+	 *         },
+	 *         "cpu": {....}
+	 *     }
+	 * }
+	 * </pre>
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws Exception
+	 *             exception
+	 * @see ThreadService#getStatistics()
+	 */
+	@RequestMapping(value = "/console/stat/threads", method = RequestMethod.GET)
+	public void getThreads(final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+		if (!userQueryService.isAdminLoggedIn(request)) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+
+		final JSONRenderer renderer = new JSONRenderer();
+		final JSONObject jsonObject = new JSONObject();
+
+		renderer.setJSONObject(jsonObject);
+		jsonObject.put(Keys.STATUS_CODE, true);
+		jsonObject.put("threads", ThreadServiceFactory.getThreadService().getStatistics());
+		renderer.render(request, response);
+	}
+
+	/**
+	 * Gets the statistics of the mail outbox.
+	 *
+	 * <p>
+	 * Renders the response with a json object, for example,
+	 *
+	 * <pre>
+	 * {
+	 *     "sc": true,
+	 *     "mail": {
+	 *         "workers": 2, "connected": 1, "queued": 0, "queueCapacity": 1024, "submitted": 120, "rejected": 0,
+	 *         "sent": 117, "failed": 1, "retried": 3, "batches": 20, "connects": 4, "waitAvg": 35, "sendAvg": 120
+	 *     }
+	 * }
+	 * </pre>
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws Exception
+	 *             exception
+	 * @see MailService#getStatistics()
+	 */
+	@RequestMapping(value = "/console/stat/mail", method = RequestMethod.GET)
+	public void getMail(final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+		if (!userQueryService.isAdminLoggedIn(request)) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+
+		final JSONRenderer renderer = new JSONRenderer();
+		final JSONObject jsonObject = new JSONObject();
+
+		renderer.setJSONObject(jsonObject);
+		jsonObject.put(Keys.STATUS_CODE, true);
+		jsonObject.put("mail", mailService.getStatistics());
+		renderer.render(request, response);
+	}
 }
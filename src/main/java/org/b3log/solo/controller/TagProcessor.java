@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -42,6 +43,7 @@ import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.service.TagQueryService;
 import org.b3log.solo.service.UserQueryService;
 import org.b3log.solo.service.html.Filler;
+import org.b3log.solo.service.html.FillerEngine;
 import org.b3log.solo.util.Paginator;
 import org.b3log.solo.util.Requests;
 import org.apache.commons.lang3.StringUtils;
@@ -59,7 +61,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  * Tag processor.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.1.4, Nov 20, 2015
+ * @version 1.1.2.0, Oct 17, 2026
  * @since 0.3.1
  */
 @Controller
@@ -121,6 +123,7 @@ public class TagProcessor {
 			throws IOException {
 		final AbstractFreeMarkerRenderer renderer = new FreeMarkerRenderer();
 		renderer.setTemplateName("tag-articles.ftl");
+		renderer.setPageCacheable(true);
 		final Map<String, Object> dataModel = renderer.getDataModel();
 
 		try {
@@ -197,8 +200,11 @@ public class TagProcessor {
 			dataModel.put(Keys.OBJECT_ID, tagId);
 			dataModel.put(Tag.TAG, tag);
 
-			filler.fillSide(request, dataModel, preference);
-			filler.fillBlogHeader(request, response, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillSide(request, dataModel, preference, fillers);
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
 
 			statisticMgmtService.incBlogViewCount(request, response);
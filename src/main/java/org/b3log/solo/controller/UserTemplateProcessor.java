@@ -16,6 +16,7 @@
 package org.b3log.solo.controller;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
@@ -31,6 +32,7 @@ import org.b3log.solo.service.LangPropsService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.service.html.Filler;
+import org.b3log.solo.service.html.FillerEngine;
 import org.b3log.solo.util.Locales;
 import org.b3log.solo.util.freemarker.Templates;
 import org.json.JSONObject;
@@ -57,7 +59,7 @@ import freemarker.template.Template;
  * </p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.5, Nov 20, 2015
+ * @version 1.0.1.0, Oct 17, 2026
  * @since 0.4.5
  */
 @Controller
@@ -138,8 +140,11 @@ public class UserTemplateProcessor {
 			dataModel.putAll(langs);
 			final JSONObject preference = preferenceQueryService.getPreference();
 
-			filler.fillBlogHeader(request, response, dataModel, preference);
-			filler.fillUserTemplate(request, template, dataModel, preference);
+			final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+			filler.fillBlogHeader(request, response, dataModel, preference, fillers);
+			filler.fillUserTemplate(request, template, dataModel, preference, fillers);
+			filler.fill(dataModel, fillers);
 			filler.fillBlogFooter(request, dataModel, preference);
 			skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING),
 					(String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
@@ -15,25 +15,20 @@
  */
 package org.b3log.solo.controller.console;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.OutputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Calendar;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
-import java.util.UUID;
 
-import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
-import org.b3log.solo.RuntimeDatabase;
 import org.b3log.solo.SoloConstant;
 import org.b3log.solo.frame.event.Event;
 import org.b3log.solo.frame.event.EventException;
@@ -49,14 +44,14 @@ import org.b3log.solo.module.util.Thumbnails;
 import org.b3log.solo.renderer.ConsoleRenderer;
 import org.b3log.solo.renderer.JSONRenderer;
 import org.b3log.solo.renderer.freemarker.AbstractFreeMarkerRenderer;
+import org.b3log.solo.service.ArticleImportService;
+import org.b3log.solo.service.ExportService;
 import org.b3log.solo.service.LangPropsService;
 import org.b3log.solo.service.OptionQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.ServiceException;
 import org.b3log.solo.service.UserQueryService;
 import org.b3log.solo.service.html.Filler;
-import org.b3log.solo.util.Execs;
-import org.b3log.solo.util.PropsUtil;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,13 +60,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
-import jodd.io.ZipUtil;
-
 /**
  * Admin console render processing.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.3.2.11, Mar 31, 2017
+ * @version 1.4.0.0, Oct 17, 2026
  * @since 0.4.1
  */
 @Controller
@@ -115,6 +108,18 @@ public class AdminConsole {
 	@Autowired
 	private ViewLoadEventHandler viewLoadEventHandler;
 
+	/**
+	 * Export service.
+	 */
+	@Autowired
+	private ExportService exportService;
+
+	/**
+	 * Article import service.
+	 */
+	@Autowired
+	private ArticleImportService articleImportService;
+
 	/**
 	 * Shows administrator index with the specified context.
 	 *
@@ -228,7 +233,7 @@ public class AdminConsole {
 		final Map<String, String> langs = langPropsService.getAll(locale);
 		final Map<String, Object> dataModel = renderer.getDataModel();
 
-		dataModel.put("isMySQL", RuntimeDatabase.MYSQL == Latkes.getRuntimeDatabase());
+		dataModel.put("canExportSQL", Latkes.runsWithJDBCDatabase());
 		dataModel.putAll(langs);
 		Keys.fillRuntime(dataModel);
 		dataModel.put(Option.ID_C_LOCALE_STRING, locale.toString());
@@ -290,7 +295,7 @@ public class AdminConsole {
 	}
 
 	/**
-	 * Exports data as SQL file.
+	 * Exports data as zipped SQL file, see {@link ExportService}.
 	 *
 	 * @param request
 	 *            the specified HTTP servlet request
@@ -308,59 +313,78 @@ public class AdminConsole {
 			return;
 		}
 
-		if (!Latkes.runsWithJDBCDatabase() || RuntimeDatabase.MYSQL != Latkes.getRuntimeDatabase()) {
-			renderJSON("Just support MySQL export now").render(request, response);
+		if (!Latkes.runsWithJDBCDatabase()) {
+			renderJSON("Just support JDBC database export now").render(request, response);
 			return;
 		}
 
-		final String dbUser = PropsUtil.getString("jdbc.username");
-		final String dbPwd = PropsUtil.getString("jdbc.password");
-		final String dbURL = PropsUtil.getString("jdbc.URL");
-		String db = StringUtils.substringAfterLast(dbURL, "/");
-		db = StringUtils.substringBefore(db, "?");
+		response.setContentType("application/zip");
+		response.setHeader("Content-Disposition", "attachment; filename=\"solo.sql.zip\"");
 
-		String sql;
 		try {
-			if (StringUtils.isNotBlank(dbPwd)) {
-				sql = Execs.exec("mysqldump -u" + dbUser + " -p" + dbPwd + " --databases " + db);
-			} else {
-				sql = Execs.exec("mysqldump -u" + dbUser + " --databases " + db);
+			exportService.exportSQL(response.getOutputStream());
+		} catch (final ServiceException e) {
+			if (!response.isCommitted()) {
+				response.reset();
+				renderJSON("Export failed, please check log").render(request, response);
 			}
-		} catch (final Exception e) {
-			logger.error("Export failed", e);
-			renderJSON("Export failed, please check log").render(request, response);
-			return;
 		}
+	}
 
-		final String tmpDir = System.getProperty("java.io.tmpdir");
-		String localFilePath = tmpDir + "/b3_solo_" + UUID.randomUUID().toString() + ".sql";
-		logger.info(localFilePath);
-		final File localFile = new File(localFilePath);
+	/**
+	 * Imports articles in bulk from the request body, see
+	 * {@link ArticleImportService}.
+	 *
+	 * <p>
+	 * The request body is JSON lines (one article per line) or a MetaWeblog
+	 * dump (a sequence of "metaWeblog.newPost" method calls) in UTF-8, the
+	 * current user is the author of the imported articles. Renders the
+	 * response with a json object, for example,
+	 *
+	 * <pre>
+	 * {
+	 *     "sc": true,
+	 *     "imported": 1200,
+	 *     "failed": 2,
+	 *     "errors": ["Line [3]: Title is blank", ....],
+	 *     "elapsed": 5000
+	 * }
+	 * </pre>
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @throws Exception
+	 *             exception
+	 */
+	@RequestMapping(value = "/console/import/articles", method = RequestMethod.POST)
+	public void importArticles(final HttpServletRequest request, final HttpServletResponse response)
+			throws Exception {
+		if (!userQueryService.isAdminLoggedIn(request)) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
 
-		try {
-			final byte[] data = sql.getBytes("UTF-8");
+		if (!Latkes.runsWithJDBCDatabase()) {
+			renderJSON("Just support JDBC database import now").render(request, response);
+			return;
+		}
 
-			OutputStream output = new FileOutputStream(localFile);
-			IOUtils.write(data, output);
-			IOUtils.closeQuietly(output);
+		final String authorEmail = userQueryService.getCurrentUser(request).getString(User.USER_EMAIL);
 
-			final File zipFile = ZipUtil.zip(localFile);
+		try (final Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+			final JSONObject ret = articleImportService.importArticles(reader, authorEmail);
 
-			final FileInputStream inputStream = new FileInputStream(zipFile);
-			final byte[] zipData = IOUtils.toByteArray(inputStream);
-			IOUtils.closeQuietly(inputStream);
+			ret.put(Keys.STATUS_CODE, true);
 
-			response.setContentType("application/zip");
-			response.setHeader("Content-Disposition", "attachment; filename=\"solo.sql.zip\"");
+			final JSONRenderer renderer = new JSONRenderer();
 
-			final ServletOutputStream outputStream = response.getOutputStream();
-			outputStream.write(zipData);
-			outputStream.flush();
-			outputStream.close();
-		} catch (final Exception e) {
-			logger.error("Export failed", e);
-			renderJSON("Export failed, please check log").render(request, response);
-			return;
+			renderer.setJSONObject(ret);
+			renderer.render(request, response);
+		} catch (final ServiceException e) {
+			renderJSON("Import failed: " + e.getMessage()).render(request, response);
 		}
 	}
 
@@ -8,6 +8,7 @@ import org.b3log.solo.Keys;
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.Repositories;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.Transaction;
 import org.b3log.solo.dao.repository.jdbc.JdbcRepository;
 import org.b3log.solo.model.Pagination;
 import org.b3log.solo.util.Callstacks;
@@ -37,6 +38,20 @@ public abstract class AbstractBlogDao extends JdbcRepository implements BlogDao
 		return super.add(jsonObject);
 	}
 
+	@Override
+	public List<String> addBatch(final List<JSONObject> jsonObjects) throws RepositoryException {
+		if (!isWritable() && !isInternalCall()) {
+			throw new RepositoryException(
+					"The repository[name=" + getTableNamePostfix() + "] is not writable at present");
+		}
+
+		for (final JSONObject jsonObject : jsonObjects) {
+			Repositories.check(getTableNamePostfix(), jsonObject, Keys.OBJECT_ID);
+		}
+
+		return super.addBatch(jsonObjects);
+	}
+
 	@Override
 	public void update(final String id, final JSONObject jsonObject) throws RepositoryException {
 		if (!isWritable() && !isInternalCall()) {
@@ -127,13 +142,15 @@ public abstract class AbstractBlogDao extends JdbcRepository implements BlogDao
 		return super.count(query);
 	}
 
-	/*
-	 * @Override public Transaction beginTransaction() { return
-	 * super.beginTransaction(); }
-	 * 
-	 * @Override public boolean hasTransactionBegun() { return
-	 * super.hasTransactionBegun(); }
-	 */
+	@Override
+	public Transaction beginTransaction() {
+		return super.beginTransaction();
+	}
+
+	@Override
+	public boolean hasTransactionBegun() {
+		return super.hasTransactionBegun();
+	}
 
 	@Override
 	public boolean isWritable() {
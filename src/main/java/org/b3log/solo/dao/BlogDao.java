@@ -5,6 +5,7 @@ import java.util.Map;
 
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.Transaction;
 import org.json.JSONObject;
 
 public interface BlogDao {
@@ -20,6 +21,20 @@ public interface BlogDao {
 	 */
 	String add(final JSONObject jsonObject) throws RepositoryException;
 
+	/**
+	 * Adds the specified json objects with JDBC batch statements, in the
+	 * current transaction if there is one.
+	 *
+	 * @param jsonObjects
+	 *            the specified json objects, ids are generated for those
+	 *            without
+	 * @return the generated object ids, in the order of the specified json
+	 *         objects
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	List<String> addBatch(final List<JSONObject> jsonObjects) throws RepositoryException;
+
 	/**
 	 * Updates a certain json object by the specified id and the specified new
 	 * json object.
@@ -187,7 +202,7 @@ public interface BlogDao {
 	 *
 	 * @return the transaction that was started.
 	 */
-	// Transaction beginTransaction();
+	Transaction beginTransaction();
 
 	/**
 	 * Whether the repository within a transaction.
@@ -195,7 +210,7 @@ public interface BlogDao {
 	 * @return {@code true} if the repository within a transaction, returns
 	 *         {@code false} otherwise
 	 */
-	// boolean hasTransactionBegun();
+	boolean hasTransactionBegun();
 
 	/**
 	 * Whether the repository is writable.
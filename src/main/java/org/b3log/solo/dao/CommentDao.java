@@ -15,10 +15,16 @@
  */
 package org.b3log.solo.dao;
 
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.apache.commons.lang3.StringUtils;
 import org.b3log.solo.Keys;
+import org.b3log.solo.dao.repository.CompositeFilterOperator;
+import org.b3log.solo.dao.repository.Filter;
 import org.b3log.solo.dao.repository.FilterOperator;
 import org.b3log.solo.dao.repository.PropertyFilter;
 import org.b3log.solo.dao.repository.Query;
@@ -38,7 +44,7 @@ import org.springframework.stereotype.Repository;
  * Comment repository.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.8, Oct 18, 2011
+ * @version 1.1.0.0, Oct 17, 2026
  * @since 0.3.1
  */
 @Repository
@@ -87,6 +93,43 @@ public class CommentDao extends AbstractBlogDao {
 		return CollectionUtils.jsonArrayToList(array);
 	}
 
+	/**
+	 * Gets comments of an article or page specified by the on id older than the
+	 * comment specified by the cursor, newest first.
+	 *
+	 * <p>
+	 * Seeks by id instead of counting rows (offset), so the cost of a page does
+	 * not grow with the page number and a comment added while paging does not
+	 * shift the following pages.
+	 * </p>
+	 *
+	 * @param onId
+	 *            the specified on id
+	 * @param cursor
+	 *            the specified cursor, id of the last comment of the previous
+	 *            page, gets the newest comments if blank
+	 * @param pageSize
+	 *            the specified page size
+	 * @return a list of comments, returns an empty list if not found
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	public List<JSONObject> getCommentsBefore(final String onId, final String cursor, final int pageSize)
+			throws RepositoryException {
+		final Filter onIdFilter = new PropertyFilter(Comment.COMMENT_ON_ID, FilterOperator.EQUAL, onId);
+		final Query query = new Query().addSort(Keys.OBJECT_ID, SortDirection.DESCENDING)
+				.setFilter(StringUtils.isBlank(cursor) ? onIdFilter
+						: CompositeFilterOperator.and(onIdFilter,
+								new PropertyFilter(Keys.OBJECT_ID, FilterOperator.LESS_THAN, cursor)))
+				.setCurrentPageNum(1).setPageSize(pageSize).setPageCount(1);
+
+		final JSONObject result = get(query);
+
+		final JSONArray array = result.optJSONArray(Keys.RESULTS);
+
+		return CollectionUtils.jsonArrayToList(array);
+	}
+
 	public List<JSONObject> getRecentComments(final int num) throws RepositoryException {
 		final Query query = new Query().addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).setCurrentPageNum(1)
 				.setPageSize(num).setPageCount(1);
@@ -114,6 +157,15 @@ public class CommentDao extends AbstractBlogDao {
 	 */
 	private void removeForUnpublishedArticles(final List<JSONObject> comments) throws RepositoryException {
 		logger.debug("Removing unpublished articles' comments....");
+		final Set<String> articleIds = new HashSet<>();
+
+		for (final JSONObject comment : comments) {
+			if (Article.ARTICLE.equals(comment.optString(Comment.COMMENT_ON_TYPE))) {
+				articleIds.add(comment.optString(Comment.COMMENT_ON_ID));
+			}
+		}
+
+		final Map<String, JSONObject> articles = articleDao.get(articleIds);
 		final Iterator<JSONObject> iterator = comments.iterator();
 
 		while (iterator.hasNext()) {
@@ -121,9 +173,9 @@ public class CommentDao extends AbstractBlogDao {
 			final String commentOnType = comment.optString(Comment.COMMENT_ON_TYPE);
 
 			if (Article.ARTICLE.equals(commentOnType)) {
-				final String articleId = comment.optString(Comment.COMMENT_ON_ID);
+				final JSONObject article = articles.get(comment.optString(Comment.COMMENT_ON_ID));
 
-				if (!articleDao.isPublished(articleId)) {
+				if (null == article || !article.optBoolean(Article.ARTICLE_IS_PUBLISHED)) {
 					iterator.remove();
 				}
 			}
@@ -17,8 +17,10 @@ package org.b3log.solo.dao;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
+import org.b3log.solo.dao.repository.SortDirection;
 import org.b3log.solo.dao.repository.jdbc.AbstractJdbcDatabaseSolution;
 import org.b3log.solo.dao.repository.jdbc.mapping.BooleanMapping;
 import org.b3log.solo.dao.repository.jdbc.mapping.DateMapping;
@@ -28,13 +30,14 @@ import org.b3log.solo.dao.repository.jdbc.mapping.Mapping;
 import org.b3log.solo.dao.repository.jdbc.mapping.NumberMapping;
 import org.b3log.solo.dao.repository.jdbc.mapping.StringMapping;
 import org.b3log.solo.dao.repository.jdbc.util.FieldDefinition;
+import org.b3log.solo.dao.repository.jdbc.util.IndexDefinition;
 
 /**
  * DefaultJdbcDatabaseSolution,for extend .
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.2, May 8, 2012
+ * @version 1.1.0.0, Oct 17, 2026
  */
 public class MysqlJdbcDatabaseSolution extends AbstractJdbcDatabaseSolution {
 
@@ -72,6 +75,43 @@ public class MysqlJdbcDatabaseSolution extends AbstractJdbcDatabaseSolution {
 		return sql.toString();
 	}
 
+	@Override
+	public String createIndexSql(final String tableName, final IndexDefinition indexDefinition) {
+		final StringBuilder sql = new StringBuilder();
+
+		sql.append("CREATE ");
+		if (indexDefinition.isUnique()) {
+			sql.append("UNIQUE ");
+		}
+		sql.append("INDEX ").append(indexDefinition.getName()).append(" ON ").append(tableName).append("(");
+
+		boolean isFirst = true;
+
+		for (final Map.Entry<String, SortDirection> key : indexDefinition.getKeys().entrySet()) {
+			if (isFirst) {
+				isFirst = false;
+			} else {
+				sql.append(",");
+			}
+
+			sql.append(key.getKey());
+			if (SortDirection.DESCENDING == key.getValue()) {
+				sql.append(" DESC");
+			}
+		}
+
+		sql.append(")");
+		return sql.toString();
+	}
+
+	@Override
+	public String dropIndexSql(final String tableName, final String indexName) {
+		final StringBuilder sql = new StringBuilder();
+
+		sql.append("DROP INDEX ").append(indexName).append(" ON ").append(tableName);
+		return sql.toString();
+	}
+
 	@Override
 	protected void createDropTableSql(final StringBuilder dropTableSql, final String tableName) {
 		dropTableSql.append("DROP TABLE IF EXISTS ").append(tableName).append(";");
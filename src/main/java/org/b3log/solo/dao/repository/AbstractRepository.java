@@ -42,7 +42,7 @@ import org.slf4j.LoggerFactory;
  * </p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 2.2.1.8, Sep 4, 2016
+ * @version 2.3.0.0, Oct 17, 2026
  */
 public abstract class AbstractRepository implements Repository {
 
@@ -122,6 +122,19 @@ public abstract class AbstractRepository implements Repository {
 		return repository.add(jsonObject);
 	}
 
+	@Override
+	public List<String> addBatch(final List<JSONObject> jsonObjects) throws RepositoryException {
+		if (!isWritable() && !isInternalCall()) {
+			throw new RepositoryException("The repository[name=" + getTableName() + "] is not writable at present");
+		}
+
+		for (final JSONObject jsonObject : jsonObjects) {
+			Repositories.check(getTableName(), jsonObject, Keys.OBJECT_ID);
+		}
+
+		return repository.addBatch(jsonObjects);
+	}
+
 	@Override
 	public void update(final String id, final JSONObject jsonObject) throws RepositoryException {
 		if (!isWritable() && !isInternalCall()) {
@@ -133,6 +146,26 @@ public abstract class AbstractRepository implements Repository {
 		repository.update(id, jsonObject);
 	}
 
+	@Override
+	public void update(final String id, final JSONObject jsonObject, final String... propertyNames)
+			throws RepositoryException {
+		if (!isWritable() && !isInternalCall()) {
+			throw new RepositoryException("The repository[name=" + getTableName() + "] is not writable at present");
+		}
+
+		repository.update(id, jsonObject, propertyNames);
+	}
+
+	@Override
+	public boolean increment(final String id, final String propertyName, final long delta)
+			throws RepositoryException {
+		if (!isWritable() && !isInternalCall()) {
+			throw new RepositoryException("The repository[name=" + getTableName() + "] is not writable at present");
+		}
+
+		return repository.increment(id, propertyName, delta);
+	}
+
 	@Override
 	public void remove(final String id) throws RepositoryException {
 		if (!isWritable() && !isInternalCall()) {
@@ -210,13 +243,15 @@ public abstract class AbstractRepository implements Repository {
 		return repository.count(query);
 	}
 
-	/*
-	 * @Override public Transaction beginTransaction() { return
-	 * repository.beginTransaction(); }
-	 * 
-	 * @Override public boolean hasTransactionBegun() { return
-	 * repository.hasTransactionBegun(); }
-	 */
+	@Override
+	public Transaction beginTransaction() {
+		return repository.beginTransaction();
+	}
+
+	@Override
+	public boolean hasTransactionBegun() {
+		return repository.hasTransactionBegun();
+	}
 
 	@Override
 	public String getTableName() {
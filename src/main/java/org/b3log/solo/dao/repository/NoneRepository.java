@@ -24,7 +24,7 @@ import org.json.JSONObject;
  * None repository implementation.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.0.1, Sep 4, 2016
+ * @version 1.3.0.0, Oct 17, 2026
  */
 public final class NoneRepository implements Repository {
 
@@ -42,11 +42,28 @@ public final class NoneRepository implements Repository {
 		throw new UnsupportedOperationException("Not supported yet.");
 	}
 
+	@Override
+	public List<String> addBatch(final List<JSONObject> jsonObjects) throws RepositoryException {
+		throw new UnsupportedOperationException("Not supported yet.");
+	}
+
 	@Override
 	public void update(final String id, final JSONObject jsonObject) throws RepositoryException {
 		throw new UnsupportedOperationException("Not supported yet.");
 	}
 
+	@Override
+	public void update(final String id, final JSONObject jsonObject, final String... propertyNames)
+			throws RepositoryException {
+		throw new UnsupportedOperationException("Not supported yet.");
+	}
+
+	@Override
+	public boolean increment(final String id, final String propertyName, final long delta)
+			throws RepositoryException {
+		throw new UnsupportedOperationException("Not supported yet.");
+	}
+
 	@Override
 	public void remove(final String id) throws RepositoryException {
 		throw new UnsupportedOperationException("Not supported yet.");
@@ -97,12 +114,15 @@ public final class NoneRepository implements Repository {
 		return "None Repository";
 	}
 
-	/*
-	 * @Override public Transaction beginTransaction() { throw new
-	 * UnsupportedOperationException("Not supported yet."); }
-	 * 
-	 * @Override public boolean hasTransactionBegun() { return false; }
-	 */
+	@Override
+	public Transaction beginTransaction() {
+		throw new UnsupportedOperationException("Not supported yet.");
+	}
+
+	@Override
+	public boolean hasTransactionBegun() {
+		return false;
+	}
 
 	@Override
 	public boolean isWritable() {
@@ -24,7 +24,7 @@ import org.json.JSONObject;
  * Repository.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.2.5, Sep 4, 2016
+ * @version 1.3.0.1, Oct 17, 2026
  */
 public interface Repository {
 
@@ -39,6 +39,20 @@ public interface Repository {
 	 */
 	String add(final JSONObject jsonObject) throws RepositoryException;
 
+	/**
+	 * Adds the specified json objects with JDBC batch statements, in the
+	 * current transaction if there is one.
+	 *
+	 * @param jsonObjects
+	 *            the specified json objects, ids are generated for those
+	 *            without
+	 * @return the generated object ids, in the order of the specified json
+	 *         objects
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	List<String> addBatch(final List<JSONObject> jsonObjects) throws RepositoryException;
+
 	/**
 	 * Updates a certain json object by the specified id and the specified new
 	 * json object.
@@ -52,6 +66,45 @@ public interface Repository {
 	 */
 	void update(final String id, final JSONObject jsonObject) throws RepositoryException;
 
+	/**
+	 * Updates the specified properties of a certain json object by the
+	 * specified id and the specified new json object.
+	 *
+	 * <p>
+	 * Unlike {@link #update(String, JSONObject)}, the existing json object will
+	 * not be read for comparison, only the specified properties are written.
+	 * </p>
+	 *
+	 * @param id
+	 *            the specified id
+	 * @param jsonObject
+	 *            the specified new json object
+	 * @param propertyNames
+	 *            the specified property names, the same as
+	 *            {@link #update(String, JSONObject)} if not specified
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	void update(final String id, final JSONObject jsonObject, final String... propertyNames)
+			throws RepositoryException;
+
+	/**
+	 * Increments a numeric property of a certain json object by the specified
+	 * id atomically, in one statement without reading the object.
+	 *
+	 * @param id
+	 *            the specified id
+	 * @param propertyName
+	 *            the specified property name
+	 * @param delta
+	 *            the specified delta, may be negative
+	 * @return {@code true} if the json object exists, returns {@code false}
+	 *         otherwise
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	boolean increment(final String id, final String propertyName, final long delta) throws RepositoryException;
+
 	/**
 	 * Removes a json object by the specified id.
 	 *
@@ -213,7 +266,7 @@ public interface Repository {
 	 *
 	 * @return the transaction that was started.
 	 */
-	// Transaction beginTransaction();
+	Transaction beginTransaction();
 
 	/**
 	 * Whether the repository within a transaction.
@@ -221,7 +274,7 @@ public interface Repository {
 	 * @return {@code true} if the repository within a transaction, returns
 	 *         {@code false} otherwise
 	 */
-	// boolean hasTransactionBegun();
+	boolean hasTransactionBegun();
 
 	/**
 	 * Whether the repository is writable.
@@ -20,8 +20,14 @@ import org.b3log.solo.util.Ids;
 /**
  * Key generator with time millisecond.
  *
+ * <p>
+ * Generates time ordered keys without locking, see
+ * {@link Ids#genTimeMillisId()} for the key format and the node id
+ * configuration.
+ * </p>
+ *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.0, Mar 14, 2014
+ * @version 1.0.0.1, Oct 17, 2026
  * @since 1.0.8
  */
 public final class TimeMillisKeyGenerator implements KeyGenerator<String> {
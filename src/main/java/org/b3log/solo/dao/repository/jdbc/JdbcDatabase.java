@@ -19,12 +19,14 @@ import java.sql.SQLException;
 import java.util.List;
 
 import org.b3log.solo.dao.repository.jdbc.util.FieldDefinition;
+import org.b3log.solo.dao.repository.jdbc.util.IndexDefinition;
 
 /**
  * interface JdbcDatabase.
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
- * @version 1.0.0.0, Dec 20, 2011
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.1.0.0, Oct 17, 2026
  */
 public interface JdbcDatabase {
 
@@ -87,4 +89,27 @@ public interface JdbcDatabase {
 	 */
 	String getRandomlySql(final String tableName, int fetchSize);
 
+	/**
+	 * Gets the SQL for creating the specified index on the specified table.
+	 *
+	 * @param tableName
+	 *            the specified table name
+	 * @param indexDefinition
+	 *            the specified index definition
+	 * @return sql
+	 */
+	String createIndexSql(final String tableName, final IndexDefinition indexDefinition);
+
+	/**
+	 * Gets the SQL for dropping an index specified by the given index name on
+	 * the specified table.
+	 *
+	 * @param tableName
+	 *            the specified table name
+	 * @param indexName
+	 *            the given index name
+	 * @return sql
+	 */
+	String dropIndexSql(final String tableName, final String indexName);
+
 }
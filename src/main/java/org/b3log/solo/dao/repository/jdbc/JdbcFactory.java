@@ -22,6 +22,7 @@ import java.util.Map;
 
 import org.b3log.solo.RuntimeDatabase;
 import org.b3log.solo.dao.repository.jdbc.util.FieldDefinition;
+import org.b3log.solo.dao.repository.jdbc.util.IndexDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,7 +31,8 @@ import org.slf4j.LoggerFactory;
  * JDBC Factory.
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
- * @version 1.0.0.1, Mar 6, 2014
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.1.0.0, Oct 17, 2026
  */
 public final class JdbcFactory implements JdbcDatabase {
 
@@ -113,4 +115,14 @@ public final class JdbcFactory implements JdbcDatabase {
 	public String getRandomlySql(final String tableName, final int fetchSize) {
 		return databaseSolution.getRandomlySql(tableName, fetchSize);
 	}
+
+	@Override
+	public String createIndexSql(final String tableName, final IndexDefinition indexDefinition) {
+		return databaseSolution.createIndexSql(tableName, indexDefinition);
+	}
+
+	@Override
+	public String dropIndexSql(final String tableName, final String indexName) {
+		return databaseSolution.dropIndexSql(tableName, indexName);
+	}
 }
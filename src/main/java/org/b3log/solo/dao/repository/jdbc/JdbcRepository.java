@@ -24,6 +24,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,9 +43,12 @@ import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.Repository;
 import org.b3log.solo.dao.repository.RepositoryException;
 import org.b3log.solo.dao.repository.SortDirection;
+import org.b3log.solo.dao.repository.Transaction;
 import org.b3log.solo.dao.repository.TimeMillisKeyGenerator;
 import org.b3log.solo.dao.repository.jdbc.util.JdbcRepositories;
 import org.b3log.solo.dao.repository.jdbc.util.JdbcUtil;
+import org.b3log.solo.frame.cache.Cache;
+import org.b3log.solo.frame.cache.CacheFactory;
 import org.b3log.solo.model.Pagination;
 import org.b3log.solo.util.CollectionUtils;
 import org.b3log.solo.util.PropsUtil;
@@ -62,7 +67,7 @@ import org.springframework.stereotype.Component;
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.2.8, Sep 4, 2016
+ * @version 1.4.0.2, Oct 17, 2026
  */
 @Component
 public abstract class JdbcRepository implements Repository {
@@ -83,9 +88,53 @@ public abstract class JdbcRepository implements Repository {
 	public static final String REPOSITORY_CACHE_NAME = "repositoryCache";
 
 	/**
-	 * The current transaction.
+	 * Whether the repository cache is enabled.
+	 *
+	 * <p>
+	 * Configured by "cache.repository.enabled", disables it if there are more
+	 * than one instance sharing the same database.
+	 * </p>
+	 */
+	private static final boolean CACHE_ENABLED = PropsUtil.getBoolean("cache.repository.enabled", true);
+
+	/**
+	 * Maximum count of objects the repository cache of each table holds.
+	 */
+	private static final int CACHE_MAX_COUNT = PropsUtil.getInteger("cache.repository.maxCount", 1024);
+
+	/**
+	 * Maximum count of ids in one query of {@link #get(Iterable)}.
+	 */
+	private static final int MULTI_GET_CHUNK_SIZE = 100;
+
+	/**
+	 * Repository cache, &lt;oId, JSONObject&gt;.
+	 */
+	private volatile Cache<String, JSONObject> cache;
+
+	/**
+	 * Query result cache, &lt;normalized query, result&gt;, all results are
+	 * dropped by any write to this repository.
+	 */
+	private volatile Cache<String, JSONObject> queryCache;
+
+	/**
+	 * Write generation of this repository, increased by every write. An object
+	 * loaded before a write will not be put into the repository cache.
 	 */
-	public static final ThreadLocal<JdbcTransaction> TX = new InheritableThreadLocal<>();
+	private volatile long writeGeneration;
+
+	/**
+	 * Lock guards {@link #writeGeneration} and the repository cache puts.
+	 */
+	private final Object cacheLock = new Object();
+
+	/**
+	 * The current transaction, bound to the thread which begins it only (a
+	 * thread forked from it, for example, a pooled one, never shares its
+	 * connection).
+	 */
+	public static final ThreadLocal<JdbcTransaction> TX = new ThreadLocal<>();
 
 	/**
 	 * The current JDBC connection.
@@ -157,11 +206,64 @@ public abstract class JdbcRepository implements Repository {
 		} catch (final Exception e) {
 			logger.error("add:" + e.getMessage(), e);
 			throw new RepositoryException(e);
+		} finally {
+			uncache(id);
 		}
 
 		return id;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The json objects are inserted with one JDBC batch per distinct insert
+	 * statement (the same properties in the same order). Falls back to
+	 * {@link #add(JSONObject)} one by one if ids are generated by the
+	 * database, which a batch does not return.
+	 * </p>
+	 */
+	@Override
+	public List<String> addBatch(final List<JSONObject> jsonObjects) throws RepositoryException {
+		final List<String> ret = new ArrayList<>();
+
+		if (KEY_GEN instanceof DBKeyGenerator) {
+			for (final JSONObject jsonObject : jsonObjects) {
+				ret.add(add(jsonObject));
+			}
+
+			return ret;
+		}
+
+		final Map<String, List<List<Object>>> batches = new LinkedHashMap<>();
+
+		try {
+			for (final JSONObject jsonObject : jsonObjects) {
+				final List<Object> paramList = new ArrayList<>();
+				final StringBuilder sql = new StringBuilder();
+
+				ret.add(buildAddSql(jsonObject, paramList, sql));
+				batches.computeIfAbsent(sql.toString(), key -> new ArrayList<>()).add(paramList);
+			}
+
+			for (final Map.Entry<String, List<List<Object>>> batch : batches.entrySet()) {
+				JdbcUtil.executeBatch(batch.getKey(), batch.getValue(), getConnection());
+			}
+		} catch (final SQLException se) {
+			logger.error("addBatch:" + se.getMessage(), se);
+			throw new JDBCRepositoryException(se);
+		} catch (final Exception e) {
+			logger.error("addBatch:" + e.getMessage(), e);
+			throw new RepositoryException(e);
+		} finally {
+			for (final String id : ret) {
+				uncache(id);
+			}
+		}
+
+		return ret;
+	}
+
 	/**
 	 * buildAddSql.
 	 *
@@ -256,7 +358,6 @@ public abstract class JdbcRepository implements Repository {
 
 		final JSONObject oldJsonObject = get(id);
 
-		final Connection connection = getConnection();
 		final List<Object> paramList = new ArrayList<>();
 		final StringBuilder sqlBuilder = new StringBuilder();
 
@@ -269,13 +370,85 @@ public abstract class JdbcRepository implements Repository {
 				return;
 			}
 
-			JdbcUtil.executeSql(sql, paramList, connection);
+			JdbcUtil.executeSql(sql, paramList, getConnection());
+		} catch (final SQLException se) {
+			logger.error("update:" + se.getMessage(), se);
+			throw new JDBCRepositoryException(se);
+		} catch (final Exception e) {
+			logger.error("update:" + e.getMessage(), e);
+			throw new RepositoryException(e);
+		} finally {
+			uncache(id);
+		}
+	}
+
+	@Override
+	public void update(final String id, final JSONObject jsonObject, final String... propertyNames)
+			throws RepositoryException {
+		if (StringUtils.isBlank(id)) {
+			return;
+		}
+
+		if (null == propertyNames || 0 == propertyNames.length) {
+			update(id, jsonObject);
+
+			return;
+		}
+
+		final JSONObject needUpdateJsonObject = new JSONObject();
+
+		for (final String propertyName : propertyNames) {
+			needUpdateJsonObject.put(propertyName, jsonObject.opt(propertyName));
+		}
+
+		needUpdateJsonObject.remove(JdbcRepositories.getDefaultKeyName());
+
+		if (0 == needUpdateJsonObject.length()) {
+			return;
+		}
+
+		final List<Object> paramList = new ArrayList<>();
+		final StringBuilder sql = new StringBuilder();
+
+		try {
+			setUpdateProperties(id, needUpdateJsonObject, paramList, sql);
+			JdbcUtil.executeSql(sql.toString(), paramList, getConnection());
 		} catch (final SQLException se) {
 			logger.error("update:" + se.getMessage(), se);
 			throw new JDBCRepositoryException(se);
 		} catch (final Exception e) {
 			logger.error("update:" + e.getMessage(), e);
 			throw new RepositoryException(e);
+		} finally {
+			uncache(id);
+		}
+	}
+
+	@Override
+	public boolean increment(final String id, final String propertyName, final long delta)
+			throws RepositoryException {
+		if (StringUtils.isBlank(id)) {
+			return false;
+		}
+
+		final StringBuilder sql = new StringBuilder("update ").append(getTableName()).append(" set ")
+				.append(propertyName).append("=").append(propertyName).append("+? where ")
+				.append(JdbcRepositories.getDefaultKeyName()).append("=?");
+		final List<Object> paramList = new ArrayList<>();
+
+		paramList.add(delta);
+		paramList.add(id);
+
+		try {
+			return 0 < JdbcUtil.executeUpdate(sql.toString(), paramList, getConnection());
+		} catch (final SQLException se) {
+			logger.error("increment:" + se.getMessage(), se);
+			throw new JDBCRepositoryException(se);
+		} catch (final Exception e) {
+			logger.error("increment:" + e.getMessage(), e);
+			throw new RepositoryException(e);
+		} finally {
+			uncache(id);
 		}
 	}
 
@@ -410,6 +583,8 @@ public abstract class JdbcRepository implements Repository {
 		} catch (final Exception e) {
 			logger.error("remove:" + e.getMessage(), e);
 			throw new RepositoryException(e);
+		} finally {
+			uncache(id);
 		}
 	}
 
@@ -430,6 +605,16 @@ public abstract class JdbcRepository implements Repository {
 	public JSONObject get(final String id) throws RepositoryException {
 		JSONObject ret = null;
 
+		final long generation = writeGeneration;
+
+		if (isCacheUsable()) {
+			ret = getCache().get(id);
+
+			if (null != ret) {
+				return copy(ret);
+			}
+		}
+
 		final StringBuilder sql = new StringBuilder();
 		final Connection connection = getConnection();
 
@@ -446,6 +631,10 @@ public abstract class JdbcRepository implements Repository {
 			throw new RepositoryException(e);
 		}
 
+		if (null != ret) {
+			cache(id, ret, generation);
+		}
+
 		return ret;
 	}
 
@@ -460,17 +649,80 @@ public abstract class JdbcRepository implements Repository {
 				.append(JdbcRepositories.getDefaultKeyName()).append("=").append("?");
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * Objects not in the repository cache are loaded with
+	 * {@code where oId in (?, ?, ...)} queries, at most
+	 * {@value #MULTI_GET_CHUNK_SIZE} ids per query. The returned map iterates
+	 * in the order of the specified ids, the ids not found are left out.
+	 * </p>
+	 */
 	@Override
 	public Map<String, JSONObject> get(final Iterable<String> ids) throws RepositoryException {
-		final Map<String, JSONObject> map = new HashMap<>();
-		JSONObject jsonObject;
+		final Set<String> idSet = new LinkedHashSet<>();
 
 		for (final String id : ids) {
-			jsonObject = get(id);
-			map.put(jsonObject.optString(JdbcRepositories.getDefaultKeyName()), jsonObject);
+			if (StringUtils.isNotBlank(id)) {
+				idSet.add(id);
+			}
+		}
+
+		final Map<String, JSONObject> found = new HashMap<>();
+		final List<String> missedIds = new ArrayList<>();
+		final long generation = writeGeneration;
+
+		for (final String id : idSet) {
+			final JSONObject cached = isCacheUsable() ? getCache().get(id) : null;
+
+			if (null != cached) {
+				found.put(id, copy(cached));
+			} else {
+				missedIds.add(id);
+			}
+		}
+
+		for (int i = 0; i < missedIds.size(); i += MULTI_GET_CHUNK_SIZE) {
+			final List<String> chunk = missedIds.subList(i, Math.min(i + MULTI_GET_CHUNK_SIZE, missedIds.size()));
+			final StringBuilder sql = new StringBuilder("select * from ").append(getTableName()).append(" where ")
+					.append(JdbcRepositories.getDefaultKeyName()).append(" in (");
+
+			for (int j = 0; j < chunk.size(); j++) {
+				sql.append(0 == j ? "?" : ",?");
+			}
+			sql.append(")");
+
+			try {
+				final JSONArray jsonArray = JdbcUtil.queryJsonArray(sql.toString(), new ArrayList<Object>(chunk),
+						getConnection(), getTableName());
+
+				for (int j = 0; j < jsonArray.length(); j++) {
+					final JSONObject jsonObject = jsonArray.getJSONObject(j);
+					final String id = jsonObject.optString(JdbcRepositories.getDefaultKeyName());
+
+					found.put(id, jsonObject);
+					cache(id, jsonObject, generation);
+				}
+			} catch (final SQLException e) {
+				throw new JDBCRepositoryException(e);
+			} catch (final Exception e) {
+				logger.error("get:" + e.getMessage(), e);
+				throw new RepositoryException(e);
+			}
+		}
+
+		final Map<String, JSONObject> ret = new LinkedHashMap<>();
+
+		for (final String id : idSet) {
+			final JSONObject jsonObject = found.get(id);
+
+			if (null != jsonObject) {
+				ret.put(id, jsonObject);
+			}
 		}
 
-		return map;
+		return ret;
 	}
 
 	@Override
@@ -480,8 +732,30 @@ public abstract class JdbcRepository implements Repository {
 		return null != get(id);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * Results are cached by the normalized query (the generated select, filter
+	 * and order by clauses, the parameters and the paging), any write to this
+	 * repository drops all cached results of it.
+	 * </p>
+	 */
 	@Override
 	public JSONObject get(final Query query) throws RepositoryException {
+		final long generation = writeGeneration;
+		final String cacheKey = isCacheUsable() ? getQueryCacheKey(query) : null;
+
+		if (null != cacheKey) {
+			final JSONObject cached = getQueryCache().get(cacheKey);
+
+			if (null != cached) {
+				return copyResult(cached);
+			}
+		}
+
+		JdbcRepositories.checkQueryShape(getTableName(), query);
+
 		final JSONObject ret = new JSONObject();
 
 		final int currentPageNum = query.getCurrentPageNum();
@@ -497,7 +771,6 @@ public abstract class JdbcRepository implements Repository {
 		}
 
 		final StringBuilder sql = new StringBuilder();
-		final Connection connection = getConnection();
 		final List<Object> paramList = new ArrayList<>();
 
 		try {
@@ -516,13 +789,12 @@ public abstract class JdbcRepository implements Repository {
 			// result
 			if (0 == pageCnt) {
 				ret.put(Keys.RESULTS, new JSONArray());
-				return ret;
-			}
-
-			final JSONArray jsonResults = JdbcUtil.queryJsonArray(sql.toString(), paramList, connection,
-					getTableName());
+			} else {
+				final JSONArray jsonResults = JdbcUtil.queryJsonArray(sql.toString(), paramList, getConnection(),
+						getTableName());
 
-			ret.put(Keys.RESULTS, jsonResults);
+				ret.put(Keys.RESULTS, jsonResults);
+			}
 		} catch (final SQLException e) {
 			throw new JDBCRepositoryException(e);
 		} catch (final Exception e) {
@@ -530,9 +802,41 @@ public abstract class JdbcRepository implements Repository {
 			throw new RepositoryException(e);
 		}
 
+		if (null != cacheKey) {
+			synchronized (cacheLock) {
+				if (generation == writeGeneration) {
+					getQueryCache().put(cacheKey, copyResult(ret));
+				}
+			}
+		}
+
 		return ret;
 	}
 
+	/**
+	 * Gets the query result cache key of the specified query.
+	 *
+	 * @param query
+	 *            the specified query
+	 * @return cache key
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	private String getQueryCacheKey(final Query query) throws RepositoryException {
+		final StringBuilder selectSql = new StringBuilder();
+		final StringBuilder filterSql = new StringBuilder();
+		final StringBuilder orderBySql = new StringBuilder();
+		final List<Object> paramList = new ArrayList<>();
+
+		getSelectSql(selectSql, query.getProjections());
+		getFilterSql(filterSql, paramList, query.getFilter());
+		getOrderBySql(orderBySql, query.getSorts());
+
+		return selectSql.append('|').append(filterSql).append('|').append(orderBySql).append('|').append(paramList)
+				.append('|').append(query.getCurrentPageNum()).append('|').append(query.getPageSize()).append('|')
+				.append(query.getPageCount()).toString();
+	}
+
 	@Override
 	public List<JSONObject> select(final String statement, final Object... params) throws RepositoryException {
 		JSONArray jsonResults;
@@ -845,6 +1149,167 @@ public abstract class JdbcRepository implements Repository {
 		return count;
 	}
 
+	/**
+	 * Gets the repository cache of this repository, the cache name is
+	 * {@value #REPOSITORY_CACHE_NAME} with the table name as suffix.
+	 *
+	 * @return repository cache
+	 */
+	public Cache<String, JSONObject> getCache() {
+		if (null == cache) {
+			synchronized (this) {
+				if (null == cache) {
+					final Cache<String, JSONObject> c = CacheFactory
+							.getCache(REPOSITORY_CACHE_NAME + "." + getTableName());
+
+					c.setMaxCount(CACHE_MAX_COUNT);
+					cache = c;
+				}
+			}
+		}
+
+		return cache;
+	}
+
+	/**
+	 * Gets the query result cache of this repository, the cache name is
+	 * {@value #REPOSITORY_CACHE_NAME} with the table name and ".query" as
+	 * suffix.
+	 *
+	 * @return query result cache
+	 */
+	public Cache<String, JSONObject> getQueryCache() {
+		if (null == queryCache) {
+			synchronized (this) {
+				if (null == queryCache) {
+					final Cache<String, JSONObject> c = CacheFactory
+							.getCache(REPOSITORY_CACHE_NAME + "." + getTableName() + ".query");
+
+					c.setMaxCount(CACHE_MAX_COUNT);
+					queryCache = c;
+				}
+			}
+		}
+
+		return queryCache;
+	}
+
+	/**
+	 * Puts a copy of the specified json object into the repository cache if
+	 * there is no write since it was loaded.
+	 *
+	 * @param id
+	 *            the id of the specified json object
+	 * @param jsonObject
+	 *            the specified json object
+	 * @param generation
+	 *            the {@link #writeGeneration write generation} before the
+	 *            specified json object was loaded
+	 */
+	private void cache(final String id, final JSONObject jsonObject, final long generation) {
+		if (!isCacheUsable()) {
+			return;
+		}
+
+		synchronized (cacheLock) {
+			if (generation == writeGeneration) {
+				getCache().put(id, copy(jsonObject));
+			}
+		}
+	}
+
+	/**
+	 * Removes the object specified by the given id from the repository cache,
+	 * and drops all cached query results of this repository. In a transaction,
+	 * does it again after the transaction is completed, the objects cached by
+	 * other threads meanwhile are stale once the transaction is committed.
+	 *
+	 * @param id
+	 *            the given id, only drops the cached query results if it is
+	 *            blank (for example, an id generated by the database)
+	 */
+	private void uncache(final String id) {
+		if (CACHE_ENABLED) {
+			synchronized (cacheLock) {
+				writeGeneration++;
+
+				if (StringUtils.isNotBlank(id)) {
+					getCache().remove(id);
+				}
+
+				getQueryCache().removeAll();
+			}
+
+			final JdbcTransaction transaction = TX.get();
+
+			if (null != transaction && transaction.isActive()) {
+				transaction.afterCompletion(() -> uncache(id));
+			}
+		}
+	}
+
+	/**
+	 * Whether the repository cache (and the query result cache) is usable in
+	 * the current thread. It is not used in a transaction, which must read its
+	 * own writes and must not cache what it has not committed.
+	 *
+	 * @return {@code true} if it is usable, returns {@code false} otherwise
+	 */
+	private static boolean isCacheUsable() {
+		return CACHE_ENABLED && null == TX.get();
+	}
+
+	/**
+	 * Copies the specified json object shallowly, a cached object must not be
+	 * modified by callers.
+	 *
+	 * @param jsonObject
+	 *            the specified json object
+	 * @return copy of the specified json object
+	 */
+	private static JSONObject copy(final JSONObject jsonObject) {
+		final String[] names = JSONObject.getNames(jsonObject);
+
+		if (null == names) {
+			return new JSONObject();
+		}
+
+		return new JSONObject(jsonObject, names);
+	}
+
+	/**
+	 * Copies the specified query result, the copy shares nothing mutable with
+	 * the specified one.
+	 *
+	 * @param result
+	 *            the specified query result, for example,
+	 *
+	 *            <pre>
+	 * {
+	 *     "pagination": {...},
+	 *     "rslts": [{...}, ....]
+	 * }
+	 *            </pre>
+	 *
+	 * @return copy of the specified query result
+	 */
+	private static JSONObject copyResult(final JSONObject result) {
+		final JSONObject ret = new JSONObject();
+
+		ret.put(Pagination.PAGINATION, copy(result.getJSONObject(Pagination.PAGINATION)));
+
+		final JSONArray results = result.getJSONArray(Keys.RESULTS);
+		final JSONArray resultsCopy = new JSONArray();
+
+		for (int i = 0; i < results.length(); i++) {
+			resultsCopy.put(copy(results.getJSONObject(i)));
+		}
+
+		ret.put(Keys.RESULTS, resultsCopy);
+
+		return ret;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -862,30 +1327,57 @@ public abstract class JdbcRepository implements Repository {
 
 	public abstract String getTableNamePostfix();
 
-	/*
-	 * @Override public Transaction beginTransaction() { final JdbcTransaction
-	 * ret = TX.get();
-	 * 
-	 * if (null != ret) { logger.debug(
-	 * "There is a transaction[isActive={}] in current thread", ret.isActive());
-	 * if (ret.isActive()) { return TX.get(); // Using 'the current transaction'
-	 * } }
-	 * 
-	 * JdbcTransaction jdbcTransaction = null;
-	 * 
-	 * try { jdbcTransaction = new JdbcTransaction(); } catch (final Exception
-	 * e) { logger.error("Failed to initialize JDBC transaction", e);
-	 * 
-	 * throw new IllegalStateException("Failed to initialize JDBC transaction");
-	 * }
-	 * 
-	 * TX.set(jdbcTransaction);
-	 * 
-	 * return jdbcTransaction; }
-	 * 
-	 * @Override public boolean hasTransactionBegun() { return null != TX.get();
-	 * }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The transaction binds one connection to the current thread, all
+	 * repositories use it until the transaction is completed. If there is an
+	 * active transaction in the current thread, joins it: the returned
+	 * transaction commits nothing by itself, the outermost one commits.
+	 * </p>
 	 */
+	@Override
+	public Transaction beginTransaction() {
+		final JdbcTransaction current = TX.get();
+
+		if (null != current && current.isActive()) {
+			logger.debug("Joins transaction[id={}] in current thread", current.getId());
+
+			return current.join();
+		}
+
+		Connection connection = null;
+
+		try {
+			connection = jdbcTemplate.getDataSource().getConnection();
+
+			final JdbcTransaction ret = new JdbcTransaction(connection);
+
+			TX.set(ret);
+
+			return ret;
+		} catch (final SQLException e) {
+			logger.error("Failed to initialize JDBC transaction", e);
+
+			if (null != connection) {
+				try {
+					connection.close();
+				} catch (final SQLException ex) {
+					logger.error("Closes connection failed", ex);
+				}
+			}
+
+			throw new IllegalStateException("Failed to initialize JDBC transaction", e);
+		}
+	}
+
+	@Override
+	public boolean hasTransactionBegun() {
+		final JdbcTransaction current = TX.get();
+
+		return null != current && current.isActive();
+	}
 
 	@Override
 	public boolean isWritable() {
@@ -903,15 +1395,18 @@ public abstract class JdbcRepository implements Repository {
 	public static void dispose() {
 		final JdbcTransaction jdbcTransaction = TX.get();
 
-		try {
-			if (null != jdbcTransaction && jdbcTransaction.getConnection() != null) {
-				jdbcTransaction.dispose();
+		if (null != jdbcTransaction && jdbcTransaction.isActive()) {
+			logger.warn("Rolls back transaction[id={}] left uncompleted", jdbcTransaction.getId());
+
+			try {
+				jdbcTransaction.rollback();
+			} catch (final RuntimeException e) {
+				logger.error("Rolls back transaction[id=" + jdbcTransaction.getId() + "] failed", e);
 			}
-		} catch (SQLException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
 		}
 
+		TX.remove();
+
 		final Connection connection = CONN.get();
 
 		if (null != connection) {
@@ -932,6 +1427,12 @@ public abstract class JdbcRepository implements Repository {
 	 * @return {@link Connection}
 	 */
 	public Connection getConnection() {
+		final JdbcTransaction transaction = TX.get();
+
+		if (null != transaction && transaction.isActive()) {
+			return transaction.getConnection();
+		}
+
 		Connection ret = null;
 		try {
 			ret = jdbcTemplate.getDataSource().getConnection();
@@ -17,111 +17,233 @@ package org.b3log.solo.dao.repository.jdbc;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.b3log.solo.dao.repository.Transaction;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.stereotype.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * JDBC transaction, a unit of work on one connection bound to the current
+ * thread ({@link JdbcRepository#TX}).
  *
- * JdbcTransaction.
+ * <p>
+ * All repositories use the connection of the current transaction until it is
+ * committed or rolled back, then the connection is returned to the pool. A
+ * {@link JdbcRepository#beginTransaction() begin} within a transaction joins
+ * it: committing the joined transaction does nothing but ending it, rolling
+ * it back rolls back the whole transaction.
+ * </p>
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.2, Mar 6, 2013
+ * @version 2.0.0.0, Oct 17, 2026
  */
-@Repository
 public final class JdbcTransaction implements Transaction {
 
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(JdbcTransaction.class);
+
+	/**
+	 * Id generator.
+	 */
+	private static final AtomicLong ID_GEN = new AtomicLong();
+
+	/**
+	 * Id.
+	 */
+	private final String id = String.valueOf(ID_GEN.incrementAndGet());
+
 	/**
 	 * Connection.
 	 */
-	// private Connection connection;
+	private Connection connection;
 
 	/**
 	 * Is active.
 	 */
 	private boolean isActive;
-	private Connection connection;
-	@Autowired
-	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Actions run after the transaction is completed (committed or rolled
+	 * back), for example, dropping objects cached while the transaction was
+	 * writing.
+	 */
+	private final List<Runnable> completions = new ArrayList<>();
+
+	/**
+	 * Constructs a transaction on the specified connection.
+	 *
+	 * @param connection
+	 *            the specified connection, owned by the transaction
+	 * @throws SQLException
+	 *             SQL exception
+	 */
+	JdbcTransaction(final Connection connection) throws SQLException {
+		connection.setAutoCommit(false);
+
+		this.connection = connection;
+		this.isActive = true;
+	}
 
 	@Override
 	public String getId() {
-		// TODO Auto-generated method stub
-		return null;
+		return id;
 	}
 
 	@Override
 	public void commit() {
-		boolean ifSuccess = false;
+		checkActive();
 
 		try {
 			connection.commit();
-			ifSuccess = true;
 		} catch (final SQLException e) {
-			throw new RuntimeException("commit mistake", e);
-		}
+			logger.error("Commits transaction[id=" + id + "] failed", e);
 
-		if (ifSuccess) {
+			try {
+				connection.rollback();
+			} catch (final SQLException ex) {
+				logger.error("Rolls back transaction[id=" + id + "] failed", ex);
+			}
+
+			throw new RuntimeException("Commits transaction failed", e);
+		} finally {
 			dispose();
 		}
 	}
 
 	@Override
 	public void rollback() {
+		checkActive();
+
 		try {
 			connection.rollback();
 		} catch (final SQLException e) {
-			throw new RuntimeException("rollback mistake", e);
+			throw new RuntimeException("Rolls back transaction failed", e);
 		} finally {
 			dispose();
 		}
 	}
 
+	@Override
+	public boolean isActive() {
+		return isActive;
+	}
+
 	/**
-	 * setActive.
-	 * 
-	 * @param isActive
-	 *            isActive
+	 * Gets the connection.
+	 *
+	 * @return connection, returns {@code null} if this transaction is
+	 *         completed
 	 */
-	public void setActive(final boolean isActive) {
-		this.isActive = isActive;
+	public Connection getConnection() {
+		return connection;
 	}
 
-	@Override
-	public boolean isActive() {
-		return isActive;
+	/**
+	 * Adds the specified action to run after this transaction is completed.
+	 *
+	 * @param action
+	 *            the specified action
+	 */
+	public void afterCompletion(final Runnable action) {
+		completions.add(action);
+	}
+
+	/**
+	 * Joins this transaction.
+	 *
+	 * @return a transaction committing nothing by itself
+	 */
+	Transaction join() {
+		return new JoinedTransaction();
 	}
 
 	/**
-	 * close the connection.
+	 * Checks whether this transaction is active.
+	 *
+	 * @throws IllegalStateException
+	 *             if this transaction has been committed or rolled back
 	 */
-	public void dispose() {
+	private void checkActive() {
+		if (!isActive) {
+			throw new IllegalStateException("Transaction[id=" + id + "] has been completed");
+		}
+	}
+
+	/**
+	 * Returns the connection to the pool, unbinds this transaction from the
+	 * current thread and runs the completion actions.
+	 */
+	private void dispose() {
+		isActive = false;
+
+		if (this == JdbcRepository.TX.get()) {
+			JdbcRepository.TX.remove();
+		}
+
 		try {
+			connection.setAutoCommit(true);
 			connection.close();
-
-			JdbcRepository.TX.set(null);
 		} catch (final SQLException e) {
-			throw new RuntimeException("close connection", e);
+			logger.error("Closes connection of transaction[id=" + id + "] failed", e);
 		} finally {
-			isActive = false;
 			connection = null;
 		}
+
+		for (final Runnable completion : completions) {
+			try {
+				completion.run();
+			} catch (final Exception e) {
+				logger.error("Runs completion of transaction[id=" + id + "] failed", e);
+			}
+		}
+
+		completions.clear();
 	}
 
 	/**
-	 * getConnection.
-	 * 
-	 * @return {@link Connection}
+	 * A transaction joined an active transaction.
 	 */
-	public Connection getConnection() throws SQLException {
-		if (connection == null) {
-			connection = jdbcTemplate.getDataSource().getConnection();
-			connection.setAutoCommit(false);
-			isActive = true;
+	private final class JoinedTransaction implements Transaction {
+
+		/**
+		 * Whether this joined transaction is ended.
+		 */
+		private boolean ended;
+
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public void commit() {
+			if (!isActive()) {
+				throw new IllegalStateException("Transaction[id=" + id + "] has been completed");
+			}
+
+			// The outermost one commits
+			ended = true;
+		}
+
+		@Override
+		public void rollback() {
+			if (!isActive()) {
+				throw new IllegalStateException("Transaction[id=" + id + "] has been completed");
+			}
+
+			ended = true;
+			JdbcTransaction.this.rollback();
+		}
+
+		@Override
+		public boolean isActive() {
+			return !ended && JdbcTransaction.this.isActive();
 		}
-		return connection;
 	}
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.dao.repository.jdbc.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.b3log.solo.dao.repository.SortDirection;
+
+/**
+ * IndexDefinition of each index in repository.json.
+ *
+ * <pre>
+ * "indexes": [{
+ *     "name": "idx_article_published_update",
+ *     "unique": false, // optional, default to false
+ *     "keys": [{
+ *         "name": "articleIsPublished"
+ *     }, {
+ *         "name": "articleUpdateDate",
+ *         "order": "DESC" // optional, default to "ASC"
+ *     }]
+ * }]
+ * </pre>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public class IndexDefinition {
+
+	/**
+	 * index name.
+	 */
+	private String name;
+
+	/**
+	 * if unique.
+	 */
+	private boolean unique;
+
+	/**
+	 * keys of the index, &lt;keyName, sortDirection&gt;, in index order.
+	 */
+	private final Map<String, SortDirection> keys = new LinkedHashMap<>();
+
+	/**
+	 * getName.
+	 *
+	 * @return name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * setName.
+	 *
+	 * @param name
+	 *            name
+	 */
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	/**
+	 * isUnique.
+	 *
+	 * @return unique
+	 */
+	public boolean isUnique() {
+		return unique;
+	}
+
+	/**
+	 * setUnique.
+	 *
+	 * @param unique
+	 *            unique
+	 */
+	public void setUnique(final boolean unique) {
+		this.unique = unique;
+	}
+
+	/**
+	 * Adds a key with the specified name and sort direction.
+	 *
+	 * @param keyName
+	 *            the specified name
+	 * @param sortDirection
+	 *            the specified sort direction
+	 */
+	public void addKey(final String keyName, final SortDirection sortDirection) {
+		keys.put(keyName, sortDirection);
+	}
+
+	/**
+	 * Gets the keys.
+	 *
+	 * @return keys, &lt;keyName, sortDirection&gt;, in index order
+	 */
+	public Map<String, SortDirection> getKeys() {
+		return Collections.unmodifiableMap(keys);
+	}
+
+	/**
+	 * Gets the key names.
+	 *
+	 * @return key names, in index order
+	 */
+	public List<String> getKeyNames() {
+		return new ArrayList<>(keys.keySet());
+	}
+}
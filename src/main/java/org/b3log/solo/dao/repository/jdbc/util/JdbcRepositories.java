@@ -21,24 +21,40 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.sql.DataSource;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.b3log.solo.dao.repository.CompositeFilter;
+import org.b3log.solo.dao.repository.Filter;
+import org.b3log.solo.dao.repository.PropertyFilter;
+import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.Repositories;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.SortDirection;
 import org.b3log.solo.dao.repository.jdbc.JdbcFactory;
+import org.b3log.solo.util.PropsUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -46,12 +62,21 @@ import org.springframework.stereotype.Repository;
 /**
  * JdbcRepositories utilities.
  *
+ * <p>
+ * Indexes declared in repository.json ("indexes" of each repository, see
+ * {@link IndexDefinition}) are created or migrated on startup if
+ * "jdbc.index.autoCreate" is enabled (default to {@code true}). Every query
+ * shape (filter and sort properties) is checked against the declared indexes
+ * at the first time it is executed, shapes have no supporting index are
+ * reported.
+ * </p>
+ *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.0.2, Apr 8, 2014
+ * @version 1.3.0.1, Oct 17, 2026
  */
 @Repository
-public final class JdbcRepositories {
+public final class JdbcRepositories implements InitializingBean {
 
 	/**
 	 * Logger.
@@ -111,6 +136,41 @@ public final class JdbcRepositories {
 	 */
 	private static final String ISKEY = "iskey";
 
+	/**
+	 * to json "indexes".
+	 */
+	private static final String INDEXES = "indexes";
+
+	/**
+	 * to json "unique".
+	 */
+	private static final String UNIQUE = "unique";
+
+	/**
+	 * to json "order".
+	 */
+	private static final String ORDER = "order";
+
+	/**
+	 * Suffix of a descending key in index signatures.
+	 */
+	private static final String DESC_DIRECTION = " desc";
+
+	/**
+	 * Suffix of a key with unknown direction in index signatures.
+	 */
+	private static final String UNKNOWN_DIRECTION = " ?";
+
+	/**
+	 * Whether to create indexes on startup.
+	 */
+	private static final boolean INDEX_AUTO_CREATE = PropsUtil.getBoolean("jdbc.index.autoCreate", true);
+
+	/**
+	 * Checked query shapes, &lt;shape, supported&gt;.
+	 */
+	private static final ConcurrentMap<String, Boolean> QUERY_SHAPES = new ConcurrentHashMap<>();
+
 	/**
 	 * the default key name.
 	 */
@@ -126,6 +186,21 @@ public final class JdbcRepositories {
 	 */
 	private static Map<String, List<FieldDefinition>> repositoriesMap = null;
 
+	/**
+	 * Stores all repository index definitions in a Map.
+	 *
+	 * <p>
+	 * key: the name of the repository (or table name with prefix), value: list
+	 * of all the IndexDefinition
+	 * </p>
+	 */
+	private static Map<String, List<IndexDefinition>> indexesMap = new HashMap<>();
+
+	/**
+	 * Data source for index management.
+	 */
+	private static DataSource dataSource;
+
 	/**
 	 * Sets the default key name.
 	 *
@@ -162,6 +237,17 @@ public final class JdbcRepositories {
 		return repositoriesMap;
 	}
 
+	/**
+	 * Gets the index definitions of all repositories.
+	 *
+	 * @return &lt;tableName, indexDefinitions&gt;
+	 */
+	public static Map<String, List<IndexDefinition>> getIndexesMap() {
+		getRepositoriesMap();
+
+		return indexesMap;
+	}
+
 	/**
 	 * init the repositoriesMap.
 	 *
@@ -190,6 +276,8 @@ public final class JdbcRepositories {
 	 *             JSONException
 	 */
 	private static void jsonToRepositoriesMap(final JSONObject jsonObject) throws JSONException {
+		final Map<String, List<IndexDefinition>> indexes = new HashMap<>();
+
 		repositoriesMap = new HashMap<>();
 
 		final JSONArray repositoritArray = jsonObject.getJSONArray(REPOSITORIES);
@@ -214,7 +302,52 @@ public final class JdbcRepositories {
 				definition = fillFieldDefinitionData(fieldDefinitionObject);
 				fieldDefinitions.add(definition);
 			}
+
+			final List<IndexDefinition> indexDefinitions = new ArrayList<>();
+
+			indexes.put(repositoryName, indexDefinitions);
+
+			final JSONArray indexesJsonArray = repositoryObject.optJSONArray(INDEXES);
+
+			if (null == indexesJsonArray) {
+				continue;
+			}
+
+			for (int j = 0; j < indexesJsonArray.length(); j++) {
+				indexDefinitions.add(fillIndexDefinitionData(indexesJsonArray.getJSONObject(j)));
+			}
+		}
+
+		indexesMap = indexes;
+	}
+
+	/**
+	 * fillIndexDefinitionData.
+	 *
+	 * @param indexDefinitionObject
+	 *            json model
+	 * @return {@link IndexDefinition}
+	 * @throws JSONException
+	 *             JSONException
+	 */
+	private static IndexDefinition fillIndexDefinitionData(final JSONObject indexDefinitionObject)
+			throws JSONException {
+		final IndexDefinition ret = new IndexDefinition();
+
+		ret.setName(indexDefinitionObject.getString(NAME));
+		ret.setUnique(indexDefinitionObject.optBoolean(UNIQUE));
+
+		final JSONArray keysJsonArray = indexDefinitionObject.getJSONArray(KEYS);
+
+		for (int i = 0; i < keysJsonArray.length(); i++) {
+			final JSONObject key = keysJsonArray.getJSONObject(i);
+			final SortDirection sortDirection = "DESC".equalsIgnoreCase(key.optString(ORDER))
+					? SortDirection.DESCENDING : SortDirection.ASCENDING;
+
+			ret.addKey(key.getString(NAME), sortDirection);
 		}
+
+		return ret;
 	}
 
 	/**
@@ -344,9 +477,381 @@ public final class JdbcRepositories {
 			ret.add(new CreateTableResult(tableName, isSuccess));
 		}
 
+		initAllIndexes();
+
 		return ret;
 	}
 
+	/**
+	 * Creates or migrates indexes of all tables from repository.json.
+	 *
+	 * <p>
+	 * An index is created if not exists, or dropped and recreated if the
+	 * existing one has different keys or sort directions, does nothing
+	 * otherwise. Sort directions are not compared on databases which ignore
+	 * them (MySQL before 8.0, MariaDB before 10.8) or do not report them.
+	 * Tables not exist are skipped.
+	 * </p>
+	 */
+	public static void initAllIndexes() {
+		if (null == dataSource) {
+			logger.warn("Data source is not ready, skips index initialization");
+
+			return;
+		}
+
+		final Map<String, List<IndexDefinition>> map = getIndexesMap();
+		final StringBuilder report = new StringBuilder("Index initialization report:");
+
+		for (final Map.Entry<String, List<IndexDefinition>> entry : new TreeMap<>(map).entrySet()) {
+			final String tableName = entry.getKey();
+
+			if (entry.getValue().isEmpty()) {
+				continue;
+			}
+
+			try (final Connection connection = dataSource.getConnection()) {
+				final Map<String, String> existingIndexes = getExistingIndexes(connection, tableName);
+
+				if (null == existingIndexes) {
+					report.append("\n  ").append(tableName).append(": table not exists, skipped");
+
+					continue;
+				}
+
+				for (final IndexDefinition indexDefinition : entry.getValue()) {
+					report.append("\n  ").append(tableName).append('.').append(indexDefinition.getName())
+							.append(": ").append(initIndex(connection, tableName, indexDefinition, existingIndexes));
+				}
+			} catch (final SQLException e) {
+				logger.error("Init indexes of table [" + tableName + "] failed", e);
+				report.append("\n  ").append(tableName).append(": failed [").append(e.getMessage()).append(']');
+			}
+		}
+
+		logger.info(report.toString());
+	}
+
+	/**
+	 * Creates or migrates the specified index on the specified table.
+	 *
+	 * @param connection
+	 *            the specified connection
+	 * @param tableName
+	 *            the specified table name
+	 * @param indexDefinition
+	 *            the specified index definition
+	 * @param existingIndexes
+	 *            existing indexes of the table, &lt;indexName, signature&gt;
+	 * @return result, "exists", "created", "migrated" or "failed"
+	 */
+	private static String initIndex(final Connection connection, final String tableName,
+			final IndexDefinition indexDefinition, final Map<String, String> existingIndexes) {
+		final String indexName = indexDefinition.getName().toLowerCase(Locale.ENGLISH);
+		final String existing = existingIndexes.get(indexName);
+
+		if (isSameIndex(getIndexSignature(indexDefinition), existing)) {
+			return "exists";
+		}
+
+		final JdbcFactory jdbcFactory = JdbcFactory.createJdbcFactory();
+
+		try (final Statement statement = connection.createStatement()) {
+			if (null != existing) {
+				statement.execute(jdbcFactory.dropIndexSql(tableName, indexDefinition.getName()));
+			}
+
+			statement.execute(jdbcFactory.createIndexSql(tableName, indexDefinition));
+		} catch (final SQLException e) {
+			logger.error("Init index [" + tableName + "." + indexDefinition.getName() + "] failed", e);
+
+			return "failed [" + e.getMessage() + "]";
+		}
+
+		return null == existing ? "created" : "migrated";
+	}
+
+	/**
+	 * Gets existing indexes of the specified table.
+	 *
+	 * @param connection
+	 *            the specified connection
+	 * @param tableName
+	 *            the specified table name
+	 * @return &lt;indexName (lower case), signature&gt;, returns {@code null}
+	 *         if the table not exists
+	 * @throws SQLException
+	 *             SQLException
+	 */
+	private static Map<String, String> getExistingIndexes(final Connection connection, final String tableName)
+			throws SQLException {
+		final DatabaseMetaData databaseMetaData = connection.getMetaData();
+		final String catalog = connection.getCatalog();
+
+		try (final ResultSet tables = databaseMetaData.getTables(catalog, null, tableName, new String[] { "TABLE" })) {
+			if (!tables.next()) {
+				return null;
+			}
+		}
+
+		final boolean sortDirectionSupported = isSortDirectionSupported(databaseMetaData);
+		final Map<String, TreeMap<Short, String>> columns = new HashMap<>();
+		final Map<String, Boolean> uniques = new HashMap<>();
+
+		try (final ResultSet rs = databaseMetaData.getIndexInfo(catalog, null, tableName, false, false)) {
+			while (rs.next()) {
+				final String indexName = rs.getString("INDEX_NAME");
+
+				if (null == indexName) {
+					continue;
+				}
+
+				final String name = indexName.toLowerCase(Locale.ENGLISH);
+				TreeMap<Short, String> indexColumns = columns.get(name);
+
+				if (null == indexColumns) {
+					indexColumns = new TreeMap<>();
+					columns.put(name, indexColumns);
+				}
+
+				final String ascOrDesc = sortDirectionSupported ? rs.getString("ASC_OR_DESC") : null;
+				final String direction = null == ascOrDesc ? UNKNOWN_DIRECTION
+						: "D".equalsIgnoreCase(ascOrDesc) ? DESC_DIRECTION : "";
+
+				indexColumns.put(rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME") + direction);
+				uniques.put(name, !rs.getBoolean("NON_UNIQUE"));
+			}
+		}
+
+		final Map<String, String> ret = new HashMap<>();
+
+		for (final Map.Entry<String, TreeMap<Short, String>> entry : columns.entrySet()) {
+			final String name = entry.getKey();
+
+			ret.put(name, getIndexSignature(uniques.get(name), entry.getValue().values()));
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Gets the signature of the specified index definition.
+	 *
+	 * @param indexDefinition
+	 *            the specified index definition
+	 * @return signature
+	 */
+	private static String getIndexSignature(final IndexDefinition indexDefinition) {
+		final List<String> keys = new ArrayList<>();
+
+		for (final Map.Entry<String, SortDirection> key : indexDefinition.getKeys().entrySet()) {
+			keys.add(key.getKey() + (SortDirection.DESCENDING == key.getValue() ? DESC_DIRECTION : ""));
+		}
+
+		return getIndexSignature(indexDefinition.isUnique(), keys);
+	}
+
+	/**
+	 * Gets the signature of an index with the specified uniqueness and keys.
+	 *
+	 * @param unique
+	 *            the specified uniqueness
+	 * @param keys
+	 *            the specified keys, key names with their direction suffixes
+	 * @return signature, for example "unique(a,b desc)"
+	 */
+	private static String getIndexSignature(final boolean unique, final Iterable<String> keys) {
+		return (unique ? "unique(" : "(") + StringUtils.join(keys, ',').toLowerCase(Locale.ENGLISH) + ")";
+	}
+
+	/**
+	 * Checks whether the specified existing index signature matches the
+	 * specified index signature, sort directions are not compared if the
+	 * existing one does not know them.
+	 *
+	 * @param signature
+	 *            the specified index signature
+	 * @param existing
+	 *            the specified existing index signature, may be {@code null}
+	 * @return {@code true} if matches, returns {@code false} otherwise
+	 */
+	private static boolean isSameIndex(final String signature, final String existing) {
+		if (null == existing) {
+			return false;
+		}
+
+		if (!existing.contains(UNKNOWN_DIRECTION)) {
+			return existing.equals(signature);
+		}
+
+		return StringUtils.remove(existing, UNKNOWN_DIRECTION)
+				.equals(StringUtils.remove(signature, DESC_DIRECTION));
+	}
+
+	/**
+	 * Checks whether the database specified by the given metadata honors the
+	 * sort directions of index keys.
+	 *
+	 * @param databaseMetaData
+	 *            the given metadata
+	 * @return {@code true} if it honors, returns {@code false} otherwise
+	 * @throws SQLException
+	 *             SQLException
+	 */
+	private static boolean isSortDirectionSupported(final DatabaseMetaData databaseMetaData) throws SQLException {
+		final String productVersion = databaseMetaData.getDatabaseProductVersion();
+		final int major = databaseMetaData.getDatabaseMajorVersion();
+
+		if (StringUtils.containsIgnoreCase(productVersion, "MariaDB")) {
+			return major > 10 || (10 == major && databaseMetaData.getDatabaseMinorVersion() >= 8);
+		}
+
+		if ("MySQL".equalsIgnoreCase(databaseMetaData.getDatabaseProductName())) {
+			return major >= 8;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks whether the shape of the specified query on the specified table
+	 * is supported by an index, reports it if not.
+	 *
+	 * <p>
+	 * A shape is checked only once. It is supported if the leading key of an
+	 * index (including the primary key) is one of its filter properties, or
+	 * is its first sort property if it has no filter. Index hints specified
+	 * by {@link Query#index(String...)} must be prefixes of an index.
+	 * </p>
+	 *
+	 * @param tableName
+	 *            the specified table name
+	 * @param query
+	 *            the specified query
+	 */
+	public static void checkQueryShape(final String tableName, final Query query) {
+		final Set<String> filterProperties = new TreeSet<>();
+
+		collectFilterProperties(query.getFilter(), filterProperties);
+
+		final Set<String> sortProperties = query.getSorts().keySet();
+		final StringBuilder shapeBuilder = new StringBuilder(tableName).append(" [filter=").append(filterProperties)
+				.append(", sort=").append(sortProperties);
+
+		for (final String[] index : query.getIndexes()) {
+			shapeBuilder.append(", index=").append(StringUtils.join(index, ','));
+		}
+
+		final String shape = shapeBuilder.append(']').toString();
+
+		if (QUERY_SHAPES.containsKey(shape)) {
+			return;
+		}
+
+		final List<List<String>> indexes = new ArrayList<>();
+		final List<IndexDefinition> indexDefinitions = getIndexesMap().get(tableName);
+
+		if (null != indexDefinitions) {
+			for (final IndexDefinition indexDefinition : indexDefinitions) {
+				indexes.add(indexDefinition.getKeyNames());
+			}
+		}
+
+		final List<String> primaryKey = new ArrayList<>();
+
+		primaryKey.add(defaultKeyName);
+		indexes.add(primaryKey);
+
+		final boolean supported = isSupported(indexes, filterProperties, sortProperties, query.getIndexes());
+
+		if (null == QUERY_SHAPES.putIfAbsent(shape, supported) && !supported) {
+			logger.warn("Query shape {} has no supporting index, declare one in repository.json", shape);
+		}
+	}
+
+	/**
+	 * Gets the checked query shapes have no supporting index.
+	 *
+	 * @return query shapes
+	 */
+	public static Set<String> getUnsupportedQueryShapes() {
+		final Set<String> ret = new TreeSet<>();
+
+		for (final Map.Entry<String, Boolean> entry : QUERY_SHAPES.entrySet()) {
+			if (!entry.getValue()) {
+				ret.add(entry.getKey());
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Checks whether a query shape is supported by the specified indexes.
+	 *
+	 * @param indexes
+	 *            the specified indexes, key names of each index
+	 * @param filterProperties
+	 *            filter properties of the shape
+	 * @param sortProperties
+	 *            sort properties of the shape
+	 * @param hints
+	 *            index hints of the shape
+	 * @return {@code true} if supported, returns {@code false} otherwise
+	 */
+	private static boolean isSupported(final List<List<String>> indexes, final Set<String> filterProperties,
+			final Set<String> sortProperties, final Set<String[]> hints) {
+		for (final String[] hint : hints) {
+			boolean hinted = false;
+
+			for (final List<String> index : indexes) {
+				if (index.size() >= hint.length && index.subList(0, hint.length).equals(Arrays.asList(hint))) {
+					hinted = true;
+
+					break;
+				}
+			}
+
+			if (!hinted) {
+				return false;
+			}
+		}
+
+		if (filterProperties.isEmpty() && sortProperties.isEmpty()) {
+			return true;
+		}
+
+		final String leading = filterProperties.isEmpty() ? sortProperties.iterator().next() : null;
+
+		for (final List<String> index : indexes) {
+			final String first = index.get(0);
+
+			if (null == leading ? filterProperties.contains(first) : leading.equals(first)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Collects property names of the specified filter into the specified set.
+	 *
+	 * @param filter
+	 *            the specified filter, may be {@code null}
+	 * @param properties
+	 *            the specified set
+	 */
+	private static void collectFilterProperties(final Filter filter, final Set<String> properties) {
+		if (filter instanceof PropertyFilter) {
+			properties.add(((PropertyFilter) filter).getKey());
+		} else if (filter instanceof CompositeFilter) {
+			for (final Filter subFilter : ((CompositeFilter) filter).getSubFilters()) {
+				collectFilterProperties(subFilter, properties);
+			}
+		}
+	}
+
 	/**
 	 * Generates repository.json from databases.
 	 *
@@ -482,6 +987,18 @@ public final class JdbcRepositories {
 		JdbcRepositories.repositoriesMap = repositoriesMap;
 	}
 
+	/**
+	 * Initializes indexes of all tables if enabled.
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		dataSource = jdbcTemplate.getDataSource();
+
+		if (INDEX_AUTO_CREATE) {
+			initAllIndexes();
+		}
+	}
+
 	/**
 	 * Private constructor.
 	 */
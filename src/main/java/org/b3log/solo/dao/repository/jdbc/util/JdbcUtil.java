@@ -32,6 +32,9 @@ import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
 import org.b3log.solo.RuntimeDatabase;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.jdbc.JdbcRepository;
+import org.b3log.solo.dao.repository.jdbc.JdbcTransaction;
+import org.b3log.solo.frame.trace.RequestTraces;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -41,9 +44,14 @@ import org.slf4j.LoggerFactory;
 /**
  * JDBC utilities.
  *
+ * <p>
+ * Every statement executed is recorded into the
+ * {@link RequestTraces#recordDb(long) request trace}.
+ * </p>
+ *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.2.3, Mar 29, 2015
+ * @version 1.2.0.0, Oct 17, 2026
  */
 public final class JdbcUtil {
 
@@ -66,12 +74,17 @@ public final class JdbcUtil {
 	public static boolean executeSql(final String sql, final Connection connection) throws SQLException {
 		logger.trace("executeSql: {}", sql);
 
-		final Statement statement = connection.createStatement();
-		final boolean isSuccess = !statement.execute(sql);
+		final long start = System.nanoTime();
 
-		statement.close();
-		connection.close();
-		return isSuccess;
+		try (final Statement statement = connection.createStatement()) {
+			final boolean isSuccess = !statement.execute(sql);
+
+			RequestTraces.recordDb(System.nanoTime() - start);
+
+			return isSuccess;
+		} finally {
+			release(connection);
+		}
 	}
 
 	/**
@@ -91,16 +104,92 @@ public final class JdbcUtil {
 			throws SQLException {
 		logger.trace("Execute SQL [{}]", sql);
 
-		final PreparedStatement preparedStatement = connection.prepareStatement(sql);
+		final long start = System.nanoTime();
+
+		try (final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			for (int i = 1; i <= paramList.size(); i++) {
+				preparedStatement.setObject(i, paramList.get(i - 1));
+			}
+			final boolean isSuccess = preparedStatement.execute();
+
+			RequestTraces.recordDb(System.nanoTime() - start);
 
-		for (int i = 1; i <= paramList.size(); i++) {
-			preparedStatement.setObject(i, paramList.get(i - 1));
+			return isSuccess;
+		} finally {
+			release(connection);
 		}
-		final boolean isSuccess = preparedStatement.execute();
+	}
 
-		preparedStatement.close();
-		connection.close();
-		return isSuccess;
+	/**
+	 * Executes the specified SQL once for each of the specified parameter
+	 * lists as one JDBC batch.
+	 *
+	 * @param sql
+	 *            the specified SQL
+	 * @param paramLists
+	 *            the specified parameter lists
+	 * @param connection
+	 *            connection
+	 * @return counts of the affected rows, one for each of the specified
+	 *         parameter lists
+	 * @throws SQLException
+	 *             SQLException
+	 */
+	public static int[] executeBatch(final String sql, final List<List<Object>> paramLists,
+			final Connection connection) throws SQLException {
+		logger.trace("Execute batch SQL [{}], size [{}]", sql, paramLists.size());
+
+		final long start = System.nanoTime();
+
+		try (final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			for (final List<Object> paramList : paramLists) {
+				for (int i = 1; i <= paramList.size(); i++) {
+					preparedStatement.setObject(i, paramList.get(i - 1));
+				}
+
+				preparedStatement.addBatch();
+			}
+			final int[] ret = preparedStatement.executeBatch();
+
+			RequestTraces.recordDb(System.nanoTime() - start);
+
+			return ret;
+		} finally {
+			release(connection);
+		}
+	}
+
+	/**
+	 * Executes the specified update SQL with the specified parameters.
+	 *
+	 * @param sql
+	 *            the specified update SQL
+	 * @param paramList
+	 *            the specified parameters
+	 * @param connection
+	 *            connection
+	 * @return count of the affected rows
+	 * @throws SQLException
+	 *             SQLException
+	 */
+	public static int executeUpdate(final String sql, final List<Object> paramList, final Connection connection)
+			throws SQLException {
+		logger.trace("Execute update SQL [{}]", sql);
+
+		final long start = System.nanoTime();
+
+		try (final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			for (int i = 1; i <= paramList.size(); i++) {
+				preparedStatement.setObject(i, paramList.get(i - 1));
+			}
+			final int ret = preparedStatement.executeUpdate();
+
+			RequestTraces.recordDb(System.nanoTime() - start);
+
+			return ret;
+		} finally {
+			release(connection);
+		}
 	}
 
 	/**
@@ -182,21 +271,44 @@ public final class JdbcUtil {
 			final boolean ifOnlyOne, final String tableName) throws SQLException, JSONException, RepositoryException {
 		logger.trace("Query SQL [{}]", sql);
 
-		final PreparedStatement preparedStatement = connection.prepareStatement(sql);
+		final long start = System.nanoTime();
+
+		try (final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			for (int i = 1; i <= paramList.size(); i++) {
+				preparedStatement.setObject(i, paramList.get(i - 1));
+			}
+
+			try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+				final JSONObject jsonObject = resultSetToJsonObject(resultSet, ifOnlyOne, tableName);
 
-		for (int i = 1; i <= paramList.size(); i++) {
-			preparedStatement.setObject(i, paramList.get(i - 1));
+				RequestTraces.recordDb(System.nanoTime() - start);
+
+				return jsonObject;
+			}
+		} finally {
+			release(connection);
 		}
+	}
 
-		final ResultSet resultSet = preparedStatement.executeQuery();
+	/**
+	 * Releases the specified connection, closes it (returns it to the pool)
+	 * unless it is the connection of the current
+	 * {@link JdbcRepository#TX transaction}, which is released by the
+	 * transaction itself.
+	 *
+	 * @param connection
+	 *            the specified connection
+	 * @throws SQLException
+	 *             SQLException
+	 */
+	private static void release(final Connection connection) throws SQLException {
+		final JdbcTransaction transaction = JdbcRepository.TX.get();
 
-		final JSONObject jsonObject = resultSetToJsonObject(resultSet, ifOnlyOne, tableName);
+		if (null != transaction && connection == transaction.getConnection()) {
+			return;
+		}
 
-		resultSet.close();
-		preparedStatement.close();
 		connection.close();
-
-		return jsonObject;
 	}
 
 	/**
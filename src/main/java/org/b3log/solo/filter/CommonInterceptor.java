@@ -4,10 +4,20 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.b3log.solo.Keys;
+import org.b3log.solo.frame.cache.PageCaches;
+import org.b3log.solo.frame.cache.PageCaches.CachedPage;
+import org.b3log.solo.frame.trace.RequestTraces;
+import org.b3log.solo.model.Article;
 import org.b3log.solo.model.Option;
+import org.b3log.solo.model.Statistic;
 import org.b3log.solo.module.util.Skins;
+import org.b3log.solo.service.ArticleMgmtService;
+import org.b3log.solo.service.ArticleQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.ServiceException;
+import org.b3log.solo.service.StatisticMgmtService;
+import org.b3log.solo.service.StatisticQueryService;
+import org.b3log.solo.util.Requests;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +29,14 @@ public class CommonInterceptor implements HandlerInterceptor {
 	private static Logger logger = LoggerFactory.getLogger(CommonInterceptor.class);
 	@Autowired
 	private PreferenceQueryService preferenceQueryService;
+	@Autowired
+	private ArticleMgmtService articleMgmtService;
+	@Autowired
+	private StatisticMgmtService statisticMgmtService;
+	@Autowired
+	private StatisticQueryService statisticQueryService;
+	@Autowired
+	private ArticleQueryService articleQueryService;
 
 	@Override
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
@@ -36,6 +54,21 @@ public class CommonInterceptor implements HandlerInterceptor {
 				specifiedSkin = preference.optString(Option.ID_C_SKIN_DIR_NAME);
 			}
 			request.setAttribute(Keys.TEMAPLTE_DIR_NAME, specifiedSkin);
+
+			// Forwarded requests (e.g. article permalinks) have been prepared
+			if (null == request.getAttribute(PageCaches.PAGE_CACHE_KEY) && PageCaches.isCacheable(request)) {
+				final String pageCacheKey = PageCaches.getKey(request, specifiedSkin,
+						preferenceQueryService.getPreferenceVersion());
+				final CachedPage cachedPage = PageCaches.get(pageCacheKey);
+
+				if (null != cachedPage) {
+					serveCachedPage(cachedPage, specifiedSkin, request, response);
+
+					return false;
+				}
+
+				PageCaches.prepare(request, pageCacheKey);
+			}
 		} catch (ServiceException e1) {
 			e1.printStackTrace();
 		}
@@ -48,6 +81,56 @@ public class CommonInterceptor implements HandlerInterceptor {
 		return true;
 	}
 
+	/**
+	 * Serves the specified cached page, increases view counts and sets the
+	 * skin cookie as the controllers do, the shown view counts are read for
+	 * this request rather than served from the cached page.
+	 *
+	 * @param cachedPage
+	 *            the specified cached page
+	 * @param specifiedSkin
+	 *            the specified skin directory name of the request
+	 * @param request
+	 *            the specified request
+	 * @param response
+	 *            the specified response
+	 * @throws Exception
+	 *             exception
+	 */
+	private void serveCachedPage(final CachedPage cachedPage, final String specifiedSkin,
+			final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+		final String articleId = cachedPage.getArticleId();
+
+		if (null != articleId && !Requests.hasBeenServed(request, response)) {
+			articleMgmtService.incViewCount(articleId);
+		}
+
+		statisticMgmtService.incBlogViewCount(request, response);
+
+		if (cachedPage.isSkinCookie()) {
+			PageCaches.setSkinCookie(request, response, specifiedSkin);
+		}
+
+		String blogViewCount = null;
+
+		if (cachedPage.showsBlogViewCount()) {
+			final JSONObject statistic = statisticQueryService.getStatistic();
+
+			blogViewCount = null == statistic ? "" : statistic.optString(Statistic.STATISTIC_BLOG_VIEW_COUNT);
+		}
+
+		String articleViewCount = null;
+
+		if (null != articleId && cachedPage.showsArticleViewCount()) {
+			final JSONObject article = articleQueryService.getArticleById(articleId);
+
+			articleViewCount = null == article ? "" : article.optString(Article.ARTICLE_VIEW_COUNT);
+		}
+
+		RequestTraces.setServerTiming(response);
+		PageCaches.write(cachedPage, blogViewCount, articleViewCount, request, response);
+	}
+
 	@Override
 	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
 			ModelAndView modelAndView) throws Exception {
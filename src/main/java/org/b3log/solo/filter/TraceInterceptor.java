@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.filter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.b3log.solo.frame.trace.RequestTraces;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Request trace interceptor, must be the first interceptor then requests
+ * served by the others (for example cached pages) are traced as well.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ * @see RequestTraces
+ */
+public class TraceInterceptor implements HandlerInterceptor {
+
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler) throws Exception {
+		RequestTraces.begin(request);
+
+		return true;
+	}
+
+	@Override
+	public void postHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler,
+			final ModelAndView modelAndView) throws Exception {
+		RequestTraces.setServerTiming(response);
+	}
+
+	@Override
+	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler, final Exception ex) throws Exception {
+		RequestTraces.end(request);
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.cache;
+
+import java.util.Collection;
+
+/**
+ * Cache.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @param <K>
+ *            the type of the key of the object
+ * @param <V>
+ *            the type of the object
+ * @since 2.0.0
+ */
+public interface Cache<K, V> {
+
+	/**
+	 * Checks whether an object specified by the given key is cached.
+	 *
+	 * @param key
+	 *            the given key
+	 * @return {@code true} if it is cached, {@code false} otherwise
+	 */
+	boolean contains(final K key);
+
+	/**
+	 * Puts the specified object into this cache with the specified key.
+	 *
+	 * @param key
+	 *            the specified key
+	 * @param value
+	 *            the specified object
+	 */
+	void put(final K key, final V value);
+
+	/**
+	 * Gets an object by the specified key.
+	 *
+	 * @param key
+	 *            the specified key
+	 * @return the object, returns {@code null} if not found
+	 */
+	V get(final K key);
+
+	/**
+	 * Removes an object by the specified key.
+	 *
+	 * @param key
+	 *            the specified key
+	 */
+	void remove(final K key);
+
+	/**
+	 * Removes objects by the specified keys.
+	 *
+	 * @param keys
+	 *            the specified keys
+	 */
+	void remove(final Collection<K> keys);
+
+	/**
+	 * Removes all objects.
+	 */
+	void removeAll();
+
+	/**
+	 * Sets the maximum count of objects this cache holds.
+	 *
+	 * @param maxCount
+	 *            the specified maximum count
+	 */
+	void setMaxCount(final long maxCount);
+
+	/**
+	 * Gets the maximum count of objects this cache holds.
+	 *
+	 * @return maximum count
+	 */
+	long getMaxCount();
+
+	/**
+	 * Gets the hit count of this cache.
+	 *
+	 * @return hit count
+	 */
+	long getHitCount();
+
+	/**
+	 * Gets the miss count of this cache.
+	 *
+	 * @return miss count
+	 */
+	long getMissCount();
+
+	/**
+	 * Gets the put count of this cache.
+	 *
+	 * @return put count
+	 */
+	long getPutCount();
+
+	/**
+	 * Gets the count of objects evicted from this cache because of the
+	 * {@link #getMaxCount() capacity} limit.
+	 *
+	 * @return eviction count
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Gets the count of objects cached currently.
+	 *
+	 * @return cached count
+	 */
+	long getCachedCount();
+}
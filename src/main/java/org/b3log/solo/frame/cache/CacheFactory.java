@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.b3log.solo.Latkes;
+import org.b3log.solo.RuntimeEnv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache factory.
+ *
+ * <p>
+ * Caches are held by name, the same cache instance will be returned for the
+ * same name.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class CacheFactory {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(CacheFactory.class);
+
+	/**
+	 * Caches.
+	 *
+	 * <p>
+	 * &lt;cacheName, {@link Cache cache}&gt;
+	 * </p>
+	 */
+	private static final Map<String, Cache<?, ?>> CACHES = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets a cache specified by the given cache name.
+	 *
+	 * @param <K>
+	 *            the type of the key of the object
+	 * @param <V>
+	 *            the type of the object
+	 * @param cacheName
+	 *            the given cache name
+	 * @return a cache specified by the given cache name
+	 */
+	@SuppressWarnings("unchecked")
+	public static synchronized <K, V> Cache<K, V> getCache(final String cacheName) {
+		Cache<K, V> ret = (Cache<K, V>) CACHES.get(cacheName);
+
+		if (null != ret) {
+			return ret;
+		}
+
+		final RuntimeEnv runtimeEnv = Latkes.getRuntimeEnv();
+
+		try {
+			switch (runtimeEnv) {
+			case LOCAL:
+				ret = (Cache<K, V>) Class.forName("org.b3log.solo.frame.cache.local.LruMemoryCache").newInstance();
+
+				break;
+			default:
+				throw new RuntimeException("Latke runs in the hell.... Please set the enviornment correctly");
+			}
+		} catch (final Exception e) {
+			throw new RuntimeException("Can not initialize cache [name=" + cacheName + "]", e);
+		}
+
+		CACHES.put(cacheName, ret);
+
+		logger.debug("Constructed cache [name={}]", cacheName);
+
+		return ret;
+	}
+
+	/**
+	 * Gets all caches.
+	 *
+	 * @return all caches, &lt;cacheName, {@link Cache cache}&gt;
+	 */
+	public static Map<String, Cache<?, ?>> getCaches() {
+		return Collections.unmodifiableMap(CACHES);
+	}
+
+	/**
+	 * Clears all caches.
+	 */
+	public static void removeAll() {
+		for (final Cache<?, ?> cache : CACHES.values()) {
+			cache.removeAll();
+		}
+	}
+
+	/**
+	 * Private default constructor.
+	 */
+	private CacheFactory() {
+	}
+}
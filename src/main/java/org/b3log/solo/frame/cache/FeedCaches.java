@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.b3log.solo.util.MD5;
+import org.b3log.solo.util.PropsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Feed (Atom/RSS) cache utilities.
+ *
+ * <p>
+ * Caches serialized feeds with their ETag and Last-Modified, conditional
+ * requests (If-None-Match/If-Modified-Since) are answered with 304 and HEAD
+ * requests with headers only.
+ * </p>
+ *
+ * <p>
+ * All cached feeds are dropped by {@link #removeAll()}, which should be
+ * called after any write changes the content of feeds (publishes, updates
+ * and removes articles, updates users).
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.1.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class FeedCaches {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(FeedCaches.class);
+
+	/**
+	 * Feed cache name.
+	 */
+	public static final String FEED_CACHE_NAME = "feedCache";
+
+	/**
+	 * Maximum count of cached feeds.
+	 */
+	private static final int MAX_COUNT = PropsUtil.getInteger("cache.feed.maxCount", 128);
+
+	/**
+	 * Generation of the feed cache, increased by every {@link #removeAll()}. A
+	 * feed generated across a removal will not be cached.
+	 */
+	private static final AtomicLong GENERATION = new AtomicLong();
+
+	/**
+	 * Start time of the current generation in milliseconds, the content of
+	 * feeds may have changed at this time without any article update.
+	 */
+	private static volatile long generationTime = System.currentTimeMillis();
+
+	/**
+	 * Feed cache.
+	 */
+	private static volatile Cache<String, CachedFeed> cache;
+
+	/**
+	 * Gets the current generation, gets it before generating a feed and
+	 * {@link #put(String, CachedFeed, long) puts} the feed with it.
+	 *
+	 * @return current generation
+	 */
+	public static long getGeneration() {
+		return GENERATION.get();
+	}
+
+	/**
+	 * Gets the start time of the current generation, a feed built in the
+	 * generation is not modified before this time.
+	 *
+	 * @return start time of the current generation in milliseconds
+	 */
+	public static long getGenerationTime() {
+		return generationTime;
+	}
+
+	/**
+	 * Gets a cached feed by the specified key.
+	 *
+	 * @param key
+	 *            the specified key
+	 * @return cached feed, returns {@code null} if not found
+	 */
+	public static CachedFeed get(final String key) {
+		return getCache().get(key);
+	}
+
+	/**
+	 * Puts the specified feed generated in the specified generation into
+	 * cache with the specified key, does nothing if the feed cache has been
+	 * cleared since the generation.
+	 *
+	 * @param key
+	 *            the specified key
+	 * @param feed
+	 *            the specified feed
+	 * @param generation
+	 *            the specified generation
+	 */
+	public static void put(final String key, final CachedFeed feed, final long generation) {
+		synchronized (GENERATION) {
+			if (generation == GENERATION.get()) {
+				getCache().put(key, feed);
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached feeds.
+	 */
+	public static void removeAll() {
+		synchronized (GENERATION) {
+			GENERATION.incrementAndGet();
+			generationTime = System.currentTimeMillis();
+			getCache().removeAll();
+		}
+
+		logger.debug("Cleared feed cache");
+	}
+
+	/**
+	 * Writes the specified feed to the specified response.
+	 *
+	 * <p>
+	 * Sends 304 if the specified request is conditional and the feed is not
+	 * modified (If-None-Match is checked first, If-Modified-Since is checked
+	 * only if there is no If-None-Match), sends headers only if the request
+	 * method is HEAD.
+	 * </p>
+	 *
+	 * @param feed
+	 *            the specified feed
+	 * @param request
+	 *            the specified request
+	 * @param response
+	 *            the specified response
+	 * @throws IOException
+	 *             io exception
+	 */
+	public static void write(final CachedFeed feed, final HttpServletRequest request,
+			final HttpServletResponse response) throws IOException {
+		response.setHeader("ETag", feed.getETag());
+		response.setDateHeader("Last-Modified", feed.getLastModified());
+		response.setHeader("Cache-Control", "no-cache");
+
+		if (isNotModified(feed, request)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+
+			return;
+		}
+
+		response.setContentType(feed.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setContentLength(feed.getBody().length);
+
+		if ("HEAD".equals(request.getMethod())) {
+			return;
+		}
+
+		final OutputStream outputStream = response.getOutputStream();
+
+		outputStream.write(feed.getBody());
+		outputStream.flush();
+	}
+
+	/**
+	 * Checks whether the specified feed is not modified for the specified
+	 * conditional request.
+	 *
+	 * @param feed
+	 *            the specified feed
+	 * @param request
+	 *            the specified request
+	 * @return {@code true} if not modified, returns {@code false} otherwise
+	 */
+	private static boolean isNotModified(final CachedFeed feed, final HttpServletRequest request) {
+		final String ifNoneMatch = request.getHeader("If-None-Match");
+
+		if (null != ifNoneMatch) {
+			for (final String tag : ifNoneMatch.split(",")) {
+				final String etag = StringUtils.removeStart(tag.trim(), "W/");
+
+				if ("*".equals(etag) || feed.getETag().equals(etag)) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		try {
+			final long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+
+			// HTTP dates are in seconds
+			return -1 != ifModifiedSince && feed.getLastModified() / 1000 <= ifModifiedSince / 1000;
+		} catch (final IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Gets the feed cache.
+	 *
+	 * @return feed cache
+	 */
+	private static Cache<String, CachedFeed> getCache() {
+		if (null == cache) {
+			synchronized (FeedCaches.class) {
+				if (null == cache) {
+					final Cache<String, CachedFeed> c = CacheFactory.getCache(FEED_CACHE_NAME);
+
+					c.setMaxCount(MAX_COUNT);
+					cache = c;
+				}
+			}
+		}
+
+		return cache;
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private FeedCaches() {
+	}
+
+	/**
+	 * Cached feed, immutable.
+	 */
+	public static final class CachedFeed {
+
+		/**
+		 * UTF-8 body.
+		 */
+		private final byte[] body;
+
+		/**
+		 * Content type.
+		 */
+		private final String contentType;
+
+		/**
+		 * ETag, hash of the body.
+		 */
+		private final String eTag;
+
+		/**
+		 * Last modified time in milliseconds.
+		 */
+		private final long lastModified;
+
+		/**
+		 * Constructs a cached feed with the specified content, content type
+		 * and last modified time.
+		 *
+		 * @param content
+		 *            the specified content
+		 * @param contentType
+		 *            the specified content type, for example
+		 *            "application/atom+xml"
+		 * @param lastModified
+		 *            the specified last modified time in milliseconds
+		 */
+		public CachedFeed(final String content, final String contentType, final long lastModified) {
+			this.body = content.getBytes(StandardCharsets.UTF_8);
+			this.contentType = contentType;
+			this.eTag = '"' + MD5.hash(body) + '"';
+			this.lastModified = lastModified;
+		}
+
+		/**
+		 * Gets the body, must not be modified.
+		 *
+		 * @return UTF-8 body
+		 */
+		public byte[] getBody() {
+			return body;
+		}
+
+		/**
+		 * Gets the content type.
+		 *
+		 * @return content type
+		 */
+		public String getContentType() {
+			return contentType;
+		}
+
+		/**
+		 * Gets the ETag.
+		 *
+		 * @return ETag, quoted
+		 */
+		public String getETag() {
+			return eTag;
+		}
+
+		/**
+		 * Gets the last modified time.
+		 *
+		 * @return last modified time in milliseconds
+		 */
+		public long getLastModified() {
+			return lastModified;
+		}
+	}
+}
@@ -0,0 +1,835 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.b3log.solo.Keys;
+import org.b3log.solo.Latkes;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Skin;
+import org.b3log.solo.model.Statistic;
+import org.b3log.solo.service.StatisticQueryService;
+import org.b3log.solo.util.PropsUtil;
+import org.b3log.solo.util.Requests;
+import org.b3log.solo.util.Sessions;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Page cache utilities.
+ *
+ * <p>
+ * Caches rendered HTML of pages for anonymous GET requests, each cached page
+ * holds both the identity body and the gzip body. The cache key consists of
+ * the request URI, skin, locale, preference version and whether the request
+ * is from a mobile device. The query string is not a part of the key: no
+ * cacheable page depends on request parameters (the "skin" parameter is
+ * resolved into the skin), so arbitrary parameters can not flood the cache
+ * and evict hot pages.
+ * </p>
+ *
+ * <p>
+ * Values differ from request to request are kept out of the cached bodies: a
+ * page rendered for caching holds placeholders of the
+ * {@link #getOnlineVisitorCount(HttpServletRequest) online visitor count} and
+ * the {@link #hideViewCounts(HttpServletRequest, Map) view counts} of the blog
+ * and the shown article, which are replaced with the current values while
+ * serving the page. The view counts of the listed articles (e.g. in the index)
+ * are refreshed by the next {@link #removeAll()}. The skin cookie set by a
+ * page is {@link #setSkinCookie(HttpServletRequest, HttpServletResponse, String)
+ * set again} while serving the cached page, so a skin switched via the "skin"
+ * parameter is kept.
+ * </p>
+ *
+ * <p>
+ * All cached pages are dropped by {@link #removeAll()}, which should be called
+ * after any write changes the content of pages (articles, pages, comments,
+ * links, etc.).
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.2.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class PageCaches {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(PageCaches.class);
+
+	/**
+	 * Page cache name.
+	 */
+	public static final String PAGE_CACHE_NAME = "pageCache";
+
+	/**
+	 * Request attribute name of the page cache key.
+	 */
+	public static final String PAGE_CACHE_KEY = "pageCacheKey";
+
+	/**
+	 * Request attribute name of the page cache generation.
+	 */
+	private static final String PAGE_CACHE_GENERATION = "pageCacheGeneration";
+
+	/**
+	 * Request attribute name of the view counts hidden by
+	 * {@link #hideViewCounts(HttpServletRequest, Map)}.
+	 */
+	private static final String PAGE_CACHE_VIEW_COUNTS = "pageCacheViewCounts";
+
+	/**
+	 * Request attribute name of the flag whether the page sets the skin
+	 * cookie.
+	 */
+	private static final String PAGE_CACHE_SKIN_COOKIE = "pageCacheSkinCookie";
+
+	/**
+	 * Whether the page cache is enabled.
+	 */
+	private static final boolean ENABLED = PropsUtil.getBoolean("cache.page.enabled", true);
+
+	/**
+	 * Maximum count of cached pages.
+	 */
+	private static final int MAX_COUNT = PropsUtil.getInteger("cache.page.maxCount", 256);
+
+	/**
+	 * Placeholder of the online visitor count in pages rendered for caching.
+	 */
+	private static final String ONLINE_VISITOR_CNT_PLACEHOLDER = "<!--onlineVisitorCnt-->";
+
+	/**
+	 * Placeholder of the blog view count in pages rendered for caching.
+	 */
+	private static final String BLOG_VIEW_CNT_PLACEHOLDER = "<!--blogViewCnt-->";
+
+	/**
+	 * Placeholder of the view count of the shown article in pages rendered for
+	 * caching.
+	 */
+	private static final String ARTICLE_VIEW_CNT_PLACEHOLDER = "<!--articleViewCnt-->";
+
+	/**
+	 * Placeholders, indexed as the values passed to
+	 * {@link CachedPage#getBody(boolean, String...)}.
+	 */
+	private static final String[] PLACEHOLDERS = {ONLINE_VISITOR_CNT_PLACEHOLDER, BLOG_VIEW_CNT_PLACEHOLDER,
+			ARTICLE_VIEW_CNT_PLACEHOLDER};
+
+	/**
+	 * Index of the blog view count placeholder.
+	 */
+	private static final int BLOG_VIEW_CNT = 1;
+
+	/**
+	 * Index of the article view count placeholder.
+	 */
+	private static final int ARTICLE_VIEW_CNT = 2;
+
+	/**
+	 * Header of the gzip bodies (deflate, no flags, no mtime, unknown OS).
+	 */
+	private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+	/**
+	 * Login cookie name.
+	 */
+	private static final String LOGIN_COOKIE_NAME = "b3log-latke";
+
+	/**
+	 * Generation of the page cache, increased by every {@link #removeAll()}. A
+	 * page rendered across a removal will not be cached.
+	 */
+	private static final AtomicLong GENERATION = new AtomicLong();
+
+	/**
+	 * Page cache.
+	 */
+	private static volatile Cache<String, CachedPage> cache;
+
+	/**
+	 * Checks whether the page cache could be used for the specified request.
+	 *
+	 * <p>
+	 * Only GET requests from anonymous visitors (no session user and no login
+	 * cookie) are cacheable.
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified request
+	 * @return {@code true} if cacheable, returns {@code false} otherwise
+	 */
+	public static boolean isCacheable(final HttpServletRequest request) {
+		if (!ENABLED || !"GET".equals(request.getMethod())) {
+			return false;
+		}
+
+		if (null != Sessions.currentUser(request)) {
+			return false;
+		}
+
+		final Cookie[] cookies = request.getCookies();
+
+		if (null != cookies) {
+			for (final Cookie cookie : cookies) {
+				if (LOGIN_COOKIE_NAME.equals(cookie.getName())) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gets the online visitor count to render for the specified request.
+	 *
+	 * @param request
+	 *            the specified request
+	 * @return a placeholder if the page of the specified request may be cached,
+	 *         returns the current online visitor count otherwise
+	 */
+	public static Object getOnlineVisitorCount(final HttpServletRequest request) {
+		if (null != request.getAttribute(PAGE_CACHE_KEY)) {
+			return ONLINE_VISITOR_CNT_PLACEHOLDER;
+		}
+
+		return StatisticQueryService.getOnlineVisitorCount();
+	}
+
+	/**
+	 * Replaces the view counts of the blog ({@value Statistic#STATISTIC}) and
+	 * the shown article ({@value Article#ARTICLE}) in the specified data model
+	 * of the specified request with placeholders, if the page of the specified
+	 * request may be cached. The statistic and the article are copied, the
+	 * replaced counts are kept in the specified request for
+	 * {@link #resolve(HttpServletRequest, String)}.
+	 *
+	 * @param request
+	 *            the specified request
+	 * @param dataModel
+	 *            the specified data model
+	 */
+	public static void hideViewCounts(final HttpServletRequest request, final Map<String, Object> dataModel) {
+		if (null == request.getAttribute(PAGE_CACHE_KEY)) {
+			return;
+		}
+
+		final String[] viewCounts = new String[PLACEHOLDERS.length];
+
+		viewCounts[BLOG_VIEW_CNT] = hide(dataModel, Statistic.STATISTIC, Statistic.STATISTIC_BLOG_VIEW_COUNT,
+				BLOG_VIEW_CNT_PLACEHOLDER);
+		viewCounts[ARTICLE_VIEW_CNT] = hide(dataModel, Article.ARTICLE, Article.ARTICLE_VIEW_COUNT,
+				ARTICLE_VIEW_CNT_PLACEHOLDER);
+
+		request.setAttribute(PAGE_CACHE_VIEW_COUNTS, viewCounts);
+	}
+
+	/**
+	 * Replaces the specified count of the specified object in the specified
+	 * data model with the specified placeholder.
+	 *
+	 * @param dataModel
+	 *            the specified data model
+	 * @param name
+	 *            the specified name of the object
+	 * @param countName
+	 *            the specified name of the count
+	 * @param placeholder
+	 *            the specified placeholder
+	 * @return the replaced count, returns {@code ""} if not found
+	 */
+	private static String hide(final Map<String, Object> dataModel, final String name, final String countName,
+			final String placeholder) {
+		final Object object = dataModel.get(name);
+
+		if (!(object instanceof JSONObject) || !((JSONObject) object).has(countName)) {
+			return "";
+		}
+
+		final JSONObject copy = new JSONObject((JSONObject) object, JSONObject.getNames((JSONObject) object));
+		final String ret = String.valueOf(copy.get(countName));
+
+		copy.put(countName, placeholder);
+		dataModel.put(name, copy);
+
+		return ret;
+	}
+
+	/**
+	 * Replaces the placeholders in the specified HTML rendered for the
+	 * specified request with the current values.
+	 *
+	 * @param request
+	 *            the specified request
+	 * @param html
+	 *            the specified HTML
+	 * @return HTML to send
+	 */
+	public static String resolve(final HttpServletRequest request, final String html) {
+		if (null == request.getAttribute(PAGE_CACHE_KEY)) {
+			return html;
+		}
+
+		String ret = html.replace(ONLINE_VISITOR_CNT_PLACEHOLDER,
+				String.valueOf(StatisticQueryService.getOnlineVisitorCount()));
+		final String[] viewCounts = (String[]) request.getAttribute(PAGE_CACHE_VIEW_COUNTS);
+
+		if (null != viewCounts) {
+			ret = ret.replace(BLOG_VIEW_CNT_PLACEHOLDER, viewCounts[BLOG_VIEW_CNT])
+					.replace(ARTICLE_VIEW_CNT_PLACEHOLDER, viewCounts[ARTICLE_VIEW_CNT]);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Sets the skin cookie with the specified skin directory name to the
+	 * specified response, and marks the page of the specified request sets the
+	 * skin cookie.
+	 *
+	 * @param request
+	 *            the specified request
+	 * @param response
+	 *            the specified response
+	 * @param skinDirName
+	 *            the specified skin directory name
+	 */
+	public static void setSkinCookie(final HttpServletRequest request, final HttpServletResponse response,
+			final String skinDirName) {
+		final Cookie cookie = new Cookie(Skin.SKIN, skinDirName);
+
+		cookie.setPath("/");
+		response.addCookie(cookie);
+		request.setAttribute(PAGE_CACHE_SKIN_COOKIE, true);
+	}
+
+	/**
+	 * Gets the page cache key with the specified request, skin directory name
+	 * and preference version.
+	 *
+	 * @param request
+	 *            the specified request
+	 * @param skinDirName
+	 *            the specified skin directory name
+	 * @param preferenceVersion
+	 *            the specified preference version
+	 * @return page cache key
+	 */
+	public static String getKey(final HttpServletRequest request, final String skinDirName,
+			final long preferenceVersion) {
+		return new StringBuilder(request.getRequestURI()).append('|').append(skinDirName).append('|')
+				.append(Latkes.getLocale()).append('|').append(preferenceVersion).append('|')
+				.append(Requests.mobileRequest(request) ? 'm' : 'd').toString();
+	}
+
+	/**
+	 * Gets a cached page by the specified key.
+	 *
+	 * @param key
+	 *            the specified key
+	 * @return cached page, returns {@code null} if not found
+	 */
+	public static CachedPage get(final String key) {
+		return getCache().get(key);
+	}
+
+	/**
+	 * Marks the specified request could be cached with the specified key, the
+	 * rendered page will be {@link #put(HttpServletRequest, String) put} into
+	 * cache under the key.
+	 *
+	 * @param request
+	 *            the specified request
+	 * @param key
+	 *            the specified key
+	 */
+	public static void prepare(final HttpServletRequest request, final String key) {
+		request.setAttribute(PAGE_CACHE_KEY, key);
+		request.setAttribute(PAGE_CACHE_GENERATION, GENERATION.get());
+	}
+
+	/**
+	 * Puts the specified rendered HTML of the specified request into cache.
+	 *
+	 * <p>
+	 * Does nothing if the specified request has not been
+	 * {@link #prepare(HttpServletRequest, String) prepared}, or the page cache
+	 * has been cleared since it was prepared.
+	 * </p>
+	 *
+	 * <p>
+	 * If the specified request is showing an article (request attribute
+	 * {@value Article#ARTICLE}), the article id is cached with the page, then
+	 * the view count of the article could still be increased while serving
+	 * the cached page.
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified request
+	 * @param html
+	 *            the specified rendered HTML
+	 */
+	public static void put(final HttpServletRequest request, final String html) {
+		final String key = (String) request.getAttribute(PAGE_CACHE_KEY);
+		final Long generation = (Long) request.getAttribute(PAGE_CACHE_GENERATION);
+
+		if (null == key || null == generation) {
+			return;
+		}
+
+		final JSONObject article = (JSONObject) request.getAttribute(Article.ARTICLE);
+		final String articleId = null == article ? null : article.optString(Keys.OBJECT_ID);
+		final CachedPage page = CachedPage.of(html, articleId,
+				null != request.getAttribute(PAGE_CACHE_SKIN_COOKIE));
+
+		synchronized (GENERATION) {
+			if (generation == GENERATION.get()) {
+				getCache().put(key, page);
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached pages.
+	 */
+	public static void removeAll() {
+		synchronized (GENERATION) {
+			GENERATION.incrementAndGet();
+			getCache().removeAll();
+		}
+
+		logger.debug("Cleared page cache");
+	}
+
+	/**
+	 * Writes the specified cached page with the specified view counts to the
+	 * specified response, the gzip body is used if the specified request
+	 * accepts it.
+	 *
+	 * @param page
+	 *            the specified cached page
+	 * @param blogViewCount
+	 *            the specified blog view count, ignored if the page does not
+	 *            show it
+	 * @param articleViewCount
+	 *            the specified view count of the shown article, ignored if the
+	 *            page does not show it
+	 * @param request
+	 *            the specified request
+	 * @param response
+	 *            the specified response
+	 * @throws IOException
+	 *             io exception
+	 */
+	public static void write(final CachedPage page, final String blogViewCount, final String articleViewCount,
+			final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		final String acceptEncoding = request.getHeader("Accept-Encoding");
+		final boolean gzip = null != acceptEncoding && acceptEncoding.contains("gzip");
+		final byte[] body = page.getBody(gzip, String.valueOf(StatisticQueryService.getOnlineVisitorCount()),
+				blogViewCount, articleViewCount);
+
+		response.setContentType("text/html");
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader("Vary", "Accept-Encoding");
+
+		if (gzip) {
+			response.setHeader("Content-Encoding", "gzip");
+		}
+
+		response.setContentLength(body.length);
+
+		final OutputStream outputStream = response.getOutputStream();
+
+		outputStream.write(body);
+		outputStream.flush();
+	}
+
+	/**
+	 * Gets the page cache.
+	 *
+	 * @return page cache
+	 */
+	public static Cache<String, CachedPage> getCache() {
+		if (null == cache) {
+			synchronized (PageCaches.class) {
+				if (null == cache) {
+					final Cache<String, CachedPage> c = CacheFactory.getCache(PAGE_CACHE_NAME);
+
+					c.setMaxCount(MAX_COUNT);
+					cache = c;
+				}
+			}
+		}
+
+		return cache;
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private PageCaches() {
+	}
+
+	/**
+	 * Cached page, immutable.
+	 *
+	 * <p>
+	 * The page is split into segments by the placeholders. Each segment is
+	 * deflated once, all but the last one are flushed to a byte boundary, so
+	 * the gzip body of a request is assembled by interleaving the deflated
+	 * segments with the current values as stored (uncompressed) blocks,
+	 * without compressing the page again.
+	 * </p>
+	 */
+	public static final class CachedPage {
+
+		/**
+		 * Identity (UTF-8) segments.
+		 */
+		private final byte[][] identitySegments;
+
+		/**
+		 * Deflated segments.
+		 */
+		private final byte[][] deflatedSegments;
+
+		/**
+		 * Indexes (in {@link PageCaches#PLACEHOLDERS}) of the placeholders
+		 * between the segments.
+		 */
+		private final int[] placeholders;
+
+		/**
+		 * Identity body, {@code null} if the page has placeholders.
+		 */
+		private final byte[] identityBody;
+
+		/**
+		 * Gzip body, {@code null} if the page has placeholders.
+		 */
+		private final byte[] gzipBody;
+
+		/**
+		 * Id of the article shown by the page, {@code null} if the page is not
+		 * an article page.
+		 */
+		private final String articleId;
+
+		/**
+		 * Whether the page sets the skin cookie.
+		 */
+		private final boolean skinCookie;
+
+		/**
+		 * Constructs a cached page with the specified segments, placeholders,
+		 * article id and skin cookie flag.
+		 *
+		 * @param identitySegments
+		 *            the specified identity segments
+		 * @param deflatedSegments
+		 *            the specified deflated segments
+		 * @param placeholders
+		 *            the specified indexes of the placeholders between the
+		 *            segments
+		 * @param articleId
+		 *            the specified article id, may be {@code null}
+		 * @param skinCookie
+		 *            whether the page sets the skin cookie
+		 */
+		private CachedPage(final byte[][] identitySegments, final byte[][] deflatedSegments,
+				final int[] placeholders, final String articleId, final boolean skinCookie) {
+			this.identitySegments = identitySegments;
+			this.deflatedSegments = deflatedSegments;
+			this.placeholders = placeholders;
+			this.articleId = articleId;
+			this.skinCookie = skinCookie;
+
+			if (1 == identitySegments.length) {
+				identityBody = identitySegments[0];
+				gzipBody = gzip(identityBody, null);
+			} else {
+				identityBody = null;
+				gzipBody = null;
+			}
+		}
+
+		/**
+		 * Creates a cached page with the specified HTML, article id and skin
+		 * cookie flag.
+		 *
+		 * @param html
+		 *            the specified HTML, may contain placeholders
+		 * @param articleId
+		 *            the specified article id, may be {@code null}
+		 * @param skinCookie
+		 *            whether the page sets the skin cookie
+		 * @return cached page
+		 */
+		static CachedPage of(final String html, final String articleId, final boolean skinCookie) {
+			final List<byte[]> segments = new ArrayList<>();
+			final List<Integer> found = new ArrayList<>();
+			int start = 0;
+
+			while (true) {
+				int end = -1;
+				int placeholder = -1;
+
+				for (int i = 0; i < PLACEHOLDERS.length; i++) {
+					final int index = html.indexOf(PLACEHOLDERS[i], start);
+
+					if (-1 != index && (-1 == end || index < end)) {
+						end = index;
+						placeholder = i;
+					}
+				}
+
+				if (-1 == end) {
+					break;
+				}
+
+				segments.add(html.substring(start, end).getBytes(StandardCharsets.UTF_8));
+				found.add(placeholder);
+				start = end + PLACEHOLDERS[placeholder].length();
+			}
+
+			segments.add(html.substring(start).getBytes(StandardCharsets.UTF_8));
+
+			final int[] placeholders = new int[found.size()];
+
+			for (int i = 0; i < placeholders.length; i++) {
+				placeholders[i] = found.get(i);
+			}
+
+			final byte[][] identitySegments = segments.toArray(new byte[segments.size()][]);
+			final byte[][] deflatedSegments = new byte[identitySegments.length][];
+
+			for (int i = 0; i < identitySegments.length; i++) {
+				deflatedSegments[i] = deflate(identitySegments[i], i == identitySegments.length - 1);
+			}
+
+			return new CachedPage(identitySegments, deflatedSegments, placeholders, articleId, skinCookie);
+		}
+
+		/**
+		 * Gets the id of the article shown by the page.
+		 *
+		 * @return article id, returns {@code null} if the page is not an
+		 *         article page
+		 */
+		public String getArticleId() {
+			return articleId;
+		}
+
+		/**
+		 * Checks whether the page sets the skin cookie.
+		 *
+		 * @return {@code true} if it sets, returns {@code false} otherwise
+		 */
+		public boolean isSkinCookie() {
+			return skinCookie;
+		}
+
+		/**
+		 * Checks whether the page shows the blog view count.
+		 *
+		 * @return {@code true} if it shows, returns {@code false} otherwise
+		 */
+		public boolean showsBlogViewCount() {
+			return shows(BLOG_VIEW_CNT);
+		}
+
+		/**
+		 * Checks whether the page shows the view count of its article.
+		 *
+		 * @return {@code true} if it shows, returns {@code false} otherwise
+		 */
+		public boolean showsArticleViewCount() {
+			return shows(ARTICLE_VIEW_CNT);
+		}
+
+		/**
+		 * Checks whether the page holds the specified placeholder.
+		 *
+		 * @param placeholder
+		 *            the specified index of the placeholder
+		 * @return {@code true} if it holds, returns {@code false} otherwise
+		 */
+		private boolean shows(final int placeholder) {
+			for (final int p : placeholders) {
+				if (placeholder == p) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Gets the body with the specified values of the placeholders, must
+		 * not be modified.
+		 *
+		 * @param gzip
+		 *            whether to get the gzip body
+		 * @param values
+		 *            the specified values, indexed as the placeholders (online
+		 *            visitor count, blog view count, article view count), a
+		 *            missing value is taken as {@code ""}
+		 * @return body
+		 */
+		public byte[] getBody(final boolean gzip, final String... values) {
+			if (null != identityBody) {
+				return gzip ? gzipBody : identityBody;
+			}
+
+			final byte[][] bytes = new byte[PLACEHOLDERS.length][];
+
+			for (int i = 0; i < bytes.length; i++) {
+				final String value = i < values.length && null != values[i] ? values[i] : "";
+
+				bytes[i] = value.getBytes(StandardCharsets.UTF_8);
+			}
+
+			final ByteArrayOutputStream identity = new ByteArrayOutputStream();
+
+			for (int i = 0; i < identitySegments.length; i++) {
+				if (0 < i) {
+					final byte[] value = bytes[placeholders[i - 1]];
+
+					identity.write(value, 0, value.length);
+				}
+
+				identity.write(identitySegments[i], 0, identitySegments[i].length);
+			}
+
+			final byte[] ret = identity.toByteArray();
+
+			return gzip ? gzip(ret, bytes) : ret;
+		}
+
+		/**
+		 * Assembles the gzip body of the specified identity body.
+		 *
+		 * @param identity
+		 *            the specified identity body
+		 * @param values
+		 *            the specified values of the placeholders, {@code null} if
+		 *            the page has no placeholder
+		 * @return gzip body
+		 */
+		private byte[] gzip(final byte[] identity, final byte[][] values) {
+			final ByteArrayOutputStream ret = new ByteArrayOutputStream(identity.length / 4 + 64);
+
+			ret.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+
+			for (int i = 0; i < deflatedSegments.length; i++) {
+				if (0 < i) {
+					final byte[] value = values[placeholders[i - 1]];
+
+					// Stored block (not final): header bits 000 padded to a byte, LEN, NLEN, data
+					ret.write(0);
+					ret.write(value.length & 0xff);
+					ret.write(value.length >>> 8 & 0xff);
+					ret.write(~value.length & 0xff);
+					ret.write(~value.length >>> 8 & 0xff);
+					ret.write(value, 0, value.length);
+				}
+
+				ret.write(deflatedSegments[i], 0, deflatedSegments[i].length);
+			}
+
+			final CRC32 crc = new CRC32();
+
+			crc.update(identity);
+			writeIntLE(ret, (int) crc.getValue());
+			writeIntLE(ret, identity.length);
+
+			return ret.toByteArray();
+		}
+
+		/**
+		 * Deflates (raw, without zlib wrapper) the specified bytes.
+		 *
+		 * @param bytes
+		 *            the specified bytes
+		 * @param last
+		 *            whether the specified bytes are the last segment, the
+		 *            output ends with the final block if it is, or is flushed
+		 *            to a byte boundary otherwise
+		 * @return deflated bytes
+		 */
+		private static byte[] deflate(final byte[] bytes, final boolean last) {
+			final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+			final ByteArrayOutputStream ret = new ByteArrayOutputStream(bytes.length / 4 + 64);
+			final byte[] buf = new byte[8192];
+
+			try {
+				deflater.setInput(bytes);
+
+				if (last) {
+					deflater.finish();
+
+					while (!deflater.finished()) {
+						ret.write(buf, 0, deflater.deflate(buf));
+					}
+				} else {
+					int len;
+
+					do {
+						len = deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+						ret.write(buf, 0, len);
+					} while (len == buf.length);
+				}
+			} finally {
+				deflater.end();
+			}
+
+			return ret.toByteArray();
+		}
+
+		/**
+		 * Writes the specified int in little-endian.
+		 *
+		 * @param out
+		 *            the specified output stream
+		 * @param i
+		 *            the specified int
+		 */
+		private static void writeIntLE(final ByteArrayOutputStream out, final int i) {
+			out.write(i & 0xff);
+			out.write(i >>> 8 & 0xff);
+			out.write(i >>> 16 & 0xff);
+			out.write(i >>> 24 & 0xff);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.cache.local;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.b3log.solo.frame.cache.Cache;
+
+/**
+ * In-memory cache with a <a href="http://en.wikipedia.org/wiki/Least_Recently_Used">Least Recently Used</a>
+ * eviction policy.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @param <K>
+ *            the type of the key of the object
+ * @param <V>
+ *            the type of the object
+ * @since 2.0.0
+ */
+public final class LruMemoryCache<K, V> implements Cache<K, V> {
+
+	/**
+	 * Default maximum count of objects.
+	 */
+	public static final long DEFAULT_MAX_COUNT = 1024;
+
+	/**
+	 * Access ordered map, guarded by itself.
+	 */
+	private final LinkedHashMap<K, V> map;
+
+	/**
+	 * Maximum count of objects.
+	 */
+	private volatile long maxCount = DEFAULT_MAX_COUNT;
+
+	/**
+	 * Hit count.
+	 */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/**
+	 * Miss count.
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Put count.
+	 */
+	private final AtomicLong putCount = new AtomicLong();
+
+	/**
+	 * Eviction count.
+	 */
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * Constructs a LRU memory cache.
+	 */
+	public LruMemoryCache() {
+		map = new LinkedHashMap<K, V>(16, 0.75F, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+				if (size() > maxCount) {
+					evictionCount.incrementAndGet();
+
+					return true;
+				}
+
+				return false;
+			}
+		};
+	}
+
+	@Override
+	public boolean contains(final K key) {
+		synchronized (map) {
+			return map.containsKey(key);
+		}
+	}
+
+	@Override
+	public void put(final K key, final V value) {
+		if (null == key || null == value) {
+			return;
+		}
+
+		synchronized (map) {
+			map.put(key, value);
+		}
+
+		putCount.incrementAndGet();
+	}
+
+	@Override
+	public V get(final K key) {
+		final V ret;
+
+		synchronized (map) {
+			ret = map.get(key);
+		}
+
+		if (null == ret) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+
+		return ret;
+	}
+
+	@Override
+	public void remove(final K key) {
+		synchronized (map) {
+			map.remove(key);
+		}
+	}
+
+	@Override
+	public void remove(final Collection<K> keys) {
+		synchronized (map) {
+			for (final K key : keys) {
+				map.remove(key);
+			}
+		}
+	}
+
+	@Override
+	public void removeAll() {
+		synchronized (map) {
+			map.clear();
+		}
+	}
+
+	@Override
+	public void setMaxCount(final long maxCount) {
+		this.maxCount = maxCount;
+	}
+
+	@Override
+	public long getMaxCount() {
+		return maxCount;
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	@Override
+	public long getPutCount() {
+		return putCount.get();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	@Override
+	public long getCachedCount() {
+		synchronized (map) {
+			return map.size();
+		}
+	}
+}
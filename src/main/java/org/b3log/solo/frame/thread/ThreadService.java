@@ -15,13 +15,23 @@
  */
 package org.b3log.solo.frame.thread;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
+import org.json.JSONObject;
+
 /**
  * Thread service.
  *
+ * <p>
+ * Tasks are run on bounded pools, one for I/O (blocking, for example URL
+ * fetches) and one for CPU work. Submitting never blocks the caller on the
+ * task, a task is cancelled (interrupted) if it is not done within its
+ * timeout counted from the submission.
+ * </p>
+ *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.1, Jan 10, 2014
+ * @version 1.1.0.0, Oct 17, 2026
  */
 public interface ThreadService {
 
@@ -36,15 +46,73 @@ public interface ThreadService {
 	Thread createThreadForCurrentRequest(final Runnable runnable);
 
 	/**
-	 * Submits the specified {@code Runnable} task for execution and returns a
-	 * {@code Future} representing that task within the specified millseconds.
-	 * 
+	 * Submits the specified {@code Runnable} I/O task for execution and returns
+	 * a {@code Future} representing that task, the task is cancelled if it is
+	 * not done within the specified millseconds.
+	 *
 	 * @param runnable
 	 *            the specified runnable task
 	 * @param millseconds
-	 *            the specified millseconds timeout
+	 *            the specified millseconds timeout, no timeout if not positive
 	 * @return a {@code Future} representing pending completion of the task,
-	 *         returns {@code null} if the task executes failed
+	 *         completed with a {@link java.util.concurrent.RejectedExecutionException}
+	 *         if the I/O pool is saturated
+	 * @see #submitIO(Callable, long)
 	 */
 	Future<?> submit(final Runnable runnable, final long millseconds);
+
+	/**
+	 * Submits the specified I/O task for execution on the I/O pool, the task is
+	 * cancelled if it is not done within the specified millseconds.
+	 *
+	 * @param <T>
+	 *            the type of the task result
+	 * @param callable
+	 *            the specified task
+	 * @param millseconds
+	 *            the specified millseconds timeout, no timeout if not positive
+	 * @return a {@code Future} representing pending completion of the task,
+	 *         completed with a {@link java.util.concurrent.RejectedExecutionException}
+	 *         if the I/O pool is saturated
+	 */
+	<T> Future<T> submitIO(final Callable<T> callable, final long millseconds);
+
+	/**
+	 * Submits the specified CPU task for execution on the CPU pool, the task
+	 * is cancelled if it is not done within the specified millseconds. The task
+	 * is run on the caller thread if the CPU pool is saturated.
+	 *
+	 * @param <T>
+	 *            the type of the task result
+	 * @param callable
+	 *            the specified task
+	 * @param millseconds
+	 *            the specified millseconds timeout, no timeout if not positive
+	 * @return a {@code Future} representing pending completion of the task
+	 */
+	<T> Future<T> submitCPU(final Callable<T> callable, final long millseconds);
+
+	/**
+	 * Gets the statistics of the pools.
+	 *
+	 * <pre>
+	 * {
+	 *     "io": {
+	 *         "poolSize": 16, "active": 2, "queued": 0, "queueCapacity": 256, "largest": 16,
+	 *         "submitted": 120, "completed": 115, "failed": 2, "rejected": 0, "callerRuns": 0, "timedOut": 3,
+	 *         "waitAvg": 1, "runAvg": 320, "runMax": 30000 // milliseconds
+	 *     },
+	 *     "cpu": {....}
+	 * }
+	 * </pre>
+	 *
+	 * @return statistics
+	 */
+	JSONObject getStatistics();
+
+	/**
+	 * Shuts down the pools, tasks submitted are executed but no new task will
+	 * be accepted.
+	 */
+	void shutdown();
 }
@@ -15,20 +15,42 @@
  */
 package org.b3log.solo.frame.thread.local;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.b3log.solo.frame.thread.ThreadService;
+import org.b3log.solo.util.PropsUtil;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Local thread service.
  *
+ * <p>
+ * I/O tasks run on a pool of "thread.io.poolSize" threads with at most
+ * "thread.io.queueSize" waiting tasks, a task submitted to a saturated I/O
+ * pool is rejected (its future fails) instead of blocking the caller. CPU
+ * tasks run on a pool of "thread.cpu.poolSize" threads (the count of
+ * processors by default) with at most "thread.cpu.queueSize" waiting tasks,
+ * a task submitted to a saturated CPU pool is run on the caller thread.
+ * Timeouts are enforced by a scheduler which cancels the tasks, no thread
+ * waits for a task.
+ * </p>
+ *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.1.2, Jan 23, 2017
+ * @version 2.0.0.2, Oct 17, 2026
  */
 public final class LocalThreadService implements ThreadService {
 
@@ -38,9 +60,39 @@ public final class LocalThreadService implements ThreadService {
 	private static Logger logger = LoggerFactory.getLogger(LocalThreadService.class);
 
 	/**
-	 * Executor service.
+	 * I/O pool.
 	 */
-	public static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(50);
+	private final Pool ioPool;
+
+	/**
+	 * CPU pool.
+	 */
+	private final Pool cpuPool;
+
+	/**
+	 * Timeout scheduler.
+	 */
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	/**
+	 * Constructs the local thread service.
+	 */
+	public LocalThreadService() {
+		ioPool = new Pool("IO", PropsUtil.getInteger("thread.io.poolSize", 16),
+				PropsUtil.getInteger("thread.io.queueSize", 256), false);
+		cpuPool = new Pool("CPU",
+				PropsUtil.getInteger("thread.cpu.poolSize", Runtime.getRuntime().availableProcessors()),
+				PropsUtil.getInteger("thread.cpu.queueSize", 256), true);
+
+		scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			final Thread ret = new Thread(runnable, "ThreadService-Timeout");
+
+			ret.setDaemon(true);
+
+			return ret;
+		});
+		scheduler.setRemoveOnCancelPolicy(true);
+	}
 
 	@Override
 	public Thread createThreadForCurrentRequest(final Runnable runnable) {
@@ -49,87 +101,355 @@ public final class LocalThreadService implements ThreadService {
 
 	@Override
 	public Future<?> submit(final Runnable runnable, final long millseconds) {
-		final Object monitor = new Object();
-		final Worker worker = new Worker(runnable, millseconds, monitor);
+		return submit(ioPool, Executors.callable(runnable), runnable, millseconds);
+	}
+
+	@Override
+	public <T> Future<T> submitIO(final Callable<T> callable, final long millseconds) {
+		return submit(ioPool, callable, callable, millseconds);
+	}
 
-		synchronized (monitor) {
-			EXECUTOR_SERVICE.execute(worker);
+	@Override
+	public <T> Future<T> submitCPU(final Callable<T> callable, final long millseconds) {
+		return submit(cpuPool, callable, callable, millseconds);
+	}
+
+	@Override
+	public JSONObject getStatistics() {
+		return new JSONObject().put("io", ioPool.toJSONObject()).put("cpu", cpuPool.toJSONObject());
+	}
+
+	@Override
+	public void shutdown() {
+		ioPool.executor.shutdown();
+		cpuPool.executor.shutdown();
+		scheduler.shutdownNow();
+	}
 
+	/**
+	 * Submits the specified task to the specified pool.
+	 *
+	 * @param <T>
+	 *            the type of the task result
+	 * @param pool
+	 *            the specified pool
+	 * @param callable
+	 *            the specified task
+	 * @param task
+	 *            the specified original task, for logging
+	 * @param millseconds
+	 *            the specified millseconds timeout, no timeout if not positive
+	 * @return future of the task
+	 */
+	private <T> Future<T> submit(final Pool pool, final Callable<T> callable, final Object task,
+			final long millseconds) {
+		final TimedTask<T> ret = new TimedTask<>(callable, task, pool);
+
+		if (0 < millseconds) {
+			// Scheduled before the execution, a task run on a saturated caller thread times out too
 			try {
-				monitor.wait();
-			} catch (final Exception e) {
-				logger.error("Wait failed", e);
+				ret.timeout = scheduler.schedule(ret::timeOut, millseconds, TimeUnit.MILLISECONDS);
+			} catch (final RejectedExecutionException e) {
+				// Shut down, runs without timeout
 			}
 		}
 
-		return worker.getFuture();
+		pool.submitted.increment();
+		pool.executor.execute(ret); // The timeout is cancelled once the task is done
+
+		return ret;
 	}
 
 	/**
-	 * Worker.
+	 * Bounded pool with statistics.
 	 */
-	private static class Worker implements Runnable {
+	private static final class Pool {
+
+		/**
+		 * Name.
+		 */
+		private final String name;
+
+		/**
+		 * Executor.
+		 */
+		private final ThreadPoolExecutor executor;
+
+		/**
+		 * Count of submitted tasks.
+		 */
+		private final LongAdder submitted = new LongAdder();
+
+		/**
+		 * Count of tasks completed normally.
+		 */
+		private final LongAdder completed = new LongAdder();
+
+		/**
+		 * Count of tasks failed with exceptions.
+		 */
+		private final LongAdder failed = new LongAdder();
+
+		/**
+		 * Count of rejected tasks.
+		 */
+		private final LongAdder rejected = new LongAdder();
+
+		/**
+		 * Count of tasks run on caller threads.
+		 */
+		private final LongAdder callerRuns = new LongAdder();
 
 		/**
-		 * Future.
+		 * Count of timed out tasks.
 		 */
-		private Future<?> future;
+		private final LongAdder timedOut = new LongAdder();
 
 		/**
-		 * Runnable.
+		 * Count of started tasks.
 		 */
-		private final Runnable runnable;
+		private final LongAdder started = new LongAdder();
 
 		/**
-		 * Timeout.
+		 * Sum of waiting nanoseconds in the queue.
 		 */
-		private final long timeout;
+		private final LongAdder waitNanos = new LongAdder();
+
+		/**
+		 * Count of finished tasks, for the running average.
+		 */
+		private final LongAdder finished = new LongAdder();
+
+		/**
+		 * Sum of running nanoseconds.
+		 */
+		private final LongAdder runNanos = new LongAdder();
+
+		/**
+		 * Maximum running nanoseconds.
+		 */
+		private final AtomicLong runMaxNanos = new AtomicLong();
+
+		/**
+		 * Constructs a pool.
+		 *
+		 * @param name
+		 *            the specified name, the prefix of thread names
+		 * @param poolSize
+		 *            the specified count of threads
+		 * @param queueSize
+		 *            the specified maximum count of waiting tasks
+		 * @param callerRuns
+		 *            whether runs tasks on caller threads if saturated,
+		 *            rejects them otherwise
+		 */
+		Pool(final String name, final int poolSize, final int queueSize, final boolean callerRuns) {
+			this.name = name;
+
+			final AtomicInteger threadNum = new AtomicInteger();
+
+			executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<Runnable>(queueSize), runnable -> {
+						final Thread ret = new Thread(runnable, name + "-" + threadNum.incrementAndGet());
+
+						ret.setDaemon(true);
+
+						return ret;
+					}, (runnable, exec) -> {
+						final TimedTask<?> task = (TimedTask<?>) runnable;
+
+						if (callerRuns && !exec.isShutdown()) {
+							final boolean interrupted = Thread.currentThread().isInterrupted();
+
+							this.callerRuns.increment();
+							task.run();
+
+							// Clears the interruption of the timeout, keeps the caller's own one
+							if (interrupted) {
+								Thread.currentThread().interrupt();
+							} else if (task.isCancelled()) {
+								Thread.interrupted();
+							}
+
+							return;
+						}
+
+						rejected.increment();
+						logger.warn("{} pool is saturated, rejected task [{}]", name, task);
+
+						task.reject(new RejectedExecutionException(name + " pool is saturated"));
+					});
+			executor.allowCoreThreadTimeOut(true);
+		}
 
 		/**
-		 * Object.
+		 * Records a finished task with the specified running nanoseconds.
+		 *
+		 * @param nanos
+		 *            the specified running nanoseconds
 		 */
-		private Object monitor;
+		void recordRun(final long nanos) {
+			finished.increment();
+			runNanos.add(nanos);
+
+			long max = runMaxNanos.get();
+
+			while (nanos > max && !runMaxNanos.compareAndSet(max, nanos)) {
+				max = runMaxNanos.get();
+			}
+		}
 
 		/**
-		 * Constructs a worker.
+		 * Gets the statistics of this pool.
 		 *
-		 * @param runnable
-		 *            the specified runnable
-		 * @param timeout
-		 *            the specified timeout
-		 * @param monitor
-		 *            the specified monitor
-		 */
-		Worker(final Runnable runnable, final long timeout, final Object monitor) {
-			this.runnable = runnable;
-			this.timeout = timeout;
-			this.monitor = monitor;
+		 * @return statistics
+		 * @see ThreadService#getStatistics()
+		 */
+		JSONObject toJSONObject() {
+			final int queued = executor.getQueue().size();
+			final long startedCnt = started.sum();
+			final long finishedCnt = finished.sum();
+
+			return new JSONObject().put("poolSize", executor.getPoolSize()).put("active", executor.getActiveCount())
+					.put("queued", queued).put("queueCapacity", queued + executor.getQueue().remainingCapacity())
+					.put("largest", executor.getLargestPoolSize()).put("submitted", submitted.sum())
+					.put("completed", completed.sum()).put("failed", failed.sum()).put("rejected", rejected.sum())
+					.put("callerRuns", callerRuns.sum()).put("timedOut", timedOut.sum())
+					.put("waitAvg", 0 == startedCnt ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.sum() / startedCnt))
+					.put("runAvg", 0 == finishedCnt ? 0 : TimeUnit.NANOSECONDS.toMillis(runNanos.sum() / finishedCnt))
+					.put("runMax", TimeUnit.NANOSECONDS.toMillis(runMaxNanos.get()));
+		}
+
+		@Override
+		public String toString() {
+			return name;
 		}
+	}
+
+	/**
+	 * Task with timeout and statistics.
+	 *
+	 * @param <T>
+	 *            the type of the task result
+	 */
+	private static final class TimedTask<T> extends FutureTask<T> {
+
+		/**
+		 * Original task, for logging.
+		 */
+		private final Object task;
+
+		/**
+		 * Pool.
+		 */
+		private final Pool pool;
+
+		/**
+		 * Submission time in nanoseconds.
+		 */
+		private final long submitNanos = System.nanoTime();
+
+		/**
+		 * Start time in nanoseconds, {@code 0} if not started.
+		 */
+		private volatile long startNanos;
+
+		/**
+		 * Scheduled timeout, {@code null} if no timeout.
+		 */
+		private volatile ScheduledFuture<?> timeout;
 
 		/**
-		 * Get the future.
+		 * Constructs a timed task.
 		 *
-		 * @return future
+		 * @param callable
+		 *            the specified callable
+		 * @param task
+		 *            the specified original task
+		 * @param pool
+		 *            the specified pool
 		 */
-		public Future<?> getFuture() {
-			return future;
+		TimedTask(final Callable<T> callable, final Object task, final Pool pool) {
+			super(callable);
+
+			this.task = task;
+			this.pool = pool;
 		}
 
 		@Override
 		public void run() {
-			synchronized (monitor) {
-				try {
-					future = EXECUTOR_SERVICE.submit(runnable);
+			if (isDone()) { // Timed out in the queue
+				return;
+			}
+
+			startNanos = System.nanoTime();
+			pool.started.increment();
+			pool.waitNanos.add(startNanos - submitNanos);
+
+			super.run();
+		}
+
+		@Override
+		protected void set(final T v) {
+			super.set(v);
+
+			if (!isCancelled()) {
+				pool.completed.increment();
+			}
+		}
+
+		@Override
+		protected void setException(final Throwable t) {
+			super.setException(t);
+
+			if (!isCancelled() && !(t instanceof RejectedExecutionException)) {
+				pool.failed.increment();
+				logger.warn("Task executes failed [" + task + "]", t);
+			}
+		}
 
-					future.get(timeout, TimeUnit.MILLISECONDS);
-				} catch (final Exception e) {
-					logger.warn("Task executes failed [runnable=" + runnable.toString() + "]", e);
+		@Override
+		protected void done() {
+			final ScheduledFuture<?> t = timeout;
+
+			if (null != t) {
+				t.cancel(false);
+			}
 
-					future = null;
+			final long start = startNanos;
+
+			if (0 != start) {
+				pool.recordRun(System.nanoTime() - start);
+			}
+		}
+
+		/**
+		 * Cancels this task for timed out.
+		 */
+		void timeOut() {
+			if (cancel(true)) {
+				if (0 == startNanos) {
+					pool.executor.remove(this);
 				}
 
-				monitor.notify();
+				pool.timedOut.increment();
+				logger.warn("Task timed out [{}], {} it", task, 0 == startNanos ? "dequeued" : "interrupted");
 			}
 		}
+
+		/**
+		 * Completes this task with the specified rejection.
+		 *
+		 * @param e
+		 *            the specified rejection
+		 */
+		void reject(final RejectedExecutionException e) {
+			setException(e);
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(task);
+		}
 	}
 }
@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.trace;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.b3log.solo.util.PropsUtil;
+import org.b3log.solo.util.Stopwatchs;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Request trace utilities.
+ *
+ * <p>
+ * A request is traced from {@link #begin(HttpServletRequest) begin} to
+ * {@link #end(HttpServletRequest) end}, both are invoked by
+ * {@link org.b3log.solo.filter.TraceInterceptor}. A trace consists of the
+ * {@link Stopwatchs stopwatch} tree of the request thread, the count and time
+ * of database calls (recorded by
+ * {@link org.b3log.solo.dao.repository.jdbc.util.JdbcUtil}) and the time of
+ * template rendering.
+ * </p>
+ *
+ * <p>
+ * The trace is exported by a <a href=
+ * "https://www.w3.org/TR/server-timing/">Server-Timing</a> header (see
+ * {@link #setServerTiming(HttpServletResponse)}), a slow request log (requests
+ * taking "trace.slowThreshold" milliseconds or more, with the stopwatch tree)
+ * and a latency histogram per route (see {@link #getHistograms()}).
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.1, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class RequestTraces {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(RequestTraces.class);
+
+	/**
+	 * Request attribute name of the trace.
+	 */
+	private static final String TRACE = "requestTrace";
+
+	/**
+	 * Whether tracing is enabled.
+	 */
+	private static final boolean ENABLED = PropsUtil.getBoolean("trace.enabled", true);
+
+	/**
+	 * Whether to emit the Server-Timing header, off by default since the header
+	 * exposes database call counts and stopwatch names to every visitor.
+	 */
+	private static final boolean SERVER_TIMING = PropsUtil.getBoolean("trace.serverTiming", false);
+
+	/**
+	 * Slow request threshold in milliseconds, non-positive for not logging.
+	 */
+	private static final long SLOW_THRESHOLD = PropsUtil.getInteger("trace.slowThreshold", 1000);
+
+	/**
+	 * Maximum count of routes with a histogram, requests of other routes are
+	 * recorded under {@value #OTHER_ROUTE}.
+	 */
+	private static final int MAX_ROUTES = PropsUtil.getInteger("trace.maxRoutes", 256);
+
+	/**
+	 * Route of requests exceeding {@link #MAX_ROUTES}.
+	 */
+	private static final String OTHER_ROUTE = "OTHER";
+
+	/**
+	 * Trace of the current thread.
+	 */
+	private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * Histograms, &lt;route, histogram&gt;.
+	 */
+	private static final ConcurrentMap<String, RouteHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+	/**
+	 * Begins tracing the specified request on the current thread.
+	 *
+	 * <p>
+	 * A forwarded request (for example an article permalink) continues the
+	 * trace of the original request.
+	 * </p>
+	 *
+	 * @param request
+	 *            the specified request
+	 */
+	public static void begin(final HttpServletRequest request) {
+		if (!ENABLED) {
+			return;
+		}
+
+		Trace trace = (Trace) request.getAttribute(TRACE);
+
+		if (null != trace) {
+			trace.depth++;
+
+			return;
+		}
+
+		trace = new Trace();
+		request.setAttribute(TRACE, trace);
+		CURRENT.set(trace);
+
+		Stopwatchs.release(); // Drops a tree leaked by this thread before
+		Stopwatchs.start("Request [" + request.getMethod() + " " + request.getRequestURI() + "]");
+	}
+
+	/**
+	 * Ends tracing the specified request, records it into the histogram of
+	 * its route, logs it if it is slow and releases the stopwatch of the
+	 * current thread.
+	 *
+	 * @param request
+	 *            the specified request
+	 */
+	public static void end(final HttpServletRequest request) {
+		final Trace trace = (Trace) request.getAttribute(TRACE);
+
+		if (null == trace || 0 < --trace.depth) {
+			return;
+		}
+
+		try {
+			Stopwatchs.endAll();
+
+			final long elapsed = trace.getElapsedMillis();
+			final long db = TimeUnit.NANOSECONDS.toMillis(trace.dbNanos.get());
+			final String route = getRoute(request);
+
+			getHistogram(route).record(elapsed, db);
+
+			if (0 < SLOW_THRESHOLD && elapsed >= SLOW_THRESHOLD) {
+				logger.warn("Slow request [route={}, uri={}, elapsed={}ms, db={}ms/{} calls, render={}ms]{}{}", route,
+						request.getRequestURI(), elapsed, db, trace.dbCount.get(),
+						TimeUnit.NANOSECONDS.toMillis(trace.renderNanos.get()), System.lineSeparator(),
+						Stopwatchs.getTimingStat());
+			}
+		} finally {
+			request.removeAttribute(TRACE);
+			CURRENT.remove();
+			Stopwatchs.release();
+		}
+	}
+
+	/**
+	 * Gets the trace of the current thread.
+	 *
+	 * @return trace, returns {@code null} if the current thread is not tracing
+	 */
+	public static Trace current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Attaches the specified trace to the current thread, the database calls
+	 * of the current thread will be recorded into it. Used by threads working
+	 * for a request, {@link #detach() detach} it finally.
+	 *
+	 * @param trace
+	 *            the specified trace, may be {@code null}
+	 */
+	public static void attach(final Trace trace) {
+		if (null != trace) {
+			CURRENT.set(trace);
+		}
+	}
+
+	/**
+	 * Detaches the trace of the current thread.
+	 */
+	public static void detach() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Records a database call with the specified elapsed time.
+	 *
+	 * @param nanos
+	 *            the specified elapsed time in nanoseconds
+	 */
+	public static void recordDb(final long nanos) {
+		final Trace trace = CURRENT.get();
+
+		if (null != trace) {
+			trace.dbCount.incrementAndGet();
+			trace.dbNanos.addAndGet(nanos);
+		}
+	}
+
+	/**
+	 * Records a template rendering with the specified elapsed time.
+	 *
+	 * @param nanos
+	 *            the specified elapsed time in nanoseconds
+	 */
+	public static void recordRender(final long nanos) {
+		final Trace trace = CURRENT.get();
+
+		if (null != trace) {
+			trace.renderNanos.addAndGet(nanos);
+		}
+	}
+
+	/**
+	 * Gets the elapsed milliseconds of the trace of the current thread.
+	 *
+	 * @return elapsed milliseconds, returns {@code 0} if the current thread is
+	 *         not tracing
+	 */
+	public static long getElapsedMillis() {
+		final Trace trace = CURRENT.get();
+
+		return null == trace ? 0 : trace.getElapsedMillis();
+	}
+
+	/**
+	 * Sets the Server-Timing header of the specified response with the trace
+	 * of the current thread, must be invoked before the response is
+	 * committed.
+	 *
+	 * <pre>
+	 * Server-Timing: db;dur=12.5;desc="7 calls", render;dur=3.1, fill-side;dur=9, total;dur=31
+	 * </pre>
+	 *
+	 * <p>
+	 * The first level tasks of the stopwatch tree are named by their titles
+	 * in lower case with non-alphanumeric characters replaced by "-".
+	 * </p>
+	 *
+	 * @param response
+	 *            the specified response
+	 */
+	public static void setServerTiming(final HttpServletResponse response) {
+		final Trace trace = CURRENT.get();
+
+		if (!SERVER_TIMING || null == trace || response.isCommitted()) {
+			return;
+		}
+
+		final StringBuilder value = new StringBuilder("db;dur=").append(toMillis(trace.dbNanos.get()))
+				.append(";desc=\"").append(trace.dbCount.get()).append(" calls\", render;dur=")
+				.append(toMillis(trace.renderNanos.get()));
+
+		final JSONObject tree = Stopwatchs.getTimingTree();
+
+		if (null != tree) {
+			final JSONArray leaves = tree.optJSONArray("leaves");
+
+			for (int i = 0; i < leaves.length(); i++) {
+				final JSONObject leaf = leaves.optJSONObject(i);
+
+				value.append(", ").append(toMetricName(leaf.optString("title"))).append(";dur=")
+						.append(leaf.optLong("elapsed"));
+			}
+		}
+
+		value.append(", total;dur=").append(trace.getElapsedMillis());
+
+		response.setHeader("Server-Timing", value.toString());
+	}
+
+	/**
+	 * Gets the snapshots of histograms of all routes.
+	 *
+	 * @return histograms, &lt;route, {@link RouteHistogram#toJSONObject()
+	 *         snapshot}&gt;, ordered by route
+	 */
+	public static JSONObject getHistograms() {
+		final Map<String, RouteHistogram> histograms = new TreeMap<>(HISTOGRAMS);
+		final JSONObject ret = new JSONObject();
+
+		for (final Map.Entry<String, RouteHistogram> histogram : histograms.entrySet()) {
+			ret.put(histogram.getKey(), histogram.getValue().toJSONObject());
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Gets the route of the specified request, the request method and the
+	 * best matching pattern of the handler mapping, for example
+	 * "GET /articles/{articleId}".
+	 *
+	 * @param request
+	 *            the specified request
+	 * @return route
+	 */
+	private static String getRoute(final HttpServletRequest request) {
+		final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+		return request.getMethod() + " " + (null == pattern ? "UNMATCHED" : pattern);
+	}
+
+	/**
+	 * Gets the histogram of the specified route.
+	 *
+	 * @param route
+	 *            the specified route
+	 * @return histogram
+	 */
+	private static RouteHistogram getHistogram(final String route) {
+		final RouteHistogram ret = HISTOGRAMS.get(route);
+
+		if (null != ret) {
+			return ret;
+		}
+
+		if (HISTOGRAMS.size() >= MAX_ROUTES) {
+			return HISTOGRAMS.computeIfAbsent(OTHER_ROUTE, key -> new RouteHistogram());
+		}
+
+		return HISTOGRAMS.computeIfAbsent(route, key -> new RouteHistogram());
+	}
+
+	/**
+	 * Converts the specified nanoseconds to milliseconds with one decimal.
+	 *
+	 * @param nanos
+	 *            the specified nanoseconds
+	 * @return milliseconds
+	 */
+	private static String toMillis(final long nanos) {
+		return String.valueOf(nanos / 100_000 / 10.0);
+	}
+
+	/**
+	 * Converts the specified task title to a Server-Timing metric name.
+	 *
+	 * @param title
+	 *            the specified task title
+	 * @return metric name
+	 */
+	private static String toMetricName(final String title) {
+		final StringBuilder ret = new StringBuilder(title.length());
+
+		for (int i = 0; i < title.length(); i++) {
+			final char c = Character.toLowerCase(title.charAt(i));
+
+			if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+				ret.append(c);
+			} else if (0 < ret.length() && '-' != ret.charAt(ret.length() - 1)) {
+				ret.append('-');
+			}
+		}
+
+		while (0 < ret.length() && '-' == ret.charAt(ret.length() - 1)) {
+			ret.setLength(ret.length() - 1);
+		}
+
+		return 0 == ret.length() ? "task" : ret.toString();
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private RequestTraces() {
+	}
+
+	/**
+	 * Trace of a request.
+	 */
+	public static final class Trace {
+
+		/**
+		 * Start time in nanoseconds.
+		 */
+		private final long startNanos = System.nanoTime();
+
+		/**
+		 * Count of database calls.
+		 */
+		private final AtomicLong dbCount = new AtomicLong();
+
+		/**
+		 * Time of database calls in nanoseconds.
+		 */
+		private final AtomicLong dbNanos = new AtomicLong();
+
+		/**
+		 * Time of template rendering in nanoseconds.
+		 */
+		private final AtomicLong renderNanos = new AtomicLong();
+
+		/**
+		 * Nesting depth of the request dispatching, only accessed by the
+		 * request thread.
+		 */
+		private int depth = 1;
+
+		/**
+		 * Private constructor.
+		 */
+		private Trace() {
+		}
+
+		/**
+		 * Gets the elapsed milliseconds since this trace began.
+		 *
+		 * @return elapsed milliseconds
+		 */
+		public long getElapsedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Latency histogram of a route, lock free.
+ *
+ * <p>
+ * Requests are counted in fixed buckets by their elapsed milliseconds, the
+ * percentiles are estimated by the upper bounds of the buckets.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class RouteHistogram {
+
+	/**
+	 * Upper bounds (inclusive, milliseconds) of the buckets, the last bucket
+	 * counts the rest.
+	 */
+	private static final long[] BOUNDS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	/**
+	 * Bucket counts.
+	 */
+	private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+
+	/**
+	 * Request count.
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Sum of elapsed milliseconds.
+	 */
+	private final LongAdder elapsedSum = new LongAdder();
+
+	/**
+	 * Sum of database milliseconds.
+	 */
+	private final LongAdder dbSum = new LongAdder();
+
+	/**
+	 * Maximum elapsed milliseconds.
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a request with the specified elapsed and database milliseconds.
+	 *
+	 * @param elapsed
+	 *            the specified elapsed milliseconds
+	 * @param db
+	 *            the specified database milliseconds
+	 */
+	public void record(final long elapsed, final long db) {
+		int i = 0;
+
+		while (i < BOUNDS.length && elapsed > BOUNDS[i]) {
+			i++;
+		}
+
+		buckets.incrementAndGet(i);
+		count.increment();
+		elapsedSum.add(elapsed);
+		dbSum.add(db);
+
+		long m = max.get();
+
+		while (elapsed > m && !max.compareAndSet(m, elapsed)) {
+			m = max.get();
+		}
+	}
+
+	/**
+	 * Gets the snapshot of this histogram.
+	 *
+	 * <pre>
+	 * {
+	 *     "count": 120,
+	 *     "avg": 35, "dbAvg": 12, "max": 640,
+	 *     "p50": 25, "p95": 250, "p99": 1000, // bucket upper bounds, -1 for over the last
+	 *     "buckets": [{"le": 5, "count": 3}, ...., {"le": -1, "count": 0}]
+	 * }
+	 * </pre>
+	 *
+	 * @return snapshot
+	 */
+	public JSONObject toJSONObject() {
+		final long[] counts = new long[buckets.length()];
+		long total = 0;
+
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+
+		final JSONArray bucketArray = new JSONArray();
+
+		for (int i = 0; i < counts.length; i++) {
+			bucketArray.put(new JSONObject().put("le", upperBound(i)).put("count", counts[i]));
+		}
+
+		final long n = count.sum();
+
+		return new JSONObject().put("count", n).put("avg", 0 == n ? 0 : elapsedSum.sum() / n)
+				.put("dbAvg", 0 == n ? 0 : dbSum.sum() / n).put("max", max.get())
+				.put("p50", percentile(counts, total, 0.5)).put("p95", percentile(counts, total, 0.95))
+				.put("p99", percentile(counts, total, 0.99)).put("buckets", bucketArray);
+	}
+
+	/**
+	 * Estimates the specified percentile with the specified bucket counts.
+	 *
+	 * @param counts
+	 *            the specified bucket counts
+	 * @param total
+	 *            sum of the bucket counts
+	 * @param percentile
+	 *            the specified percentile, for example 0.95
+	 * @return upper bound of the bucket the percentile falls in, returns
+	 *         {@code 0} if no request
+	 */
+	private static long percentile(final long[] counts, final long total, final double percentile) {
+		if (0 == total) {
+			return 0;
+		}
+
+		final long rank = (long) Math.ceil(total * percentile);
+		long seen = 0;
+
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+
+			if (seen >= rank) {
+				return upperBound(i);
+			}
+		}
+
+		return upperBound(counts.length - 1);
+	}
+
+	/**
+	 * Gets the upper bound of the specified bucket.
+	 *
+	 * @param bucket
+	 *            the specified bucket
+	 * @return upper bound, returns {@code -1} for the last bucket
+	 */
+	private static long upperBound(final int bucket) {
+		return bucket < BOUNDS.length ? BOUNDS[bucket] : -1;
+	}
+}
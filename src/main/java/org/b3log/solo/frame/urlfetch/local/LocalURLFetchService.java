@@ -18,7 +18,6 @@ package org.b3log.solo.frame.urlfetch.local;
 import java.io.IOException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
 
 import org.b3log.solo.frame.thread.ThreadService;
 import org.b3log.solo.frame.thread.ThreadServiceFactory;
@@ -34,7 +33,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.1.4, Jan 23, 2017
+ * @version 1.1.2.0, Oct 17, 2026
  */
 public final class LocalURLFetchService implements URLFetchService {
 
@@ -44,7 +43,7 @@ public final class LocalURLFetchService implements URLFetchService {
 	private static Logger logger = LoggerFactory.getLogger(LocalURLFetchService.class);
 
 	/**
-	 * Timeout for async fetch.
+	 * Timeout for async fetch, the fetch is cancelled if not done in time.
 	 */
 	private static final long ASYNC_TIME_OUT = 30000;
 
@@ -66,44 +65,39 @@ public final class LocalURLFetchService implements URLFetchService {
 
 	@Override
 	public Future<?> fetchAsync(final HTTPRequest request) {
-		final FutureTask<HTTPResponse> futureTask = new FetchTask(() -> {
-			logger.debug("Fetch async, request=[" + request.toString() + "]");
-
-			return fetch(request);
-		}, request);
-
-		threadService.submit(futureTask, ASYNC_TIME_OUT);
-
-		return futureTask;
+		return threadService.submitIO(new FetchTask(request), ASYNC_TIME_OUT);
 	}
 
 	/**
 	 * URL fetch task.
 	 *
 	 * @author <a href="http://cxy7.com">XyCai</a>
-	 * @version 1.0.0.0, Jan 23, 2017
+	 * @version 1.1.0.0, Oct 17, 2026
 	 */
-	private static class FetchTask extends FutureTask<HTTPResponse> {
+	private final class FetchTask implements Callable<HTTPResponse> {
 
 		/**
 		 * Request.
 		 */
-		private HTTPRequest request;
+		private final HTTPRequest request;
 
 		/**
-		 * Constructs a fetch task with the specified callable and request.
+		 * Constructs a fetch task with the specified request.
 		 *
-		 * @param callable
-		 *            the specified callable
 		 * @param request
 		 *            the specified request
 		 */
-		FetchTask(final Callable<HTTPResponse> callable, final HTTPRequest request) {
-			super(callable);
-
+		FetchTask(final HTTPRequest request) {
 			this.request = request;
 		}
 
+		@Override
+		public HTTPResponse call() throws Exception {
+			logger.debug("Fetch async, request=[" + request.toString() + "]");
+
+			return fetch(request);
+		}
+
 		@Override
 		public String toString() {
 			return "URL Fetch [request=" + request.toString() + "]";
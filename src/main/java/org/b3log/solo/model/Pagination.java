@@ -19,7 +19,7 @@ package org.b3log.solo.model;
  * This class defines all pagination model relevant keys.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.3, Sep 2, 2013
+ * @version 1.0.0.4, Oct 17, 2026
  */
 public final class Pagination {
 
@@ -78,6 +78,11 @@ public final class Pagination {
 	 */
 	public static final String PAGINATION_NEXT_PAGE_NUM = "paginationNextPageNum";
 
+	/**
+	 * Key of next cursor, the cursor of the next page of a cursor paging.
+	 */
+	public static final String PAGINATION_NEXT_CURSOR = "paginationNextCursor";
+
 	/**
 	 * Private constructor.
 	 */
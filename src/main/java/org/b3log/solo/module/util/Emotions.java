@@ -15,6 +15,12 @@
  */
 package org.b3log.solo.module.util;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.b3log.solo.Latkes;
@@ -25,7 +31,7 @@ import com.vdurmont.emoji.EmojiParser;
  * Emotions utilities.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.0, May 10, 2016
+ * @version 1.1.0.0, Oct 17, 2026
  * @since 1.4.0
  */
 public final class Emotions {
@@ -164,6 +170,37 @@ public final class Emotions {
 		return EmojiParser.parseToAliases(content, EmojiParser.FitzpatrickAction.IGNORE);
 	}
 
+	/**
+	 * Emoji codes.
+	 */
+	private static final Set<String> EMOJI_CODES = new HashSet<>(Arrays.asList(EMOJIS));
+
+	/**
+	 * Maximum length of emoji codes.
+	 */
+	private static final int EMOJI_CODE_MAX_LENGTH;
+
+	static {
+		int maxLength = 0;
+
+		for (final String emojiCode : EMOJIS) {
+			maxLength = Math.max(maxLength, emojiCode.length());
+		}
+
+		EMOJI_CODE_MAX_LENGTH = maxLength;
+	}
+
+	/**
+	 * Emoji HTML, &lt;emojiCode, HTML&gt;, built for the static serve path
+	 * {@link #emojiHTMLServePath}.
+	 */
+	private static volatile Map<String, String> emojiHTML = Collections.emptyMap();
+
+	/**
+	 * The static serve path {@link #emojiHTML} built for.
+	 */
+	private static volatile String emojiHTMLServePath;
+
 	/**
 	 * Converts the specified content with emotions.
 	 *
@@ -171,28 +208,101 @@ public final class Emotions {
 	 * <li>Emoji: http://www.emoji-cheat-sheet.com</li>
 	 * </ol>
 	 *
+	 * <p>
+	 * Scans the specified content once, each {@code :emojiCode:} is looked up
+	 * and replaced with the prebuilt HTML of the emoji. A colon not starting an
+	 * emoji may close the previous text and start the next one, for example,
+	 * {@code "at 10:30 :smile:"} gets the smile emoji.
+	 * </p>
+	 *
 	 * @param content
 	 *            the specified content
 	 * @return converted content
 	 */
 	public static String convert(final String content) {
-		final String staticServePath = Latkes.getStaticServePath();
+		if (null == content) {
+			return null;
+		}
 
-		String ret = content;
+		int start = content.indexOf(':');
 
-		if (!EMOJI_PATTERN.matcher(ret).find()) {
-			return ret;
+		if (start < 0) {
+			return content;
 		}
 
-		for (final String emojiCode : EMOJIS) {
-			final String emoji = ":" + emojiCode + ":";
-			ret = ret.replace(emoji,
-					"<img align=\"absmiddle\" alt=\"" + emoji + "\" class=\"emoji\" src=\"" + staticServePath
-							+ "/js/lib/emojify.js-1.1.0/images/basic/" + emojiCode + ".png\" title=\"" + emoji
-							+ "\" width=\"20px\" height=\"20px\"></img>");
+		final Map<String, String> htmls = getEmojiHTML();
+		StringBuilder builder = null;
+		int copied = 0;
+
+		while (start >= 0) {
+			final int end = content.indexOf(':', start + 1);
+
+			if (end < 0) {
+				break;
+			}
+
+			final int codeLength = end - start - 1;
+
+			if (0 < codeLength && codeLength <= EMOJI_CODE_MAX_LENGTH) {
+				final String html = htmls.get(content.substring(start + 1, end));
+
+				if (null != html) {
+					if (null == builder) {
+						builder = new StringBuilder(content.length() + 256);
+					}
+
+					builder.append(content, copied, start).append(html);
+					copied = end + 1;
+					start = content.indexOf(':', copied);
+
+					continue;
+				}
+			}
+
+			start = end;
 		}
 
-		return ret;
+		if (null == builder) {
+			return content;
+		}
+
+		builder.append(content, copied, content.length());
+
+		return builder.toString();
+	}
+
+	/**
+	 * Gets the emoji HTML for the current static serve path, rebuilds it if the
+	 * static serve path has been changed.
+	 *
+	 * @return emoji HTML, &lt;emojiCode, HTML&gt;
+	 */
+	private static Map<String, String> getEmojiHTML() {
+		final String staticServePath = Latkes.getStaticServePath();
+
+		if (staticServePath.equals(emojiHTMLServePath)) {
+			return emojiHTML;
+		}
+
+		synchronized (Emotions.class) {
+			if (!staticServePath.equals(emojiHTMLServePath)) {
+				final Map<String, String> htmls = new HashMap<>(EMOJI_CODES.size() * 2);
+
+				for (final String emojiCode : EMOJI_CODES) {
+					final String emoji = ":" + emojiCode + ":";
+
+					htmls.put(emojiCode,
+							"<img align=\"absmiddle\" alt=\"" + emoji + "\" class=\"emoji\" src=\"" + staticServePath
+									+ "/js/lib/emojify.js-1.1.0/images/basic/" + emojiCode + ".png\" title=\"" + emoji
+									+ "\" width=\"20px\" height=\"20px\"></img>");
+				}
+
+				emojiHTML = htmls;
+				emojiHTMLServePath = staticServePath;
+			}
+
+			return emojiHTML;
+		}
 	}
 
 	/**
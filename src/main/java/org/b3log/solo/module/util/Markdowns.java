@@ -15,8 +15,14 @@
  */
 package org.b3log.solo.module.util;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.b3log.solo.frame.cache.Cache;
+import org.b3log.solo.frame.cache.CacheFactory;
+import org.b3log.solo.util.MD5;
+import org.b3log.solo.util.PropsUtil;
 import org.pegdown.Extensions;
 import org.pegdown.PegDownProcessor;
 import org.slf4j.Logger;
@@ -26,12 +32,14 @@ import org.slf4j.LoggerFactory;
  * <a href="http://en.wikipedia.org/wiki/Markdown">Markdown</a> utilities.
  *
  * <p>
- * Uses the <a href="http://markdown.tautua.org/">MarkdownPapers</a> as the
- * converter.
+ * Uses the <a href="https://github.com/sirthias/pegdown">pegdown</a> as the
+ * converter. Processors are not thread-safe, so they are pooled and reused;
+ * the converted HTML is cached by the MD5 of the markdown text with its
+ * length, so a cached large text does not pin its markdown as the key too.
  * </p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 2.0.0.2, Nov 3, 2016
+ * @version 2.1.0.2, Oct 17, 2026
  * @since 0.4.5
  */
 public final class Markdowns {
@@ -41,6 +49,31 @@ public final class Markdowns {
 	 */
 	private static Logger logger = LoggerFactory.getLogger(Markdowns.class);
 
+	/**
+	 * Markdown HTML cache name.
+	 */
+	public static final String MARKDOWN_CACHE_NAME = "markdownCache";
+
+	/**
+	 * Maximum parsing time in milliseconds of a processor.
+	 */
+	private static final long MAX_PARSING_TIME = 5000;
+
+	/**
+	 * Idle processors.
+	 */
+	private static final BlockingQueue<PegDownProcessor> PROCESSORS = new ArrayBlockingQueue<>(
+			PropsUtil.getInteger("markdown.processorPoolSize", Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * Converted HTML cache, &lt;MD5 of markdown text:length, HTML&gt;.
+	 */
+	private static final Cache<String, String> CACHE = CacheFactory.getCache(MARKDOWN_CACHE_NAME);
+
+	static {
+		CACHE.setMaxCount(PropsUtil.getInteger("cache.markdown.maxCount", 512));
+	}
+
 	/**
 	 * Converts the specified markdown text to HTML.
 	 *
@@ -54,14 +87,34 @@ public final class Markdowns {
 			return "";
 		}
 
-		final PegDownProcessor pegDownProcessor = new PegDownProcessor(
-				Extensions.ALL_OPTIONALS | Extensions.ALL_WITH_OPTIONALS, 5000);
-		String ret = pegDownProcessor.markdownToHtml(markdownText);
+		final String cacheKey = MD5.hash(markdownText) + ':' + markdownText.length();
+		String ret = CACHE.get(cacheKey);
+
+		if (null != ret) {
+			return ret;
+		}
+
+		PegDownProcessor pegDownProcessor = PROCESSORS.poll();
+
+		if (null == pegDownProcessor) {
+			pegDownProcessor = new PegDownProcessor(Extensions.ALL_OPTIONALS | Extensions.ALL_WITH_OPTIONALS,
+					MAX_PARSING_TIME);
+		}
+
+		try {
+			ret = pegDownProcessor.markdownToHtml(markdownText);
+		} finally {
+			if (!PROCESSORS.offer(pegDownProcessor)) {
+				logger.trace("Processor pool is full, discards the processor");
+			}
+		}
 
 		if (!StringUtils.startsWith(ret, "<p>")) {
 			ret = "<p>" + ret + "</p>";
 		}
 
+		CACHE.put(cacheKey, ret);
+
 		return ret;
 	}
 
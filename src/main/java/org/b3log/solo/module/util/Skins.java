@@ -44,13 +44,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.ContextLoader;
 
-import freemarker.template.TemplateExceptionHandler;
-
 /**
  * Skin utilities.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.4.8, Nov 2, 2016
+ * @version 1.1.4.10, Oct 17, 2026
  * @since 0.3.1
  */
 @Component
@@ -144,22 +142,16 @@ public final class Skins {
 	}
 
 	/**
-	 * Sets the directory for template loading with the specified skin directory
-	 * name, and sets the directory for mobile request template loading.
+	 * Prepares template loading with the specified skin directory name, warms
+	 * up templates of the skin and the mobile skin.
 	 *
 	 * @param skinDirName
 	 *            the specified skin directory name
+	 * @see Templates#warm(String)
 	 */
 	public static void setDirectoryForTemplateLoading(final String skinDirName) {
-		final ServletContext servletContext = ContextLoader.getCurrentWebApplicationContext().getServletContext();
-
-		Templates.MAIN_CFG.setServletContextForTemplateLoading(servletContext, "/skins/" + skinDirName);
-		Templates.MAIN_CFG.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
-		Templates.MAIN_CFG.setLogTemplateExceptions(false);
-
-		Templates.MOBILE_CFG.setServletContextForTemplateLoading(servletContext, "/skins/mobile");
-		Templates.MOBILE_CFG.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
-		Templates.MOBILE_CFG.setLogTemplateExceptions(false);
+		Templates.warm(skinDirName);
+		Templates.warm("mobile");
 	}
 
 	/**
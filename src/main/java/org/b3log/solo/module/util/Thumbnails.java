@@ -15,6 +15,8 @@
  */
 package org.b3log.solo.module.util;
 
+import org.b3log.solo.frame.cache.Cache;
+import org.b3log.solo.frame.cache.CacheFactory;
 import org.b3log.solo.util.MD5;
 import org.b3log.solo.util.PropsUtil;
 
@@ -25,8 +27,13 @@ import org.b3log.solo.util.PropsUtil;
  * By using <a href="http://gravatar.com">Gravatar</a> for user thumbnail.
  * </p>
  *
+ * <p>
+ * Gravatar addresses are cached by email ("cache.gravatar.maxCount" at most),
+ * a page lists the same commenters many times.
+ * </p>
+ *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.0.0, May 19, 2015
+ * @version 1.2.0.0, Oct 17, 2026
  * @since 0.6.1
  */
 public final class Thumbnails {
@@ -36,8 +43,19 @@ public final class Thumbnails {
 	 */
 	public static final String GRAVATAR;
 
+	/**
+	 * Gravatar cache name.
+	 */
+	public static final String GRAVATAR_CACHE_NAME = "gravatarCache";
+
+	/**
+	 * Gravatar address cache, &lt;email, Gravatar address without size&gt;.
+	 */
+	private static final Cache<String, String> CACHE = CacheFactory.getCache(GRAVATAR_CACHE_NAME);
+
 	static {
 		GRAVATAR = PropsUtil.getString("gravatar");
+		CACHE.setMaxCount(PropsUtil.getInteger("cache.gravatar.maxCount", 1024));
 	}
 
 	/**
@@ -50,7 +68,14 @@ public final class Thumbnails {
 	 * @return the Gravatar URL
 	 */
 	public static String getGravatarURL(final String email, final String size) {
-		return Thumbnails.GRAVATAR + MD5.hash(email) + "?s=" + size;
+		String ret = CACHE.get(email);
+
+		if (null == ret) {
+			ret = Thumbnails.GRAVATAR + MD5.hash(email);
+			CACHE.put(email, ret);
+		}
+
+		return ret + "?s=" + size;
 	}
 
 	/**
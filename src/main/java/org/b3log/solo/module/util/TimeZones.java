@@ -23,7 +23,7 @@ import org.b3log.solo.util.freemarker.Templates;
  * Time zone utilities.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.6, Jan 5, 2014
+ * @version 1.0.0.7, Oct 17, 2026
  */
 public final class TimeZones {
 
@@ -36,8 +36,7 @@ public final class TimeZones {
 	public static void setTimeZone(final String timeZoneId) {
 		final TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
 
-		Templates.MAIN_CFG.setTimeZone(timeZone);
-		Templates.MOBILE_CFG.setTimeZone(timeZone);
+		Templates.setTimeZone(timeZone);
 	}
 
 	/**
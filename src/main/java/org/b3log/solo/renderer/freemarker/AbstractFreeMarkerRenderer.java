@@ -26,6 +26,8 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.b3log.solo.Keys;
+import org.b3log.solo.frame.cache.PageCaches;
+import org.b3log.solo.frame.trace.RequestTraces;
 import org.b3log.solo.renderer.AbstractHTTPResponseRenderer;
 import org.b3log.solo.util.freemarker.Templates;
 import org.slf4j.Logger;
@@ -38,7 +40,7 @@ import freemarker.template.Template;
  * renderer.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.11, Jun 12, 2016
+ * @version 1.1.3.0, Oct 17, 2026
  */
 public abstract class AbstractFreeMarkerRenderer extends AbstractHTTPResponseRenderer {
 
@@ -57,6 +59,11 @@ public abstract class AbstractFreeMarkerRenderer extends AbstractHTTPResponseRen
 	 */
 	private Map<String, Object> dataModel = new HashMap<>();
 
+	/**
+	 * Whether the rendered page could be put into the page cache.
+	 */
+	private boolean pageCacheable;
+
 	/**
 	 * Gets a template with the specified template directory name and template
 	 * name.
@@ -138,8 +145,19 @@ public abstract class AbstractFreeMarkerRenderer extends AbstractHTTPResponseRen
 
 			beforeRender(request, response);
 
+			if (pageCacheable) {
+				PageCaches.hideViewCounts(request, dataModel);
+			}
+
 			final String html = genHTML(request, dataModel, template);
-			doRender(html, request, response);
+
+			if (pageCacheable && !response.isCommitted()
+					&& HttpServletResponse.SC_OK == response.getStatus()) {
+				PageCaches.put(request, html);
+			}
+
+			RequestTraces.setServerTiming(response);
+			doRender(PageCaches.resolve(request, html), request, response);
 
 			afterRender(request, response);
 		} catch (final Exception e) {
@@ -172,16 +190,18 @@ public abstract class AbstractFreeMarkerRenderer extends AbstractHTTPResponseRen
 		final StringWriter stringWriter = new StringWriter();
 
 		template.setOutputEncoding("UTF-8");
+
+		final long renderStart = System.nanoTime();
+
 		template.process(dataModel, stringWriter);
+		RequestTraces.recordRender(System.nanoTime() - renderStart);
 
 		final StringBuilder pageContentBuilder = new StringBuilder(stringWriter.toString());
 
 		final long endimeMillis = System.currentTimeMillis();
 		final String dateString = DateFormatUtils.format(endimeMillis, "yyyy/MM/dd HH:mm:ss");
-//		final long startTimeMillis = (Long) request.getAttribute(Keys.HttpRequest.START_TIME_MILLIS);
-		final long startTimeMillis = System.currentTimeMillis();
 		final String msg = String.format("<!-- Generated by B3log Latke(%1$d ms), %2$s -->",
-				endimeMillis - startTimeMillis, dateString);
+				RequestTraces.getElapsedMillis(), dateString);
 
 		pageContentBuilder.append(msg);
 
@@ -193,8 +213,10 @@ public abstract class AbstractFreeMarkerRenderer extends AbstractHTTPResponseRen
 	 * data model and response.
 	 *
 	 * <p>
-	 * Puts the page response contents into cache with the key getting from
-	 * request attribute specified by <i>page cache key</i>.
+	 * The page response contents have been put into cache with the key
+	 * getting from request attribute specified by
+	 * {@value PageCaches#PAGE_CACHE_KEY} if the page is
+	 * {@link #setPageCacheable(boolean) cacheable}.
 	 * </p>
 	 *
 	 * <p>
@@ -261,6 +283,31 @@ public abstract class AbstractFreeMarkerRenderer extends AbstractHTTPResponseRen
 		this.templateName = templateName;
 	}
 
+	/**
+	 * Checks whether the rendered page could be put into the page cache.
+	 *
+	 * @return {@code true} if cacheable, returns {@code false} otherwise
+	 */
+	public boolean isPageCacheable() {
+		return pageCacheable;
+	}
+
+	/**
+	 * Sets whether the rendered page could be put into the page cache.
+	 *
+	 * <p>
+	 * Only pages rendered for the same content to all anonymous visitors
+	 * should be cacheable.
+	 * </p>
+	 *
+	 * @param pageCacheable
+	 *            the specified flag
+	 * @see PageCaches
+	 */
+	public void setPageCacheable(final boolean pageCacheable) {
+		this.pageCacheable = pageCacheable;
+	}
+
 	@Override
 	public Map<String, Object> getRenderDataModel() {
 		return dataModel;
@@ -0,0 +1,950 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.b3log.solo.Keys;
+import org.b3log.solo.dao.AbstractBlogDao;
+import org.b3log.solo.dao.ArchiveDateArticleDao;
+import org.b3log.solo.dao.ArchiveDateDao;
+import org.b3log.solo.dao.ArticleDao;
+import org.b3log.solo.dao.StatisticDao;
+import org.b3log.solo.dao.TagArticleDao;
+import org.b3log.solo.dao.TagDao;
+import org.b3log.solo.dao.UserDao;
+import org.b3log.solo.dao.repository.Query;
+import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.Transaction;
+import org.b3log.solo.frame.cache.FeedCaches;
+import org.b3log.solo.frame.cache.PageCaches;
+import org.b3log.solo.frame.thread.ThreadServiceFactory;
+import org.b3log.solo.model.ArchiveDate;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Option;
+import org.b3log.solo.model.Statistic;
+import org.b3log.solo.model.Tag;
+import org.b3log.solo.model.User;
+import org.b3log.solo.model.UserExt;
+import org.b3log.solo.util.Ids;
+import org.b3log.solo.util.PropsUtil;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.XML;
+import org.jsoup.Jsoup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Article import service.
+ *
+ * <p>
+ * Imports articles in bulk from a stream of
+ * <ul>
+ * <li>JSON lines, one article per line with the properties of
+ * {@link ArticleMgmtService#addArticle(JSONObject)}, bare or wrapped by
+ * "article", "articleCreateDate" is optional (time millis or
+ * "yyyy-MM-dd HH:mm:ss") and "articleIsPublished" defaults to
+ * {@code true}</li>
+ * <li>or a MetaWeblog dump, a sequence of "metaWeblog.newPost" method
+ * calls</li>
+ * </ul>
+ * Tags and archive dates are resolved in memory, articles and their relations
+ * are inserted with JDBC batches, "import.batchSize" articles per transaction.
+ * The counters (tag reference counts, archive date article counts, user
+ * article counts and statistics) are rebuilt once after all articles are
+ * imported rather than updated per article. No event is fired for the
+ * imported articles.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.1.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+@Service
+public class ArticleImportService {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(ArticleImportService.class);
+
+	/**
+	 * Articles inserted per transaction.
+	 */
+	private static final int BATCH_SIZE = PropsUtil.getInteger("import.batchSize", 500);
+
+	/**
+	 * Maximum count of errors reported by an import.
+	 */
+	private static final int MAX_ERRORS = 100;
+
+	/**
+	 * MetaWeblog method call argument "post" index.
+	 */
+	private static final int INDEX_POST = 3;
+
+	/**
+	 * MetaWeblog method call argument "publish" index.
+	 */
+	private static final int INDEX_PUBLISH = 4;
+
+	/**
+	 * Article abstract length of a MetaWeblog post.
+	 */
+	private static final int ARTICLE_ABSTRACT_LENGTH = 500;
+
+	/**
+	 * Whether an import is running, imports must not run concurrently since
+	 * tags and archive dates are resolved in memory.
+	 */
+	private final AtomicBoolean running = new AtomicBoolean();
+
+	/**
+	 * Article repository.
+	 */
+	@Autowired
+	private ArticleDao articleDao;
+
+	/**
+	 * Tag repository.
+	 */
+	@Autowired
+	private TagDao tagDao;
+
+	/**
+	 * Tag-article repository.
+	 */
+	@Autowired
+	private TagArticleDao tagArticleDao;
+
+	/**
+	 * Archive date repository.
+	 */
+	@Autowired
+	private ArchiveDateDao archiveDateDao;
+
+	/**
+	 * Archive date-article repository.
+	 */
+	@Autowired
+	private ArchiveDateArticleDao archiveDateArticleDao;
+
+	/**
+	 * User repository.
+	 */
+	@Autowired
+	private UserDao userDao;
+
+	/**
+	 * Statistic repository.
+	 */
+	@Autowired
+	private StatisticDao statisticDao;
+
+	/**
+	 * Tag management service.
+	 */
+	@Autowired
+	private TagMgmtService tagMgmtService;
+
+	/**
+	 * Preference query service.
+	 */
+	@Autowired
+	private PreferenceQueryService preferenceQueryService;
+
+	/**
+	 * Permalink query service.
+	 */
+	@Autowired
+	private PermalinkQueryService permalinkQueryService;
+
+	/**
+	 * Language service.
+	 */
+	@Autowired
+	private LangPropsService langPropsService;
+
+	/**
+	 * Sitemap service.
+	 */
+	@Autowired
+	private SitemapService sitemapService;
+
+	/**
+	 * Article rendition service.
+	 */
+	@Autowired
+	private ArticleRenditionService articleRenditionService;
+
+	/**
+	 * Imports articles from the specified reader.
+	 *
+	 * @param reader
+	 *            the specified reader of JSON lines or a MetaWeblog dump
+	 * @param authorEmail
+	 *            the specified email of the author of the imported articles
+	 * @return import result, for example,
+	 *
+	 *         <pre>
+	 * {
+	 *     "imported": 1200,
+	 *     "failed": 2,
+	 *     "errors": ["Line [3]: Title is blank", ....], // at most 100
+	 *     "elapsed": 5000 // milliseconds
+	 * }
+	 *         </pre>
+	 *
+	 * @throws ServiceException
+	 *             if an import is running, or reading failed
+	 */
+	public JSONObject importArticles(final Reader reader, final String authorEmail) throws ServiceException {
+		if (!running.compareAndSet(false, true)) {
+			throw new ServiceException("Another import is running");
+		}
+
+		final long start = System.currentTimeMillis();
+		final Importing importing = new Importing(authorEmail);
+
+		try {
+			final JSONObject preference = preferenceQueryService.getPreference();
+
+			importing.editorType = preference.optString(Option.ID_C_EDITOR_TYPE);
+			loadTags(importing);
+			loadArchiveDates(importing);
+
+			read(new BufferedReader(reader), importing);
+		} catch (final IOException | RepositoryException e) {
+			logger.error("Imports articles failed", e);
+
+			throw new ServiceException(e);
+		} finally {
+			try {
+				if (0 < importing.imported) {
+					rebuildCounters();
+				}
+			} finally {
+				PageCaches.removeAll();
+				FeedCaches.removeAll();
+				sitemapService.invalidate();
+				ThreadServiceFactory.getThreadService().submitCPU(() -> articleRenditionService.backfill(), 0);
+
+				running.set(false);
+			}
+		}
+
+		final JSONObject ret = new JSONObject();
+
+		ret.put("imported", importing.imported);
+		ret.put("failed", importing.failed);
+		ret.put("errors", new JSONArray(importing.errors));
+		ret.put("elapsed", System.currentTimeMillis() - start);
+
+		logger.info("Imported [{}] articles, failed [{}], in [{}]ms", importing.imported, importing.failed,
+				System.currentTimeMillis() - start);
+
+		return ret;
+	}
+
+	/**
+	 * Rebuilds the counters derived from articles: tag reference counts (see
+	 * {@link TagMgmtService#repairTagRefCounts()}), archive date article
+	 * counts, user article counts and the article counts of the statistic.
+	 *
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public void rebuildCounters() throws ServiceException {
+		tagMgmtService.repairTagRefCounts();
+
+		final Transaction transaction = articleDao.beginTransaction();
+
+		try {
+			final JSONArray articles = articleDao.get(new Query().setPageCount(1)
+					.addProjection(Keys.OBJECT_ID, String.class)
+					.addProjection(Article.ARTICLE_IS_PUBLISHED, Boolean.class)
+					.addProjection(Article.ARTICLE_CREATE_DATE, Date.class)
+					.addProjection(Article.ARTICLE_AUTHOR_EMAIL, String.class)).getJSONArray(Keys.RESULTS);
+			// <yyyy/MM, [count, publishedCount]>
+			final Map<String, int[]> archiveDateCounts = new HashMap<>();
+			// <lower case email, [count, publishedCount]>
+			final Map<String, int[]> userCounts = new HashMap<>();
+			final int[] blogCounts = new int[2];
+
+			for (int i = 0; i < articles.length(); i++) {
+				final JSONObject article = articles.getJSONObject(i);
+				final int published = article.optBoolean(Article.ARTICLE_IS_PUBLISHED) ? 1 : 0;
+				final String month = DateFormatUtils.format((Date) article.get(Article.ARTICLE_CREATE_DATE),
+						"yyyy/MM");
+				final String email = article.optString(Article.ARTICLE_AUTHOR_EMAIL).toLowerCase(Locale.ENGLISH);
+
+				count(archiveDateCounts.computeIfAbsent(month, key -> new int[2]), published);
+				count(userCounts.computeIfAbsent(email, key -> new int[2]), published);
+				count(blogCounts, published);
+			}
+
+			final JSONArray archiveDates = archiveDateDao.get(new Query().setPageCount(1))
+					.getJSONArray(Keys.RESULTS);
+
+			for (int i = 0; i < archiveDates.length(); i++) {
+				final JSONObject archiveDate = archiveDates.getJSONObject(i);
+				final int[] counts = archiveDateCounts.getOrDefault(
+						DateFormatUtils.format(archiveDate.getLong(ArchiveDate.ARCHIVE_TIME), "yyyy/MM"), new int[2]);
+
+				update(archiveDateDao, archiveDate, counts, ArchiveDate.ARCHIVE_DATE_ARTICLE_COUNT,
+						ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT);
+			}
+
+			final JSONArray users = userDao.get(new Query().setPageCount(1)).getJSONArray(Keys.RESULTS);
+
+			for (int i = 0; i < users.length(); i++) {
+				final JSONObject user = users.getJSONObject(i);
+				final int[] counts = userCounts.getOrDefault(user.optString(User.USER_EMAIL).toLowerCase(Locale.ENGLISH),
+						new int[2]);
+
+				update(userDao, user, counts, UserExt.USER_ARTICLE_COUNT, UserExt.USER_PUBLISHED_ARTICLE_COUNT);
+			}
+
+			final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
+
+			if (null != statistic) {
+				update(statisticDao, statistic, blogCounts, Statistic.STATISTIC_BLOG_ARTICLE_COUNT,
+						Statistic.STATISTIC_PUBLISHED_ARTICLE_COUNT);
+			}
+
+			transaction.commit();
+		} catch (final RepositoryException e) {
+			logger.error("Rebuilds article counters failed", e);
+
+			throw new ServiceException(e);
+		} finally {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+		}
+	}
+
+	/**
+	 * Parses the specified "metaWeblog.newPost" (or "metaWeblog.editPost")
+	 * method call for an article.
+	 *
+	 * @param methodCall
+	 *            the specified method call
+	 * @return article
+	 * @throws Exception
+	 *             exception
+	 */
+	public JSONObject parseMetaWeblogPost(final JSONObject methodCall) throws Exception {
+		final JSONObject ret = new JSONObject();
+
+		final JSONArray params = methodCall.getJSONObject("params").getJSONArray("param");
+		final JSONObject post = params.getJSONObject(INDEX_POST).getJSONObject("value").getJSONObject("struct");
+		final JSONArray members = post.getJSONArray("member");
+
+		for (int i = 0; i < members.length(); i++) {
+			final JSONObject member = members.getJSONObject(i);
+			final String name = member.getString("name");
+
+			if ("dateCreated".equals(name)) {
+				final String dateString = member.getJSONObject("value").getString("dateTime.iso8601");
+				Date date;
+
+				try {
+					date = (Date) DateFormatUtils.ISO_DATETIME_FORMAT.parseObject(dateString);
+				} catch (final ParseException e) {
+					logger.warn("Parses article create date failed with ISO8601, retry to parse with "
+							+ "pattern[yyyy-MM-dd'T'HH:mm:ss, yyyyMMdd'T'HH:mm:ss'Z']");
+					date = DateUtils.parseDate(dateString,
+							new String[] { "yyyyMMdd'T'HH:mm:ss", "yyyyMMdd'T'HH:mm:ss'Z'" });
+				}
+				ret.put(Article.ARTICLE_CREATE_DATE, date);
+			} else if ("title".equals(name)) {
+				ret.put(Article.ARTICLE_TITLE, member.getJSONObject("value").getString("string"));
+			} else if ("description".equals(name)) {
+				final String content = member.getJSONObject("value").getString("string");
+
+				ret.put(Article.ARTICLE_CONTENT, content);
+
+				final String plainTextContent = Jsoup.parse(content).text();
+
+				if (plainTextContent.length() > ARTICLE_ABSTRACT_LENGTH) {
+					ret.put(Article.ARTICLE_ABSTRACT, plainTextContent.substring(0, ARTICLE_ABSTRACT_LENGTH));
+				} else {
+					ret.put(Article.ARTICLE_ABSTRACT, plainTextContent);
+				}
+			} else if ("categories".equals(name)) {
+				final StringBuilder tagBuilder = new StringBuilder();
+
+				final JSONObject data = member.getJSONObject("value").getJSONObject("array").getJSONObject("data");
+
+				if (0 == data.length()) {
+					throw new Exception("At least one Tag");
+				}
+
+				final Object value = data.get("value");
+
+				if (value instanceof JSONArray) {
+					final JSONArray tags = (JSONArray) value;
+
+					for (int j = 0; j < tags.length(); j++) {
+						final String tagTitle = tags.getJSONObject(j).getString("string");
+
+						tagBuilder.append(tagTitle);
+
+						if (j < tags.length() - 1) {
+							tagBuilder.append(",");
+						}
+					}
+				} else {
+					final JSONObject tag = (JSONObject) value;
+
+					tagBuilder.append(tag.getString("string"));
+				}
+
+				ret.put(Article.ARTICLE_TAGS_REF, tagBuilder.toString());
+			}
+		}
+
+		final boolean publish = 1 == params.getJSONObject(INDEX_PUBLISH).getJSONObject("value").getInt("boolean");
+
+		ret.put(Article.ARTICLE_IS_PUBLISHED, publish);
+
+		ret.put(Article.ARTICLE_COMMENTABLE, true);
+		ret.put(Article.ARTICLE_VIEW_PWD, "");
+
+		return ret;
+	}
+
+	/**
+	 * Reads articles with the specified reader and imports them batch by
+	 * batch.
+	 *
+	 * @param reader
+	 *            the specified reader
+	 * @param importing
+	 *            the specified import state
+	 * @throws IOException
+	 *             io exception
+	 */
+	private void read(final BufferedReader reader, final Importing importing) throws IOException {
+		final List<JSONObject> batch = new ArrayList<>();
+		final StringBuilder methodCallBuilder = new StringBuilder();
+		Boolean metaWeblog = null;
+		int lineNum = 0;
+		int recordLineNum = 0;
+		String line;
+
+		while (null != (line = reader.readLine())) {
+			lineNum++;
+
+			if (null == metaWeblog) {
+				if (StringUtils.isBlank(line)) {
+					continue;
+				}
+
+				metaWeblog = line.trim().startsWith("<");
+			}
+
+			String record;
+
+			if (metaWeblog) {
+				if (0 == methodCallBuilder.length()) {
+					recordLineNum = lineNum;
+				}
+
+				methodCallBuilder.append(line).append('\n');
+				if (!line.contains("</methodCall>")) {
+					continue;
+				}
+
+				record = methodCallBuilder.toString();
+				methodCallBuilder.setLength(0);
+			} else {
+				if (StringUtils.isBlank(line)) {
+					continue;
+				}
+
+				recordLineNum = lineNum;
+				record = line;
+			}
+
+			try {
+				final JSONObject article;
+
+				if (metaWeblog) {
+					article = parseMetaWeblogPost(XML.toJSONObject(record).getJSONObject("methodCall"));
+				} else {
+					final JSONObject json = new JSONObject(record);
+
+					article = json.has(Article.ARTICLE) ? json.getJSONObject(Article.ARTICLE) : json;
+				}
+
+				batch.add(prepare(article, importing));
+			} catch (final Exception e) {
+				importing.fail(1, "Line [" + recordLineNum + "]: " + e.getMessage());
+
+				continue;
+			}
+
+			if (BATCH_SIZE <= batch.size()) {
+				insert(batch, importing);
+			}
+		}
+
+		if (0 < methodCallBuilder.length()) {
+			importing.fail(1, "Line [" + recordLineNum + "]: Unclosed methodCall");
+		}
+
+		insert(batch, importing);
+	}
+
+	/**
+	 * Prepares the specified article for inserting, fills all properties the
+	 * same way as {@link ArticleMgmtService#addArticleInternal(JSONObject)}.
+	 *
+	 * @param article
+	 *            the specified article
+	 * @param importing
+	 *            the specified import state
+	 * @return article to insert
+	 * @throws ServiceException
+	 *             if the specified article is invalid
+	 */
+	private JSONObject prepare(final JSONObject article, final Importing importing) throws ServiceException {
+		final String title = article.optString(Article.ARTICLE_TITLE).trim();
+
+		if (StringUtils.isBlank(title)) {
+			throw new ServiceException("Title is blank");
+		}
+
+		final String content = article.optString(Article.ARTICLE_CONTENT);
+
+		if (StringUtils.isBlank(content)) {
+			throw new ServiceException("Content is blank");
+		}
+
+		// <tag key, tag title>, the first spelling of a tag wins
+		final Map<String, String> tagTitles = new LinkedHashMap<>();
+
+		for (final String tagTitle : article.optString(Article.ARTICLE_TAGS_REF).replaceAll("，", ",")
+				.replaceAll("、", ",").split(",")) {
+			if (StringUtils.isNotBlank(tagTitle)) {
+				tagTitles.putIfAbsent(getTagKey(tagTitle.trim()), tagTitle.trim());
+			}
+		}
+
+		if (tagTitles.isEmpty()) {
+			throw new ServiceException("At least one tag");
+		}
+
+		final Date createDate = getCreateDate(article.opt(Article.ARTICLE_CREATE_DATE));
+		final String id = Ids.genTimeMillisId();
+		final boolean published = article.optBoolean(Article.ARTICLE_IS_PUBLISHED, true);
+
+		final JSONObject ret = new JSONObject();
+
+		ret.put(Keys.OBJECT_ID, id);
+		ret.put(Article.ARTICLE_TITLE, title);
+		ret.put(Article.ARTICLE_ABSTRACT, article.optString(Article.ARTICLE_ABSTRACT));
+		ret.put(Article.ARTICLE_TAGS_REF, StringUtils.join(tagTitles.values(), ','));
+		ret.put(Article.ARTICLE_AUTHOR_EMAIL, importing.authorEmail);
+		ret.put(Article.ARTICLE_COMMENT_COUNT, 0);
+		ret.put(Article.ARTICLE_VIEW_COUNT, 0);
+		ret.put(Article.ARTICLE_CONTENT, content);
+		ret.put(Article.ARTICLE_PERMALINK,
+				getPermalink(article.optString(Article.ARTICLE_PERMALINK), id, createDate, importing));
+		ret.put(Article.ARTICLE_HAD_BEEN_PUBLISHED, published);
+		ret.put(Article.ARTICLE_IS_PUBLISHED, published);
+		ret.put(Article.ARTICLE_PUT_TOP, false);
+		ret.put(Article.ARTICLE_CREATE_DATE, createDate);
+		ret.put(Article.ARTICLE_UPDATE_DATE, createDate);
+		ret.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
+		ret.put(Article.ARTICLE_SIGN_ID, article.optString(Article.ARTICLE_SIGN_ID, "1"));
+		ret.put(Article.ARTICLE_COMMENTABLE, article.optBoolean(Article.ARTICLE_COMMENTABLE, true));
+		ret.put(Article.ARTICLE_VIEW_PWD, article.optString(Article.ARTICLE_VIEW_PWD));
+		ret.put(Article.ARTICLE_EDITOR_TYPE, article.optString(Article.ARTICLE_EDITOR_TYPE, importing.editorType));
+
+		return ret;
+	}
+
+	/**
+	 * Inserts the specified articles with their tags, archive dates and
+	 * relations in one transaction, then clears the specified articles.
+	 *
+	 * @param articles
+	 *            the specified articles
+	 * @param importing
+	 *            the specified import state
+	 */
+	private void insert(final List<JSONObject> articles, final Importing importing) {
+		if (articles.isEmpty()) {
+			return;
+		}
+
+		final Map<String, JSONObject> newTags = new LinkedHashMap<>();
+		final Map<String, JSONObject> newArchiveDates = new LinkedHashMap<>();
+		final List<JSONObject> tagArticles = new ArrayList<>();
+		final List<JSONObject> archiveDateArticles = new ArrayList<>();
+
+		for (final JSONObject article : articles) {
+			final String articleId = article.getString(Keys.OBJECT_ID);
+
+			for (final String tagTitle : article.getString(Article.ARTICLE_TAGS_REF).split(",")) {
+				final String tagKey = getTagKey(tagTitle);
+				JSONObject tag = importing.tags.get(tagKey);
+
+				if (null == tag) {
+					tag = newTags.computeIfAbsent(tagKey, key -> {
+						final JSONObject newTag = new JSONObject();
+
+						newTag.put(Keys.OBJECT_ID, Ids.genTimeMillisId());
+						newTag.put(Tag.TAG_TITLE, tagTitle);
+						newTag.put(Tag.TAG_REFERENCE_COUNT, 0);
+						newTag.put(Tag.TAG_PUBLISHED_REFERENCE_COUNT, 0);
+
+						return newTag;
+					});
+				}
+
+				final JSONObject tagArticle = new JSONObject();
+
+				tagArticle.put(Tag.TAG + "_" + Keys.OBJECT_ID, tag.getString(Keys.OBJECT_ID));
+				tagArticle.put(Article.ARTICLE + "_" + Keys.OBJECT_ID, articleId);
+				tagArticles.add(tagArticle);
+			}
+
+			final Date createDate = (Date) article.get(Article.ARTICLE_CREATE_DATE);
+			final String month = DateFormatUtils.format(createDate, "yyyy/MM");
+			JSONObject archiveDate = importing.archiveDates.get(month);
+
+			if (null == archiveDate) {
+				archiveDate = newArchiveDates.computeIfAbsent(month, key -> {
+					final JSONObject newArchiveDate = new JSONObject();
+
+					newArchiveDate.put(Keys.OBJECT_ID, Ids.genTimeMillisId());
+					newArchiveDate.put(ArchiveDate.ARCHIVE_TIME,
+							DateUtils.truncate(createDate, Calendar.MONTH).getTime());
+					newArchiveDate.put(ArchiveDate.ARCHIVE_DATE_ARTICLE_COUNT, 0);
+					newArchiveDate.put(ArchiveDate.ARCHIVE_DATE_PUBLISHED_ARTICLE_COUNT, 0);
+
+					return newArchiveDate;
+				});
+			}
+
+			final JSONObject archiveDateArticle = new JSONObject();
+
+			archiveDateArticle.put(ArchiveDate.ARCHIVE_DATE + "_" + Keys.OBJECT_ID,
+					archiveDate.getString(Keys.OBJECT_ID));
+			archiveDateArticle.put(Article.ARTICLE + "_" + Keys.OBJECT_ID, articleId);
+			archiveDateArticles.add(archiveDateArticle);
+		}
+
+		final Transaction transaction = articleDao.beginTransaction();
+
+		try {
+			tagDao.addBatch(new ArrayList<>(newTags.values()));
+			archiveDateDao.addBatch(new ArrayList<>(newArchiveDates.values()));
+			articleDao.addBatch(articles);
+			tagArticleDao.addBatch(tagArticles);
+			archiveDateArticleDao.addBatch(archiveDateArticles);
+
+			transaction.commit();
+
+			importing.tags.putAll(newTags);
+			importing.archiveDates.putAll(newArchiveDates);
+			importing.imported += articles.size();
+		} catch (final RepositoryException | RuntimeException e) {
+			logger.error("Imports [" + articles.size() + "] articles failed", e);
+
+			for (final JSONObject article : articles) {
+				importing.permalinks.remove(article.optString(Article.ARTICLE_PERMALINK));
+			}
+
+			importing.fail(articles.size(), "Articles [" + articles.get(0).optString(Article.ARTICLE_TITLE) + ", ...("
+					+ articles.size() + ")]: " + e.getMessage());
+		} finally {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+
+			articles.clear();
+		}
+	}
+
+	/**
+	 * Gets the permalink of an article, checks it the same way as adding an
+	 * article.
+	 *
+	 * @param permalink
+	 *            the specified permalink, generates the default one if blank
+	 * @param articleId
+	 *            the specified article id
+	 * @param createDate
+	 *            the specified article create date
+	 * @param importing
+	 *            the specified import state
+	 * @return permalink
+	 * @throws ServiceException
+	 *             if the permalink is invalid or duplicated
+	 */
+	private String getPermalink(final String permalink, final String articleId, final Date createDate,
+			final Importing importing) throws ServiceException {
+		if (StringUtils.isBlank(permalink)) {
+			return "/articles/" + DateFormatUtils.format(createDate, "yyyy/MM/dd") + "/" + articleId + ".html";
+		}
+
+		String ret = permalink.trim();
+
+		if (!ret.startsWith("/")) {
+			ret = "/" + ret;
+		}
+
+		if (PermalinkQueryService.invalidArticlePermalinkFormat(ret)) {
+			throw new ServiceException(langPropsService.get("invalidPermalinkFormatLabel"));
+		}
+
+		ret = ret.replaceAll(" ", "-");
+
+		if (importing.permalinks.contains(ret) || permalinkQueryService.exist(ret)) {
+			throw new ServiceException(langPropsService.get("duplicatedPermalinkLabel"));
+		}
+
+		importing.permalinks.add(ret);
+
+		return ret;
+	}
+
+	/**
+	 * Gets the create date of an article with the specified value.
+	 *
+	 * @param value
+	 *            the specified value, time millis, a date string or
+	 *            {@code null} (now)
+	 * @return create date
+	 * @throws ServiceException
+	 *             if the specified value could not be parsed
+	 */
+	private static Date getCreateDate(final Object value) throws ServiceException {
+		if (value instanceof Date) {
+			return (Date) value;
+		}
+
+		if (value instanceof Number) {
+			return new Date(((Number) value).longValue());
+		}
+
+		final String string = null == value || JSONObject.NULL.equals(value) ? null : value.toString().trim();
+
+		if (StringUtils.isBlank(string)) {
+			return new Date();
+		}
+
+		if (StringUtils.isNumeric(string)) {
+			return new Date(Long.parseLong(string));
+		}
+
+		try {
+			return DateUtils.parseDate(string, "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd");
+		} catch (final ParseException e) {
+			throw new ServiceException("Invalid create date [" + string + "]");
+		}
+	}
+
+	/**
+	 * Loads all tags into the specified import state.
+	 *
+	 * @param importing
+	 *            the specified import state
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	private void loadTags(final Importing importing) throws RepositoryException {
+		final JSONArray tags = tagDao.get(new Query().setPageCount(1)).getJSONArray(Keys.RESULTS);
+
+		for (int i = 0; i < tags.length(); i++) {
+			final JSONObject tag = tags.getJSONObject(i);
+
+			importing.tags.putIfAbsent(getTagKey(tag.getString(Tag.TAG_TITLE)), tag);
+		}
+	}
+
+	/**
+	 * Loads all archive dates into the specified import state.
+	 *
+	 * @param importing
+	 *            the specified import state
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	private void loadArchiveDates(final Importing importing) throws RepositoryException {
+		final JSONArray archiveDates = archiveDateDao.get(new Query().setPageCount(1)).getJSONArray(Keys.RESULTS);
+
+		for (int i = 0; i < archiveDates.length(); i++) {
+			final JSONObject archiveDate = archiveDates.getJSONObject(i);
+
+			importing.archiveDates.put(
+					DateFormatUtils.format(archiveDate.getLong(ArchiveDate.ARCHIVE_TIME), "yyyy/MM"), archiveDate);
+		}
+	}
+
+	/**
+	 * Gets the key of the specified tag title, tag titles are compared case
+	 * insensitively the same way as {@link TagDao#getByTitle(String)} under
+	 * the MySQL utf8 collation.
+	 *
+	 * @param tagTitle
+	 *            the specified tag title
+	 * @return tag key
+	 */
+	static String getTagKey(final String tagTitle) {
+		return tagTitle.toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Counts an article.
+	 *
+	 * @param counts
+	 *            the specified counts, [count, publishedCount]
+	 * @param published
+	 *            1 if the article is published, 0 otherwise
+	 */
+	private static void count(final int[] counts, final int published) {
+		counts[0]++;
+		counts[1] += published;
+	}
+
+	/**
+	 * Updates the specified count properties of the specified object if they
+	 * are not the specified counts.
+	 *
+	 * @param repository
+	 *            the specified repository of the object
+	 * @param jsonObject
+	 *            the specified object
+	 * @param counts
+	 *            the specified counts, [count, publishedCount]
+	 * @param countName
+	 *            the specified count property name
+	 * @param publishedCountName
+	 *            the specified published count property name
+	 * @throws RepositoryException
+	 *             repository exception
+	 */
+	private static void update(final AbstractBlogDao repository, final JSONObject jsonObject,
+			final int[] counts, final String countName, final String publishedCountName)
+			throws RepositoryException {
+		if (counts[0] == jsonObject.optInt(countName) && counts[1] == jsonObject.optInt(publishedCountName)) {
+			return;
+		}
+
+		jsonObject.put(countName, counts[0]);
+		jsonObject.put(publishedCountName, counts[1]);
+		repository.update(jsonObject.getString(Keys.OBJECT_ID), jsonObject, countName, publishedCountName);
+	}
+
+	/**
+	 * State of an import.
+	 */
+	private static final class Importing {
+
+		/**
+		 * Author email of the imported articles.
+		 */
+		private final String authorEmail;
+
+		/**
+		 * Default editor type.
+		 */
+		private String editorType;
+
+		/**
+		 * Tags, &lt;tag key, tag&gt;, see {@link ArticleImportService#getTagKey(String)}.
+		 */
+		private final Map<String, JSONObject> tags = new HashMap<>();
+
+		/**
+		 * Archive dates, &lt;yyyy/MM, archive date&gt;.
+		 */
+		private final Map<String, JSONObject> archiveDates = new HashMap<>();
+
+		/**
+		 * Permalinks specified by the imported articles.
+		 */
+		private final Set<String> permalinks = new HashSet<>();
+
+		/**
+		 * Count of articles imported.
+		 */
+		private int imported;
+
+		/**
+		 * Count of articles failed.
+		 */
+		private int failed;
+
+		/**
+		 * Errors, at most {@value ArticleImportService#MAX_ERRORS}.
+		 */
+		private final List<String> errors = new ArrayList<>();
+
+		/**
+		 * Constructs an import state with the specified author email.
+		 *
+		 * @param authorEmail
+		 *            the specified author email
+		 */
+		private Importing(final String authorEmail) {
+			this.authorEmail = authorEmail;
+		}
+
+		/**
+		 * Records the specified count of failed articles with the specified
+		 * error.
+		 *
+		 * @param count
+		 *            the specified count
+		 * @param error
+		 *            the specified error
+		 */
+		private void fail(final int count, final String error) {
+			failed += count;
+
+			if (MAX_ERRORS > errors.size()) {
+				errors.add(error);
+			}
+		}
+	}
+}
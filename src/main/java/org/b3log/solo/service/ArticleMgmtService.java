@@ -32,6 +32,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.commons.lang3.time.DateUtils;
@@ -44,6 +48,9 @@ import org.b3log.solo.dao.TagArticleDao;
 import org.b3log.solo.dao.TagDao;
 import org.b3log.solo.dao.UserDao;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.Transaction;
+import org.b3log.solo.frame.cache.FeedCaches;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.frame.event.Event;
 import org.b3log.solo.frame.event.EventException;
 import org.b3log.solo.model.ArchiveDate;
@@ -72,7 +79,7 @@ import org.springframework.stereotype.Service;
  * Article management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.2.7, Nov 20, 2015
+ * @version 1.3.0.1, Oct 17, 2026
  * @since 0.3.5
  */
 @Service
@@ -83,6 +90,12 @@ public class ArticleMgmtService {
 	 */
 	private static Logger logger = LoggerFactory.getLogger(ArticleMgmtService.class);
 
+	/**
+	 * Accumulated view counts of articles not written to repository yet,
+	 * &lt;articleId, increment&gt;.
+	 */
+	private static final ConcurrentMap<String, LongAdder> VIEW_COUNTS = new ConcurrentHashMap<>();
+
 	/**
 	 * Article query service.
 	 */
@@ -95,6 +108,24 @@ public class ArticleMgmtService {
 	@Autowired
 	private ArticleDao articleDao;
 
+	/**
+	 * Sitemap service.
+	 */
+	@Autowired
+	private SitemapService sitemapService;
+
+	/**
+	 * Article rendition service.
+	 */
+	@Autowired
+	private ArticleRenditionService articleRenditionService;
+
+	/**
+	 * Comment query service.
+	 */
+	@Autowired
+	private CommentQueryService commentQueryService;
+
 	/**
 	 * User repository.
 	 */
@@ -183,13 +214,9 @@ public class ArticleMgmtService {
 	 *             repository exception
 	 */
 	public void incArticleCommentCount(final String articleId) throws JSONException, RepositoryException {
-		final JSONObject article = articleDao.get(articleId);
-		final JSONObject newArticle = new JSONObject(article, JSONObject.getNames(article));
-		final int commentCnt = article.getInt(Article.ARTICLE_COMMENT_COUNT);
-
-		newArticle.put(Article.ARTICLE_COMMENT_COUNT, commentCnt + 1);
-
-		articleDao.update(articleId, newArticle);
+		if (!articleDao.increment(articleId, Article.ARTICLE_COMMENT_COUNT, 1)) {
+			throw new RepositoryException("Not found article [id=" + articleId + "]");
+		}
 	}
 
 	/**
@@ -231,6 +258,10 @@ public class ArticleMgmtService {
 			logger.error("Cancels publish article failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			FeedCaches.removeAll();
+			sitemapService.invalidate();
 		}
 	}
 
@@ -263,6 +294,8 @@ public class ArticleMgmtService {
 
 			logger.error("Can't put the article[oId{}] to top", articleId);
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -389,6 +422,7 @@ public class ArticleMgmtService {
 														// property
 
 			articleDao.update(articleId, article);
+			articleRenditionService.refresh(article);
 
 			article.put(Common.POST_TO_COMMUNITY, postToCommunity); // Restores
 																	// the
@@ -437,6 +471,10 @@ public class ArticleMgmtService {
 			logger.error("Updates an article failed", e);
 
 			throw new ServiceException(e.getMessage());
+		} finally {
+			PageCaches.removeAll();
+			FeedCaches.removeAll();
+			sitemapService.invalidate();
 		}
 	}
 
@@ -473,21 +511,11 @@ public class ArticleMgmtService {
 	public String addArticle(final JSONObject requestJSONObject) throws ServiceException {
 		// TODO: add article args check
 
-		// final Transaction transaction = articleDao.beginTransaction();
-
 		try {
 			final JSONObject article = requestJSONObject.getJSONObject(Article.ARTICLE);
 
-			final String ret = addArticleInternal(article);
-
-			// transaction.commit();
-
-			return ret;
+			return addArticleInternal(article);
 		} catch (final Exception e) {
-			// if (transaction.isActive()) {
-			// transaction.rollback();
-			// }
-
 			throw new ServiceException(e.getMessage());
 		}
 	}
@@ -495,6 +523,13 @@ public class ArticleMgmtService {
 	/**
 	 * Adds the specified article for internal invocation purposes.
 	 *
+	 * <p>
+	 * All writes (tags, relations, statistics, archive date, author and the
+	 * article itself) are done in one transaction on one connection, the
+	 * relations are inserted with JDBC batch statements. Joins the transaction
+	 * of the caller if there is one, for example, an import of many articles.
+	 * </p>
+	 *
 	 * @param article
 	 *            the specified article
 	 * @return generated article id
@@ -509,6 +544,8 @@ public class ArticleMgmtService {
 			article.put(Keys.OBJECT_ID, ret);
 		}
 
+		final Transaction transaction = articleDao.beginTransaction();
+
 		try {
 			// Step 1: Add tags
 			String tagsString = article.optString(Article.ARTICLE_TAGS_REF);
@@ -577,6 +614,11 @@ public class ArticleMgmtService {
 			// Step 15: Add article
 			articleDao.add(article);
 
+			transaction.commit();
+
+			// Step 16: Render the article page ahead of reads
+			articleRenditionService.refresh(article);
+
 			article.put(Common.POST_TO_COMMUNITY, postToCommunity); // Restores
 																	// the
 																	// property
@@ -596,6 +638,14 @@ public class ArticleMgmtService {
 			throw new ServiceException(e);
 		} catch (final EventException e) {
 			logger.warn("Adds an article event process failed", e);
+		} finally {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+
+			PageCaches.removeAll();
+			FeedCaches.removeAll();
+			sitemapService.invalidate();
 		}
 
 		return ret;
@@ -643,6 +693,10 @@ public class ArticleMgmtService {
 
 			logger.error("Removes an article[id=" + articleId + "] failed", e);
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			FeedCaches.removeAll();
+			sitemapService.invalidate();
 		}
 
 		logger.debug("Removed an article[id={}]", articleId);
@@ -684,44 +738,73 @@ public class ArticleMgmtService {
 	/**
 	 * Increments the view count of the article specified by the given article
 	 * id.
-	 * 
+	 *
+	 * <p>
+	 * The increment is accumulated in memory and written to repository by
+	 * {@link #flushViewCounts()}.
+	 * </p>
+	 *
 	 * @param articleId
 	 *            the given article id
 	 * @throws ServiceException
 	 *             service exception
 	 */
 	public void incViewCount(final String articleId) throws ServiceException {
-		JSONObject article;
+		if (StringUtils.isBlank(articleId)) {
+			return;
+		}
 
-		try {
-			article = articleDao.get(articleId);
+		LongAdder viewCount = VIEW_COUNTS.get(articleId);
 
-			if (null == article) {
-				return;
-			}
-		} catch (final RepositoryException e) {
-			logger.error("Gets article [id=" + articleId + "] failed", e);
+		if (null == viewCount) {
+			final LongAdder newViewCount = new LongAdder();
 
-			return;
+			viewCount = VIEW_COUNTS.putIfAbsent(articleId, newViewCount);
+			if (null == viewCount) {
+				viewCount = newViewCount;
+			}
 		}
 
-		// final Transaction transaction = articleDao.beginTransaction();
+		viewCount.increment();
+	}
 
-		try {
-			article.put(Article.ARTICLE_VIEW_COUNT, article.getInt(Article.ARTICLE_VIEW_COUNT) + 1);
+	/**
+	 * Writes the accumulated view counts of articles to repository.
+	 *
+	 * <p>
+	 * Articles removed meanwhile are skipped, counts failed to write are kept
+	 * and retried by the next flush. The written count is subtracted rather
+	 * than reset, {@link LongAdder#sumThenReset()} is not atomic and would drop
+	 * the views counted between the sum and the reset.
+	 * </p>
+	 */
+	public void flushViewCounts() {
+		int flushed = 0;
 
-			articleDao.update(articleId, article);
+		for (final Map.Entry<String, LongAdder> entry : VIEW_COUNTS.entrySet()) {
+			final String articleId = entry.getKey();
+			final LongAdder viewCount = entry.getValue();
+			final long increment = viewCount.sum();
 
-			// transaction.commit();
-		} catch (final Exception e) {
-			// if (transaction.isActive()) {
-			// transaction.rollback();
-			// }
+			if (0 == increment) {
+				continue;
+			}
 
-			logger.warn("Updates article view count failed");
+			try {
+				if (!articleDao.increment(articleId, Article.ARTICLE_VIEW_COUNT, increment)) {
+					VIEW_COUNTS.remove(articleId, viewCount);
 
-			throw new ServiceException(e);
+					continue;
+				}
+
+				viewCount.add(-increment);
+				flushed++;
+			} catch (final Exception e) {
+				logger.warn("Updates article [id=" + articleId + "] view count failed", e);
+			}
 		}
+
+		logger.debug("Flushed view counts of [{}] articles", flushed);
 	}
 
 	/**
@@ -834,6 +917,9 @@ public class ArticleMgmtService {
 
 			commentDao.update(commentId, comment);
 		}
+
+		// Sharp URLs of the comments are changed
+		commentQueryService.removeCommentPages(articleId);
 	}
 
 	/**
@@ -1004,6 +1090,8 @@ public class ArticleMgmtService {
 	 *             repository exception
 	 */
 	private void addTagArticleRelation(final JSONArray tags, final JSONObject article) throws RepositoryException {
+		final List<JSONObject> tagArticleRelations = new ArrayList<>();
+
 		for (int i = 0; i < tags.length(); i++) {
 			final JSONObject tag = tags.optJSONObject(i);
 			final JSONObject tagArticleRelation = new JSONObject();
@@ -1011,8 +1099,10 @@ public class ArticleMgmtService {
 			tagArticleRelation.put(Tag.TAG + "_" + Keys.OBJECT_ID, tag.optString(Keys.OBJECT_ID));
 			tagArticleRelation.put(Article.ARTICLE + "_" + Keys.OBJECT_ID, article.optString(Keys.OBJECT_ID));
 
-			tagArticleDao.add(tagArticleRelation);
+			tagArticleRelations.add(tagArticleRelation);
 		}
+
+		tagArticleDao.addBatch(tagArticleRelations);
 	}
 
 	/**
@@ -37,6 +37,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -86,7 +87,7 @@ import org.springframework.stereotype.Service;
  * @author <a href="http://blog.sweelia.com">ArmstrongCN</a>
  * 
  * 
- * @version 1.2.4.4, Apr 8, 2017
+ * @version 1.2.4.5, Oct 17, 2026
  * @since 0.3.5
  */
 @Service
@@ -716,14 +717,14 @@ public class ArticleQueryService {
 	public List<JSONObject> getArticlesByTag(final String tagId, final int currentPageNum, final int pageSize)
 			throws ServiceException {
 		try {
-			JSONObject result = tagArticleDao.getByTagId(tagId, currentPageNum, pageSize);
+			final JSONObject result = tagArticleDao.getByTagId(tagId, currentPageNum, pageSize);
 			final JSONArray tagArticleRelations = result.getJSONArray(Keys.RESULTS);
 
 			if (0 == tagArticleRelations.length()) {
 				return Collections.emptyList();
 			}
 
-			final Set<String> articleIds = new HashSet<>();
+			final Set<String> articleIds = new LinkedHashSet<>();
 
 			for (int i = 0; i < tagArticleRelations.length(); i++) {
 				final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(i);
@@ -734,15 +735,7 @@ public class ArticleQueryService {
 
 			final List<JSONObject> ret = new ArrayList<>();
 
-			final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds))
-					.setPageCount(1).index(Article.ARTICLE_PERMALINK);
-
-			result = articleDao.get(query);
-			final JSONArray articles = result.getJSONArray(Keys.RESULTS);
-
-			for (int i = 0; i < articles.length(); i++) {
-				final JSONObject article = articles.getJSONObject(i);
-
+			for (final JSONObject article : articleDao.get(articleIds).values()) {
 				if (!article.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
 					// Skips the unpublished article
 					continue;
@@ -777,7 +770,7 @@ public class ArticleQueryService {
 	public List<JSONObject> getArticlesByArchiveDate(final String archiveDateId, final int currentPageNum,
 			final int pageSize) throws ServiceException {
 		try {
-			JSONObject result = archiveDateArticleDao.getByArchiveDateId(archiveDateId, currentPageNum, pageSize);
+			final JSONObject result = archiveDateArticleDao.getByArchiveDateId(archiveDateId, currentPageNum, pageSize);
 
 			final JSONArray relations = result.getJSONArray(Keys.RESULTS);
 
@@ -785,7 +778,7 @@ public class ArticleQueryService {
 				return Collections.emptyList();
 			}
 
-			final Set<String> articleIds = new HashSet<>();
+			final Set<String> articleIds = new LinkedHashSet<>();
 
 			for (int i = 0; i < relations.length(); i++) {
 				final JSONObject relation = relations.getJSONObject(i);
@@ -796,15 +789,7 @@ public class ArticleQueryService {
 
 			final List<JSONObject> ret = new ArrayList<>();
 
-			final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds))
-					.setPageCount(1).index(Article.ARTICLE_PERMALINK);
-
-			result = articleDao.get(query);
-			final JSONArray articles = result.getJSONArray(Keys.RESULTS);
-
-			for (int i = 0; i < articles.length(); i++) {
-				final JSONObject article = articles.getJSONObject(i);
-
+			for (final JSONObject article : articleDao.get(articleIds).values()) {
 				if (!article.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
 					// Skips the unpublished article
 					continue;
@@ -872,7 +857,7 @@ public class ArticleQueryService {
 			final int maxTagCnt = displayCnt > tagTitles.length ? tagTitles.length : displayCnt;
 			final String articleId = article.getString(Keys.OBJECT_ID);
 
-			final List<JSONObject> articles = new ArrayList<>();
+			final Set<String> relatedArticleIds = new LinkedHashSet<>();
 
 			for (int i = 0; i < maxTagCnt; i++) { // XXX: should average by tag?
 				final String tagTitle = tagTitles[i];
@@ -893,24 +878,18 @@ public class ArticleQueryService {
 						continue;
 					}
 
-					final JSONObject relevant = articleDao.get(relatedArticleId);
-
-					if (!relevant.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
-						continue;
-					}
-
-					boolean existed = false;
+					relatedArticleIds.add(relatedArticleId);
+				}
+			}
 
-					for (final JSONObject relevantArticle : articles) {
-						if (relevantArticle.getString(Keys.OBJECT_ID).equals(relevant.getString(Keys.OBJECT_ID))) {
-							existed = true;
-						}
-					}
+			final List<JSONObject> articles = new ArrayList<>();
 
-					if (!existed) {
-						articles.add(relevant);
-					}
+			for (final JSONObject relevant : articleDao.get(relatedArticleIds).values()) {
+				if (!relevant.getBoolean(Article.ARTICLE_IS_PUBLISHED)) {
+					continue;
 				}
+
+				articles.add(relevant);
 			}
 
 			Collections.sort(articles, Comparators.ARTICLE_UPDATE_DATE_COMPARATOR);
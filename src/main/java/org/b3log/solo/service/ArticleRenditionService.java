@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.b3log.solo.Keys;
+import org.b3log.solo.dao.ArticleDao;
+import org.b3log.solo.dao.repository.FilterOperator;
+import org.b3log.solo.dao.repository.PropertyFilter;
+import org.b3log.solo.dao.repository.Query;
+import org.b3log.solo.dao.repository.SortDirection;
+import org.b3log.solo.frame.cache.Cache;
+import org.b3log.solo.frame.cache.CacheFactory;
+import org.b3log.solo.frame.thread.ThreadServiceFactory;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.util.MD5;
+import org.b3log.solo.util.PropsUtil;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Article rendition service.
+ *
+ * <p>
+ * The rendition of an article is what the article page shows: the content
+ * HTML (Markdown converted) with heading anchors, the table of contents
+ * linking to the anchors and the plain text of the abstract for
+ * &lt;meta name="description"&gt;. Renditions are generated when articles
+ * are saved and cached by the hash of the source (editor type, content and
+ * abstract), so showing an article is a lookup and an edited article never
+ * hits a stale rendition. The latest published articles are rendered on
+ * startup ("cache.articleRendition.maxCount" at most, as many as the cache
+ * holds), older articles are rendered on their first view.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.1, Oct 17, 2026
+ * @since 2.0.0
+ */
+@Service
+public class ArticleRenditionService implements InitializingBean {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(ArticleRenditionService.class);
+
+	/**
+	 * Rendition cache name.
+	 */
+	public static final String RENDITION_CACHE_NAME = "articleRenditionCache";
+
+	/**
+	 * Maximum count of cached renditions.
+	 */
+	private static final int MAX_COUNT = PropsUtil.getInteger("cache.articleRendition.maxCount", 256);
+
+	/**
+	 * Articles read per query while backfilling.
+	 */
+	private static final int BACKFILL_PAGE_SIZE = 20;
+
+	/**
+	 * Rendition cache, &lt;MD5 of source, rendition&gt;.
+	 */
+	private final Cache<String, Rendition> cache = CacheFactory.getCache(RENDITION_CACHE_NAME);
+
+	/**
+	 * Article query service.
+	 */
+	@Autowired
+	private ArticleQueryService articleQueryService;
+
+	/**
+	 * Article repository.
+	 */
+	@Autowired
+	private ArticleDao articleDao;
+
+	/**
+	 * Starts backfilling renditions of the latest published articles.
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		cache.setMaxCount(MAX_COUNT);
+
+		ThreadServiceFactory.getThreadService().submitCPU(() -> {
+			backfill();
+
+			return null;
+		}, 0);
+	}
+
+	/**
+	 * Gets the rendition of the specified article, renders and caches it if
+	 * not cached.
+	 *
+	 * @param article
+	 *            the specified article, content, abstract and editor type are
+	 *            required
+	 * @return rendition
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public Rendition getRendition(final JSONObject article) throws ServiceException {
+		final String key = getKey(article);
+		Rendition ret = cache.get(key);
+
+		if (null == ret) {
+			ret = render(article);
+			cache.put(key, ret);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Renders and caches the rendition of the specified article, should be
+	 * called after the article is saved.
+	 *
+	 * @param article
+	 *            the specified article
+	 */
+	public void refresh(final JSONObject article) {
+		try {
+			cache.put(getKey(article), render(article));
+		} catch (final ServiceException e) {
+			logger.warn("Renders article[id=" + article.optString(Keys.OBJECT_ID) + "] failed", e);
+		}
+	}
+
+	/**
+	 * Renders the latest published articles ("cache.articleRendition.maxCount"
+	 * at most) which have not been rendered. Older articles are not rendered,
+	 * they would only evict the renditions of the latest ones from the cache.
+	 *
+	 * @return count of articles rendered
+	 */
+	public int backfill() {
+		final long start = System.currentTimeMillis();
+		int ret = 0;
+
+		try {
+			final int pageCount = (MAX_COUNT + BACKFILL_PAGE_SIZE - 1) / BACKFILL_PAGE_SIZE;
+
+			for (int pageNum = 1; pageNum <= pageCount; pageNum++) {
+				final Query query = new Query().setCurrentPageNum(pageNum).setPageSize(BACKFILL_PAGE_SIZE)
+						.setPageCount(1)
+						.setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true))
+						.addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING)
+						.addProjection(Keys.OBJECT_ID, String.class)
+						.addProjection(Article.ARTICLE_EDITOR_TYPE, String.class)
+						.addProjection(Article.ARTICLE_CONTENT, String.class)
+						.addProjection(Article.ARTICLE_ABSTRACT, String.class);
+				final JSONArray articles = articleDao.get(query).getJSONArray(Keys.RESULTS);
+
+				for (int i = 0; i < articles.length(); i++) {
+					final JSONObject article = articles.getJSONObject(i);
+
+					if (!cache.contains(getKey(article))) {
+						refresh(article);
+						ret++;
+					}
+				}
+
+				if (articles.length() < BACKFILL_PAGE_SIZE) {
+					break;
+				}
+			}
+		} catch (final Exception e) {
+			// For example, Solo has not been initialized
+			logger.warn("Backfills article renditions failed: {}", e.getMessage());
+		}
+
+		logger.info("Rendered [{}] articles in [{}]ms", ret, System.currentTimeMillis() - start);
+
+		return ret;
+	}
+
+	/**
+	 * Gets the cache key of the specified article.
+	 *
+	 * @param article
+	 *            the specified article
+	 * @return cache key
+	 */
+	private static String getKey(final JSONObject article) {
+		return MD5.hash(article.optString(Article.ARTICLE_EDITOR_TYPE) + '\n'
+				+ article.optString(Article.ARTICLE_ABSTRACT) + '\n' + article.optString(Article.ARTICLE_CONTENT));
+	}
+
+	/**
+	 * Renders the specified article.
+	 *
+	 * @param article
+	 *            the specified article
+	 * @return rendition
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	private Rendition render(final JSONObject article) throws ServiceException {
+		final JSONObject html = new JSONObject();
+
+		html.put(Keys.OBJECT_ID, article.optString(Keys.OBJECT_ID));
+		html.put(Article.ARTICLE_EDITOR_TYPE, article.optString(Article.ARTICLE_EDITOR_TYPE));
+		html.put(Article.ARTICLE_CONTENT, article.optString(Article.ARTICLE_CONTENT));
+		html.put(Article.ARTICLE_ABSTRACT, article.optString(Article.ARTICLE_ABSTRACT));
+
+		try {
+			articleQueryService.markdown(html);
+		} catch (final Exception e) {
+			throw new ServiceException(e);
+		}
+
+		final Document doc = Jsoup.parse(html.optString(Article.ARTICLE_CONTENT), StringUtils.EMPTY,
+				Parser.htmlParser());
+
+		doc.outputSettings().prettyPrint(false);
+
+		final Elements hs = doc.select("h1, h2, h3, h4, h5");
+		final StringBuilder tocBuilder = new StringBuilder("<ul class='b3-solo-list'>");
+
+		for (int i = 0; i < hs.size(); i++) {
+			final Element element = hs.get(i);
+			final String tagName = element.tagName().toLowerCase();
+			final String id = "b3_solo_" + tagName + "_" + i;
+
+			element.before("<span id='" + id + "'></span>");
+
+			tocBuilder.append("<li class='b3-solo-list-").append(tagName).append("'><a href='#").append(id)
+					.append("'>").append(element.text()).append("</a></li>");
+		}
+
+		tocBuilder.append("</ul>");
+
+		return new Rendition(doc.body().html(), tocBuilder.toString(),
+				Jsoup.parse(html.optString(Article.ARTICLE_ABSTRACT)).text());
+	}
+
+	/**
+	 * Article rendition, immutable.
+	 */
+	public static final class Rendition {
+
+		/**
+		 * Content HTML with heading anchors.
+		 */
+		private final String content;
+
+		/**
+		 * Table of contents HTML.
+		 */
+		private final String toc;
+
+		/**
+		 * Plain text of the abstract.
+		 */
+		private final String description;
+
+		/**
+		 * Constructs a rendition.
+		 *
+		 * @param content
+		 *            the specified content HTML with heading anchors
+		 * @param toc
+		 *            the specified table of contents HTML
+		 * @param description
+		 *            the specified plain text of the abstract
+		 */
+		Rendition(final String content, final String toc, final String description) {
+			this.content = content;
+			this.toc = toc;
+			this.description = description;
+		}
+
+		/**
+		 * Gets the content HTML with heading anchors, for example
+		 * "&lt;span id='b3_solo_h2_0'&gt;&lt;/span&gt;&lt;h2&gt;....".
+		 *
+		 * @return content HTML
+		 */
+		public String getContent() {
+			return content;
+		}
+
+		/**
+		 * Gets the table of contents HTML, for example
+		 * "&lt;ul class='b3-solo-list'&gt;&lt;li class='b3-solo-list-h2'&gt;&lt;a
+		 * href='#b3_solo_h2_0'&gt;....".
+		 *
+		 * @return table of contents HTML
+		 */
+		public String getToc() {
+			return toc;
+		}
+
+		/**
+		 * Gets the plain text of the abstract.
+		 *
+		 * @return plain text of the abstract
+		 */
+		public String getDescription() {
+			return description;
+		}
+	}
+}
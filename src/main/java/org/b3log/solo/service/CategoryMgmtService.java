@@ -23,6 +23,7 @@ import org.b3log.solo.dao.repository.FilterOperator;
 import org.b3log.solo.dao.repository.PropertyFilter;
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.model.Category;
 import org.b3log.solo.model.Tag;
 import org.json.JSONArray;
@@ -36,7 +37,7 @@ import org.springframework.stereotype.Service;
  * Category management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.0.0, Apr 1, 2017
+ * @version 1.2.0.1, Oct 17, 2026
  * @since 2.0.0
  */
 @Service
@@ -111,6 +112,8 @@ public class CategoryMgmtService {
 			logger.error("Changes category's order failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -147,6 +150,8 @@ public class CategoryMgmtService {
 			logger.error("Adds a category-tag relation failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -174,6 +179,8 @@ public class CategoryMgmtService {
 			logger.error("Adds a category-tag relation failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -207,6 +214,8 @@ public class CategoryMgmtService {
 			logger.error("Adds a category failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -232,6 +241,8 @@ public class CategoryMgmtService {
 			logger.error("Updates a category [id=" + categoryId + "] failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -252,6 +263,8 @@ public class CategoryMgmtService {
 			logger.error("Remove a category [id=" + categoryId + "] failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -271,6 +284,8 @@ public class CategoryMgmtService {
 			logger.error("Remove category-tag [categoryId=" + categoryId + "] failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 }
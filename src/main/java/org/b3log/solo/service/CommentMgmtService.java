@@ -32,6 +32,7 @@ import org.b3log.solo.dao.CommentDao;
 import org.b3log.solo.dao.PageDao;
 import org.b3log.solo.dao.UserDao;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.frame.event.Event;
 import org.b3log.solo.frame.urlfetch.HTTPRequest;
 import org.b3log.solo.frame.urlfetch.HTTPResponse;
@@ -65,7 +66,7 @@ import org.springframework.stereotype.Service;
  * Comment management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.3.2.10, Feb 18, 2017
+ * @version 1.3.2.12, Oct 17, 2026
  * @since 0.3.5
  */
 @Service
@@ -88,6 +89,12 @@ public class CommentMgmtService {
 	@Autowired
 	private CommentDao commentDao;
 
+	/**
+	 * Comment query service.
+	 */
+	@Autowired
+	private CommentQueryService commentQueryService;
+
 	/**
 	 * Article repository.
 	 */
@@ -534,6 +541,8 @@ public class CommentMgmtService {
 			// }
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 
 		return ret;
@@ -681,6 +690,9 @@ public class CommentMgmtService {
 			// }
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			commentQueryService.removeCommentPages(requestJSONObject.optString(Keys.OBJECT_ID));
 		}
 
 		return ret;
@@ -717,6 +729,8 @@ public class CommentMgmtService {
 
 			logger.error("Removes a comment of a page failed", e);
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -730,10 +744,11 @@ public class CommentMgmtService {
 	 */
 	public void removeArticleComment(final String commentId) throws ServiceException {
 		// final Transaction transaction = commentDao.beginTransaction();
+		String articleId = null;
 
 		try {
 			final JSONObject comment = commentDao.get(commentId);
-			final String articleId = comment.getString(Comment.COMMENT_ON_ID);
+			articleId = comment.getString(Comment.COMMENT_ON_ID);
 
 			// Step 1: Remove comment
 			commentDao.remove(commentId);
@@ -751,6 +766,12 @@ public class CommentMgmtService {
 
 			logger.error("Removes a comment of an article failed", e);
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+
+			if (null != articleId) {
+				commentQueryService.removeCommentPages(articleId);
+			}
 		}
 	}
 
@@ -765,12 +786,9 @@ public class CommentMgmtService {
 	 *             repository exception
 	 */
 	public void incPageCommentCount(final String pageId) throws JSONException, RepositoryException {
-		final JSONObject page = pageDao.get(pageId);
-		final JSONObject newPage = new JSONObject(page, JSONObject.getNames(page));
-		final int commentCnt = page.getInt(Page.PAGE_COMMENT_COUNT);
-
-		newPage.put(Page.PAGE_COMMENT_COUNT, commentCnt + 1);
-		pageDao.update(pageId, newPage);
+		if (!pageDao.increment(pageId, Page.PAGE_COMMENT_COUNT, 1)) {
+			throw new RepositoryException("Not found page [id=" + pageId + "]");
+		}
 	}
 
 	/**
@@ -785,13 +803,9 @@ public class CommentMgmtService {
 	 *             repository exception
 	 */
 	private void decArticleCommentCount(final String articleId) throws JSONException, RepositoryException {
-		final JSONObject article = articleDao.get(articleId);
-		final JSONObject newArticle = new JSONObject(article, JSONObject.getNames(article));
-		final int commentCnt = article.getInt(Article.ARTICLE_COMMENT_COUNT);
-
-		newArticle.put(Article.ARTICLE_COMMENT_COUNT, commentCnt - 1);
-
-		articleDao.update(articleId, newArticle);
+		if (!articleDao.increment(articleId, Article.ARTICLE_COMMENT_COUNT, -1)) {
+			throw new RepositoryException("Not found article [id=" + articleId + "]");
+		}
 	}
 
 	/**
@@ -805,12 +819,9 @@ public class CommentMgmtService {
 	 *             repository exception
 	 */
 	private void decPageCommentCount(final String pageId) throws JSONException, RepositoryException {
-		final JSONObject page = pageDao.get(pageId);
-		final JSONObject newPage = new JSONObject(page, JSONObject.getNames(page));
-		final int commentCnt = page.getInt(Page.PAGE_COMMENT_COUNT);
-
-		newPage.put(Page.PAGE_COMMENT_COUNT, commentCnt - 1);
-		pageDao.update(pageId, newPage);
+		if (!pageDao.increment(pageId, Page.PAGE_COMMENT_COUNT, -1)) {
+			throw new RepositoryException("Not found page [id=" + pageId + "]");
+		}
 	}
 
 	/**
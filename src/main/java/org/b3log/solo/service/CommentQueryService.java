@@ -16,8 +16,11 @@
 package org.b3log.solo.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -28,6 +31,8 @@ import org.b3log.solo.dao.CommentDao;
 import org.b3log.solo.dao.PageDao;
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.SortDirection;
+import org.b3log.solo.frame.cache.Cache;
+import org.b3log.solo.frame.cache.CacheFactory;
 import org.b3log.solo.model.Article;
 import org.b3log.solo.model.Comment;
 import org.b3log.solo.model.Common;
@@ -38,11 +43,12 @@ import org.b3log.solo.module.util.Emotions;
 import org.b3log.solo.module.util.Markdowns;
 import org.b3log.solo.module.util.Thumbnails;
 import org.b3log.solo.util.Paginator;
-import org.apache.commons.lang3.StringUtils;
+import org.b3log.solo.util.PropsUtil;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -50,17 +56,44 @@ import org.springframework.stereotype.Service;
  * Comment query service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.3.0.9, Feb 18, 2017
+ * @version 1.4.0.0, Oct 17, 2026
  * @since 0.3.5
  */
 @Service
-public class CommentQueryService {
+public class CommentQueryService implements InitializingBean {
 
 	/**
 	 * Logger.
 	 */
 	private static Logger logger = LoggerFactory.getLogger(CommentQueryService.class);
 
+	/**
+	 * Comment page cache name.
+	 */
+	public static final String COMMENT_PAGE_CACHE_NAME = "commentPageCache";
+
+	/**
+	 * Count of comments per page.
+	 */
+	public static final int COMMENT_PAGE_SIZE = PropsUtil.getInteger("comment.pageSize", 50);
+
+	/**
+	 * Maximum count of articles and pages whose comment pages are cached.
+	 */
+	private static final int COMMENT_PAGE_CACHE_MAX_COUNT = PropsUtil.getInteger("cache.commentPage.maxCount", 128);
+
+	/**
+	 * Maximum count of cached pages per article or page, the cursor is from
+	 * the client.
+	 */
+	private static final int MAX_CACHED_PAGES = 64;
+
+	/**
+	 * Comment page cache, &lt;onId, &lt;cursor, page&gt;&gt;.
+	 */
+	private final Cache<String, Map<String, CommentPage>> commentPageCache = CacheFactory
+			.getCache(COMMENT_PAGE_CACHE_NAME);
+
 	/**
 	 * User service.
 	 */
@@ -85,6 +118,14 @@ public class CommentQueryService {
 	@Autowired
 	private PageDao pageDao;
 
+	/**
+	 * Limits the comment page cache.
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		commentPageCache.setMaxCount(COMMENT_PAGE_CACHE_MAX_COUNT);
+	}
+
 	/**
 	 * Can the current user access a comment specified by the given comment id?
 	 *
@@ -247,43 +288,131 @@ public class CommentQueryService {
 			final List<JSONObject> comments = commentDao.getComments(onId, 1, Integer.MAX_VALUE);
 
 			for (final JSONObject comment : comments) {
-				comment.put(Comment.COMMENT_TIME, ((Date) comment.get(Comment.COMMENT_DATE)).getTime());
-				comment.put("commentDate2", comment.get(Comment.COMMENT_DATE)); // 1.9.0
-																				// 向后兼容
-				comment.put(Comment.COMMENT_NAME, comment.getString(Comment.COMMENT_NAME));
-				String url = comment.getString(Comment.COMMENT_URL);
-				if (StringUtils.contains(url, "<")) { // legacy issue
-														// https://github.com/b3log/solo/issues/12091
-					url = "";
-				}
-				comment.put(Comment.COMMENT_URL, url);
-				comment.put(Common.IS_REPLY, false); // Assumes this comment is
-														// not a reply
+				render(comment);
 
-				final String email = comment.optString(Comment.COMMENT_EMAIL);
+				ret.add(comment);
+			}
 
-				comment.put(Comment.COMMENT_THUMBNAIL_URL, Thumbnails.getGravatarURL(email, "128"));
+			return ret;
+		} catch (final Exception e) {
+			logger.error("Gets comments failed", e);
+			throw new ServiceException(e);
+		}
+	}
 
-				if (!StringUtils.isBlank(comment.optString(Comment.COMMENT_ORIGINAL_COMMENT_ID))) {
-					// This comment is a reply
-					comment.put(Common.IS_REPLY, true);
-				}
+	/**
+	 * Gets a page of comments of an article or page specified by the on id,
+	 * newest first, "comment.pageSize" comments per page.
+	 *
+	 * <p>
+	 * Rendered pages are cached per on id until a comment is added to or
+	 * removed from the article or page, see {@link #removeCommentPages(String)}.
+	 * The comments returned are shared, must not be modified.
+	 * </p>
+	 *
+	 * @param onId
+	 *            the specified on id
+	 * @param cursor
+	 *            the specified cursor, the next cursor of the previous page,
+	 *            gets the first page if blank
+	 * @return comment page
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public CommentPage getCommentPage(final String onId, final String cursor) throws ServiceException {
+		final String pageKey = StringUtils.defaultString(cursor);
+		Map<String, CommentPage> pages = commentPageCache.get(onId);
+
+		if (null == pages) {
+			// Puts the holder before reading, then a removal after the read
+			// detaches the page read from the cache
+			pages = new ConcurrentHashMap<>();
+			commentPageCache.put(onId, pages);
+		}
 
-				String commentContent = comment.optString(Comment.COMMENT_CONTENT);
-				commentContent = Emotions.convert(commentContent);
-				commentContent = Markdowns.toHTML(commentContent);
-				comment.put(Comment.COMMENT_CONTENT, commentContent);
+		CommentPage ret = pages.get(pageKey);
 
-				ret.add(comment);
+		if (null != ret) {
+			return ret;
+		}
+
+		try {
+			// Reads one more comment to know whether there is a next page
+			final List<JSONObject> comments = commentDao.getCommentsBefore(onId, cursor, COMMENT_PAGE_SIZE + 1);
+			String nextCursor = "";
+
+			if (COMMENT_PAGE_SIZE < comments.size()) {
+				comments.remove(COMMENT_PAGE_SIZE);
+				nextCursor = comments.get(COMMENT_PAGE_SIZE - 1).getString(Keys.OBJECT_ID);
+			}
+
+			for (final JSONObject comment : comments) {
+				render(comment);
+			}
+
+			ret = new CommentPage(Collections.unmodifiableList(comments), nextCursor);
+
+			if (pages.size() < MAX_CACHED_PAGES) {
+				pages.put(pageKey, ret);
 			}
 
 			return ret;
 		} catch (final Exception e) {
-			logger.error("Gets comments failed", e);
+			logger.error("Gets comments failed[onId=" + onId + ", cursor=" + cursor + "]", e);
 			throw new ServiceException(e);
 		}
 	}
 
+	/**
+	 * Removes the cached comment pages of an article or page specified by the
+	 * on id, should be called after a comment is added to or removed from the
+	 * article or page.
+	 *
+	 * @param onId
+	 *            the specified on id
+	 */
+	public void removeCommentPages(final String onId) {
+		commentPageCache.remove(onId);
+	}
+
+	/**
+	 * Renders the specified comment for showing: content to HTML, thumbnail,
+	 * reply flag and times.
+	 *
+	 * @param comment
+	 *            the specified comment
+	 * @throws Exception
+	 *             exception
+	 */
+	private void render(final JSONObject comment) throws Exception {
+		comment.put(Comment.COMMENT_TIME, ((Date) comment.get(Comment.COMMENT_DATE)).getTime());
+		comment.put("commentDate2", comment.get(Comment.COMMENT_DATE)); // 1.9.0
+																		// 向后兼容
+		comment.put(Comment.COMMENT_NAME, comment.getString(Comment.COMMENT_NAME));
+		String url = comment.getString(Comment.COMMENT_URL);
+		if (StringUtils.contains(url, "<")) { // legacy issue
+												// https://github.com/b3log/solo/issues/12091
+			url = "";
+		}
+		comment.put(Comment.COMMENT_URL, url);
+		comment.put(Common.IS_REPLY, false); // Assumes this comment is
+												// not a reply
+
+		final String email = comment.optString(Comment.COMMENT_EMAIL);
+
+		comment.put(Comment.COMMENT_THUMBNAIL_URL, Thumbnails.getGravatarURL(email, "128"));
+
+		if (!StringUtils.isBlank(comment.optString(Comment.COMMENT_ORIGINAL_COMMENT_ID))) {
+			// This comment is a reply
+			comment.put(Common.IS_REPLY, true);
+		}
+
+		String commentContent = comment.optString(Comment.COMMENT_CONTENT);
+		commentContent = Emotions.convert(commentContent);
+		commentContent = Markdowns.toHTML(commentContent);
+		comment.put(Comment.COMMENT_CONTENT, commentContent);
+	}
+
 	/**
 	 * Sets the article repository with the specified article repository.
 	 *
@@ -313,4 +442,52 @@ public class CommentQueryService {
 	public void setCommentRepository(final CommentDao commentDao) {
 		this.commentDao = commentDao;
 	}
+
+	/**
+	 * A page of rendered comments, immutable.
+	 */
+	public static final class CommentPage {
+
+		/**
+		 * Comments, newest first.
+		 */
+		private final List<JSONObject> comments;
+
+		/**
+		 * Cursor of the next page.
+		 */
+		private final String nextCursor;
+
+		/**
+		 * Constructs a comment page.
+		 *
+		 * @param comments
+		 *            the specified comments
+		 * @param nextCursor
+		 *            the specified cursor of the next page, blank if this is
+		 *            the last page
+		 */
+		CommentPage(final List<JSONObject> comments, final String nextCursor) {
+			this.comments = comments;
+			this.nextCursor = nextCursor;
+		}
+
+		/**
+		 * Gets the comments, newest first, the comments must not be modified.
+		 *
+		 * @return comments
+		 */
+		public List<JSONObject> getComments() {
+			return comments;
+		}
+
+		/**
+		 * Gets the cursor of the next page.
+		 *
+		 * @return cursor of the next page, blank if this is the last page
+		 */
+		public String getNextCursor() {
+			return nextCursor;
+		}
+	}
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.b3log.solo.util.PropsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counter flush service.
+ *
+ * <p>
+ * View counts of articles and the blog are accumulated in memory, this service
+ * writes them to repository periodically (every "counter.flushInterval"
+ * seconds) and on shutdown.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ * @see ArticleMgmtService#flushViewCounts()
+ * @see StatisticMgmtService#flushBlogViewCount()
+ */
+@Service
+public class CounterFlushService implements InitializingBean, DisposableBean {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(CounterFlushService.class);
+
+	/**
+	 * Flush interval in seconds.
+	 */
+	private static final int FLUSH_INTERVAL = PropsUtil.getInteger("counter.flushInterval", 60);
+
+	/**
+	 * Article management service.
+	 */
+	@Autowired
+	private ArticleMgmtService articleMgmtService;
+
+	/**
+	 * Statistic management service.
+	 */
+	@Autowired
+	private StatisticMgmtService statisticMgmtService;
+
+	/**
+	 * Flush scheduler.
+	 */
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Starts flushing periodically.
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread ret = new Thread(runnable, "CounterFlusher");
+
+			ret.setDaemon(true);
+
+			return ret;
+		});
+
+		scheduler.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.SECONDS);
+
+		logger.info("Started counter flusher [interval={}s]", FLUSH_INTERVAL);
+	}
+
+	/**
+	 * Stops flushing periodically and flushes the remaining counts.
+	 */
+	@Override
+	public void destroy() {
+		if (null != scheduler) {
+			scheduler.shutdown();
+
+			try {
+				scheduler.awaitTermination(FLUSH_INTERVAL, TimeUnit.SECONDS);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		flush();
+
+		logger.info("Stopped counter flusher");
+	}
+
+	/**
+	 * Flushes all accumulated counts.
+	 */
+	public void flush() {
+		try {
+			articleMgmtService.flushViewCounts();
+			statisticMgmtService.flushBlogViewCount();
+		} catch (final Exception e) {
+			logger.error("Flushes counters failed", e);
+		}
+	}
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.b3log.solo.Latkes;
+import org.b3log.solo.RuntimeDatabase;
+import org.b3log.solo.SoloConstant;
+import org.b3log.solo.dao.repository.jdbc.util.FieldDefinition;
+import org.b3log.solo.dao.repository.jdbc.util.JdbcRepositories;
+import org.b3log.solo.util.PropsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Database export service.
+ *
+ * <p>
+ * Exports the data of all tables described in repository.json as SQL
+ * INSERT statements into a zip streamed to the specified output. Each table
+ * is read through a forward only cursor ("export.fetchSize" rows per fetch,
+ * row by row streaming on MySQL) and written in batches of
+ * "export.batchSize" rows per statement, so the memory used is independent
+ * of the size of the blog. Works on MySQL and H2.
+ * </p>
+ *
+ * <p>
+ * The export is data only, the tables are created by Solo on init, so import
+ * it into an initialized empty database.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+@Service
+public class ExportService {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+	/**
+	 * Name of the SQL file in the zip.
+	 */
+	private static final String SQL_ENTRY_NAME = "solo.sql";
+
+	/**
+	 * Rows fetched per round trip.
+	 */
+	private static final int FETCH_SIZE = PropsUtil.getInteger("export.fetchSize", 500);
+
+	/**
+	 * Rows per INSERT statement.
+	 */
+	private static final int BATCH_SIZE = PropsUtil.getInteger("export.batchSize", 100);
+
+	/**
+	 * Data source.
+	 */
+	@Autowired
+	private DataSource dataSource;
+
+	/**
+	 * Exports the data of all tables as a zipped SQL file to the specified
+	 * output stream, the output stream is finished but not closed.
+	 *
+	 * @param outputStream
+	 *            the specified output stream
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public void exportSQL(final OutputStream outputStream) throws ServiceException {
+		final long start = System.currentTimeMillis();
+		final Map<String, List<FieldDefinition>> tables = new TreeMap<>(JdbcRepositories.getRepositoriesMap());
+		final boolean mysql = RuntimeDatabase.MYSQL == Latkes.getRuntimeDatabase();
+		long rows = 0;
+
+		try {
+			final ZipOutputStream zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+
+			zip.putNextEntry(new ZipEntry(SQL_ENTRY_NAME));
+
+			final Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+			writer.write("-- Solo " + SoloConstant.VERSION + " data export, "
+					+ DateFormatUtils.format(start, "yyyy-MM-dd HH:mm:ss") + "\n");
+			writer.write("-- Data only, import into an initialized empty database\n");
+
+			try (final Connection connection = dataSource.getConnection()) {
+				for (final Map.Entry<String, List<FieldDefinition>> table : tables.entrySet()) {
+					rows += exportTable(connection, table.getKey(), table.getValue(), mysql, writer);
+				}
+			}
+
+			// Flushes the writer into the zip entry, must not close the writer
+			// which closes the output stream of the servlet as well
+			writer.flush();
+			zip.closeEntry();
+			zip.finish();
+			outputStream.flush();
+		} catch (final SQLException | IOException e) {
+			logger.error("Exports SQL failed", e);
+
+			throw new ServiceException(e);
+		}
+
+		logger.info("Exported [{}] rows of [{}] tables in [{}]ms", rows, tables.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Exports the specified table.
+	 *
+	 * @param connection
+	 *            the specified connection
+	 * @param tableName
+	 *            the specified table name
+	 * @param fields
+	 *            the specified field definitions of the table
+	 * @param mysql
+	 *            whether the runtime database is MySQL
+	 * @param writer
+	 *            the specified writer
+	 * @return count of rows exported
+	 * @throws SQLException
+	 *             SQL exception
+	 * @throws IOException
+	 *             io exception
+	 */
+	private long exportTable(final Connection connection, final String tableName, final List<FieldDefinition> fields,
+			final boolean mysql, final Writer writer) throws SQLException, IOException {
+		final StringBuilder columnBuilder = new StringBuilder();
+
+		for (final FieldDefinition field : fields) {
+			if (0 < columnBuilder.length()) {
+				columnBuilder.append(", ");
+			}
+
+			columnBuilder.append(field.getName());
+		}
+
+		final String columns = columnBuilder.toString();
+		final String insert = "INSERT INTO " + tableName + " (" + columns + ") VALUES\n";
+		long ret = 0;
+
+		writer.write("\n-- Table " + tableName + "\n");
+
+		try (final PreparedStatement statement = connection.prepareStatement(
+				"SELECT " + columns + " FROM " + tableName, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+			// MySQL Connector/J streams row by row with MIN_VALUE only, it
+			// reads the whole result set into memory otherwise
+			statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+
+			try (final ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					writer.write(0 == ret % BATCH_SIZE ? insert : ",\n");
+					writer.write('(');
+
+					for (int i = 0; i < fields.size(); i++) {
+						if (0 < i) {
+							writer.write(", ");
+						}
+
+						writeValue(resultSet, i + 1, fields.get(i).getType(), mysql, writer);
+					}
+
+					writer.write(')');
+					ret++;
+
+					if (0 == ret % BATCH_SIZE) {
+						writer.write(";\n");
+					}
+				}
+			}
+		}
+
+		if (0 != ret % BATCH_SIZE) {
+			writer.write(";\n");
+		}
+
+		logger.debug("Exported [{}] rows of table [{}]", ret, tableName);
+
+		return ret;
+	}
+
+	/**
+	 * Writes the SQL literal of the specified column of the current row.
+	 *
+	 * @param resultSet
+	 *            the specified result set
+	 * @param column
+	 *            the specified column index, starts from 1
+	 * @param type
+	 *            the specified field type in repository.json, for example
+	 *            "String"
+	 * @param mysql
+	 *            whether the runtime database is MySQL
+	 * @param writer
+	 *            the specified writer
+	 * @throws SQLException
+	 *             SQL exception
+	 * @throws IOException
+	 *             io exception
+	 */
+	private static void writeValue(final ResultSet resultSet, final int column, final String type,
+			final boolean mysql, final Writer writer) throws SQLException, IOException {
+		final Object value;
+
+		switch (type) {
+		case "boolean":
+			value = resultSet.getBoolean(column);
+			break;
+		case "int":
+		case "long":
+		case "double":
+			value = resultSet.getObject(column);
+			break;
+		case "Date":
+			value = resultSet.getTimestamp(column);
+			break;
+		default:
+			// Reads CLOB (H2) as string as well
+			value = resultSet.getString(column);
+		}
+
+		if (null == value || resultSet.wasNull()) {
+			writer.write("NULL");
+		} else if (value instanceof Boolean) {
+			writer.write((Boolean) value ? "TRUE" : "FALSE");
+		} else if (value instanceof Number) {
+			writer.write(value.toString());
+		} else if (value instanceof Timestamp) {
+			writer.write('\'' + value.toString() + '\'');
+		} else {
+			writeString((String) value, mysql, writer);
+		}
+	}
+
+	/**
+	 * Writes the specified string as a quoted SQL literal.
+	 *
+	 * @param value
+	 *            the specified string
+	 * @param mysql
+	 *            whether the runtime database is MySQL, backslashes are
+	 *            escape characters in MySQL but not in H2
+	 * @param writer
+	 *            the specified writer
+	 * @throws IOException
+	 *             io exception
+	 */
+	private static void writeString(final String value, final boolean mysql, final Writer writer)
+			throws IOException {
+		String escaped = StringUtils.replace(value, "'", "''");
+
+		if (mysql) {
+			escaped = StringUtils.replaceEach(escaped, new String[] { "\\", "\u0000", "\u001a" },
+					new String[] { "\\\\", "\\0", "\\Z" });
+		}
+
+		writer.write('\'');
+		writer.write(escaped);
+		writer.write('\'');
+	}
+}
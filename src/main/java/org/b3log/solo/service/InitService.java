@@ -20,8 +20,6 @@ import java.text.ParseException;
 import java.util.Date;
 import java.util.Set;
 
-import javax.servlet.ServletContext;
-
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.b3log.solo.Keys;
@@ -70,13 +68,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.ContextLoader;
 
 /**
  * Solo initialization service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.5.2.11, Nov 8, 2016
+ * @version 1.5.2.12, Oct 17, 2026
  * @since 0.4.0
  */
 @Service
@@ -867,9 +864,7 @@ public class InitService {
 		skinsOpt.put(Option.OPTION_VALUE, skinArray.toString());
 		optionRepository.add(skinsOpt);
 
-		final ServletContext servletContext = ContextLoader.getCurrentWebApplicationContext().getServletContext();
-
-		Templates.MAIN_CFG.setServletContextForTemplateLoading(servletContext, "/skins/" + skinDirName);
+		Templates.warm(skinDirName);
 
 		TimeZones.setTimeZone(INIT_TIME_ZONE_ID);
 
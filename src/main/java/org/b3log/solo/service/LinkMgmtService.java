@@ -17,6 +17,7 @@ package org.b3log.solo.service;
 
 import org.b3log.solo.Keys;
 import org.b3log.solo.dao.LinkDao;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.model.Link;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -28,7 +29,7 @@ import org.springframework.stereotype.Service;
  * Link management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.1, Nov 2, 2011
+ * @version 1.0.0.2, Oct 17, 2026
  * @since 0.4.0
  */
 @Service
@@ -67,6 +68,8 @@ public class LinkMgmtService {
 
 			logger.error("Removes a link[id=" + linkId + "] failed", e);
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -110,6 +113,8 @@ public class LinkMgmtService {
 			logger.error(e.getMessage(), e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -164,6 +169,8 @@ public class LinkMgmtService {
 			logger.error("Changes link's order failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -207,6 +214,8 @@ public class LinkMgmtService {
 
 			logger.error("Adds a link failed", e);
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
 		}
 	}
 
@@ -16,13 +16,23 @@
 package org.b3log.solo.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
-import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
-import javax.mail.Authenticator;
+import javax.mail.Address;
 import javax.mail.MessagingException;
-import javax.mail.PasswordAuthentication;
+import javax.mail.SendFailedException;
 import javax.mail.Session;
 import javax.mail.Transport;
 import javax.mail.internet.InternetAddress;
@@ -31,83 +41,315 @@ import javax.mail.internet.MimeUtility;
 
 import org.apache.commons.lang3.StringUtils;
 import org.b3log.solo.model.MailMessage;
+import org.b3log.solo.util.PropsUtil;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Service;
 
 /**
- * Implementation of the {@link MailService} interface.
+ * Mail service.
+ *
+ * <p>
+ * Mails are sent through an outbox: {@link #send(MailMessage)} converts the
+ * message and puts it into a bounded queue ("mail.outbox.queueSize"), a few
+ * workers ("mail.outbox.workers") drain the queue. Each worker keeps its SMTP
+ * connection open and sends all the mails it takes from the queue at once
+ * ("mail.outbox.batchSize" at most) through the connection, so a burst of
+ * comment notifications costs one handshake per worker instead of one thread
+ * and one handshake per mail. An idle connection is closed after
+ * "mail.outbox.idleTimeout" seconds. A mail failed to send is retried
+ * ("mail.outbox.maxRetries" times at most) on a new connection, after a delay
+ * doubled for each retry ("mail.outbox.retryDelay"). The mail waits for the
+ * retry in a delay queue, so the worker goes on with the other mails, and only
+ * its recipients not sent yet are retried.
+ * </p>
+ *
+ * <p>
+ * The session is built once from the "mail.*" configurations, for example,
+ * "mail.smtp.host=localhost", "mail.smtp.port=2525", "mail.smtp.auth=false"
+ * and "mail.smtp.starttls.enable=false" for a local fake SMTP server.
+ * </p>
  *
  * @author <a href="mailto:jiangzezhou1989@gmail.com">zezhou jiang</a>
- * @version 1.0.0.3, Sep 29, 2011
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 2.0.1.0, Oct 17, 2026
  */
 @Service
-public final class MailService {
+public final class MailService implements InitializingBean, DisposableBean {
+
+	/**
+	 * Logger.
+	 */
 	private static Logger logger = LoggerFactory.getLogger(MailService.class);
 
-	public void send(final MailMessage message) throws IOException {
-		// TODO: zezhou jiang, throws ioexception while send fails
+	/**
+	 * Capacity of the outbox queue.
+	 */
+	private static final int QUEUE_SIZE = PropsUtil.getInteger("mail.outbox.queueSize", 1024);
 
-		new Thread(() -> {
-			try {
-				new MailSender().sendMail(message);
-			} catch (final Exception e) {
-				logger.error("Sends mail failed", e);
+	/**
+	 * Count of workers.
+	 */
+	private static final int WORKERS = PropsUtil.getInteger("mail.outbox.workers", 2);
+
+	/**
+	 * Maximum count of mails a worker takes from the queue at once.
+	 */
+	private static final int BATCH_SIZE = PropsUtil.getInteger("mail.outbox.batchSize", 20);
+
+	/**
+	 * Maximum count of retries of a mail.
+	 */
+	private static final int MAX_RETRIES = PropsUtil.getInteger("mail.outbox.maxRetries", 3);
+
+	/**
+	 * Delay in milliseconds before the first retry, doubled for each retry.
+	 */
+	private static final long RETRY_DELAY = PropsUtil.getLong("mail.outbox.retryDelay", 1000);
+
+	/**
+	 * Idle timeout in milliseconds of an SMTP connection.
+	 */
+	private static final long IDLE_TIMEOUT = TimeUnit.SECONDS
+			.toMillis(PropsUtil.getInteger("mail.outbox.idleTimeout", 30));
+
+	/**
+	 * Interval in milliseconds of a worker checking the queue, the idle
+	 * connection and shutting down.
+	 */
+	private static final long POLL_INTERVAL = 1000;
+
+	/**
+	 * Default connection, read and write timeout in milliseconds of SMTP.
+	 */
+	private static final String SMTP_TIMEOUT = "10000";
+
+	/**
+	 * Outbox queue.
+	 */
+	private final BlockingQueue<Mail> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+	/**
+	 * Mails waiting to retry, taken when due.
+	 */
+	private final DelayQueue<Mail> retryQueue = new DelayQueue<>();
+
+	/**
+	 * Whether the workers are running.
+	 */
+	private volatile boolean running;
+
+	/**
+	 * Workers.
+	 */
+	private ExecutorService workers;
+
+	/**
+	 * Session built from the mail configurations.
+	 */
+	private Session session;
+
+	/**
+	 * Count of mails submitted.
+	 */
+	private final LongAdder submitted = new LongAdder();
+
+	/**
+	 * Count of mails rejected because the queue is full.
+	 */
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Count of mails sent.
+	 */
+	private final LongAdder sent = new LongAdder();
+
+	/**
+	 * Count of mails given up.
+	 */
+	private final LongAdder failed = new LongAdder();
+
+	/**
+	 * Count of retries.
+	 */
+	private final LongAdder retried = new LongAdder();
+
+	/**
+	 * Count of batches taken from the queue.
+	 */
+	private final LongAdder batches = new LongAdder();
+
+	/**
+	 * Count of SMTP connections opened.
+	 */
+	private final LongAdder connects = new LongAdder();
+
+	/**
+	 * Count of SMTP connections open.
+	 */
+	private final AtomicInteger connected = new AtomicInteger();
+
+	/**
+	 * Total nanoseconds mails waited in the queue.
+	 */
+	private final LongAdder waitNanos = new LongAdder();
+
+	/**
+	 * Total nanoseconds of sending mails.
+	 */
+	private final LongAdder sendNanos = new LongAdder();
+
+	/**
+	 * Builds the session and starts the workers.
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		session = Session.getInstance(getSessionProperties());
+
+		final AtomicInteger workerNum = new AtomicInteger();
+
+		workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+			final Thread ret = new Thread(runnable, "MailWorker-" + workerNum.incrementAndGet());
+
+			ret.setDaemon(true);
+
+			return ret;
+		});
+		running = true;
+
+		for (int i = 0; i < WORKERS; i++) {
+			workers.execute(new Worker());
+		}
+
+		logger.info("Started mail outbox [workers={}, queueSize={}, batchSize={}]", WORKERS, QUEUE_SIZE,
+				BATCH_SIZE);
+	}
+
+	/**
+	 * Stops the workers after the queued mails are sent (in a while).
+	 */
+	@Override
+	public void destroy() {
+		running = false;
+
+		if (null == workers) {
+			return;
+		}
+
+		workers.shutdown();
+
+		try {
+			if (!workers.awaitTermination(POLL_INTERVAL * 10, TimeUnit.MILLISECONDS)) {
+				workers.shutdownNow();
 			}
-		}).start();
+		} catch (final InterruptedException e) {
+			workers.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+
+		logger.info("Stopped mail outbox [unsent={}]", queue.size() + retryQueue.size());
 	}
-}
 
-class MailSender {
+	/**
+	 * Sends the specified message asynchronously.
+	 *
+	 * @param message
+	 *            the specified message
+	 * @throws IOException
+	 *             if the message is invalid (no from, no recipients or
+	 *             malformed addresses) or the outbox is full
+	 */
+	public void send(final MailMessage message) throws IOException {
+		final Mail mail;
+
+		try {
+			mail = new Mail(convert2JavaMailMsg(message));
+		} catch (final MessagingException e) {
+			throw new IOException("Invalid mail: " + e.getMessage(), e);
+		}
+
+		submitted.increment();
+
+		if (!queue.offer(mail)) {
+			rejected.increment();
+
+			throw new IOException("Mail outbox is full [queueSize=" + QUEUE_SIZE + "]");
+		}
+	}
 
 	/**
-	 * Mail configurations.
+	 * Gets the statistics of the outbox.
 	 *
-	 * <ul>
-	 * <li>mail.user</li>
-	 * <li>mail.password</li>
-	 * <li>mail.smtp.host</li>
-	 * <li>mail.smtp.auth</li>
-	 * <li>mail.smtp.port</li>
-	 * <li>mail.smtp.starttls.enable</li>
-	 * <li>mail.debug</li>
-	 * <li>mail.smtp.socketFactory.class</li>
-	 * <li>mail.smtp.socketFactory.fallback</li>
-	 * <li>mail.smtp.socketFactory.port</li>
-	 * </ul>
-	 */
-	private final ResourceBundle mailProperties = ResourceBundle.getBundle("mail");
-
-	/**
-	 * Create session based on the mail properties.
+	 * @return statistics, for example,
 	 *
-	 * @return session session from mail properties
+	 *         <pre>
+	 * {
+	 *     "workers": 2, "connected": 1, "queued": 0, "retrying": 0, "queueCapacity": 1024, "submitted": 120,
+	 *     "rejected": 0, "sent": 117, "failed": 1, "retried": 3, "batches": 20, "connects": 4, "waitAvg": 35,
+	 *     "sendAvg": 120
+	 * }
+	 *         </pre>
 	 */
-	private Session getSession() {
-		final Properties props = new Properties();
+	public JSONObject getStatistics() {
+		final long done = sent.sum() + failed.sum();
+		final long sentCnt = sent.sum();
 
-		props.setProperty("mail.smtp.host", mailProperties.getString("mail.smtp.host"));
+		return new JSONObject().put("workers", WORKERS).put("connected", connected.get())
+				.put("queued", queue.size()).put("retrying", retryQueue.size()).put("queueCapacity", QUEUE_SIZE)
+				.put("submitted", submitted.sum()).put("rejected", rejected.sum()).put("sent", sentCnt)
+				.put("failed", failed.sum())
+				.put("retried", retried.sum()).put("batches", batches.sum()).put("connects", connects.sum())
+				.put("waitAvg", 0 == done ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.sum() / done))
+				.put("sendAvg", 0 == sentCnt ? 0 : TimeUnit.NANOSECONDS.toMillis(sendNanos.sum() / sentCnt));
+	}
 
-		String auth = "true";
-		if (mailProperties.containsKey("mail.smtp.auth")) {
-			auth = mailProperties.getString("mail.smtp.auth");
-		}
-		props.setProperty("mail.smtp.auth", auth);
+	/**
+	 * Gets the session properties from the "mail.*" configurations, SMTP
+	 * authentication and STARTTLS are enabled by default.
+	 *
+	 * @return session properties
+	 */
+	private static Properties getSessionProperties() {
+		final Properties ret = new Properties();
+
+		for (final String key : PropsUtil.getProperties().stringPropertyNames()) {
+			if (!key.startsWith("mail.") || key.startsWith("mail.outbox.") || "mail.password".equals(key)) {
+				continue;
+			}
 
-		props.setProperty("mail.smtp.port", mailProperties.getString("mail.smtp.port"));
+			final String value = PropsUtil.getProperty(key);
 
-		String starttls = "true";
-		if (mailProperties.containsKey("mail.smtp.starttls.enable")) {
-			starttls = mailProperties.getString("mail.smtp.starttls.enable");
+			if (StringUtils.isNotBlank(value)) {
+				ret.setProperty(key, value);
+			}
 		}
-		props.put("mail.smtp.starttls.enable", starttls);
 
-		props.put("mail.debug", mailProperties.getString("mail.debug"));
-		props.put("mail.smtp.socketFactory.class", mailProperties.getString("mail.smtp.socketFactory.class"));
-		props.put("mail.smtp.socketFactory.fallback", mailProperties.getString("mail.smtp.socketFactory.fallback"));
-		props.put("mail.smtp.socketFactory.port", mailProperties.getString("mail.smtp.socketFactory.port"));
+		putIfAbsent(ret, "mail.smtp.auth", "true");
+		putIfAbsent(ret, "mail.smtp.starttls.enable", "true");
+		putIfAbsent(ret, "mail.smtp.connectiontimeout", SMTP_TIMEOUT);
+		putIfAbsent(ret, "mail.smtp.timeout", SMTP_TIMEOUT);
+		putIfAbsent(ret, "mail.smtp.writetimeout", SMTP_TIMEOUT);
 
-		return Session.getInstance(props, new SMTPAuthenticator());
+		return ret;
+	}
+
+	/**
+	 * Sets the specified property if it is not set.
+	 *
+	 * @param properties
+	 *            the specified properties
+	 * @param key
+	 *            the specified key
+	 * @param value
+	 *            the specified value
+	 */
+	private static void putIfAbsent(final Properties properties, final String key, final String value) {
+		if (!properties.containsKey(key)) {
+			properties.setProperty(key, value);
+		}
 	}
 
 	/**
@@ -116,13 +358,14 @@ class MailSender {
 	 *
 	 * @param message
 	 *            the specified message
-	 * @return a {@link javax.mail.internet.MimeMessage}
-	 * @throws Exception
+	 * @return a {@link javax.mail.internet.MimeMessage}, headers updated for
+	 *         sending
+	 * @throws MessagingException
 	 *             if converts error
 	 */
-	public javax.mail.Message convert2JavaMailMsg(final MailMessage message) throws Exception {
-		if (message == null) {
-			return null;
+	private MimeMessage convert2JavaMailMsg(final MailMessage message) throws MessagingException {
+		if (null == message) {
+			throw new MessagingException("Null message");
 		}
 
 		if (StringUtils.isBlank(message.getFrom())) {
@@ -133,16 +376,22 @@ class MailSender {
 			throw new MessagingException("Null recipients");
 		}
 
-		final MimeMessage ret = new MimeMessage(getSession());
+		final MimeMessage ret = new MimeMessage(session);
 
 		ret.setFrom(new InternetAddress(message.getFrom()));
 		final String subject = message.getSubject();
 
-		ret.setSubject(MimeUtility.encodeText(subject != null ? subject : "", "UTF-8", "B"));
+		try {
+			ret.setSubject(MimeUtility.encodeText(subject != null ? subject : "", "UTF-8", "B"));
+		} catch (final IOException e) {
+			throw new MessagingException("Encodes subject failed", e);
+		}
+
 		final String htmlBody = message.getHtmlBody();
 
 		ret.setContent(htmlBody != null ? htmlBody : "", "text/html;charset=UTF-8");
 		ret.addRecipients(javax.mail.Message.RecipientType.TO, transformRecipients(message.getRecipients()));
+		ret.saveChanges();
 
 		return ret;
 	}
@@ -156,11 +405,7 @@ class MailSender {
 	 * @throws MessagingException
 	 *             messagingException from javax.mail
 	 */
-	private InternetAddress[] transformRecipients(final Set<String> recipients) throws MessagingException {
-		if (recipients.isEmpty()) {
-			throw new MessagingException("recipients of mail should not be empty");
-		}
-
+	private static InternetAddress[] transformRecipients(final Set<String> recipients) throws MessagingException {
 		final InternetAddress[] ret = new InternetAddress[recipients.size()];
 		int i = 0;
 
@@ -173,28 +418,288 @@ class MailSender {
 	}
 
 	/**
-	 * Sends email.
-	 *
-	 * @param message
-	 *            the specified message
-	 * @throws Exception
-	 *             message exception
+	 * Mail in the outbox.
 	 */
-	void sendMail(final MailMessage message) throws Exception {
-		final javax.mail.Message msg = convert2JavaMailMsg(message);
+	private static final class Mail implements Delayed {
+
+		/**
+		 * Message.
+		 */
+		private final MimeMessage message;
+
+		/**
+		 * Time in nanoseconds the mail entered the outbox.
+		 */
+		private final long enqueued = System.nanoTime();
+
+		/**
+		 * Recipients the mail has not been sent to.
+		 */
+		private Address[] recipients;
+
+		/**
+		 * Time in nanoseconds the mail is due to retry.
+		 */
+		private long due = enqueued;
+
+		/**
+		 * Count of failed attempts.
+		 */
+		private int attempts;
+
+		/**
+		 * Constructs a mail with the specified message.
+		 *
+		 * @param message
+		 *            the specified message
+		 * @throws MessagingException
+		 *             if gets recipients of the message failed
+		 */
+		Mail(final MimeMessage message) throws MessagingException {
+			this.message = message;
+			this.recipients = message.getAllRecipients();
+		}
+
+		@Override
+		public long getDelay(final TimeUnit unit) {
+			return unit.convert(due - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
 
-		Transport.send(msg);
+		@Override
+		public int compareTo(final Delayed other) {
+			return Long.compare(due, ((Mail) other).due);
+		}
+
+		@Override
+		public String toString() {
+			return StringUtils.join(recipients, ',');
+		}
 	}
 
 	/**
-	 * Inner class for Authenticator.
+	 * Worker draining the outbox through its own SMTP connection.
 	 */
-	private class SMTPAuthenticator extends Authenticator {
+	private final class Worker implements Runnable {
+
+		/**
+		 * SMTP connection, {@code null} if not open.
+		 */
+		private Transport transport;
+
+		/**
+		 * Time in milliseconds the connection was used last.
+		 */
+		private long lastUsed;
+
+		/**
+		 * Whether the connection was opened for the mail being sent.
+		 */
+		private boolean fresh;
 
 		@Override
-		public PasswordAuthentication getPasswordAuthentication() {
-			return new PasswordAuthentication(mailProperties.getString("mail.user"),
-					mailProperties.getString("mail.password"));
+		public void run() {
+			final List<Mail> batch = new ArrayList<>(BATCH_SIZE);
+
+			try {
+				while (running || !queue.isEmpty() || !retryQueue.isEmpty()) {
+					// Takes the mails due to retry first, then the new ones
+					retryQueue.drainTo(batch, BATCH_SIZE);
+
+					if (batch.isEmpty()) {
+						final Mail mail = queue.poll(getPollTimeout(), TimeUnit.NANOSECONDS);
+
+						if (null == mail) {
+							if (null != transport && System.currentTimeMillis() - lastUsed > IDLE_TIMEOUT) {
+								disconnect();
+							}
+
+							continue;
+						}
+
+						batch.add(mail);
+					}
+
+					queue.drainTo(batch, BATCH_SIZE - batch.size());
+					batches.increment();
+
+					for (final Mail m : batch) {
+						deliver(m);
+					}
+
+					batch.clear();
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				disconnect();
+			}
+		}
+
+		/**
+		 * Gets the timeout of polling the outbox queue, polls until the next
+		 * mail waiting to retry is due.
+		 *
+		 * @return timeout in nanoseconds
+		 */
+		private long getPollTimeout() {
+			final long ret = TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL);
+			final Mail retry = retryQueue.peek();
+
+			return null == retry ? ret : Math.max(0, Math.min(ret, retry.getDelay(TimeUnit.NANOSECONDS)));
+		}
+
+		/**
+		 * Sends the specified mail, retries on a new connection at once if the
+		 * connection may have been dropped, puts the mail into the retry queue
+		 * if failed on a new connection.
+		 *
+		 * @param mail
+		 *            the specified mail
+		 */
+		private void deliver(final Mail mail) {
+			while (true) {
+				try {
+					final long start = System.nanoTime();
+
+					connect().sendMessage(mail.message, mail.recipients);
+
+					lastUsed = System.currentTimeMillis();
+					sent.increment();
+					sendNanos.add(System.nanoTime() - start);
+					waitNanos.add(start - mail.enqueued);
+
+					return;
+				} catch (final SendFailedException e) {
+					final Address[] unsent = e.getValidUnsentAddresses();
+
+					if (null == unsent || 0 == unsent.length) {
+						// Rejected recipients, the connection is still usable
+						giveUp(mail, e);
+
+						return;
+					}
+
+					// The valid sent recipients must not get a duplicate
+					mail.recipients = unsent;
+
+					if (!retry(mail, e)) {
+						return;
+					}
+				} catch (final MessagingException e) {
+					if (!retry(mail, e)) {
+						return;
+					}
+				} catch (final RuntimeException e) {
+					// Keeps the worker alive
+					disconnect();
+					giveUp(mail, new MessagingException(e.getMessage(), e));
+
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Closes the connection and puts the specified mail into the retry
+		 * queue, gives up the mail if it has been retried too many times.
+		 *
+		 * @param mail
+		 *            the specified mail
+		 * @param e
+		 *            the specified failure
+		 * @return {@code true} to retry at once on a new connection,
+		 *         {@code false} if put into the retry queue or gave up
+		 */
+		private boolean retry(final Mail mail, final MessagingException e) {
+			final boolean wasFresh = fresh;
+
+			disconnect();
+
+			if (!wasFresh) {
+				// The server may have dropped the idle connection, retries at
+				// once on a new connection
+				logger.debug("Reconnects for mail[to={}]: {}", mail, e.getMessage());
+				retried.increment();
+
+				return true;
+			}
+
+			if (mail.attempts >= MAX_RETRIES) {
+				giveUp(mail, e);
+
+				return false;
+			}
+
+			final long delay = RETRY_DELAY << mail.attempts;
+
+			mail.attempts++;
+			mail.due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+			retried.increment();
+			logger.warn("Sends mail[to={}] failed, retries in [{}]ms: {}", mail, delay, e.getMessage());
+
+			retryQueue.offer(mail);
+
+			return false;
+		}
+
+		/**
+		 * Gives up the specified mail.
+		 *
+		 * @param mail
+		 *            the specified mail
+		 * @param e
+		 *            the specified failure
+		 */
+		private void giveUp(final Mail mail, final MessagingException e) {
+			failed.increment();
+			waitNanos.add(System.nanoTime() - mail.enqueued);
+
+			logger.error("Sends mail[to=" + mail + "] failed after [" + mail.attempts + "] retries", e);
+		}
+
+		/**
+		 * Gets the open connection, opens one if not open.
+		 *
+		 * @return connection
+		 * @throws MessagingException
+		 *             if connects failed
+		 */
+		private Transport connect() throws MessagingException {
+			if (null != transport) {
+				fresh = false;
+
+				return transport;
+			}
+
+			fresh = true;
+
+			final Transport ret = session.getTransport("smtp");
+
+			ret.connect(PropsUtil.getProperty("mail.user"), PropsUtil.getProperty("mail.password"));
+
+			transport = ret;
+			connects.increment();
+			connected.incrementAndGet();
+
+			return ret;
+		}
+
+		/**
+		 * Closes the connection if open.
+		 */
+		private void disconnect() {
+			if (null == transport) {
+				return;
+			}
+
+			try {
+				transport.close();
+			} catch (final MessagingException e) {
+				logger.debug("Closes SMTP connection failed: {}", e.getMessage());
+			} finally {
+				transport = null;
+				connected.decrementAndGet();
+			}
 		}
 	}
 }
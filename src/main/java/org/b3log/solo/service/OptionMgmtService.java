@@ -27,7 +27,7 @@ import org.springframework.stereotype.Service;
  * Option management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.0, Apr 16, 2013
+ * @version 1.0.1.0, Oct 17, 2026
  * @since 0.6.0
  */
 @Service
@@ -39,6 +39,12 @@ public class OptionMgmtService {
 	@Autowired
 	private OptionDao optionRepository;
 
+	/**
+	 * Preference query service.
+	 */
+	@Autowired
+	private PreferenceQueryService preferenceQueryService;
+
 	/**
 	 * Adds or updates the specified option.
 	 * 
@@ -77,6 +83,8 @@ public class OptionMgmtService {
 			// }
 
 			throw new ServiceException(e);
+		} finally {
+			preferenceQueryService.refreshPreference();
 		}
 	}
 
@@ -101,6 +109,8 @@ public class OptionMgmtService {
 			// }
 
 			throw new ServiceException(e);
+		} finally {
+			preferenceQueryService.refreshPreference();
 		}
 	}
 
@@ -21,6 +21,7 @@ import org.b3log.solo.Keys;
 import org.b3log.solo.dao.CommentDao;
 import org.b3log.solo.dao.PageDao;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.model.Comment;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Page;
@@ -38,7 +39,7 @@ import org.springframework.stereotype.Service;
  * Page management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.0.8, Nov 20, 2015
+ * @version 1.1.0.9, Oct 17, 2026
  * @since 0.4.0
  */
 @Service
@@ -55,6 +56,12 @@ public class PageMgmtService {
 	@Autowired
 	private PageDao pageDao;
 
+	/**
+	 * Sitemap service.
+	 */
+	@Autowired
+	private SitemapService sitemapService;
+
 	/**
 	 * Comment repository.
 	 */
@@ -190,6 +197,9 @@ public class PageMgmtService {
 			// }
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			sitemapService.invalidate();
 		}
 	}
 
@@ -219,6 +229,9 @@ public class PageMgmtService {
 			logger.error("Removes a page[id=" + pageId + "] failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			sitemapService.invalidate();
 		}
 	}
 
@@ -312,6 +325,9 @@ public class PageMgmtService {
 			// }
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			sitemapService.invalidate();
 		}
 	}
 
@@ -367,6 +383,9 @@ public class PageMgmtService {
 			logger.error("Changes page's order failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			sitemapService.invalidate();
 		}
 	}
 
@@ -25,8 +25,6 @@ import java.util.Iterator;
 import java.util.Locale;
 import java.util.Set;
 
-import javax.servlet.ServletContext;
-
 import org.b3log.solo.Latkes;
 import org.b3log.solo.dao.OptionDao;
 import org.b3log.solo.model.Option;
@@ -42,13 +40,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.ContextLoader;
 
 /**
  * Preference management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.3.2.11, Feb 18, 2017
+ * @version 1.3.2.12, Oct 17, 2026
  * @since 0.4.0
  */
 @Service
@@ -189,6 +186,8 @@ public class PreferenceMgmtService {
 
 			logger.error("Updates reply notification failed", e);
 			throw new ServiceException(e);
+		} finally {
+			preferenceQueryService.refreshPreference();
 		}
 	}
 
@@ -411,9 +410,7 @@ public class PreferenceMgmtService {
 
 			// transaction.commit();
 
-			final ServletContext servletContext = ContextLoader.getCurrentWebApplicationContext().getServletContext();
-
-			Templates.MAIN_CFG.setServletContextForTemplateLoading(servletContext, "/skins/" + skinDirName);
+			Templates.warm(skinDirName);
 		} catch (final Exception e) {
 			// if (transaction.isActive()) {
 			// transaction.rollback();
@@ -421,6 +418,8 @@ public class PreferenceMgmtService {
 
 			logger.error("Updates preference failed", e);
 			throw new ServiceException(langPropsService.get("updateFailLabel"));
+		} finally {
+			preferenceQueryService.refreshPreference();
 		}
 
 		logger.debug("Updates preference successfully");
@@ -21,6 +21,8 @@ import org.b3log.solo.dao.repository.FilterOperator;
 import org.b3log.solo.dao.repository.PropertyFilter;
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.frame.cache.FeedCaches;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.model.Option;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -33,7 +35,7 @@ import org.springframework.stereotype.Service;
  * Preference query service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.1.0.2, Dec 13, 2015
+ * @version 1.2.0.1, Oct 17, 2026
  * @since 0.4.0
  */
 @Service
@@ -72,17 +74,92 @@ public class PreferenceQueryService {
 		}
 	}
 
+	/**
+	 * Preference snapshot, {@code null} if not loaded yet.
+	 */
+	private volatile PreferenceSnapshot snapshot;
+
+	/**
+	 * Version of the preference snapshot, increased by every
+	 * {@link #refreshPreference() refresh}.
+	 */
+	private long version;
+
 	/**
 	 * Gets the user preference.
 	 *
+	 * <p>
+	 * The preference is served from an in-memory snapshot, the returned object
+	 * is a copy of the snapshot so it could be modified by callers freely.
+	 * </p>
+	 *
 	 * @return user preference, returns {@code null} if not found
 	 * @throws ServiceException
 	 *             if repository exception
 	 */
 	public JSONObject getPreference() throws ServiceException {
+		PreferenceSnapshot current = snapshot;
+
+		if (null == current) {
+			current = loadSnapshot(false);
+
+			if (null == current) {
+				return null;
+			}
+		}
+
+		// A copy, the snapshot is shared by all callers
+		final String[] names = JSONObject.getNames(current.preference);
+
+		return null == names ? new JSONObject() : new JSONObject(current.preference, names);
+	}
+
+	/**
+	 * Gets the version of the current preference snapshot.
+	 *
+	 * <p>
+	 * The version changes whenever the preference changes, callers may use it
+	 * as a part of cache keys of the content depends on the preference.
+	 * </p>
+	 *
+	 * @return preference version, returns {@code -1} if the preference is not
+	 *         loaded
+	 */
+	public long getPreferenceVersion() {
+		final PreferenceSnapshot current = snapshot;
+
+		return null == current ? -1 : current.version;
+	}
+
+	/**
+	 * Reloads the preference snapshot from repository and clears the page and
+	 * feed caches, should be called after any write of options.
+	 */
+	public void refreshPreference() {
+		loadSnapshot(true);
+
+		PageCaches.removeAll();
+		FeedCaches.removeAll();
+	}
+
+	/**
+	 * Loads the preference snapshot.
+	 *
+	 * @param force
+	 *            whether to reload even if the snapshot has been loaded
+	 * @return the current preference snapshot, returns {@code null} if the
+	 *         preference is not found
+	 */
+	private synchronized PreferenceSnapshot loadSnapshot(final boolean force) {
+		if (!force && null != snapshot) {
+			return snapshot;
+		}
+
 		try {
 			final JSONObject checkInit = optionRepository.get(Option.ID_C_ADMIN_EMAIL);
 			if (null == checkInit) {
+				snapshot = null;
+
 				return null;
 			}
 
@@ -91,19 +168,58 @@ public class PreferenceQueryService {
 					new PropertyFilter(Option.OPTION_CATEGORY, FilterOperator.EQUAL, Option.CATEGORY_C_PREFERENCE));
 			final JSONArray opts = optionRepository.get(query).optJSONArray(Keys.RESULTS);
 
-			final JSONObject ret = new JSONObject();
+			final JSONObject preference = new JSONObject();
 			for (int i = 0; i < opts.length(); i++) {
 				final JSONObject opt = opts.optJSONObject(i);
 
-				ret.put(opt.optString(Keys.OBJECT_ID), opt.opt(Option.OPTION_VALUE));
+				preference.put(opt.optString(Keys.OBJECT_ID), opt.opt(Option.OPTION_VALUE));
 			}
 
-			return ret;
+			version++;
+			snapshot = new PreferenceSnapshot(preference, version);
+
+			logger.debug("Loaded preference [version={}]", version);
+
+			return snapshot;
 		} catch (final RepositoryException e) {
+			logger.error("Loads preference failed", e);
+
+			snapshot = null;
+
 			return null;
 		}
 	}
 
+	/**
+	 * Immutable preference snapshot.
+	 */
+	private static final class PreferenceSnapshot {
+
+		/**
+		 * Preference, must not be modified.
+		 */
+		private final JSONObject preference;
+
+		/**
+		 * Version.
+		 */
+		private final long version;
+
+		/**
+		 * Constructs a preference snapshot with the specified preference and
+		 * version.
+		 *
+		 * @param preference
+		 *            the specified preference
+		 * @param version
+		 *            the specified version
+		 */
+		private PreferenceSnapshot(final JSONObject preference, final long version) {
+			this.preference = preference;
+			this.version = version;
+		}
+	}
+
 	public void setOptionRepository(OptionDao optionRepository) {
 		this.optionRepository = optionRepository;
 	}
@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.b3log.solo.Keys;
+import org.b3log.solo.Latkes;
+import org.b3log.solo.dao.ArchiveDateDao;
+import org.b3log.solo.dao.ArticleDao;
+import org.b3log.solo.dao.PageDao;
+import org.b3log.solo.dao.TagDao;
+import org.b3log.solo.dao.repository.CompositeFilterOperator;
+import org.b3log.solo.dao.repository.FilterOperator;
+import org.b3log.solo.dao.repository.PropertyFilter;
+import org.b3log.solo.dao.repository.Query;
+import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.SortDirection;
+import org.b3log.solo.model.ArchiveDate;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Page;
+import org.b3log.solo.model.Tag;
+import org.b3log.solo.util.PropsUtil;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sitemap service.
+ *
+ * <p>
+ * Generates the <a href="http://www.sitemaps.org/protocol.html">sitemap</a>
+ * of navigations, tags, archives and published articles. The XML is written
+ * directly while paging through the repositories, articles are read by
+ * "sitemap.pageSize" (permalink and update date only, keyset paged by id).
+ * </p>
+ *
+ * <p>
+ * URLs are split into shards of "sitemap.shardSize" (at most 50,000, the
+ * limit of the protocol) URLs, a sitemap index is served at /sitemap.xml if
+ * there are more than one shard. Generated shards are cached until
+ * {@link #invalidate() invalidated}, which should be called after any write
+ * changes the URLs (articles, navigations and tags).
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+@Service
+public class SitemapService {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(SitemapService.class);
+
+	/**
+	 * Maximum count of URLs of a shard.
+	 */
+	private static final int SHARD_SIZE = Math.min(50000, PropsUtil.getInteger("sitemap.shardSize", 50000));
+
+	/**
+	 * Count of articles read per query.
+	 */
+	private static final int PAGE_SIZE = PropsUtil.getInteger("sitemap.pageSize", 1000);
+
+	/**
+	 * XML declaration.
+	 */
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+	/**
+	 * Sitemap namespace.
+	 */
+	private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+	/**
+	 * Article repository.
+	 */
+	@Autowired
+	private ArticleDao articleDao;
+
+	/**
+	 * Page repository.
+	 */
+	@Autowired
+	private PageDao pageDao;
+
+	/**
+	 * Tag repository.
+	 */
+	@Autowired
+	private TagDao tagDao;
+
+	/**
+	 * Archive date repository.
+	 */
+	@Autowired
+	private ArchiveDateDao archiveDateDao;
+
+	/**
+	 * Generation of the URLs, increased by every {@link #invalidate()}.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Generated sitemap, {@code null} if not generated yet.
+	 */
+	private volatile Shards shards;
+
+	/**
+	 * Invalidates the generated sitemap, it will be generated again on the
+	 * next request.
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Gets the sitemap served at /sitemap.xml, the only shard if there is one
+	 * shard, the sitemap index otherwise.
+	 *
+	 * @return UTF-8 XML, must not be modified
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public byte[] getSitemap() throws ServiceException {
+		final Shards current = getShards();
+
+		return 1 == current.shards.size() ? current.shards.get(0) : current.index;
+	}
+
+	/**
+	 * Gets a shard specified by the given number.
+	 *
+	 * @param num
+	 *            the given number, starts from 1
+	 * @return UTF-8 XML, must not be modified, returns {@code null} if not
+	 *         found
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public byte[] getShard(final int num) throws ServiceException {
+		final Shards current = getShards();
+
+		if (1 > num || num > current.shards.size()) {
+			return null;
+		}
+
+		return current.shards.get(num - 1);
+	}
+
+	/**
+	 * Gets the generated shards, generates them if not generated or
+	 * invalidated.
+	 *
+	 * @return shards
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	private Shards getShards() throws ServiceException {
+		Shards ret = shards;
+
+		if (null != ret && ret.generation == generation.get()) {
+			return ret;
+		}
+
+		synchronized (this) {
+			ret = shards;
+
+			final long gen = generation.get();
+
+			if (null != ret && ret.generation == gen) {
+				return ret;
+			}
+
+			ret = generate(gen);
+			shards = ret;
+
+			return ret;
+		}
+	}
+
+	/**
+	 * Generates shards of the specified generation.
+	 *
+	 * @param gen
+	 *            the specified generation
+	 * @return shards
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	private Shards generate(final long gen) throws ServiceException {
+		final long start = System.currentTimeMillis();
+		final ShardWriter writer = new ShardWriter();
+
+		try {
+			addNavigations(writer);
+			addTags(writer);
+			addArchives(writer);
+			addArticles(writer);
+
+			final List<byte[]> generated = writer.finish();
+			final Shards ret = new Shards(gen, generated, index(generated.size()));
+
+			logger.info("Generated sitemap [urls={}, shards={}] in {}ms", writer.total, generated.size(),
+					System.currentTimeMillis() - start);
+
+			return ret;
+		} catch (final RepositoryException | JSONException | IOException e) {
+			logger.error("Generates sitemap failed", e);
+
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Adds published articles, pages through them by id descending.
+	 *
+	 * @param writer
+	 *            the specified shard writer
+	 * @throws RepositoryException
+	 *             repository exception
+	 * @throws IOException
+	 *             io exception
+	 */
+	private void addArticles(final ShardWriter writer) throws RepositoryException, IOException {
+		final PropertyFilter published = new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true);
+		String lastId = null;
+
+		while (true) {
+			final Query query = new Query().setCurrentPageNum(1).setPageSize(PAGE_SIZE).setPageCount(1)
+					.addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).addProjection(Keys.OBJECT_ID, String.class)
+					.addProjection(Article.ARTICLE_PERMALINK, String.class)
+					.addProjection(Article.ARTICLE_UPDATE_DATE, Date.class);
+
+			if (null == lastId) {
+				query.setFilter(published);
+			} else {
+				query.setFilter(CompositeFilterOperator.and(published,
+						new PropertyFilter(Keys.OBJECT_ID, FilterOperator.LESS_THAN, lastId)));
+			}
+
+			final JSONArray articles = articleDao.get(query).getJSONArray(Keys.RESULTS);
+
+			for (int i = 0; i < articles.length(); i++) {
+				final JSONObject article = articles.getJSONObject(i);
+				final Date updateDate = (Date) article.get(Article.ARTICLE_UPDATE_DATE);
+
+				writer.url(Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK),
+						DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate));
+				lastId = article.getString(Keys.OBJECT_ID);
+			}
+
+			if (articles.length() < PAGE_SIZE) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Adds navigations.
+	 *
+	 * @param writer
+	 *            the specified shard writer
+	 * @throws RepositoryException
+	 *             repository exception
+	 * @throws IOException
+	 *             io exception
+	 */
+	private void addNavigations(final ShardWriter writer) throws RepositoryException, IOException {
+		final JSONArray pages = pageDao.get(new Query().setPageCount(1)
+				.addProjection(Page.PAGE_PERMALINK, String.class)).getJSONArray(Keys.RESULTS);
+
+		for (int i = 0; i < pages.length(); i++) {
+			final String permalink = pages.getJSONObject(i).getString(Page.PAGE_PERMALINK);
+
+			// The navigation maybe a page or a link
+			// Just filters for user mistakes tolerance
+			writer.url(permalink.contains("://") ? permalink : Latkes.getServePath() + permalink, null);
+		}
+	}
+
+	/**
+	 * Adds tags (tag-articles) and tags wall (/tags.html).
+	 *
+	 * @param writer
+	 *            the specified shard writer
+	 * @throws RepositoryException
+	 *             repository exception
+	 * @throws IOException
+	 *             io exception
+	 */
+	private void addTags(final ShardWriter writer) throws RepositoryException, IOException {
+		final JSONArray tags = tagDao.get(new Query().setPageCount(1).addProjection(Tag.TAG_TITLE, String.class))
+				.getJSONArray(Keys.RESULTS);
+
+		for (int i = 0; i < tags.length(); i++) {
+			final String link = URLEncoder.encode(tags.getJSONObject(i).getString(Tag.TAG_TITLE), "UTF-8");
+
+			writer.url(Latkes.getServePath() + "/tags/" + link, null);
+		}
+
+		// Tags wall
+		writer.url(Latkes.getServePath() + "/tags.html", null);
+	}
+
+	/**
+	 * Adds archives (archive-articles).
+	 *
+	 * @param writer
+	 *            the specified shard writer
+	 * @throws RepositoryException
+	 *             repository exception
+	 * @throws IOException
+	 *             io exception
+	 */
+	private void addArchives(final ShardWriter writer) throws RepositoryException, IOException {
+		final JSONArray archiveDates = archiveDateDao.get(new Query().setPageCount(1)
+				.addProjection(ArchiveDate.ARCHIVE_TIME, Long.class)).getJSONArray(Keys.RESULTS);
+
+		for (int i = 0; i < archiveDates.length(); i++) {
+			final long time = archiveDates.getJSONObject(i).getLong(ArchiveDate.ARCHIVE_TIME);
+
+			writer.url(Latkes.getServePath() + "/archives/" + DateFormatUtils.format(time, "yyyy/MM"), null);
+		}
+	}
+
+	/**
+	 * Generates the sitemap index of the specified count of shards.
+	 *
+	 * @param shardCount
+	 *            the specified count of shards
+	 * @return UTF-8 XML
+	 */
+	private static byte[] index(final int shardCount) {
+		final StringBuilder ret = new StringBuilder(XML_DECLARATION).append("<sitemapindex xmlns=\"")
+				.append(NAMESPACE).append("\">");
+
+		for (int i = 1; i <= shardCount; i++) {
+			ret.append("<sitemap><loc>").append(StringEscapeUtils.escapeXml10(Latkes.getServePath()))
+					.append("/sitemap-").append(i).append(".xml</loc></sitemap>");
+		}
+
+		return ret.append("</sitemapindex>").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Generated shards, immutable.
+	 */
+	private static final class Shards {
+
+		/**
+		 * Generation of the URLs.
+		 */
+		private final long generation;
+
+		/**
+		 * Shards, UTF-8 XML of each.
+		 */
+		private final List<byte[]> shards;
+
+		/**
+		 * Sitemap index, UTF-8 XML.
+		 */
+		private final byte[] index;
+
+		/**
+		 * Constructs shards.
+		 *
+		 * @param generation
+		 *            generation of the URLs
+		 * @param shards
+		 *            shards
+		 * @param index
+		 *            sitemap index
+		 */
+		private Shards(final long generation, final List<byte[]> shards, final byte[] index) {
+			this.generation = generation;
+			this.shards = Collections.unmodifiableList(shards);
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Shard writer, writes URLs into shards of {@link SitemapService#SHARD_SIZE}
+	 * URLs.
+	 */
+	private static final class ShardWriter {
+
+		/**
+		 * Finished shards.
+		 */
+		private final List<byte[]> shards = new ArrayList<>();
+
+		/**
+		 * Buffer of the current shard.
+		 */
+		private ByteArrayOutputStream buffer;
+
+		/**
+		 * Writer of the current shard, {@code null} if no current shard.
+		 */
+		private Writer writer;
+
+		/**
+		 * Count of URLs of the current shard.
+		 */
+		private int count;
+
+		/**
+		 * Count of all URLs.
+		 */
+		private int total;
+
+		/**
+		 * Writes a URL with the specified location and last modified time.
+		 *
+		 * @param loc
+		 *            the specified location
+		 * @param lastMod
+		 *            the specified last modified time, may be {@code null}
+		 * @throws IOException
+		 *             io exception
+		 */
+		private void url(final String loc, final String lastMod) throws IOException {
+			if (null == writer) {
+				openShard();
+			}
+
+			writer.write("<url><loc>");
+			writer.write(StringEscapeUtils.escapeXml10(loc));
+			writer.write("</loc>");
+
+			if (StringUtils.isNotBlank(lastMod)) {
+				writer.write("<lastmod>");
+				writer.write(lastMod);
+				writer.write("</lastmod>");
+			}
+
+			writer.write("</url>");
+
+			total++;
+
+			if (++count == SHARD_SIZE) {
+				closeShard();
+			}
+		}
+
+		/**
+		 * Finishes writing.
+		 *
+		 * @return shards, at least one
+		 * @throws IOException
+		 *             io exception
+		 */
+		private List<byte[]> finish() throws IOException {
+			if (null == writer && shards.isEmpty()) { // No URL at all
+				openShard();
+			}
+
+			if (null != writer) {
+				closeShard();
+			}
+
+			return shards;
+		}
+
+		/**
+		 * Opens a new shard.
+		 *
+		 * @throws IOException
+		 *             io exception
+		 */
+		private void openShard() throws IOException {
+			buffer = new ByteArrayOutputStream(64 * 1024);
+			writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+			writer.write(XML_DECLARATION);
+			writer.write("<urlset xmlns=\"" + NAMESPACE + "\">");
+		}
+
+		/**
+		 * Closes the current shard.
+		 *
+		 * @throws IOException
+		 *             io exception
+		 */
+		private void closeShard() throws IOException {
+			writer.write("</urlset>");
+			writer.close();
+			shards.add(buffer.toByteArray());
+
+			writer = null;
+			buffer = null;
+			count = 0;
+		}
+	}
+}
@@ -18,6 +18,7 @@ package org.b3log.solo.service;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -43,7 +44,7 @@ import org.springframework.stereotype.Service;
  * </p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.0, Jul 18, 2012
+ * @version 1.1.0.1, Oct 17, 2026
  * @since 0.5.0
  */
 @Service
@@ -74,6 +75,11 @@ public class StatisticMgmtService {
 	 */
 	private static final int ONLINE_VISITOR_EXPIRATION = 300000;
 
+	/**
+	 * Accumulated blog view count not written to repository yet.
+	 */
+	private static final LongAdder BLOG_VIEW_COUNT = new LongAdder();
+
 	/**
 	 * Blog statistic view count +1.
 	 *
@@ -83,8 +89,8 @@ public class StatisticMgmtService {
 	 * </p>
 	 *
 	 * <p>
-	 * There is a cron job (/console/stat/viewcnt) to flush the blog view count
-	 * from cache to datastore.
+	 * The increment is accumulated in memory and written to repository by
+	 * {@link #flushBlogViewCount()}.
 	 * </p>
 	 *
 	 * @param request
@@ -105,36 +111,31 @@ public class StatisticMgmtService {
 			return;
 		}
 
-		// final Transaction transaction = statisticDao.beginTransaction();
-		JSONObject statistic = null;
-
-		try {
-			statistic = statisticDao.get(Statistic.STATISTIC);
-			if (null == statistic) {
-				return;
-			}
-
-			logger.trace("Before inc blog view count[statistic={}]", statistic);
-
-			int blogViewCnt = statistic.optInt(Statistic.STATISTIC_BLOG_VIEW_COUNT);
-
-			++blogViewCnt;
-			statistic.put(Statistic.STATISTIC_BLOG_VIEW_COUNT, blogViewCnt);
+		BLOG_VIEW_COUNT.increment();
+	}
 
-			statisticDao.update(Statistic.STATISTIC, statistic);
+	/**
+	 * Writes the accumulated blog view count to repository, the count failed
+	 * to write is kept and retried by the next flush. The written count is
+	 * subtracted rather than reset, so the views counted meanwhile are kept.
+	 */
+	public void flushBlogViewCount() {
+		final long increment = BLOG_VIEW_COUNT.sum();
 
-			// transaction.commit();
-		} catch (final RepositoryException e) {
-			// if (transaction.isActive()) {
-			// transaction.rollback();
-			// }
+		if (0 == increment) {
+			return;
+		}
 
+		try {
+			statisticDao.increment(Statistic.STATISTIC, Statistic.STATISTIC_BLOG_VIEW_COUNT, increment);
+		} catch (final Exception e) {
 			logger.error("Updates blog view count failed", e);
 
 			return;
 		}
 
-		logger.trace("Inced blog view count[statistic={}]", statistic);
+		BLOG_VIEW_COUNT.add(-increment);
+		logger.trace("Flushed blog view count [increment={}]", increment);
 	}
 
 	/**
@@ -144,15 +145,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void incBlogArticleCount() throws RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-
-		statistic.put(Statistic.STATISTIC_BLOG_ARTICLE_COUNT,
-				statistic.optInt(Statistic.STATISTIC_BLOG_ARTICLE_COUNT) + 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_BLOG_ARTICLE_COUNT, 1);
 	}
 
 	/**
@@ -162,15 +155,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void incPublishedBlogArticleCount() throws RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-
-		statistic.put(Statistic.STATISTIC_PUBLISHED_ARTICLE_COUNT,
-				statistic.optInt(Statistic.STATISTIC_PUBLISHED_ARTICLE_COUNT) + 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_PUBLISHED_ARTICLE_COUNT, 1);
 	}
 
 	/**
@@ -182,15 +167,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void decBlogArticleCount() throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-
-		statistic.put(Statistic.STATISTIC_BLOG_ARTICLE_COUNT,
-				statistic.getInt(Statistic.STATISTIC_BLOG_ARTICLE_COUNT) - 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_BLOG_ARTICLE_COUNT, -1);
 	}
 
 	/**
@@ -202,15 +179,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void decPublishedBlogArticleCount() throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-
-		statistic.put(Statistic.STATISTIC_PUBLISHED_ARTICLE_COUNT,
-				statistic.getInt(Statistic.STATISTIC_PUBLISHED_ARTICLE_COUNT) - 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_PUBLISHED_ARTICLE_COUNT, -1);
 	}
 
 	/**
@@ -222,14 +191,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void incBlogCommentCount() throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-		statistic.put(Statistic.STATISTIC_BLOG_COMMENT_COUNT,
-				statistic.getInt(Statistic.STATISTIC_BLOG_COMMENT_COUNT) + 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_BLOG_COMMENT_COUNT, 1);
 	}
 
 	/**
@@ -241,14 +203,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void incPublishedBlogCommentCount() throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-		statistic.put(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT,
-				statistic.getInt(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT) + 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT, 1);
 	}
 
 	/**
@@ -260,15 +215,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void decBlogCommentCount() throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-
-		statistic.put(Statistic.STATISTIC_BLOG_COMMENT_COUNT,
-				statistic.getInt(Statistic.STATISTIC_BLOG_COMMENT_COUNT) - 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_BLOG_COMMENT_COUNT, -1);
 	}
 
 	/**
@@ -280,15 +227,7 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void decPublishedBlogCommentCount() throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
-
-		statistic.put(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT,
-				statistic.getInt(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT) - 1);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		increment(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT, -1);
 	}
 
 	/**
@@ -302,14 +241,10 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void setBlogCommentCount(final int count) throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
-
-		if (null == statistic) {
-			throw new RepositoryException("Not found statistic");
-		}
+		final JSONObject statistic = new JSONObject();
 
 		statistic.put(Statistic.STATISTIC_BLOG_COMMENT_COUNT, count);
-		statisticDao.update(Statistic.STATISTIC, statistic);
+		statisticDao.update(Statistic.STATISTIC, statistic, Statistic.STATISTIC_BLOG_COMMENT_COUNT);
 	}
 
 	/**
@@ -323,14 +258,27 @@ public class StatisticMgmtService {
 	 *             repository exception
 	 */
 	public void setPublishedBlogCommentCount(final int count) throws JSONException, RepositoryException {
-		final JSONObject statistic = statisticDao.get(Statistic.STATISTIC);
+		final JSONObject statistic = new JSONObject();
+
+		statistic.put(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT, count);
+		statisticDao.update(Statistic.STATISTIC, statistic, Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT);
+	}
 
-		if (null == statistic) {
+	/**
+	 * Increments the specified statistic property by the specified delta in
+	 * one statement.
+	 *
+	 * @param propertyName
+	 *            the specified property name
+	 * @param delta
+	 *            the specified delta
+	 * @throws RepositoryException
+	 *             if the statistic not found
+	 */
+	private void increment(final String propertyName, final int delta) throws RepositoryException {
+		if (!statisticDao.increment(Statistic.STATISTIC, propertyName, delta)) {
 			throw new RepositoryException("Not found statistic");
 		}
-
-		statistic.put(Statistic.STATISTIC_PUBLISHED_BLOG_COMMENT_COUNT, count);
-		statisticDao.update(Statistic.STATISTIC, statistic);
 	}
 
 	/**
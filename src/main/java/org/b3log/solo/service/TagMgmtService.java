@@ -15,13 +15,23 @@
  */
 package org.b3log.solo.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.b3log.solo.Keys;
+import org.b3log.solo.dao.ArticleDao;
 import org.b3log.solo.dao.CategoryTagDao;
+import org.b3log.solo.dao.TagArticleDao;
 import org.b3log.solo.dao.TagDao;
+import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.Transaction;
+import org.b3log.solo.frame.cache.PageCaches;
+import org.b3log.solo.model.Article;
 import org.b3log.solo.model.Tag;
+import org.b3log.solo.util.CollectionUtils;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -33,7 +43,7 @@ import org.springframework.stereotype.Service;
  * Tag management service.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.2, Mar 31, 2017
+ * @version 1.1.0.0, Oct 17, 2026
  * @since 0.4.0
  */
 @Service
@@ -56,12 +66,30 @@ public class TagMgmtService {
 	@Autowired
 	private TagDao tagDao;
 
+	/**
+	 * Sitemap service.
+	 */
+	@Autowired
+	private SitemapService sitemapService;
+
 	/**
 	 * Category-tag repository.
 	 */
 	@Autowired
 	private CategoryTagDao categoryTagDao;
 
+	/**
+	 * Tag-article repository.
+	 */
+	@Autowired
+	private TagArticleDao tagArticleDao;
+
+	/**
+	 * Article repository.
+	 */
+	@Autowired
+	private ArticleDao articleDao;
+
 	/**
 	 * Decrements reference count of every tag of an published article specified
 	 * by the given article id.
@@ -121,6 +149,100 @@ public class TagMgmtService {
 			logger.error("Removes unused tags failed", e);
 
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			sitemapService.invalidate();
+		}
+	}
+
+	/**
+	 * Repairs the reference counts of all tags.
+	 *
+	 * <p>
+	 * Counts the tag-article relations of each tag (the ones of published
+	 * articles separately) and removes the relations of articles not found.
+	 * Articles, relations and tags are loaded with one query each, only the
+	 * tags whose counts are wrong are updated, all in one transaction.
+	 * </p>
+	 *
+	 * @return count of the tags repaired
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public int repairTagRefCounts() throws ServiceException {
+		final Transaction transaction = tagDao.beginTransaction();
+
+		try {
+			final JSONArray articles = articleDao.get(new Query().setPageCount(1)
+					.addProjection(Keys.OBJECT_ID, String.class)
+					.addProjection(Article.ARTICLE_IS_PUBLISHED, Boolean.class)).getJSONArray(Keys.RESULTS);
+			final Map<String, Boolean> articlePublished = new HashMap<>();
+
+			for (int i = 0; i < articles.length(); i++) {
+				final JSONObject article = articles.getJSONObject(i);
+
+				articlePublished.put(article.getString(Keys.OBJECT_ID),
+						article.optBoolean(Article.ARTICLE_IS_PUBLISHED));
+			}
+
+			final JSONArray tagArticles = tagArticleDao.get(new Query().setPageCount(1)).getJSONArray(Keys.RESULTS);
+			// <tagId, [refCnt, publishedRefCnt]>
+			final Map<String, int[]> refCounts = new HashMap<>();
+
+			for (int i = 0; i < tagArticles.length(); i++) {
+				final JSONObject tagArticle = tagArticles.getJSONObject(i);
+				final Boolean published = articlePublished
+						.get(tagArticle.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID));
+
+				if (null == published) {
+					tagArticleDao.remove(tagArticle.optString(Keys.OBJECT_ID));
+					continue;
+				}
+
+				final int[] counts = refCounts.computeIfAbsent(tagArticle.getString(Tag.TAG + "_" + Keys.OBJECT_ID),
+						tagId -> new int[2]);
+
+				counts[0]++;
+				if (published) {
+					counts[1]++;
+				}
+			}
+
+			final List<JSONObject> tags = CollectionUtils
+					.jsonArrayToList(tagDao.get(new Query().setPageCount(1)).getJSONArray(Keys.RESULTS));
+			int ret = 0;
+
+			for (final JSONObject tag : tags) {
+				final String tagId = tag.getString(Keys.OBJECT_ID);
+				final int[] counts = refCounts.getOrDefault(tagId, new int[2]);
+
+				if (counts[0] == tag.optInt(Tag.TAG_REFERENCE_COUNT)
+						&& counts[1] == tag.optInt(Tag.TAG_PUBLISHED_REFERENCE_COUNT)) {
+					continue;
+				}
+
+				tag.put(Tag.TAG_REFERENCE_COUNT, counts[0]);
+				tag.put(Tag.TAG_PUBLISHED_REFERENCE_COUNT, counts[1]);
+				tagDao.update(tagId, tag, Tag.TAG_REFERENCE_COUNT, Tag.TAG_PUBLISHED_REFERENCE_COUNT);
+				ret++;
+
+				logger.info("Repaired tag[title={}, refCnt={}, publishedTagRefCnt={}]", tag.getString(Tag.TAG_TITLE),
+						counts[0], counts[1]);
+			}
+
+			transaction.commit();
+
+			return ret;
+		} catch (final RepositoryException e) {
+			logger.error("Repairs tag reference counts failed", e);
+
+			throw new ServiceException(e);
+		} finally {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+
+			PageCaches.removeAll();
 		}
 	}
 
@@ -25,6 +25,8 @@ import org.b3log.solo.Keys;
 import org.b3log.solo.Latkes;
 import org.b3log.solo.dao.UserDao;
 import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.frame.cache.FeedCaches;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.model.Role;
 import org.b3log.solo.model.User;
 import org.b3log.solo.model.UserExt;
@@ -42,7 +44,7 @@ import org.springframework.stereotype.Service;
  *
  * @author <a href="http://cxy7.com">XyCai</a>
  * @author <a href="mailto:385321165@qq.com">DASHU</a>
- * @version 1.1.0.6, Oct 17, 2015
+ * @version 1.1.1.0, Oct 17, 2026
  * @since 0.4.0
  */
 @Service
@@ -216,6 +218,9 @@ public class UserMgmtService {
 
 			logger.error("Updates a user failed", e);
 			throw new ServiceException(e);
+		} finally {
+			PageCaches.removeAll();
+			FeedCaches.removeAll();
 		}
 	}
 
@@ -369,6 +374,39 @@ public class UserMgmtService {
 		}
 	}
 
+	/**
+	 * Replaces the password hash of the specified user with the one of the
+	 * specified password if it was hashed by a version before 2.0.0 (see
+	 * {@link MD5#needsRehash(String, String)}), the specified password must
+	 * have matched the hash.
+	 *
+	 * <p>
+	 * A failure is logged only, the user is still logged in with the old
+	 * hash.
+	 * </p>
+	 *
+	 * @param user
+	 *            the specified user, its password is updated in place
+	 * @param password
+	 *            the specified password, unhashed
+	 */
+	public void rehashPassword(final JSONObject user, final String password) {
+		if (!MD5.needsRehash(password, user.optString(User.USER_PASSWORD))) {
+			return;
+		}
+
+		final String userId = user.optString(Keys.OBJECT_ID);
+
+		try {
+			user.put(User.USER_PASSWORD, MD5.hash(password));
+			userDao.update(userId, user, User.USER_PASSWORD);
+
+			logger.info("Rehashed the password of user[id={}]", userId);
+		} catch (final RepositoryException e) {
+			logger.warn("Rehashes the password of user[id=" + userId + "] failed", e);
+		}
+	}
+
 	/**
 	 * Sets the user repository with the specified user repository.
 	 *
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +46,7 @@ import org.b3log.solo.dao.repository.PropertyFilter;
 import org.b3log.solo.dao.repository.Query;
 import org.b3log.solo.dao.repository.RepositoryException;
 import org.b3log.solo.dao.repository.SortDirection;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.frame.event.Event;
 import org.b3log.solo.frame.event.EventException;
 import org.b3log.solo.frame.plugin.ViewLoadEventData;
@@ -79,6 +81,7 @@ import org.b3log.solo.util.Paginator;
 import org.b3log.solo.util.PropsUtil;
 import org.b3log.solo.util.Stopwatchs;
 import org.b3log.solo.util.comparator.Comparators;
+import org.b3log.solo.util.freemarker.TemplateCapabilities;
 import org.b3log.solo.util.freemarker.Templates;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -95,7 +98,7 @@ import freemarker.template.Template;
  *
  * @author <a href="http://cxy7.com">XyCai</a>
  * 
- * @version 1.6.12.13, Apr 8, 2017
+ * @version 1.6.13.1, Oct 17, 2026
  * @since 0.3.1
  */
 @Service
@@ -194,6 +197,11 @@ public class Filler {
 	private LangPropsService langPropsService;
 	@Autowired
 	private ViewLoadEventHandler viewLoadEventHandler;
+	/**
+	 * Filler engine.
+	 */
+	@Autowired
+	private FillerEngine fillerEngine;
 
 	/**
 	 * Fills articles in index.ftl.
@@ -225,16 +233,16 @@ public class Filler {
 					.setPageCount(pageCount)
 					.setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, PUBLISHED));
 
-			final Template template = Templates.getTemplate((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME),
-					"index.ftl");
+			final TemplateCapabilities capabilities = Templates
+					.getCapabilities((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), "index.ftl");
 
 			boolean isArticles1 = false;
 
-			if (null == template) {
+			if (null == capabilities) {
 				logger.debug("The skin dose not contain [index.ftl] template");
 			} else // See https://github.com/b3log/solo/issues/179 for more
 					// details
-			if (Templates.hasExpression(template, "<#list articles1 as article>")) {
+			if (capabilities.hasList("articles1")) {
 				isArticles1 = true;
 				query.addSort(Article.ARTICLE_CREATE_DATE, SortDirection.DESCENDING);
 
@@ -319,7 +327,6 @@ public class Filler {
 		} finally {
 			Stopwatchs.end();
 		}
-		Stopwatchs.end();
 	}
 
 	/**
@@ -348,8 +355,6 @@ public class Filler {
 		} finally {
 			Stopwatchs.end();
 		}
-
-		Stopwatchs.end();
 	}
 
 	/**
@@ -720,13 +725,39 @@ public class Filler {
 	 */
 	public void fillBlogHeader(final HttpServletRequest request, final HttpServletResponse response,
 			final Map<String, Object> dataModel, final JSONObject preference) throws ServiceException {
+		final Map<String, FillerEngine.Task> fillers = new LinkedHashMap<>();
+
+		fillBlogHeader(request, response, dataModel, preference, fillers);
+		fill(dataModel, fillers);
+	}
+
+	/**
+	 * Fills header.ftl, puts its data model fillers into the specified fillers
+	 * instead of running them.
+	 *
+	 * @param request
+	 *            the specified HTTP servlet request
+	 * @param response
+	 *            the specified HTTP servlet response
+	 * @param dataModel
+	 *            data model
+	 * @param preference
+	 *            the specified preference
+	 * @param fillers
+	 *            the specified fillers, run by {@link #fill(Map, Map)}
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	public void fillBlogHeader(final HttpServletRequest request, final HttpServletResponse response,
+			final Map<String, Object> dataModel, final JSONObject preference,
+			final Map<String, FillerEngine.Task> fillers) throws ServiceException {
 		Stopwatchs.start("Fill Header");
 		try {
 			logger.debug("Filling header....");
 			final String topBarHTML = topBars.getTopBarHTML(request, response);
 			dataModel.put(Common.LOGIN_URL, userService.createLoginURL(Common.ADMIN_INDEX_URI));
 			dataModel.put(Common.LOGOUT_URL, userService.createLogoutURL("/"));
-			dataModel.put(Common.ONLINE_VISITOR_CNT, StatisticQueryService.getOnlineVisitorCount());
+			dataModel.put(Common.ONLINE_VISITOR_CNT, PageCaches.getOnlineVisitorCount(request));
 
 			dataModel.put(Common.TOP_BAR, topBarHTML);
 
@@ -759,29 +790,44 @@ public class Filler {
 
 			dataModel.put(Option.ID_C_NOTICE_BOARD, noticeBoard);
 
-			final Query query = new Query().setPageCount(1);
-			final JSONObject result = userDao.get(query);
-			final JSONArray users = result.getJSONArray(Keys.RESULTS);
-			final List<JSONObject> userList = CollectionUtils.jsonArrayToList(users);
-			dataModel.put(User.USERS, userList);
-
-			final JSONObject admin = userDao.getAdmin();
-			dataModel.put(Common.ADMIN_USER, admin);
-
 			final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
 
 			dataModel.put(Skin.SKIN_DIR_NAME, skinDirName);
 
 			Keys.fillRuntime(dataModel);
 			fillMinified(dataModel);
-			fillPageNavigations(dataModel);
-			fillStatistic(dataModel);
+
+			fillers.put("users", this::fillUsers);
+			fillers.put("pageNavigations", this::fillPageNavigations);
+			fillers.put("statistic", this::fillStatistic);
 		} catch (final JSONException e) {
 			logger.error("Fills blog header failed", e);
 			throw new ServiceException(e);
-		} catch (final RepositoryException e) {
-			logger.error("Fills blog header failed", e);
-			throw new ServiceException(e);
+		} finally {
+			Stopwatchs.end();
+		}
+	}
+
+	/**
+	 * Runs the specified fillers collected for a page by
+	 * {@link #fillBlogHeader(HttpServletRequest, HttpServletResponse, Map, JSONObject, Map)},
+	 * {@link #fillSide(HttpServletRequest, Map, JSONObject, Map)} and
+	 * {@link #fillUserTemplate(HttpServletRequest, Template, Map, JSONObject, Map)}
+	 * in one batch, so they run concurrently under one deadline.
+	 *
+	 * @param dataModel
+	 *            data model
+	 * @param fillers
+	 *            the specified fillers
+	 * @throws ServiceException
+	 *             service exception
+	 * @see FillerEngine#fill(Map, Map)
+	 */
+	public void fill(final Map<String, Object> dataModel, final Map<String, FillerEngine.Task> fillers)
+			throws ServiceException {
+		Stopwatchs.start("Fill Data Models");
+		try {
+			fillerEngine.fill(dataModel, fillers);
 		} finally {
 			Stopwatchs.end();
 		}
@@ -809,7 +855,8 @@ public class Filler {
 	}
 
 	/**
-	 * Fills side.ftl.
+	 * Fills side.ftl, puts its data model fillers into the specified fillers
+	 * instead of running them.
 	 *
 	 * @param request
 	 *            the specified HTTP servlet request
@@ -817,22 +864,22 @@ public class Filler {
 	 *            data model
 	 * @param preference
 	 *            the specified preference
-	 * @throws ServiceException
-	 *             service exception
+	 * @param fillers
+	 *            the specified fillers, run by {@link #fill(Map, Map)}
 	 */
 	public void fillSide(final HttpServletRequest request, final Map<String, Object> dataModel,
-			final JSONObject preference) throws ServiceException {
+			final JSONObject preference, final Map<String, FillerEngine.Task> fillers) {
 		Stopwatchs.start("Fill Side");
 		try {
 			logger.debug("Filling side....");
 
-			String dir = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
-			Template template = Templates.getTemplate(dir, "side.ftl");
+			final String dir = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+			TemplateCapabilities capabilities = Templates.getCapabilities(dir, "side.ftl");
 
-			if (null == template) {
+			if (null == capabilities) {
 				logger.debug("The skin dose not contain [side.ftl] template");
-				template = Templates.getTemplate(dir, "index.ftl");
-				if (null == template) {
+				capabilities = Templates.getCapabilities(dir, "index.ftl");
+				if (null == capabilities) {
 					logger.debug("The skin dose not contain [index.ftl] template");
 					return;
 				}
@@ -840,48 +887,23 @@ public class Filler {
 
 			dataModel.put("fillTagArticles", fillTagArticles);
 
-			if (Templates.hasExpression(template, "<#list recentArticles as article>")) {
-				fillRecentArticles(dataModel, preference);
-			}
-
-			if (Templates.hasExpression(template, "<#list links as link>")) {
-				fillLinks(dataModel);
-			}
-
-			if (Templates.hasExpression(template, "<#list recentComments as comment>")) {
-				fillRecentComments(dataModel, preference);
-			}
-
-			if (Templates.hasExpression(template, "<#list mostUsedCategories as category>")) {
-				fillMostUsedCategories(dataModel, preference);
-			}
-
-			if (Templates.hasExpression(template, "<#list mostUsedTags as tag>")) {
-				fillMostUsedTags(dataModel, preference);
-			}
-
-			if (Templates.hasExpression(template, "<#list mostCommentArticles as article>")) {
-				fillMostCommentArticles(dataModel, preference);
+			if (capabilities.hasList("recentArticles")) {
+				fillers.put("recentArticles", model -> fillRecentArticles(model, preference));
 			}
 
-			if (Templates.hasExpression(template, "<#list mostViewCountArticles as article>")) {
-				fillMostViewCountArticles(dataModel, preference);
+			if (capabilities.hasList("links")) {
+				fillers.put("links", this::fillLinks);
 			}
 
-			if (Templates.hasExpression(template, "<#list archiveDates as archiveDate>")) {
-				fillArchiveDates(dataModel, preference);
-			}
-
-		} catch (final ServiceException e) {
-			logger.error("Fills side failed", e);
-			throw new ServiceException(e);
+			putSideFillers(fillers, capabilities, preference);
 		} finally {
 			Stopwatchs.end();
 		}
 	}
 
 	/**
-	 * Fills the specified template.
+	 * Fills the specified template, puts its data model fillers into the
+	 * specified fillers instead of running them.
 	 *
 	 * @param request
 	 *            the specified HTTP servlet request
@@ -891,49 +913,33 @@ public class Filler {
 	 *            data model
 	 * @param preference
 	 *            the specified preference
+	 * @param fillers
+	 *            the specified fillers, run by {@link #fill(Map, Map)}
 	 * @throws ServiceException
 	 *             service exception
 	 */
 	public void fillUserTemplate(final HttpServletRequest request, final Template template,
-			final Map<String, Object> dataModel, final JSONObject preference) throws ServiceException {
+			final Map<String, Object> dataModel, final JSONObject preference,
+			final Map<String, FillerEngine.Task> fillers) throws ServiceException {
 		Stopwatchs.start("Fill User Template[name=" + template.getName() + "]");
 		try {
 			logger.debug("Filling user template[name{}]", template.getName());
 
-			if (Templates.hasExpression(template, "<#list links as link>")) {
-				fillLinks(dataModel);
-			}
-
-			if (Templates.hasExpression(template, "<#list tags as tag>")) {
-				fillTags(dataModel);
-			}
+			final TemplateCapabilities capabilities = Templates
+					.getCapabilities((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), template);
 
-			if (Templates.hasExpression(template, "<#list recentComments as comment>")) {
-				fillRecentComments(dataModel, preference);
+			if (capabilities.hasList("links")) {
+				fillers.put("links", this::fillLinks);
 			}
 
-			if (Templates.hasExpression(template, "<#list mostUsedCategories as category>")) {
-				fillMostUsedCategories(dataModel, preference);
+			if (capabilities.hasList("tags")) {
+				fillers.put("tags", this::fillTags);
 			}
 
-			if (Templates.hasExpression(template, "<#list mostUsedTags as tag>")) {
-				fillMostUsedTags(dataModel, preference);
-			}
-
-			if (Templates.hasExpression(template, "<#list mostCommentArticles as article>")) {
-				fillMostCommentArticles(dataModel, preference);
-			}
+			putSideFillers(fillers, capabilities, preference);
 
-			if (Templates.hasExpression(template, "<#list mostViewCountArticles as article>")) {
-				fillMostViewCountArticles(dataModel, preference);
-			}
-
-			if (Templates.hasExpression(template, "<#list archiveDates as archiveDate>")) {
-				fillArchiveDates(dataModel, preference);
-			}
-
-			if (Templates.hasExpression(template, "<#include \"side.ftl\"/>")) {
-				fillSide(request, dataModel, preference);
+			if (capabilities.hasInclude("side.ftl")) {
+				fillSide(request, dataModel, preference, fillers);
 			}
 
 			final String noticeBoard = preference.getString(Option.ID_C_NOTICE_BOARD);
@@ -947,6 +953,69 @@ public class Filler {
 		}
 	}
 
+	/**
+	 * Puts the fillers of side lists listed by a template with the specified
+	 * capabilities into the specified fillers.
+	 *
+	 * @param fillers
+	 *            the specified fillers
+	 * @param capabilities
+	 *            the specified capabilities
+	 * @param preference
+	 *            the specified preference
+	 */
+	private void putSideFillers(final Map<String, FillerEngine.Task> fillers,
+			final TemplateCapabilities capabilities, final JSONObject preference) {
+		if (capabilities.hasList("recentComments")) {
+			fillers.put("recentComments", model -> fillRecentComments(model, preference));
+		}
+
+		if (capabilities.hasList("mostUsedCategories")) {
+			fillers.put("mostUsedCategories", model -> fillMostUsedCategories(model, preference));
+		}
+
+		if (capabilities.hasList("mostUsedTags")) {
+			fillers.put("mostUsedTags", model -> fillMostUsedTags(model, preference));
+		}
+
+		if (capabilities.hasList("mostCommentArticles")) {
+			fillers.put("mostCommentArticles", model -> fillMostCommentArticles(model, preference));
+		}
+
+		if (capabilities.hasList("mostViewCountArticles")) {
+			fillers.put("mostViewCountArticles", model -> fillMostViewCountArticles(model, preference));
+		}
+
+		if (capabilities.hasList("archiveDates")) {
+			fillers.put("archiveDates", model -> fillArchiveDates(model, preference));
+		}
+	}
+
+	/**
+	 * Fills users and the admin.
+	 *
+	 * @param dataModel
+	 *            data model
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	private void fillUsers(final Map<String, Object> dataModel) throws ServiceException {
+		Stopwatchs.start("Fill Users");
+		try {
+			final JSONObject result = userDao.get(new Query().setPageCount(1));
+			final JSONArray users = result.getJSONArray(Keys.RESULTS);
+			final List<JSONObject> userList = CollectionUtils.jsonArrayToList(users);
+
+			dataModel.put(User.USERS, userList);
+			dataModel.put(Common.ADMIN_USER, userDao.getAdmin());
+		} catch (final JSONException | RepositoryException e) {
+			logger.error("Fills users failed", e);
+			throw new ServiceException(e);
+		} finally {
+			Stopwatchs.end();
+		}
+	}
+
 	/**
 	 * Fills page navigations.
 	 *
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service.html;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.b3log.solo.frame.trace.RequestTraces;
+import org.b3log.solo.service.ServiceException;
+import org.b3log.solo.util.PropsUtil;
+import org.b3log.solo.util.Stopwatchs;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+/**
+ * Filler engine, runs independent data model fillers concurrently.
+ *
+ * <p>
+ * Each filler fills its own data model, which is merged into the target data
+ * model after all fillers finished, in the order they were specified. The
+ * fillers of one {@link #fill(Map, Map) fill} share a deadline of
+ * "filler.timeout" milliseconds. If a filler fails or misses the deadline,
+ * the data model it filled last time successfully is used instead, the
+ * filler keeps running and refreshes that value when it finishes.
+ * </p>
+ *
+ * <p>
+ * The last good data models are shared by all requests, so they are stored
+ * and handed out as deep copies of their {@link JSONObject}, {@link JSONArray},
+ * {@link List} and {@link Map} values, a request modifying its data model
+ * never changes the fallback. A filler's copy is refreshed at most once per
+ * "filler.snapshotInterval" milliseconds, not on every request.
+ * </p>
+ *
+ * <p>
+ * Fillers run on a bounded pool ("filler.poolSize" threads, "filler.queueSize"
+ * waiting fillers), a filler is run on the caller thread if the pool is
+ * saturated. Fillers must not touch the servlet request or response.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.4.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+@Service
+public class FillerEngine implements DisposableBean {
+
+	/**
+	 * Logger.
+	 */
+	private static Logger logger = LoggerFactory.getLogger(FillerEngine.class);
+
+	/**
+	 * Pool size.
+	 */
+	private static final int POOL_SIZE = PropsUtil.getInteger("filler.poolSize",
+			Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+	/**
+	 * Queue size.
+	 */
+	private static final int QUEUE_SIZE = PropsUtil.getInteger("filler.queueSize", 256);
+
+	/**
+	 * Timeout of all fillers of one fill in milliseconds.
+	 */
+	private static final long TIMEOUT = PropsUtil.getInteger("filler.timeout", 3000);
+
+	/**
+	 * Minimum interval in milliseconds between two copies of the data model of
+	 * a filler.
+	 */
+	private static final long SNAPSHOT_INTERVAL = PropsUtil.getInteger("filler.snapshotInterval", 60000);
+
+	/**
+	 * Copies of the data models filled successfully, &lt;fillerName,
+	 * snapshot&gt;.
+	 */
+	private final ConcurrentMap<String, Snapshot> lastGoodDataModels = new ConcurrentHashMap<>();
+
+	/**
+	 * Executor.
+	 */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Constructs the filler engine.
+	 */
+	public FillerEngine() {
+		final AtomicInteger threadNum = new AtomicInteger();
+
+		executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), runnable -> {
+					final Thread ret = new Thread(runnable, "Filler-" + threadNum.incrementAndGet());
+
+					ret.setDaemon(true);
+
+					return ret;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Runs the specified fillers concurrently and merges their data models
+	 * into the specified data model.
+	 *
+	 * @param dataModel
+	 *            the specified data model
+	 * @param fillers
+	 *            the specified fillers, &lt;fillerName, task&gt;
+	 * @throws ServiceException
+	 *             if a filler failed and has never succeeded before
+	 */
+	public void fill(final Map<String, Object> dataModel, final Map<String, Task> fillers)
+			throws ServiceException {
+		if (fillers.isEmpty()) {
+			return;
+		}
+
+		final Map<String, Future<Map<String, Object>>> futures = new LinkedHashMap<>();
+		final RequestTraces.Trace trace = RequestTraces.current();
+
+		for (final Map.Entry<String, Task> filler : fillers.entrySet()) {
+			final String name = filler.getKey();
+
+			futures.put(name, executor.submit(() -> run(name, filler.getValue(), trace)));
+		}
+
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+		for (final Map.Entry<String, Future<Map<String, Object>>> future : futures.entrySet()) {
+			final String name = future.getKey();
+			Map<String, Object> filled;
+
+			try {
+				filled = future.getValue().get(Math.max(0, deadline - System.currentTimeMillis()),
+						TimeUnit.MILLISECONDS);
+			} catch (final TimeoutException e) {
+				logger.warn("Filler [{}] timed out, uses its last good data model", name);
+
+				filled = getLastGood(name, e);
+			} catch (final ExecutionException e) {
+				logger.error("Filler [" + name + "] failed, uses its last good data model", e.getCause());
+
+				filled = getLastGood(name, e.getCause());
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+
+				filled = getLastGood(name, e);
+			}
+
+			dataModel.putAll(filled);
+		}
+	}
+
+	/**
+	 * Runs the specified filler.
+	 *
+	 * @param name
+	 *            the specified filler name
+	 * @param filler
+	 *            the specified filler
+	 * @param trace
+	 *            the request trace the database calls of the filler are
+	 *            recorded into, may be {@code null}
+	 * @return filled data model
+	 * @throws ServiceException
+	 *             service exception
+	 */
+	private Map<String, Object> run(final String name, final Task filler, final RequestTraces.Trace trace)
+			throws ServiceException {
+		final boolean pooled = Thread.currentThread().getName().startsWith("Filler-");
+		final Map<String, Object> ret = new HashMap<>();
+
+		if (pooled) {
+			RequestTraces.attach(trace);
+		}
+
+		try {
+			filler.fill(ret);
+		} finally {
+			if (pooled) {
+				RequestTraces.detach();
+				Stopwatchs.release();
+			}
+		}
+
+		final Snapshot lastGood = lastGoodDataModels.get(name);
+		final long now = System.currentTimeMillis();
+
+		if (null == lastGood || now - lastGood.time >= SNAPSHOT_INTERVAL) {
+			lastGoodDataModels.put(name, new Snapshot(copy(ret), now));
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Gets the last good data model of a filler specified by the given name.
+	 *
+	 * @param name
+	 *            the given name
+	 * @param cause
+	 *            the cause of the fallback
+	 * @return a copy of the last good data model
+	 * @throws ServiceException
+	 *             if the filler has never succeeded
+	 */
+	private Map<String, Object> getLastGood(final String name, final Throwable cause) throws ServiceException {
+		final Snapshot ret = lastGoodDataModels.get(name);
+
+		if (null == ret) {
+			throw new ServiceException("Filler [" + name + "] failed and has no last good data model: " + cause);
+		}
+
+		return copy(ret.dataModel);
+	}
+
+	/**
+	 * Deep copies the specified data model.
+	 *
+	 * @param dataModel
+	 *            the specified data model
+	 * @return copy
+	 */
+	private static Map<String, Object> copy(final Map<String, Object> dataModel) {
+		final Map<String, Object> ret = new HashMap<>(dataModel.size() * 2);
+
+		for (final Map.Entry<String, Object> entry : dataModel.entrySet()) {
+			ret.put(entry.getKey(), copyValue(entry.getValue()));
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Deep copies the specified value, {@link JSONObject}, {@link JSONArray},
+	 * {@link List} and {@link Map} are copied, other values are returned as
+	 * they are.
+	 *
+	 * @param value
+	 *            the specified value
+	 * @return copy
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object copyValue(final Object value) {
+		if (value instanceof JSONObject) {
+			final JSONObject jsonObject = (JSONObject) value;
+			final JSONObject ret = new JSONObject();
+			final Iterator<String> keys = jsonObject.keys();
+
+			while (keys.hasNext()) {
+				final String key = keys.next();
+
+				ret.put(key, copyValue(jsonObject.opt(key)));
+			}
+
+			return ret;
+		}
+
+		if (value instanceof JSONArray) {
+			final JSONArray jsonArray = (JSONArray) value;
+			final JSONArray ret = new JSONArray();
+
+			for (int i = 0; i < jsonArray.length(); i++) {
+				ret.put(copyValue(jsonArray.opt(i)));
+			}
+
+			return ret;
+		}
+
+		if (value instanceof List) {
+			final List<Object> list = (List<Object>) value;
+			final List<Object> ret = new ArrayList<>(list.size());
+
+			for (final Object element : list) {
+				ret.add(copyValue(element));
+			}
+
+			return ret;
+		}
+
+		if (value instanceof Map) {
+			final Map<Object, Object> map = (Map<Object, Object>) value;
+			final Map<Object, Object> ret = new LinkedHashMap<>(map.size() * 2);
+
+			for (final Map.Entry<Object, Object> entry : map.entrySet()) {
+				ret.put(entry.getKey(), copyValue(entry.getValue()));
+			}
+
+			return ret;
+		}
+
+		return value;
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Filler task, fills a data model.
+	 */
+	@FunctionalInterface
+	public interface Task {
+
+		/**
+		 * Fills the specified data model.
+		 *
+		 * @param dataModel
+		 *            the specified data model
+		 * @throws ServiceException
+		 *             service exception
+		 */
+		void fill(final Map<String, Object> dataModel) throws ServiceException;
+	}
+
+	/**
+	 * Copy of a data model with the time it was taken.
+	 */
+	private static final class Snapshot {
+
+		/**
+		 * Data model.
+		 */
+		private final Map<String, Object> dataModel;
+
+		/**
+		 * Time in milliseconds.
+		 */
+		private final long time;
+
+		/**
+		 * Constructs a snapshot with the specified data model and time.
+		 *
+		 * @param dataModel
+		 *            the specified data model
+		 * @param time
+		 *            the specified time
+		 */
+		private Snapshot(final Map<String, Object> dataModel, final long time) {
+			this.dataModel = dataModel;
+			this.time = time;
+		}
+	}
+}
@@ -24,13 +24,13 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.b3log.solo.Keys;
+import org.b3log.solo.frame.cache.PageCaches;
 import org.b3log.solo.model.Common;
 import org.b3log.solo.model.Role;
 import org.b3log.solo.model.User;
 import org.b3log.solo.renderer.ConsoleRenderer;
 import org.b3log.solo.service.LangPropsService;
 import org.b3log.solo.service.ServiceException;
-import org.b3log.solo.service.StatisticQueryService;
 import org.b3log.solo.service.UserMgmtService;
 import org.b3log.solo.service.UserQueryService;
 import org.b3log.solo.service.UserService;
@@ -51,7 +51,7 @@ import freemarker.template.TemplateException;
  *
  * @author <a href="http://cxy7.com">XyCai</a>
  * @author <a href="mailto:dongxu.wang@acm.org">Dongxu Wang</a>
- * @version 1.0.1.5, Apr 10, 2013
+ * @version 1.0.1.6, Oct 17, 2026
  * @since 0.3.5
  */
 @Service
@@ -114,7 +114,7 @@ public class TopBars {
 			topBarModel.put("mobileLabel", langPropsService.get("mobileLabel"));
 
 			topBarModel.put("onlineVisitor1Label", langPropsService.get("onlineVisitor1Label"));
-			topBarModel.put(Common.ONLINE_VISITOR_CNT, StatisticQueryService.getOnlineVisitorCount());
+			topBarModel.put(Common.ONLINE_VISITOR_CNT, PageCaches.getOnlineVisitorCount(request));
 
 			if (null == currentUser) {
 				topBarModel.put(Common.LOGIN_URL, userService.createLoginURL(Common.ADMIN_INDEX_URI));
@@ -15,26 +15,47 @@
  */
 package org.b3log.solo.util;
 
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Id utilities.
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.3, Sep 29, 2011
+ * @version 2.0.0.0, Oct 17, 2026
  */
 public final class Ids {
 
 	/**
-	 * Lock for unique id generation.
+	 * Count of ids could be generated in one millisecond.
 	 */
-	private static final Lock ID_GEN_LOCK = new ReentrantLock();
+	private static final long SEQUENCE_LIMIT = 1000;
 
 	/**
-	 * Sleep millisecond.
+	 * Upper bound (exclusive) of node id.
 	 */
-	private static final long ID_GEN_SLEEP_MILLIS = 50;
+	private static final int NODE_ID_LIMIT = 1000;
+
+	/**
+	 * Node id suffix, configured by "keyGen.nodeId" (0 - 999), each instance
+	 * sharing the same database should use a distinct node id.
+	 */
+	private static final String NODE_ID_SUFFIX;
+
+	/**
+	 * The last generated id (without node id suffix), time millis *
+	 * {@value #SEQUENCE_LIMIT} + sequence.
+	 */
+	private static final AtomicLong LAST_ID = new AtomicLong();
+
+	static {
+		final int nodeId = PropsUtil.getInteger("keyGen.nodeId", 0);
+
+		if (0 > nodeId || NODE_ID_LIMIT <= nodeId) {
+			throw new IllegalArgumentException("keyGen.nodeId [" + nodeId + "] should be in [0, " + NODE_ID_LIMIT + ")");
+		}
+
+		NODE_ID_SUFFIX = String.format("%03d", nodeId);
+	}
 
 	/**
 	 * Private default constructor.
@@ -43,30 +64,35 @@ public final class Ids {
 	}
 
 	/**
-	 * Gets current date time string.
+	 * Generates a time ordered unique id.
 	 *
 	 * <p>
-	 * <b>Note</b>: This method is not safe in cluster environment.
+	 * The id is composed of the current time millis (13 digits), a sequence in
+	 * the millisecond (3 digits) and the node id (3 digits), for example,
+	 * {@code 1508212352117002000}. Ids generated later are always greater
+	 * (both in numeric and in string comparison) than the earlier ones, which
+	 * includes the pure time millis ids generated by the previous versions.
 	 * </p>
 	 *
-	 * @return a time millis string
+	 * <p>
+	 * This method is lock-free, if the sequence of the current millisecond
+	 * runs out or the clock moves backwards, the next millisecond will be
+	 * borrowed rather than waiting for it.
+	 * </p>
+	 *
+	 * @return a time ordered unique id
 	 */
-	public static synchronized String genTimeMillisId() {
-		String ret = null;
+	public static String genTimeMillisId() {
+		final long now = System.currentTimeMillis() * SEQUENCE_LIMIT;
 
-		ID_GEN_LOCK.lock();
-		try {
-			ret = String.valueOf(System.currentTimeMillis());
+		long last;
+		long next;
 
-			try {
-				Thread.sleep(ID_GEN_SLEEP_MILLIS);
-			} catch (final InterruptedException e) {
-				throw new RuntimeException("Generates time millis id fail");
-			}
-		} finally {
-			ID_GEN_LOCK.unlock();
-		}
+		do {
+			last = LAST_ID.get();
+			next = Math.max(now, last + 1);
+		} while (!LAST_ID.compareAndSet(last, next));
 
-		return ret;
+		return next + NODE_ID_SUFFIX;
 	}
 }
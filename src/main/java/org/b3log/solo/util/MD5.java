@@ -15,83 +15,159 @@
  */
 package org.b3log.solo.util;
 
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * MD5 hash.
  *
+ * <p>
+ * Strings are hashed with their UTF-8 bytes, hashes are encoded in lower case
+ * hex. Thread-safe, each thread holds its own message digest.
+ * </p>
+ *
+ * <p>
+ * <b>Note</b>: Before 2.0.0 only the low 8 bits of each char were hashed,
+ * which differs for non-ASCII strings, use {@link #matches(String, String)}
+ * to verify hashes stored before and {@link #needsRehash(String, String)} to
+ * find the ones to replace.
+ * </p>
+ *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.4, Dec 3, 2010
+ * @version 2.0.1.0, Oct 17, 2026
  */
 public final class MD5 {
 
 	/**
-	 * Logger.
+	 * Message digest of each thread.
 	 */
-	private static Logger logger = LoggerFactory.getLogger(MD5.class);
+	private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 is not supported", e);
+		}
+	});
 
 	/**
-	 * Message digest.
+	 * Hex chars of each byte, the high digit of byte b at [b * 2] and the
+	 * low digit at [b * 2 + 1].
 	 */
-	private static MessageDigest messageDigest;
+	private static final char[] HEX_PAIRS = new char[256 * 2];
+
+	static {
+		final char[] digits = "0123456789abcdef".toCharArray();
+
+		for (int b = 0; b < 256; b++) {
+			HEX_PAIRS[b * 2] = digits[b >>> 4];
+			HEX_PAIRS[b * 2 + 1] = digits[b & 0x0f];
+		}
+	}
 
 	/**
-	 * Low 8 bits all sets to 1.
+	 * Private default constructor.
 	 */
-	private static final int LOW_8_BITS_1 = 0xff;
+	private MD5() {
+	}
 
 	/**
-	 * Append size.
+	 * Hashs(MD5) the specified string.
+	 *
+	 * @param string
+	 *            the specified string
+	 * @return hashed string from the specified string
 	 */
-	private static final int APPEND_SIZE = 16;
+	public static String hash(final String string) {
+		return hash(string.getBytes(StandardCharsets.UTF_8));
+	}
 
 	/**
-	 * Private default constructor.
+	 * Hashs(MD5) the specified bytes.
+	 *
+	 * @param bytes
+	 *            the specified bytes
+	 * @return hashed string from the specified bytes
 	 */
-	private MD5() {
+	public static String hash(final byte[] bytes) {
+		return toHex(MESSAGE_DIGEST.get().digest(bytes));
 	}
 
-	static {
-		try {
-			messageDigest = MessageDigest.getInstance("MD5");
-		} catch (final NoSuchAlgorithmException e) {
-			logger.error(e.getMessage(), e);
-			throw new RuntimeException(e);
+	/**
+	 * Checks whether the specified string matches the specified hash, which
+	 * may be hashed by this version or a version before 2.0.0.
+	 *
+	 * @param string
+	 *            the specified string, for example a password
+	 * @param hashed
+	 *            the specified hash
+	 * @return {@code true} if matches, returns {@code false} otherwise
+	 */
+	public static boolean matches(final String string, final String hashed) {
+		if (hash(string).equals(hashed)) {
+			return true;
 		}
+
+		for (int i = 0; i < string.length(); i++) {
+			if (string.charAt(i) > 0x7f) { // Hashed differently before 2.0.0
+				return hashLegacy(string).equals(hashed);
+			}
+		}
+
+		return false;
 	}
 
 	/**
-	 * Hashs(MD5) the specified string.
+	 * Checks whether the specified hash, which the specified string
+	 * {@link #matches(String, String) matches}, was hashed by a version before
+	 * 2.0.0 and should be replaced with {@link #hash(String)}.
+	 *
+	 * @param string
+	 *            the specified string, for example a password
+	 * @param hashed
+	 *            the specified hash
+	 * @return {@code true} if it should be replaced, returns {@code false}
+	 *         otherwise
+	 */
+	public static boolean needsRehash(final String string, final String hashed) {
+		return !hash(string).equals(hashed);
+	}
+
+	/**
+	 * Hashs(MD5) the specified string as versions before 2.0.0, with the low 8
+	 * bits of each char.
 	 *
 	 * @param string
 	 *            the specified string
 	 * @return hashed string from the specified string
 	 */
-	public static String hash(final String string) {
-		final char[] charArray = string.toCharArray();
-		final byte[] byteArray = new byte[charArray.length];
+	private static String hashLegacy(final String string) {
+		final byte[] bytes = new byte[string.length()];
 
-		for (int i = 0; i < charArray.length; i++) {
-			byteArray[i] = (byte) charArray[i];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) string.charAt(i);
 		}
 
-		final byte[] bytes = messageDigest.digest(byteArray);
-		final StringBuffer hexValue = new StringBuffer();
+		return hash(bytes);
+	}
+
+	/**
+	 * Encodes the specified bytes in lower case hex.
+	 *
+	 * @param bytes
+	 *            the specified bytes
+	 * @return hex string
+	 */
+	private static String toHex(final byte[] bytes) {
+		final char[] ret = new char[bytes.length * 2];
 
 		for (int i = 0; i < bytes.length; i++) {
-			final int val = (bytes[i]) & LOW_8_BITS_1;
-
-			if (val < APPEND_SIZE) {
-				hexValue.append("0");
-			}
+			final int b = bytes[i] & 0xff;
 
-			hexValue.append(Integer.toHexString(val));
+			ret[i * 2] = HEX_PAIRS[b * 2];
+			ret[i * 2 + 1] = HEX_PAIRS[b * 2 + 1];
 		}
 
-		return hexValue.toString();
+		return new String(ret);
 	}
 }
@@ -24,6 +24,8 @@ import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.b3log.solo.SoloConstant;
+import org.json.JSONArray;
+import org.json.JSONObject;
 
 /**
  * Stop watch utilities for timing of a thread of tasks.
@@ -90,9 +92,10 @@ import org.b3log.solo.SoloConstant;
  * <p>
  *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.0.3, May 30, 2012
+ * @version 1.1.0.0, Oct 17, 2026
  * @see org.b3log.solo.util.Stopwatchs.Stopwatch
  * @see Stopwatchs#getTimingStat()
+ * @see Stopwatchs#getTimingTree()
  */
 public final class Stopwatchs {
 
@@ -146,6 +149,19 @@ public final class Stopwatchs {
 		recent.setEndTime(System.currentTimeMillis()); // Ends timing
 	}
 
+	/**
+	 * Ends the timing of all running tasks, includes the root task.
+	 */
+	public static void endAll() {
+		final Stopwatch root = STOPWATCH.get();
+
+		if (null == root) {
+			return;
+		}
+
+		root.endRunning(System.currentTimeMillis());
+	}
+
 	/**
 	 * Releases the thread-local stopwatch.
 	 *
@@ -182,6 +198,33 @@ public final class Stopwatchs {
 		return stringBuilder.toString();
 	}
 
+	/**
+	 * Gets the current timing statistics as a tree.
+	 *
+	 * <pre>
+	 * {
+	 *     "title": "task 1",
+	 *     "elapsed": 80, // milliseconds
+	 *     "leaves": [{
+	 *         "title": "task 1.1",
+	 *         "elapsed": 50,
+	 *         "leaves": []
+	 *     }, ....]
+	 * }
+	 * </pre>
+	 *
+	 * @return the current timing tree, returns {@code null} if not stopwatch
+	 */
+	public static JSONObject getTimingTree() {
+		final Stopwatch root = STOPWATCH.get();
+
+		if (null == root) {
+			return null;
+		}
+
+		return root.toTimingTree();
+	}
+
 	/**
 	 * Gets elapsed time from the specified parent stopwatch with the specified
 	 * task title.
@@ -460,6 +503,40 @@ public final class Stopwatchs {
 			return getElapsedTime() / rootElapsedTime * HUNDRED;
 		}
 
+		/**
+		 * Ends this stopwatch and all its running leaves with the specified
+		 * end time.
+		 *
+		 * @param time
+		 *            the specified end time
+		 */
+		private void endRunning(final long time) {
+			for (final Stopwatch leaf : leaves) {
+				leaf.endRunning(time);
+			}
+
+			if (isRunning()) {
+				endTime = time;
+			}
+		}
+
+		/**
+		 * Gets the timing tree of this stopwatch.
+		 *
+		 * @return timing tree
+		 */
+		private JSONObject toTimingTree() {
+			final JSONArray leafTrees = new JSONArray();
+
+			for (final Stopwatch leaf : leaves) {
+				leafTrees.put(leaf.toTimingTree());
+			}
+
+			final long elapsed = isEnded() ? getElapsedTime() : System.currentTimeMillis() - startTime;
+
+			return new JSONObject().put("title", taskTitle).put("elapsed", elapsed).put("leaves", leafTrees);
+		}
+
 		/**
 		 * Appends the timing statistics with the specified string builder.
 		 *
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.util.freemarker;
+
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
+import freemarker.core.TemplateElement;
+import freemarker.template.Template;
+
+/**
+ * Capabilities of a parsed template: sources of its {@code <#list>}
+ * directives and templates it includes. Computed once by walking the template
+ * tree, then all lookups are O(1).
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.1.0, Oct 17, 2026
+ * @since 2.0.0
+ * @see Templates#getCapabilities(String, String)
+ */
+public final class TemplateCapabilities {
+
+	/**
+	 * List directive prefix.
+	 */
+	private static final String LIST_PREFIX = "<#list ";
+
+	/**
+	 * Include directive prefix.
+	 */
+	private static final String INCLUDE_PREFIX = "<#include ";
+
+	/**
+	 * Sources of list directives, for example "recentArticles" of
+	 * {@code <#list recentArticles as article>}.
+	 */
+	private final Set<String> listSources = new HashSet<>();
+
+	/**
+	 * Names of included templates, for example "side.ftl".
+	 */
+	private final Set<String> includes = new HashSet<>();
+
+	/**
+	 * Computes the capabilities of the specified template.
+	 *
+	 * @param template
+	 *            the specified template
+	 */
+	public TemplateCapabilities(final Template template) {
+		collect(template.getRootTreeNode());
+	}
+
+	/**
+	 * Checks whether the template lists the specified source.
+	 *
+	 * @param source
+	 *            the specified source, for example "recentArticles"
+	 * @return {@code true} if it lists, returns {@code false} otherwise
+	 */
+	public boolean hasList(final String source) {
+		return listSources.contains(source);
+	}
+
+	/**
+	 * Checks whether the template includes a template specified by the given
+	 * name.
+	 *
+	 * @param templateName
+	 *            the given name, for example "side.ftl"
+	 * @return {@code true} if it includes, returns {@code false} otherwise
+	 */
+	public boolean hasInclude(final String templateName) {
+		return includes.contains(templateName);
+	}
+
+	/**
+	 * Collects capabilities from the specified element and its children.
+	 *
+	 * @param templateElement
+	 *            the specified element
+	 */
+	private void collect(final TemplateElement templateElement) {
+		final String nodeName = templateElement.getNodeName();
+
+		if ("IteratorBlock".equals(nodeName)) {
+			final String canonicalForm = templateElement.getCanonicalForm();
+
+			if (canonicalForm.startsWith(LIST_PREFIX)) {
+				listSources.add(leadingToken(canonicalForm, LIST_PREFIX.length()));
+			}
+		} else if ("Include".equals(nodeName)) {
+			final String canonicalForm = templateElement.getCanonicalForm();
+
+			if (canonicalForm.startsWith(INCLUDE_PREFIX)) {
+				includes.add(unquote(leadingToken(canonicalForm, INCLUDE_PREFIX.length())));
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		final Enumeration<TemplateElement> children = templateElement.children();
+
+		while (children.hasMoreElements()) {
+			collect(children.nextElement());
+		}
+	}
+
+	/**
+	 * Gets the token starts from the specified index of the specified string,
+	 * ends with a whitespace, "/" or "&gt;".
+	 *
+	 * @param string
+	 *            the specified string
+	 * @param beginIndex
+	 *            the specified index
+	 * @return token
+	 */
+	private static String leadingToken(final String string, final int beginIndex) {
+		int end = beginIndex;
+
+		while (end < string.length()) {
+			final char c = string.charAt(end);
+
+			if (Character.isWhitespace(c) || '>' == c || ('/' == c && end + 1 < string.length()
+					&& '>' == string.charAt(end + 1))) {
+				break;
+			}
+
+			end++;
+		}
+
+		return string.substring(beginIndex, end);
+	}
+
+	/**
+	 * Removes the surrounding quotes of the specified string.
+	 *
+	 * @param string
+	 *            the specified string
+	 * @return unquoted string
+	 */
+	private static String unquote(final String string) {
+		if (2 <= string.length() && ('"' == string.charAt(0) || '\'' == string.charAt(0))) {
+			return string.substring(1, string.length() - 1);
+		}
+
+		return string;
+	}
+}
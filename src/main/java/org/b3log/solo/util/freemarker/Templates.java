@@ -16,24 +16,38 @@
 package org.b3log.solo.util.freemarker;
 
 import java.io.IOException;
-import java.util.Enumeration;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.servlet.ServletContext;
 
+import org.b3log.solo.util.PropsUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.context.ContextLoader;
 
-import freemarker.core.TemplateElement;
+import freemarker.cache.MruCacheStorage;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import freemarker.template.TemplateExceptionHandler;
 
 /**
  * Utilities of <a href="http://www.freemarker.org">FreeMarker</a> template
  * engine.
  *
+ * <p>
+ * Each template directory (skin) has its own {@link Configuration
+ * configuration} with a stable template loader, so FreeMarker template cache
+ * works and concurrent requests for different skins do not interfere. Parsed
+ * templates are also held in a per-skin map and served from it without
+ * touching the configuration, they are checked for modification at most every
+ * "template.updateDelay" seconds.
+ * </p>
+ *
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.0.1.3, May 22, 2012
+ * @version 2.1.1.0, Oct 17, 2026
  */
 public final class Templates {
 
@@ -43,19 +57,25 @@ public final class Templates {
 	private static Logger logger = LoggerFactory.getLogger(Templates.class);
 
 	/**
-	 * Main template {@link Configuration configuration}.
+	 * Template modification check delay in milliseconds, a negative value
+	 * means never check.
 	 */
-	public static final Configuration MAIN_CFG = new Configuration();
+	private static final long UPDATE_DELAY = PropsUtil.getInteger("template.updateDelay", 60) * 1000L;
 
 	/**
-	 * Mobile template {@link Configuration configuration}.
+	 * Maximum count of parsed templates strongly held by each configuration.
 	 */
-	public static final Configuration MOBILE_CFG = new Configuration();
+	private static final int CACHE_SIZE = PropsUtil.getInteger("template.cacheSize", 256);
 
-	static {
-		MAIN_CFG.setDefaultEncoding("UTF-8");
-		MOBILE_CFG.setDefaultEncoding("UTF-8");
-	}
+	/**
+	 * Skin templates, &lt;templateDirName, skinTemplates&gt;.
+	 */
+	private static final ConcurrentMap<String, SkinTemplates> SKIN_TEMPLATES = new ConcurrentHashMap<>();
+
+	/**
+	 * Time zone of all configurations.
+	 */
+	private static volatile TimeZone timeZone = TimeZone.getDefault();
 
 	/**
 	 * Private default constructor.
@@ -64,57 +84,84 @@ public final class Templates {
 	}
 
 	/**
-	 * Determines whether exists a variable specified by the given expression in
-	 * the specified template.
-	 * 
-	 * @param template
-	 *            the specified template
-	 * @param expression
-	 *            the given expression, for example, "${aVariable}", "&lt;#list
-	 *            recentComments as comment&gt;"
-	 * @return {@code true} if it exists, returns {@code false} otherwise
+	 * Gets the {@link Configuration configuration} of the specified template
+	 * directory.
+	 *
+	 * @param templateDirName
+	 *            the specified template directory name
+	 * @return configuration
+	 */
+	public static Configuration getConfiguration(final String templateDirName) {
+		return getSkinTemplates(templateDirName).configuration;
+	}
+
+	/**
+	 * Sets time zone of all configurations with the specified time zone.
+	 *
+	 * @param timeZone
+	 *            the specified time zone
 	 */
-	public static boolean hasExpression(final Template template, final String expression) {
-		final TemplateElement rootTreeNode = template.getRootTreeNode();
+	public static void setTimeZone(final TimeZone timeZone) {
+		Templates.timeZone = timeZone;
 
-		return hasExpression(template, expression, rootTreeNode);
+		for (final SkinTemplates skinTemplates : SKIN_TEMPLATES.values()) {
+			skinTemplates.configuration.setTimeZone(timeZone);
+		}
 	}
 
 	/**
-	 * Determines whether the specified expression exists in the specified
-	 * element (includes its children) of the specified template.
-	 * 
-	 * @param template
-	 *            the specified template
-	 * @param expression
-	 *            the specified expression
-	 * @param templateElement
-	 *            the specified element
-	 * @return {@code true} if it exists, returns {@code false} otherwise
+	 * Warms up the specified template directory, parses all templates (*.ftl)
+	 * directly under it.
+	 *
+	 * @param templateDirName
+	 *            the specified template directory name
 	 */
-	private static boolean hasExpression(final Template template, final String expression,
-			final TemplateElement templateElement) {
-		final String canonicalForm = templateElement.getCanonicalForm();
+	public static void warm(final String templateDirName) {
+		final ServletContext servletContext = ContextLoader.getCurrentWebApplicationContext().getServletContext();
+		final Set<String> resourcePaths = servletContext.getResourcePaths("/skins/" + templateDirName + "/");
 
-		if (canonicalForm.startsWith(expression)) {
-			logger.trace("Template has expression[nodeName={}, expression={}]",
-					new Object[] { templateElement.getNodeName(), expression });
+		if (null == resourcePaths) {
+			logger.warn("Not found template directory [{}]", templateDirName);
 
-			return true;
+			return;
 		}
 
-		@SuppressWarnings("unchecked")
-		final Enumeration<TemplateElement> children = templateElement.children();
+		int count = 0;
 
-		while (children.hasMoreElements()) {
-			final TemplateElement nextElement = children.nextElement();
+		for (final String path : resourcePaths) {
+			if (!path.endsWith(".ftl")) {
+				continue;
+			}
 
-			if (hasExpression(template, expression, nextElement)) {
-				return true;
+			if (null != getTemplate(templateDirName, path.substring(path.lastIndexOf('/') + 1))) {
+				count++;
 			}
 		}
 
-		return false;
+		logger.debug("Warmed [{}] templates of [{}]", count, templateDirName);
+	}
+
+	/**
+	 * Gets the skin templates of the specified template directory, creates it
+	 * if not exists.
+	 *
+	 * @param templateDirName
+	 *            the specified template directory name
+	 * @return skin templates
+	 */
+	private static SkinTemplates getSkinTemplates(final String templateDirName) {
+		SkinTemplates ret = SKIN_TEMPLATES.get(templateDirName);
+
+		if (null != ret) {
+			return ret;
+		}
+
+		final ServletContext servletContext = ContextLoader.getCurrentWebApplicationContext().getServletContext();
+		final SkinTemplates newSkinTemplates = new SkinTemplates(servletContext, templateDirName);
+
+		ret = SKIN_TEMPLATES.putIfAbsent(templateDirName, newSkinTemplates);
+
+		return null == ret ? newSkinTemplates : ret;
 	}
 
 	/**
@@ -128,25 +175,162 @@ public final class Templates {
 	 * @return a template, returns {@code null} if not found
 	 */
 	public static Template getTemplate(final String templateDirName, final String templateName) {
+		final SkinTemplates skinTemplates = getSkinTemplates(templateDirName);
+		final long now = System.currentTimeMillis();
+		final ParsedTemplate parsed = skinTemplates.templates.get(templateName);
+
+		if (null != parsed && (0 > UPDATE_DELAY || now - parsed.checkTime < UPDATE_DELAY)) {
+			return parsed.template;
+		}
+
 		try {
-			ServletContext servletContext = ContextLoader.getCurrentWebApplicationContext().getServletContext();
-			MAIN_CFG.setServletContextForTemplateLoading(servletContext, "/skins/" + templateDirName);
-			MOBILE_CFG.setServletContextForTemplateLoading(servletContext, "/skins/" + templateDirName);
-			try {
-				if ("mobile".equals(templateDirName)) {
-					return MOBILE_CFG.getTemplate(templateName);
-				}
-			} catch (final Exception e) {
-				logger.error("Can not load mobile template[templateDirName={}, templateName={}]",
-						new Object[] { templateDirName, templateName });
-				return null;
-			}
+			final Template ret = skinTemplates.configuration.getTemplate(templateName);
+			final TemplateCapabilities capabilities = null != parsed && parsed.template == ret
+					? parsed.capabilities : new TemplateCapabilities(ret);
+
+			skinTemplates.templates.put(templateName, new ParsedTemplate(ret, capabilities, now));
 
-			return MAIN_CFG.getTemplate(templateName);
+			return ret;
 		} catch (final IOException e) {
-			logger.warn("Gets template[name={}] failed: [{}]", new Object[] { templateName, e.getMessage() });
+			logger.warn("Gets template[dirName={}, name={}] failed: [{}]",
+					new Object[] { templateDirName, templateName, e.getMessage() });
 
 			return null;
 		}
 	}
+
+	/**
+	 * Gets the {@link TemplateCapabilities capabilities} of a template
+	 * specified by the given template directory name and template name.
+	 *
+	 * <p>
+	 * The capabilities are computed once per parsed template, and recomputed
+	 * only if the template has been modified.
+	 * </p>
+	 *
+	 * @param templateDirName
+	 *            the given template directory name
+	 * @param templateName
+	 *            the given template name
+	 * @return capabilities, returns {@code null} if the template not found
+	 */
+	public static TemplateCapabilities getCapabilities(final String templateDirName, final String templateName) {
+		if (null == getTemplate(templateDirName, templateName)) {
+			return null;
+		}
+
+		final ParsedTemplate parsed = getSkinTemplates(templateDirName).templates.get(templateName);
+
+		return null == parsed ? null : parsed.capabilities;
+	}
+
+	/**
+	 * Gets the {@link TemplateCapabilities capabilities} of the specified
+	 * template of the given template directory.
+	 *
+	 * <p>
+	 * If the template can not be loaded by its name from the directory, it is
+	 * registered under its name, so its capabilities are computed only once
+	 * too.
+	 * </p>
+	 *
+	 * @param templateDirName
+	 *            the given template directory name
+	 * @param template
+	 *            the specified template
+	 * @return capabilities
+	 */
+	public static TemplateCapabilities getCapabilities(final String templateDirName, final Template template) {
+		final TemplateCapabilities ret = getCapabilities(templateDirName, template.getName());
+
+		if (null != ret) {
+			return ret;
+		}
+
+		final ParsedTemplate parsed = new ParsedTemplate(template, new TemplateCapabilities(template),
+				System.currentTimeMillis());
+		final ParsedTemplate registered = getSkinTemplates(templateDirName).templates.putIfAbsent(template.getName(),
+				parsed);
+
+		return (null == registered ? parsed : registered).capabilities;
+	}
+
+	/**
+	 * Templates of a skin.
+	 */
+	private static final class SkinTemplates {
+
+		/**
+		 * Configuration, the template loader is set once on construction.
+		 */
+		private final Configuration configuration;
+
+		/**
+		 * Parsed templates, &lt;templateName, parsedTemplate&gt;.
+		 */
+		private final ConcurrentMap<String, ParsedTemplate> templates = new ConcurrentHashMap<>();
+
+		/**
+		 * Constructs the templates of a skin specified by the given template
+		 * directory name.
+		 *
+		 * @param servletContext
+		 *            the specified servlet context
+		 * @param templateDirName
+		 *            the given template directory name
+		 */
+		private SkinTemplates(final ServletContext servletContext, final String templateDirName) {
+			configuration = new Configuration();
+
+			configuration.setDefaultEncoding("UTF-8");
+			configuration.setTimeZone(timeZone);
+			configuration.setServletContextForTemplateLoading(servletContext, "/skins/" + templateDirName);
+			configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+			configuration.setLogTemplateExceptions(false);
+			configuration.setCacheStorage(new MruCacheStorage(CACHE_SIZE, Integer.MAX_VALUE));
+			configuration.setTemplateUpdateDelayMilliseconds(0 > UPDATE_DELAY ? Long.MAX_VALUE : UPDATE_DELAY);
+
+			logger.debug("Created template configuration of [{}]", templateDirName);
+		}
+	}
+
+	/**
+	 * Parsed template with its capabilities and the time it was checked for
+	 * modification.
+	 */
+	private static final class ParsedTemplate {
+
+		/**
+		 * Template.
+		 */
+		private final Template template;
+
+		/**
+		 * Capabilities.
+		 */
+		private final TemplateCapabilities capabilities;
+
+		/**
+		 * Check time.
+		 */
+		private final long checkTime;
+
+		/**
+		 * Constructs a parsed template with the specified template,
+		 * capabilities and check time.
+		 *
+		 * @param template
+		 *            the specified template
+		 * @param capabilities
+		 *            the specified capabilities
+		 * @param checkTime
+		 *            the specified check time
+		 */
+		private ParsedTemplate(final Template template, final TemplateCapabilities capabilities,
+				final long checkTime) {
+			this.template = template;
+			this.capabilities = capabilities;
+			this.checkTime = checkTime;
+		}
+	}
 }
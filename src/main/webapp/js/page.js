@@ -18,7 +18,7 @@
  *
  * 
  * @author <a href="http://cxy7.com">XyCai</a>
- * @version 1.2.4.7, Mar 30, 2017
+ * @version 1.2.5.0, Oct 17, 2026
  */
 var Page = function (tips) {
     this.currentCommentId = "";
@@ -745,5 +745,42 @@ $.extend(Page.prototype, {
             $("#replyForm").remove();
         }
         window.location.hash = "#comments";
+    },
+    /*
+     * @description 加载下一页评论，追加到评论列表中
+     * @param {Dom} it 加载更多按钮，data-cursor 为下一页游标（取 attr，避免被转为数字）
+     * @param {String} listSelector 评论列表
+     */
+    loadMoreComments: function (it, listSelector) {
+        var $it = $(it);
+        if ($it.data("loading")) {
+            return;
+        }
+        $it.data("loading", true);
+
+        $.ajax({
+            url: latkeConfig.servePath + "/article/comments",
+            type: "GET",
+            cache: false,
+            data: {
+                "oId": this.tips.oId,
+                "cursor": $it.attr("data-cursor")
+            },
+            success: function (result) {
+                if (!result.sc) {
+                    return;
+                }
+
+                $(listSelector).append(Util.replaceEmString(result.cmtTpl));
+                if (result.paginationNextCursor) {
+                    $it.attr("data-cursor", result.paginationNextCursor);
+                } else {
+                    $it.remove();
+                }
+            },
+            complete: function () {
+                $it.data("loading", false);
+            }
+        });
     }
-});
\ No newline at end of file
+});
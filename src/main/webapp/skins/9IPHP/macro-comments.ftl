@@ -5,6 +5,10 @@
         <#include 'common-comment.ftl'/>
     </#list>
 </ul>
+<#if paginationNextCursor?has_content>
+<button class="comments-more" data-cursor="${paginationNextCursor}"
+        onclick="page.loadMoreComments(this, '#comments');">${moreCommentsLabel}</button>
+</#if>
 <#if article.commentable>
     <header class='title'><h2>${postCommentsLabel}</h2></header>
         <table id="commentForm" class="form">
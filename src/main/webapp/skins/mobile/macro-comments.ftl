@@ -4,41 +4,18 @@
 <div class="comment_wrapper" id="comments">
     <#if 0 lt commentList?size>
     <h3 onclick="bnc_showhide_coms_toggle();" id="com-head">
-        ${commentList?size} ${responses}
+        ${(article.articleCommentCount)!(commentList?size)} ${responses}
     </h3>
     </#if>
     <ol class="commentlist" id="commentlist">
         <#list commentList as comment>
-        <li id="${comment.oId}">
-            <div class="comwrap">
-                <div class="comtop"><!--TODO comment->comment_approved == '0') : comtop preview;-->
-                    <img alt='${comment.commentName}' src='${comment.commentThumbnailURL}' class='avatar avatar-64 photo' height='64' width='64' />
-                    <div class="com-author">
-                        <#if "http://" == comment.commentURL>
-                        <a>${comment.commentName}</a>
-                        <#else>
-                        <a href='${comment.commentURL}' rel='external nofollow' target="_blank" class='url'>${comment.commentName}</a>
-                        </#if>
-                        <#if comment.isReply>
-                        @
-                        <a href="${servePath}${article.permalink}#${comment.commentOriginalCommentId}">${comment.commentOriginalCommentName}</a>
-                        </#if>
-                    </div>
-                    <#if article.commentable>
-                    <div class="comdater">
-                        <!--<span>TODO wptouch_moderate_comment_link(get_comment_ID())</span>-->
-                        ${comment.commentDate?string("yyyy-MM-dd HH:mm:ss")}
-                        <a rel="nofollow" href="javascript:replyTo('${comment.oId}');">${replyLabel}</a>
-                    </div>	
-                    </#if>
-                </div><!--end comtop-->
-                <div class="combody">  
-                    <p>${comment.commentContent}</p>
-                </div>
-            </div>
-        </li>
+        <#include 'common-comment.ftl'/>
         </#list>
     </ol>
+    <#if paginationNextCursor?has_content>
+    <p><a class="comments-more" href="javascript:void(0);" data-cursor="${paginationNextCursor}"
+          onclick="page.loadMoreComments(this, '#commentlist');">${moreCommentsLabel}</a></p>
+    </#if>
     <#if article.commentable>
     <div id="textinputwrap">
         <div id="refresher" style="display:none;">
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.dao.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.b3log.solo.dao.repository.jdbc.util.JdbcRepositories;
+import org.json.JSONObject;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * {@link JdbcRepository} test case, runs against a mocked connection.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class JdbcRepositoryTestCase {
+
+	/**
+	 * Updating without property names writes the changed properties and keeps
+	 * the id of the caller's json object.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void updateWithoutPropertyNames() throws Exception {
+		final String keyName = JdbcRepositories.getDefaultKeyName();
+		final PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+		final Connection connection = Mockito.mock(Connection.class);
+
+		Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+
+		final JdbcRepository repository = Mockito.spy(new TestRepository());
+
+		Mockito.doReturn(new JSONObject().put(keyName, "1").put("title", "old")).when(repository).get("1");
+		Mockito.doReturn(connection).when(repository).getConnection();
+
+		final JSONObject jsonObject = new JSONObject().put(keyName, "1").put("title", "new");
+
+		repository.update("1", jsonObject);
+		repository.update("1", jsonObject, new String[0]);
+		repository.update("1", jsonObject, (String[]) null);
+
+		Assert.assertEquals(jsonObject.optString(keyName), "1");
+		Assert.assertEquals(jsonObject.optString("title"), "new");
+		Mockito.verify(connection, Mockito.times(3)).prepareStatement(Mockito.contains("set title=?"));
+		Mockito.verify(statement, Mockito.times(3)).setObject(1, "new");
+	}
+
+	/**
+	 * Repository of a test table.
+	 */
+	public static class TestRepository extends JdbcRepository {
+
+		@Override
+		public String getTableNamePostfix() {
+			return "test";
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.b3log.solo.frame.cache.PageCaches.CachedPage;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Statistic;
+import org.json.JSONObject;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * {@link PageCaches} test case.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.1.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class PageCachesTestCase {
+
+	/**
+	 * Placeholder of the online visitor count.
+	 */
+	private static final String PLACEHOLDER = "<!--onlineVisitorCnt-->";
+
+	/**
+	 * Placeholder of the blog view count.
+	 */
+	private static final String BLOG_VIEW_CNT = "<!--blogViewCnt-->";
+
+	/**
+	 * Placeholder of the article view count.
+	 */
+	private static final String ARTICLE_VIEW_CNT = "<!--articleViewCnt-->";
+
+	/**
+	 * A page without placeholder is served as it was rendered.
+	 *
+	 * @throws IOException
+	 *             io exception
+	 */
+	@Test
+	public void getBodyWithoutPlaceholder() throws IOException {
+		final String html = "<html><body>Solo 中文</body></html>";
+		final CachedPage page = CachedPage.of(html, null, false);
+
+		Assert.assertEquals(new String(page.getBody(false, "7"), StandardCharsets.UTF_8), html);
+		Assert.assertEquals(gunzip(page.getBody(true, "7")), html);
+	}
+
+	/**
+	 * The placeholders are replaced with the current value in both the
+	 * identity body and the gzip body.
+	 *
+	 * @throws IOException
+	 *             io exception
+	 */
+	@Test
+	public void getBodyWithPlaceholders() throws IOException {
+		final String[] htmls = {PLACEHOLDER, PLACEHOLDER + "<p>a</p>", "<p>a</p>" + PLACEHOLDER,
+				"<p>在线 " + PLACEHOLDER + "</p><p>" + PLACEHOLDER + PLACEHOLDER + "</p>", longPage()};
+
+		for (final String html : htmls) {
+			final CachedPage page = CachedPage.of(html, "1", false);
+
+			for (final String value : new String[] {"0", "42", "123456"}) {
+				final String expected = html.replace(PLACEHOLDER, value);
+
+				Assert.assertEquals(new String(page.getBody(false, value), StandardCharsets.UTF_8), expected);
+				Assert.assertEquals(gunzip(page.getBody(true, value)), expected);
+			}
+		}
+	}
+
+	/**
+	 * The placeholders of the online visitor count and the view counts are
+	 * replaced with their own values.
+	 *
+	 * @throws IOException
+	 *             io exception
+	 */
+	@Test
+	public void getBodyWithViewCounts() throws IOException {
+		final String html = "<p>" + BLOG_VIEW_CNT + "</p><p>" + PLACEHOLDER + "</p><p>" + ARTICLE_VIEW_CNT
+				+ BLOG_VIEW_CNT + "</p>";
+		final CachedPage page = CachedPage.of(html, "1", true);
+		final String expected = "<p>1024</p><p>3</p><p>5121024</p>";
+
+		Assert.assertTrue(page.isSkinCookie());
+		Assert.assertTrue(page.showsBlogViewCount());
+		Assert.assertTrue(page.showsArticleViewCount());
+		Assert.assertEquals(new String(page.getBody(false, "3", "1024", "512"), StandardCharsets.UTF_8), expected);
+		Assert.assertEquals(gunzip(page.getBody(true, "3", "1024", "512")), expected);
+
+		final CachedPage index = CachedPage.of("<p>" + BLOG_VIEW_CNT + "</p>", null, false);
+
+		Assert.assertFalse(index.isSkinCookie());
+		Assert.assertTrue(index.showsBlogViewCount());
+		Assert.assertFalse(index.showsArticleViewCount());
+	}
+
+	/**
+	 * The view counts of a page rendered for caching are replaced with
+	 * placeholders in copies, and resolved with the replaced values.
+	 */
+	@Test
+	public void hideViewCounts() {
+		final JSONObject statistic = new JSONObject().put(Statistic.STATISTIC_BLOG_VIEW_COUNT, 1024);
+		final JSONObject article = new JSONObject().put(Article.ARTICLE_VIEW_COUNT, 512);
+		final Map<String, Object> dataModel = new HashMap<>();
+
+		dataModel.put(Statistic.STATISTIC, statistic);
+		dataModel.put(Article.ARTICLE, article);
+
+		final HttpServletRequest request = new MockHttpServletRequest();
+
+		PageCaches.hideViewCounts(request, dataModel);
+		Assert.assertSame(dataModel.get(Article.ARTICLE), article);
+
+		PageCaches.prepare(request, "/articles/1.html");
+		PageCaches.hideViewCounts(request, dataModel);
+
+		final JSONObject hiddenStatistic = (JSONObject) dataModel.get(Statistic.STATISTIC);
+		final JSONObject hiddenArticle = (JSONObject) dataModel.get(Article.ARTICLE);
+
+		Assert.assertEquals(statistic.getInt(Statistic.STATISTIC_BLOG_VIEW_COUNT), 1024);
+		Assert.assertEquals(article.getInt(Article.ARTICLE_VIEW_COUNT), 512);
+		Assert.assertEquals(hiddenStatistic.getString(Statistic.STATISTIC_BLOG_VIEW_COUNT), BLOG_VIEW_CNT);
+		Assert.assertEquals(hiddenArticle.getString(Article.ARTICLE_VIEW_COUNT), ARTICLE_VIEW_CNT);
+		Assert.assertEquals(PageCaches.resolve(request, "<p>" + BLOG_VIEW_CNT + "</p><p>" + ARTICLE_VIEW_CNT + "</p>"),
+				"<p>1024</p><p>512</p>");
+	}
+
+	/**
+	 * Generates a long page, the deflated segments exceed the deflate buffer.
+	 *
+	 * @return long page
+	 */
+	private static String longPage() {
+		final Random random = new Random(17);
+		final StringBuilder ret = new StringBuilder();
+
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 20000; j++) {
+				ret.append((char) ('a' + random.nextInt(26)));
+			}
+
+			ret.append(PLACEHOLDER);
+		}
+
+		return ret.toString();
+	}
+
+	/**
+	 * Gunzips the specified bytes.
+	 *
+	 * @param bytes
+	 *            the specified bytes
+	 * @return gunzipped string
+	 * @throws IOException
+	 *             io exception
+	 */
+	private static String gunzip(final byte[] bytes) throws IOException {
+		try (final InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			final ByteArrayOutputStream ret = new ByteArrayOutputStream();
+			final byte[] buf = new byte[4096];
+			int len;
+
+			while (-1 != (len = inputStream.read(buf))) {
+				ret.write(buf, 0, len);
+			}
+
+			return new String(ret.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+}
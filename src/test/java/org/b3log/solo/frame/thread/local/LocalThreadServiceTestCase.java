@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.frame.thread.local;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * {@link LocalThreadService} test case.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class LocalThreadServiceTestCase {
+
+	/**
+	 * Keys of the CPU pool size properties.
+	 */
+	private static final String[] KEYS = { "thread.cpu.poolSize", "thread.cpu.queueSize" };
+
+	/**
+	 * Values of the CPU pool size properties before the test.
+	 */
+	private final String[] previous = new String[KEYS.length];
+
+	/**
+	 * Thread service with a CPU pool of one thread and one waiting task.
+	 */
+	private LocalThreadService threadService;
+
+	/**
+	 * Blocks the pooled CPU tasks.
+	 */
+	private CountDownLatch blocker;
+
+	/**
+	 * Constructs the thread service and saturates its CPU pool.
+	 */
+	@BeforeMethod
+	public void saturate() {
+		for (int i = 0; i < KEYS.length; i++) {
+			previous[i] = System.getProperty(KEYS[i]);
+			System.setProperty(KEYS[i], "1");
+		}
+
+		threadService = new LocalThreadService();
+		blocker = new CountDownLatch(1);
+
+		// One running, one waiting
+		for (int i = 0; i < 2; i++) {
+			threadService.submitCPU(() -> {
+				blocker.await();
+
+				return null;
+			}, 0);
+		}
+	}
+
+	/**
+	 * Releases the pooled CPU tasks and shuts the thread service down.
+	 */
+	@AfterMethod
+	public void release() {
+		blocker.countDown();
+		threadService.shutdown();
+
+		for (int i = 0; i < KEYS.length; i++) {
+			if (null == previous[i]) {
+				System.clearProperty(KEYS[i]);
+			} else {
+				System.setProperty(KEYS[i], previous[i]);
+			}
+		}
+	}
+
+	/**
+	 * A task run on the saturated caller thread is interrupted by its timeout,
+	 * the interruption does not leak to the caller.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void callerRunsTimeout() throws Exception {
+		final long start = System.nanoTime();
+		final Future<Object> future = threadService.submitCPU(() -> {
+			Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+
+			return null;
+		}, 100);
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		Assert.assertTrue(future.isCancelled());
+		Assert.assertTrue(elapsed < TimeUnit.SECONDS.toMillis(5), "Ran " + elapsed + "ms");
+		Assert.assertFalse(Thread.interrupted());
+	}
+
+	/**
+	 * The caller's own interruption is kept after a task run on the saturated
+	 * caller thread.
+	 */
+	@Test
+	public void callerRunsKeepsInterruption() {
+		Thread.currentThread().interrupt();
+
+		try {
+			final Future<Object> future = threadService.submitCPU(() -> {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+
+				return null;
+			}, 100);
+
+			Assert.assertTrue(future.isDone());
+			Assert.assertTrue(Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted();
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.module.util;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.b3log.solo.Latkes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link Emotions#convert(String)} benchmark, compares with the previous
+ * implementation (one {@link String#replace(CharSequence, CharSequence)} per
+ * emoji code) on long articles.
+ *
+ * <p>
+ * Runs by {@link #main(String[])} on the test classpath, not a part of the
+ * unit tests.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmotionsBenchmark {
+
+	/**
+	 * Emoji codes, in the order of the previous implementation.
+	 */
+	private static final String[] EMOJIS = getEmojis();
+
+	/**
+	 * Article length in chars.
+	 */
+	@Param({ "2000", "20000", "200000" })
+	public int length;
+
+	/**
+	 * Article with emojis, times and links.
+	 */
+	private String article;
+
+	/**
+	 * Article without any colon.
+	 */
+	private String plainArticle;
+
+	/**
+	 * Generates the articles.
+	 */
+	@Setup
+	public void setup() {
+		article = article(new Random(17), length, true);
+		plainArticle = article(new Random(17), length, false);
+	}
+
+	/**
+	 * Converts the article.
+	 *
+	 * @return converted article
+	 */
+	@Benchmark
+	public String convert() {
+		return Emotions.convert(article);
+	}
+
+	/**
+	 * Converts the article with the previous implementation.
+	 *
+	 * @return converted article
+	 */
+	@Benchmark
+	public String legacyConvert() {
+		return legacyConvert(article);
+	}
+
+	/**
+	 * Converts the article without any emoji.
+	 *
+	 * @return converted article
+	 */
+	@Benchmark
+	public String convertPlain() {
+		return Emotions.convert(plainArticle);
+	}
+
+	/**
+	 * Converts the article without any emoji with the previous implementation.
+	 *
+	 * @return converted article
+	 */
+	@Benchmark
+	public String legacyConvertPlain() {
+		return legacyConvert(plainArticle);
+	}
+
+	/**
+	 * The previous implementation of {@link Emotions#convert(String)}.
+	 *
+	 * @param content
+	 *            the specified content
+	 * @return converted content
+	 */
+	static String legacyConvert(final String content) {
+		final String staticServePath = Latkes.getStaticServePath();
+
+		String ret = content;
+
+		if (!Emotions.EMOJI_PATTERN.matcher(ret).find()) {
+			return ret;
+		}
+
+		for (final String emojiCode : EMOJIS) {
+			final String emoji = ":" + emojiCode + ":";
+			ret = ret.replace(emoji,
+					"<img align=\"absmiddle\" alt=\"" + emoji + "\" class=\"emoji\" src=\"" + staticServePath
+							+ "/js/lib/emojify.js-1.1.0/images/basic/" + emojiCode + ".png\" title=\"" + emoji
+							+ "\" width=\"20px\" height=\"20px\"></img>");
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Generates an article of words, and with emotions, emoji-like codes,
+	 * times and links if specified. The tokens are separated by spaces, so no
+	 * two candidates share a colon.
+	 *
+	 * @param random
+	 *            the specified random
+	 * @param length
+	 *            the specified minimum length
+	 * @param emotions
+	 *            whether to put emotions and other colons
+	 * @return article
+	 */
+	static String article(final Random random, final int length, final boolean emotions) {
+		final StringBuilder ret = new StringBuilder(length + 64);
+
+		while (ret.length() < length) {
+			final int token = emotions ? random.nextInt(20) : 0;
+
+			switch (token) {
+			case 1:
+				ret.append(':').append(EMOJIS[random.nextInt(EMOJIS.length)]).append(':');
+
+				break;
+			case 2:
+				ret.append(":not_an_emoji").append(random.nextInt(100)).append(':');
+
+				break;
+			case 3:
+				ret.append(random.nextInt(24)).append(':').append(random.nextInt(60));
+
+				break;
+			case 4:
+				ret.append("https://cxy7.com:8080/articles/").append(random.nextInt(1000));
+
+				break;
+			case 5:
+				ret.append("Note:");
+
+				break;
+			default:
+				for (int i = 1 + random.nextInt(10); i > 0; i--) {
+					ret.append((char) ('a' + random.nextInt(26)));
+				}
+			}
+
+			ret.append(0 == random.nextInt(12) ? "\n" : " ");
+		}
+
+		return ret.toString();
+	}
+
+	/**
+	 * Gets the emoji codes of {@link Emotions}.
+	 *
+	 * @return emoji codes
+	 */
+	private static String[] getEmojis() {
+		try {
+			final Field field = Emotions.class.getDeclaredField("EMOJIS");
+
+			field.setAccessible(true);
+
+			return (String[]) field.get(null);
+		} catch (final ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            the specified arguments, ignored
+	 * @throws RunnerException
+	 *             runner exception
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(EmotionsBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.module.util;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * {@link Emotions} test case.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class EmotionsTestCase {
+
+	/**
+	 * Converts the same as the previous implementation.
+	 */
+	@Test
+	public void convert() {
+		final String[] contents = { "", "solo", ":", "::", ":::", "a:b", ":smile:", ":smile::smile:",
+				"at 10:30 :smile:", "10:30:smile:", ":smile: :+1: :-1: :e-mail: :non-potable_water:",
+				":not_an_emoji: :smile:", ":smile", "smile:", ": smile :", "https://cxy7.com:8080/a :smile:",
+				"中文 :smile: 中文", ":SMILE:", ":u5272: :8ball: :zzz:" };
+
+		for (final String content : contents) {
+			Assert.assertEquals(Emotions.convert(content), EmotionsBenchmark.legacyConvert(content), content);
+		}
+	}
+
+	/**
+	 * Converts generated articles the same as the previous implementation.
+	 */
+	@Test
+	public void convertArticles() {
+		final Random random = new Random(17);
+
+		for (int i = 0; i < 200; i++) {
+			final String article = EmotionsBenchmark.article(random, 1 + random.nextInt(5000), true);
+
+			Assert.assertEquals(Emotions.convert(article), EmotionsBenchmark.legacyConvert(article), article);
+		}
+	}
+
+	/**
+	 * Content without emotions is returned as it is.
+	 */
+	@Test
+	public void convertPlain() {
+		final String article = EmotionsBenchmark.article(new Random(17), 5000, false);
+
+		Assert.assertSame(Emotions.convert(article), article);
+		Assert.assertNull(Emotions.convert(null));
+	}
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.b3log.solo.Keys;
+import org.b3log.solo.dao.ArchiveDateArticleDao;
+import org.b3log.solo.dao.ArchiveDateDao;
+import org.b3log.solo.dao.ArticleDao;
+import org.b3log.solo.dao.StatisticDao;
+import org.b3log.solo.dao.TagArticleDao;
+import org.b3log.solo.dao.TagDao;
+import org.b3log.solo.dao.UserDao;
+import org.b3log.solo.dao.repository.Query;
+import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.Transaction;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Option;
+import org.b3log.solo.model.Tag;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * {@link ArticleImportService} test case, imports into mocked repositories.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class ArticleImportServiceTestCase {
+
+	/**
+	 * Id of the existing tag "java".
+	 */
+	private static final String JAVA_TAG_ID = "1000";
+
+	@Mock
+	private ArticleDao articleDao;
+
+	@Mock
+	private TagDao tagDao;
+
+	@Mock
+	private TagArticleDao tagArticleDao;
+
+	@Mock
+	private ArchiveDateDao archiveDateDao;
+
+	@Mock
+	private ArchiveDateArticleDao archiveDateArticleDao;
+
+	@Mock
+	private UserDao userDao;
+
+	@Mock
+	private StatisticDao statisticDao;
+
+	@Mock
+	private TagMgmtService tagMgmtService;
+
+	@Mock
+	private PreferenceQueryService preferenceQueryService;
+
+	@Mock
+	private PermalinkQueryService permalinkQueryService;
+
+	@Mock
+	private LangPropsService langPropsService;
+
+	@Mock
+	private SitemapService sitemapService;
+
+	@Mock
+	private ArticleRenditionService articleRenditionService;
+
+	@Mock
+	private Transaction transaction;
+
+	@InjectMocks
+	private ArticleImportService articleImportService;
+
+	/**
+	 * Articles inserted by {@link ArticleDao#addBatch(List)}.
+	 */
+	private List<JSONObject> articles;
+
+	/**
+	 * Tags inserted by {@link TagDao#addBatch(List)}.
+	 */
+	private List<JSONObject> tags;
+
+	/**
+	 * Relations inserted by {@link TagArticleDao#addBatch(List)}.
+	 */
+	private List<JSONObject> tagArticles;
+
+	/**
+	 * Mocks the repositories with an existing tag "java" and no article.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@BeforeMethod
+	public void beforeMethod() throws Exception {
+		MockitoAnnotations.initMocks(this);
+
+		articles = new ArrayList<>();
+		tags = new ArrayList<>();
+		tagArticles = new ArrayList<>();
+
+		Mockito.when(preferenceQueryService.getPreference())
+				.thenReturn(new JSONObject().put(Option.ID_C_EDITOR_TYPE, "tinyMCE"));
+		Mockito.when(tagDao.get(Mockito.any(Query.class))).thenReturn(results(
+				new JSONObject().put(Keys.OBJECT_ID, JAVA_TAG_ID).put(Tag.TAG_TITLE, "java")));
+		Mockito.when(archiveDateDao.get(Mockito.any(Query.class))).thenReturn(results());
+		Mockito.when(articleDao.get(Mockito.any(Query.class))).thenReturn(results());
+		Mockito.when(userDao.get(Mockito.any(Query.class))).thenReturn(results());
+		Mockito.when(articleDao.beginTransaction()).thenReturn(transaction);
+		Mockito.when(articleDao.addBatch(Mockito.anyListOf(JSONObject.class))).then(collect(articles));
+		Mockito.when(tagDao.addBatch(Mockito.anyListOf(JSONObject.class))).then(collect(tags));
+		Mockito.when(tagArticleDao.addBatch(Mockito.anyListOf(JSONObject.class))).then(collect(tagArticles));
+	}
+
+	/**
+	 * Imports JSON lines, reuses the existing tag case insensitively and
+	 * reports invalid lines.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void importJsonLines() throws Exception {
+		final String lines = article("First", "Java,Tools").toString() + "\n\n"
+				+ new JSONObject().put(Article.ARTICLE, article("Second", "tools,JAVA,java")).toString() + "\n"
+				+ article(" ", "java").toString() + "\n";
+
+		final JSONObject result = articleImportService.importArticles(new StringReader(lines), "test@b3log.org");
+
+		Assert.assertEquals(result.getInt("imported"), 2);
+		Assert.assertEquals(result.getInt("failed"), 1);
+		Assert.assertEquals(result.getJSONArray("errors").getString(0), "Line [4]: Title is blank");
+
+		Assert.assertEquals(articles.size(), 2);
+		Assert.assertEquals(articles.get(0).getString(Article.ARTICLE_TITLE), "First");
+		Assert.assertEquals(articles.get(1).getString(Article.ARTICLE_TAGS_REF), "tools,JAVA");
+
+		Assert.assertEquals(tags.size(), 1);
+		Assert.assertEquals(tags.get(0).getString(Tag.TAG_TITLE), "Tools");
+
+		final String toolsTagId = tags.get(0).getString(Keys.OBJECT_ID);
+
+		Assert.assertEquals(tagArticles.size(), 4);
+		Assert.assertEquals(tagArticles.get(0).getString(Tag.TAG + "_" + Keys.OBJECT_ID), JAVA_TAG_ID);
+		Assert.assertEquals(tagArticles.get(1).getString(Tag.TAG + "_" + Keys.OBJECT_ID), toolsTagId);
+		Assert.assertEquals(tagArticles.get(2).getString(Tag.TAG + "_" + Keys.OBJECT_ID), toolsTagId);
+		Assert.assertEquals(tagArticles.get(3).getString(Tag.TAG + "_" + Keys.OBJECT_ID), JAVA_TAG_ID);
+
+		// The batch and the counter rebuilding
+		Mockito.verify(transaction, Mockito.times(2)).commit();
+		Mockito.verify(tagMgmtService).repairTagRefCounts();
+	}
+
+	/**
+	 * Imports a MetaWeblog dump.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void importMetaWeblog() throws Exception {
+		final String dump = "<?xml version=\"1.0\"?>\n<methodCall>\n<methodName>metaWeblog.newPost</methodName>\n"
+				+ "<params>\n<param><value><string>blog</string></value></param>\n"
+				+ "<param><value><string>user</string></value></param>\n"
+				+ "<param><value><string>pwd</string></value></param>\n"
+				+ "<param><value><struct>\n"
+				+ "<member><name>title</name><value><string>Hello</string></value></member>\n"
+				+ "<member><name>description</name><value><string>&lt;p&gt;World&lt;/p&gt;</string></value></member>\n"
+				+ "<member><name>dateCreated</name><value><dateTime.iso8601>2017-03-04T05:06:07"
+				+ "</dateTime.iso8601></value></member>\n"
+				+ "<member><name>categories</name><value><array><data><value><string>Java</string></value>"
+				+ "<value><string>Solo</string></value></data></array></value></member>\n"
+				+ "</struct></value></param>\n"
+				+ "<param><value><boolean>0</boolean></value></param>\n</params>\n</methodCall>\n";
+
+		final JSONObject result = articleImportService.importArticles(new StringReader(dump), "test@b3log.org");
+
+		Assert.assertEquals(result.getInt("imported"), 1);
+		Assert.assertEquals(result.getInt("failed"), 0);
+
+		final JSONObject article = articles.get(0);
+
+		Assert.assertEquals(article.getString(Article.ARTICLE_TITLE), "Hello");
+		Assert.assertEquals(article.getString(Article.ARTICLE_CONTENT), "<p>World</p>");
+		Assert.assertEquals(article.getString(Article.ARTICLE_ABSTRACT), "World");
+		Assert.assertEquals(article.getString(Article.ARTICLE_TAGS_REF), "Java,Solo");
+		Assert.assertFalse(article.getBoolean(Article.ARTICLE_IS_PUBLISHED));
+		Assert.assertEquals(((Date) article.get(Article.ARTICLE_CREATE_DATE)).getTime(),
+				DateUtils.parseDate("2017-03-04 05:06:07", "yyyy-MM-dd HH:mm:ss").getTime());
+
+		Assert.assertEquals(tags.size(), 1);
+		Assert.assertEquals(tags.get(0).getString(Tag.TAG_TITLE), "Solo");
+	}
+
+	/**
+	 * A failed batch is rolled back and reported, the counters are not
+	 * rebuilt if nothing was imported.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void importFailedBatch() throws Exception {
+		Mockito.when(articleDao.addBatch(Mockito.anyListOf(JSONObject.class)))
+				.thenThrow(new RepositoryException("Duplicate entry"));
+		Mockito.when(transaction.isActive()).thenReturn(true);
+
+		final String lines = article("First", "java").toString() + "\n" + article("Second", "java").toString();
+
+		final JSONObject result = articleImportService.importArticles(new StringReader(lines), "test@b3log.org");
+
+		Assert.assertEquals(result.getInt("imported"), 0);
+		Assert.assertEquals(result.getInt("failed"), 2);
+		Assert.assertEquals(result.getJSONArray("errors").getString(0),
+				"Articles [First, ...(2)]: Duplicate entry");
+
+		Mockito.verify(transaction, Mockito.never()).commit();
+		Mockito.verify(transaction).rollback();
+		Mockito.verify(tagMgmtService, Mockito.never()).repairTagRefCounts();
+	}
+
+	/**
+	 * Creates an article to import with the specified title and tags.
+	 *
+	 * @param title
+	 *            the specified title
+	 * @param tags
+	 *            the specified tags
+	 * @return article
+	 */
+	private static JSONObject article(final String title, final String tags) {
+		return new JSONObject().put(Article.ARTICLE_TITLE, title).put(Article.ARTICLE_CONTENT, "Content")
+				.put(Article.ARTICLE_TAGS_REF, tags).put(Article.ARTICLE_CREATE_DATE, "2017-03-04");
+	}
+
+	/**
+	 * Creates a query result with the specified objects.
+	 *
+	 * @param objects
+	 *            the specified objects
+	 * @return query result
+	 */
+	private static JSONObject results(final JSONObject... objects) {
+		return new JSONObject().put(Keys.RESULTS, new JSONArray(Arrays.asList(objects)));
+	}
+
+	/**
+	 * Creates an answer of batch insertion which collects the inserted
+	 * objects into the specified list, the argument list is cleared by the
+	 * caller after the insertion.
+	 *
+	 * @param collected
+	 *            the specified list
+	 * @return answer
+	 */
+	private static Answer<List<String>> collect(final List<JSONObject> collected) {
+		return new Answer<List<String>>() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public List<String> answer(final InvocationOnMock invocation) {
+				final List<JSONObject> objects = (List<JSONObject>) invocation.getArguments()[0];
+				final List<String> ret = new ArrayList<>();
+
+				for (final JSONObject object : objects) {
+					collected.add(object);
+					ret.add(object.optString(Keys.OBJECT_ID));
+				}
+
+				return ret;
+			}
+		};
+	}
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.b3log.solo.model.MailMessage;
+import org.b3log.solo.util.PropsUtil;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * {@link MailService} test case, sends mails to a minimal SMTP server on
+ * localhost.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class MailServiceTestCase {
+
+	/**
+	 * Timeout in milliseconds of waiting for mails.
+	 */
+	private static final long TIMEOUT = 10000;
+
+	/**
+	 * SMTP server.
+	 */
+	private SmtpServer server;
+
+	/**
+	 * Mail service.
+	 */
+	private MailService mailService;
+
+	/**
+	 * Starts the SMTP server and configures the mail service to send mails to
+	 * it through one worker.
+	 *
+	 * @throws IOException
+	 *             io exception
+	 */
+	@BeforeClass
+	public void beforeClass() throws IOException {
+		server = new SmtpServer();
+
+		PropsUtil.setProperty("mail.user", "");
+		PropsUtil.setProperty("mail.password", "");
+		PropsUtil.setProperty("mail.smtp.host", "127.0.0.1");
+		PropsUtil.setProperty("mail.smtp.port", String.valueOf(server.getPort()));
+		PropsUtil.setProperty("mail.smtp.auth", "false");
+		PropsUtil.setProperty("mail.smtp.starttls.enable", "false");
+		PropsUtil.setProperty("mail.smtp.sendpartial", "true");
+		PropsUtil.setProperty("mail.smtp.socketFactory.class", "");
+		PropsUtil.setProperty("mail.smtp.socketFactory.fallback", "");
+		PropsUtil.setProperty("mail.smtp.socketFactory.port", "");
+		PropsUtil.setProperty("mail.outbox.workers", "1");
+		PropsUtil.setProperty("mail.outbox.batchSize", "20");
+		PropsUtil.setProperty("mail.outbox.maxRetries", "3");
+		PropsUtil.setProperty("mail.outbox.retryDelay", "100");
+		PropsUtil.setProperty("mail.outbox.idleTimeout", "60");
+	}
+
+	/**
+	 * Stops the SMTP server.
+	 *
+	 * @throws IOException
+	 *             io exception
+	 */
+	@AfterClass
+	public void afterClass() throws IOException {
+		server.close();
+	}
+
+	/**
+	 * Starts a mail service.
+	 */
+	@BeforeMethod
+	public void beforeMethod() {
+		server.reset();
+
+		mailService = new MailService();
+		mailService.afterPropertiesSet();
+	}
+
+	/**
+	 * Stops the mail service.
+	 */
+	@AfterMethod
+	public void afterMethod() {
+		mailService.destroy();
+	}
+
+	/**
+	 * A batch of mails is sent through one connection.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void sendBatch() throws Exception {
+		final int count = 20;
+
+		for (int i = 0; i < count; i++) {
+			send("batch" + i + "@b3log.org");
+		}
+
+		awaitDelivered(count);
+
+		final JSONObject statistics = mailService.getStatistics();
+
+		Assert.assertEquals(statistics.getLong("sent"), count);
+		Assert.assertEquals(statistics.getLong("connects"), 1);
+		Assert.assertEquals(server.getConnections(), 1);
+	}
+
+	/**
+	 * The connection dropped by the server while idle is re-established, the
+	 * mail is sent once.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void reconnectAfterDropped() throws Exception {
+		send("first@b3log.org");
+		awaitDelivered(1);
+
+		server.drop();
+
+		send("second@b3log.org");
+		awaitDelivered(2);
+
+		final JSONObject statistics = mailService.getStatistics();
+
+		Assert.assertEquals(statistics.getLong("sent"), 2);
+		Assert.assertEquals(statistics.getLong("failed"), 0);
+		Assert.assertEquals(statistics.getLong("connects"), 2);
+		Assert.assertEquals(server.getConnections(), 2);
+		Assert.assertEquals(server.getDelivered(), asList("first@b3log.org", "second@b3log.org"));
+	}
+
+	/**
+	 * A mail partially sent is retried to the recipients not sent only.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void retryUnsentRecipients() throws Exception {
+		final MailMessage message = new MailMessage();
+
+		message.setFrom("solo@b3log.org");
+		message.addRecipient("sent@b3log.org");
+		message.addRecipient("greylisted@b3log.org");
+		message.setSubject("Retry");
+		message.setHtmlBody("<p>Retry</p>");
+		mailService.send(message);
+
+		awaitDelivered(2);
+
+		final List<String> delivered = new ArrayList<>(server.getDelivered());
+
+		Collections.sort(delivered);
+		Assert.assertEquals(delivered, asList("greylisted@b3log.org", "sent@b3log.org"));
+
+		final JSONObject statistics = mailService.getStatistics();
+
+		Assert.assertEquals(statistics.getLong("sent"), 1);
+		Assert.assertEquals(statistics.getLong("failed"), 0);
+		Assert.assertEquals(statistics.getLong("retried"), 1);
+	}
+
+	/**
+	 * Sends a mail to the specified recipient.
+	 *
+	 * @param recipient
+	 *            the specified recipient
+	 * @throws IOException
+	 *             io exception
+	 */
+	private void send(final String recipient) throws IOException {
+		final MailMessage message = new MailMessage();
+
+		message.setFrom("solo@b3log.org");
+		message.addRecipient(recipient);
+		message.setSubject("Hello " + recipient);
+		message.setHtmlBody("<p>Hello</p>");
+		mailService.send(message);
+	}
+
+	/**
+	 * Waits until the server has delivered the specified count of mails, and
+	 * a while for more.
+	 *
+	 * @param count
+	 *            the specified count
+	 * @throws InterruptedException
+	 *             interrupted exception
+	 */
+	private void awaitDelivered(final int count) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+		while (server.getDelivered().size() < count) {
+			if (System.currentTimeMillis() > deadline) {
+				Assert.fail("Delivered " + server.getDelivered() + ", expected [" + count + "] mails");
+			}
+
+			Thread.sleep(20);
+		}
+
+		Thread.sleep(200);
+		Assert.assertEquals(server.getDelivered().size(), count);
+	}
+
+	/**
+	 * Gets a list of the specified elements.
+	 *
+	 * @param elements
+	 *            the specified elements
+	 * @return list
+	 */
+	private static List<String> asList(final String... elements) {
+		final List<String> ret = new ArrayList<>();
+
+		Collections.addAll(ret, elements);
+
+		return ret;
+	}
+
+	/**
+	 * Minimal SMTP server, delivers mails by recording their recipients.
+	 * Recipients starting with "greylisted" are rejected temporarily (451) at
+	 * the first time.
+	 */
+	private static final class SmtpServer {
+
+		/**
+		 * Server socket.
+		 */
+		private final ServerSocket serverSocket;
+
+		/**
+		 * Count of connections accepted.
+		 */
+		private final AtomicInteger connections = new AtomicInteger();
+
+		/**
+		 * Recipients delivered to.
+		 */
+		private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+		/**
+		 * Greylisted recipients seen.
+		 */
+		private final Set<String> greylisted = Collections.synchronizedSet(new HashSet<String>());
+
+		/**
+		 * Open client sockets.
+		 */
+		private final List<Socket> clients = new CopyOnWriteArrayList<>();
+
+		/**
+		 * Starts a server on a free port of localhost.
+		 *
+		 * @throws IOException
+		 *             io exception
+		 */
+		SmtpServer() throws IOException {
+			serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+			final Thread acceptor = new Thread(() -> {
+				while (!serverSocket.isClosed()) {
+					try {
+						final Socket client = serverSocket.accept();
+
+						connections.incrementAndGet();
+						clients.add(client);
+
+						final Thread session = new Thread(() -> serve(client), "SmtpSession");
+
+						session.setDaemon(true);
+						session.start();
+					} catch (final IOException e) {
+						// Closed
+					}
+				}
+			}, "SmtpAcceptor");
+
+			acceptor.setDaemon(true);
+			acceptor.start();
+		}
+
+		/**
+		 * Serves the specified client.
+		 *
+		 * @param client
+		 *            the specified client
+		 */
+		private void serve(final Socket client) {
+			try (final Socket socket = client) {
+				final BufferedReader reader = new BufferedReader(
+						new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				final OutputStream writer = socket.getOutputStream();
+				final List<String> recipients = new ArrayList<>();
+
+				reply(writer, "220 localhost ESMTP");
+
+				String line;
+
+				while (null != (line = reader.readLine())) {
+					final String command = line.toUpperCase();
+
+					if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+						reply(writer, "250-localhost");
+						reply(writer, "250 8BITMIME");
+					} else if (command.startsWith("MAIL FROM:") || command.startsWith("RSET")) {
+						recipients.clear();
+						reply(writer, "250 OK");
+					} else if (command.startsWith("RCPT TO:")) {
+						final String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+
+						if (recipient.startsWith("greylisted") && greylisted.add(recipient)) {
+							reply(writer, "451 Greylisted, try again later");
+						} else {
+							recipients.add(recipient);
+							reply(writer, "250 OK");
+						}
+					} else if (command.startsWith("DATA")) {
+						reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+
+						while (null != (line = reader.readLine()) && !".".equals(line)) {
+							// Skips the content
+						}
+
+						delivered.addAll(recipients);
+						recipients.clear();
+						reply(writer, "250 OK");
+					} else if (command.startsWith("QUIT")) {
+						reply(writer, "221 Bye");
+
+						return;
+					} else {
+						reply(writer, "250 OK");
+					}
+				}
+			} catch (final IOException e) {
+				// Dropped
+			} finally {
+				clients.remove(client);
+			}
+		}
+
+		/**
+		 * Writes the specified reply.
+		 *
+		 * @param writer
+		 *            the specified writer
+		 * @param reply
+		 *            the specified reply
+		 * @throws IOException
+		 *             io exception
+		 */
+		private static void reply(final OutputStream writer, final String reply) throws IOException {
+			writer.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+			writer.flush();
+		}
+
+		/**
+		 * Drops all open connections.
+		 *
+		 * @throws IOException
+		 *             io exception
+		 */
+		void drop() throws IOException {
+			for (final Socket client : clients) {
+				client.close();
+			}
+		}
+
+		/**
+		 * Drops all open connections and clears the records.
+		 */
+		void reset() {
+			try {
+				drop();
+			} catch (final IOException e) {
+				// Ignored
+			}
+
+			connections.set(0);
+			delivered.clear();
+			greylisted.clear();
+		}
+
+		/**
+		 * Gets the port.
+		 *
+		 * @return port
+		 */
+		int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		/**
+		 * Gets the count of connections accepted.
+		 *
+		 * @return count of connections
+		 */
+		int getConnections() {
+			return connections.get();
+		}
+
+		/**
+		 * Gets the recipients delivered to.
+		 *
+		 * @return recipients
+		 */
+		List<String> getDelivered() {
+			return delivered;
+		}
+
+		/**
+		 * Stops the server.
+		 *
+		 * @throws IOException
+		 *             io exception
+		 */
+		void close() throws IOException {
+			serverSocket.close();
+			drop();
+		}
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.util.Arrays;
+
+import org.b3log.solo.Keys;
+import org.b3log.solo.dao.ArticleDao;
+import org.b3log.solo.dao.CategoryTagDao;
+import org.b3log.solo.dao.TagArticleDao;
+import org.b3log.solo.dao.TagDao;
+import org.b3log.solo.dao.repository.Query;
+import org.b3log.solo.dao.repository.RepositoryException;
+import org.b3log.solo.dao.repository.Transaction;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Tag;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * {@link TagMgmtService} test case, repairs tags in mocked repositories.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class TagMgmtServiceTestCase {
+
+	@Mock
+	private TagQueryService tagQueryService;
+
+	@Mock
+	private TagDao tagDao;
+
+	@Mock
+	private SitemapService sitemapService;
+
+	@Mock
+	private CategoryTagDao categoryTagDao;
+
+	@Mock
+	private TagArticleDao tagArticleDao;
+
+	@Mock
+	private ArticleDao articleDao;
+
+	@Mock
+	private Transaction transaction;
+
+	@InjectMocks
+	private TagMgmtService tagMgmtService;
+
+	/**
+	 * Mocks the repositories with articles "a1" (published) and "a2" (draft),
+	 * tags "t1" (correct counts), "t2" (wrong counts) and "t3" (no relation),
+	 * and a relation of the removed article "a3".
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@BeforeMethod
+	public void beforeMethod() throws Exception {
+		MockitoAnnotations.initMocks(this);
+
+		Mockito.when(tagDao.beginTransaction()).thenReturn(transaction);
+		Mockito.when(articleDao.get(Mockito.any(Query.class))).thenReturn(results(
+				new JSONObject().put(Keys.OBJECT_ID, "a1").put(Article.ARTICLE_IS_PUBLISHED, true),
+				new JSONObject().put(Keys.OBJECT_ID, "a2").put(Article.ARTICLE_IS_PUBLISHED, false)));
+		Mockito.when(tagArticleDao.get(Mockito.any(Query.class))).thenReturn(results(
+				tagArticle("r1", "t1", "a1"), tagArticle("r2", "t2", "a1"), tagArticle("r3", "t2", "a2"),
+				tagArticle("r4", "t2", "a3")));
+		Mockito.when(tagDao.get(Mockito.any(Query.class))).thenReturn(results(tag("t1", 1, 1), tag("t2", 5, 0),
+				tag("t3", 0, 0)));
+	}
+
+	/**
+	 * Only the tags with wrong counts are updated, the relations of removed
+	 * articles are removed.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void repairTagRefCounts() throws Exception {
+		Assert.assertEquals(tagMgmtService.repairTagRefCounts(), 1);
+
+		final ArgumentCaptor<JSONObject> tag = ArgumentCaptor.forClass(JSONObject.class);
+
+		Mockito.verify(tagDao).update(Mockito.eq("t2"), tag.capture(), Mockito.eq(Tag.TAG_REFERENCE_COUNT),
+				Mockito.eq(Tag.TAG_PUBLISHED_REFERENCE_COUNT));
+		Mockito.verify(tagDao, Mockito.never()).update(Mockito.eq("t1"), Mockito.any(JSONObject.class),
+				Mockito.<String> anyVararg());
+		Mockito.verify(tagDao, Mockito.never()).update(Mockito.eq("t3"), Mockito.any(JSONObject.class),
+				Mockito.<String> anyVararg());
+		Assert.assertEquals(tag.getValue().getInt(Tag.TAG_REFERENCE_COUNT), 2);
+		Assert.assertEquals(tag.getValue().getInt(Tag.TAG_PUBLISHED_REFERENCE_COUNT), 1);
+
+		Mockito.verify(tagArticleDao).remove("r4");
+		Mockito.verify(tagArticleDao, Mockito.times(1)).remove(Mockito.anyString());
+		Mockito.verify(transaction).commit();
+	}
+
+	/**
+	 * A failed repair is rolled back.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void repairTagRefCountsFailed() throws Exception {
+		Mockito.doThrow(new RepositoryException("Lock wait timeout")).when(tagDao).update(Mockito.anyString(),
+				Mockito.any(JSONObject.class), Mockito.<String> anyVararg());
+		Mockito.when(transaction.isActive()).thenReturn(true);
+
+		try {
+			tagMgmtService.repairTagRefCounts();
+
+			Assert.fail("Repairs should fail");
+		} catch (final ServiceException e) {
+			// Expected
+		}
+
+		Mockito.verify(transaction, Mockito.never()).commit();
+		Mockito.verify(transaction).rollback();
+	}
+
+	/**
+	 * Creates a tag with the specified id and counts.
+	 *
+	 * @param id
+	 *            the specified id
+	 * @param refCount
+	 *            the specified reference count
+	 * @param publishedRefCount
+	 *            the specified published reference count
+	 * @return tag
+	 */
+	private static JSONObject tag(final String id, final int refCount, final int publishedRefCount) {
+		return new JSONObject().put(Keys.OBJECT_ID, id).put(Tag.TAG_TITLE, "Tag " + id)
+				.put(Tag.TAG_REFERENCE_COUNT, refCount).put(Tag.TAG_PUBLISHED_REFERENCE_COUNT, publishedRefCount);
+	}
+
+	/**
+	 * Creates a tag-article relation with the specified ids.
+	 *
+	 * @param id
+	 *            the specified relation id
+	 * @param tagId
+	 *            the specified tag id
+	 * @param articleId
+	 *            the specified article id
+	 * @return tag-article relation
+	 */
+	private static JSONObject tagArticle(final String id, final String tagId, final String articleId) {
+		return new JSONObject().put(Keys.OBJECT_ID, id).put(Tag.TAG + "_" + Keys.OBJECT_ID, tagId)
+				.put(Article.ARTICLE + "_" + Keys.OBJECT_ID, articleId);
+	}
+
+	/**
+	 * Creates a query result with the specified objects.
+	 *
+	 * @param objects
+	 *            the specified objects
+	 * @return query result
+	 */
+	private static JSONObject results(final JSONObject... objects) {
+		return new JSONObject().put(Keys.RESULTS, new JSONArray(Arrays.asList(objects)));
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.service;
+
+import java.nio.charset.StandardCharsets;
+
+import org.b3log.solo.Keys;
+import org.b3log.solo.dao.UserDao;
+import org.b3log.solo.model.User;
+import org.b3log.solo.util.MD5;
+import org.json.JSONObject;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * {@link UserMgmtService} test case, rehashes passwords in a mocked
+ * repository.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class UserMgmtServiceTestCase {
+
+	/**
+	 * Non-ASCII password, hashed differently before 2.0.0.
+	 */
+	private static final String PASSWORD = "密码pwd";
+
+	@Mock
+	private UserDao userDao;
+
+	@Mock
+	private LangPropsService langPropsService;
+
+	@Mock
+	private UserQueryService userQueryService;
+
+	@InjectMocks
+	private UserMgmtService userMgmtService;
+
+	/**
+	 * Initializes the mocks.
+	 */
+	@BeforeMethod
+	public void beforeMethod() {
+		MockitoAnnotations.initMocks(this);
+	}
+
+	/**
+	 * A password hashed before 2.0.0 is replaced with its new hash.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void rehashLegacyPassword() throws Exception {
+		final byte[] bytes = new byte[PASSWORD.length()];
+
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) PASSWORD.charAt(i);
+		}
+
+		final JSONObject user = new JSONObject().put(Keys.OBJECT_ID, "1").put(User.USER_PASSWORD, MD5.hash(bytes));
+
+		Assert.assertTrue(MD5.matches(PASSWORD, user.getString(User.USER_PASSWORD)));
+
+		userMgmtService.rehashPassword(user, PASSWORD);
+
+		Assert.assertEquals(user.getString(User.USER_PASSWORD), MD5.hash(PASSWORD.getBytes(StandardCharsets.UTF_8)));
+		Mockito.verify(userDao).update("1", user, User.USER_PASSWORD);
+	}
+
+	/**
+	 * A password hashed by this version is kept.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void keepNewPassword() throws Exception {
+		final String hashed = MD5.hash(PASSWORD);
+		final JSONObject user = new JSONObject().put(Keys.OBJECT_ID, "1").put(User.USER_PASSWORD, hashed);
+
+		userMgmtService.rehashPassword(user, PASSWORD);
+
+		Assert.assertEquals(user.getString(User.USER_PASSWORD), hashed);
+		Mockito.verifyZeroInteractions(userDao);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link Ids#genTimeMillisId()} benchmark, compares with the previous
+ * implementation (synchronized, locked and sleeping 50ms per id) under
+ * contention.
+ *
+ * <p>
+ * Runs by {@link #main(String[])} on the test classpath, not a part of the
+ * unit tests.
+ * </p>
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(8)
+public class IdsBenchmark {
+
+	/**
+	 * Lock of the previous implementation.
+	 */
+	private static final Lock LEGACY_LOCK = new ReentrantLock();
+
+	/**
+	 * Generates ids.
+	 *
+	 * @return id
+	 */
+	@Benchmark
+	public String genTimeMillisId() {
+		return Ids.genTimeMillisId();
+	}
+
+	/**
+	 * Generates ids with the previous implementation.
+	 *
+	 * @return id
+	 * @throws InterruptedException
+	 *             interrupted exception
+	 */
+	@Benchmark
+	public String legacyGenTimeMillisId() throws InterruptedException {
+		synchronized (IdsBenchmark.class) {
+			LEGACY_LOCK.lock();
+
+			try {
+				final String ret = String.valueOf(System.currentTimeMillis());
+
+				Thread.sleep(50);
+
+				return ret;
+			} finally {
+				LEGACY_LOCK.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            the specified arguments, ignored
+	 * @throws RunnerException
+	 *             runner exception
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(IdsBenchmark.class.getSimpleName()).build()).run();
+	}
+}
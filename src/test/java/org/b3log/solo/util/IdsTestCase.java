@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * {@link Ids} test case.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class IdsTestCase {
+
+	/**
+	 * Count of generating threads.
+	 */
+	private static final int THREADS = 8;
+
+	/**
+	 * Count of ids generated per thread.
+	 */
+	private static final int IDS_PER_THREAD = 50000;
+
+	/**
+	 * Ids are 19 digits and greater than the pure time millis ids generated by
+	 * the previous versions.
+	 */
+	@Test
+	public void genTimeMillisIdFormat() {
+		final String legacyId = String.valueOf(System.currentTimeMillis());
+		final String id = Ids.genTimeMillisId();
+
+		Assert.assertEquals(id.length(), 19);
+		Assert.assertTrue(id.matches("\\d+"));
+		Assert.assertTrue(id.compareTo(legacyId) > 0);
+		Assert.assertTrue(Long.parseLong(id) > Long.parseLong(legacyId));
+	}
+
+	/**
+	 * Ids generated concurrently are distinct and increasing per thread.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void genTimeMillisIdConcurrently() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<List<String>>> futures = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit((Callable<List<String>>) () -> {
+					final List<String> ret = new ArrayList<>(IDS_PER_THREAD);
+
+					start.await();
+
+					for (int j = 0; j < IDS_PER_THREAD; j++) {
+						ret.add(Ids.genTimeMillisId());
+					}
+
+					return ret;
+				}));
+			}
+
+			start.countDown();
+
+			final Set<String> all = new HashSet<>();
+
+			for (final Future<List<String>> future : futures) {
+				final List<String> ids = future.get();
+				String previous = null;
+
+				for (final String id : ids) {
+					if (null != previous) {
+						Assert.assertTrue(id.compareTo(previous) > 0, id + " is not greater than " + previous);
+						Assert.assertTrue(Long.parseLong(id) > Long.parseLong(previous));
+					}
+
+					previous = id;
+				}
+
+				all.addAll(ids);
+			}
+
+			Assert.assertEquals(all.size(), THREADS * IDS_PER_THREAD);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017, cxy7.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.solo.util;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * {@link MD5} test case.
+ *
+ * @author <a href="http://cxy7.com">XyCai</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 2.0.0
+ */
+public final class MD5TestCase {
+
+	/**
+	 * Non-ASCII password, hashed differently before 2.0.0.
+	 */
+	private static final String PASSWORD = "密码pwd";
+
+	/**
+	 * Hashes are UTF-8 MD5 in lower case hex, the same as before 2.0.0 for
+	 * ASCII strings.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void hash() throws Exception {
+		Assert.assertEquals(MD5.hash(""), "d41d8cd98f00b204e9800998ecf8427e");
+		Assert.assertEquals(MD5.hash("solo"), legacyHash("solo"));
+		Assert.assertEquals(MD5.hash(PASSWORD), md5(PASSWORD.getBytes("UTF-8")));
+		Assert.assertNotEquals(MD5.hash(PASSWORD), legacyHash(PASSWORD));
+	}
+
+	/**
+	 * A password matches its hash of this version without rehashing.
+	 */
+	@Test
+	public void matchesNewHash() {
+		final String hashed = MD5.hash(PASSWORD);
+
+		Assert.assertTrue(MD5.matches(PASSWORD, hashed));
+		Assert.assertFalse(MD5.needsRehash(PASSWORD, hashed));
+		Assert.assertTrue(MD5.matches("solo", MD5.hash("solo")));
+	}
+
+	/**
+	 * A non-ASCII password matches its hash stored before 2.0.0, which needs
+	 * rehashing.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void matchesLegacyHash() throws Exception {
+		final String hashed = legacyHash(PASSWORD);
+
+		Assert.assertTrue(MD5.matches(PASSWORD, hashed));
+		Assert.assertTrue(MD5.needsRehash(PASSWORD, hashed));
+	}
+
+	/**
+	 * A wrong password matches neither hash.
+	 *
+	 * @throws Exception
+	 *             exception
+	 */
+	@Test
+	public void wrongPassword() throws Exception {
+		Assert.assertFalse(MD5.matches("密码pwe", MD5.hash(PASSWORD)));
+		Assert.assertFalse(MD5.matches("密码pwe", legacyHash(PASSWORD)));
+		Assert.assertFalse(MD5.matches("solo", legacyHash(PASSWORD)));
+		Assert.assertFalse(MD5.matches(PASSWORD, ""));
+	}
+
+	/**
+	 * Hashes the specified string as versions before 2.0.0, with the low 8
+	 * bits of each char.
+	 *
+	 * @param string
+	 *            the specified string
+	 * @return hash
+	 * @throws Exception
+	 *             exception
+	 */
+	private static String legacyHash(final String string) throws Exception {
+		final byte[] bytes = new byte[string.length()];
+
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) string.charAt(i);
+		}
+
+		return md5(bytes);
+	}
+
+	/**
+	 * Hashes the specified bytes with a new message digest.
+	 *
+	 * @param bytes
+	 *            the specified bytes
+	 * @return hash in lower case hex
+	 * @throws Exception
+	 *             exception
+	 */
+	private static String md5(final byte[] bytes) throws Exception {
+		return String.format("%032x", new BigInteger(1, MessageDigest.getInstance("MD5").digest(bytes)));
+	}
+}